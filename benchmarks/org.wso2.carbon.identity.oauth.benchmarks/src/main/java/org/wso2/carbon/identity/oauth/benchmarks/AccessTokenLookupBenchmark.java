@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.mockito.MockedStatic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.common.model.LocalAndOutboundAuthenticationConfig;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAOImpl;
+import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Active access token lookup through {@link AccessTokenDAOImpl} against the H2 identity schema, which is the
+ * database path of opaque token validation and introspection on a token cache miss.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AccessTokenLookupBenchmark {
+
+    private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil;
+    private AccessTokenDAO accessTokenDAO;
+    private String[] accessTokens;
+
+    /**
+     * Database shared by all the benchmark threads of a trial.
+     */
+    @State(Scope.Benchmark)
+    public static class SeededDatabase {
+
+        @Param({"1000", "100000"})
+        public int tokenCount;
+
+        private BenchmarkDatabase database;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+
+            BenchmarkEnvironment.initialize();
+            database = BenchmarkDatabase.create(tokenCount);
+
+            RealmService realmService = mock(RealmService.class, withSettings().stubOnly());
+            TenantManager tenantManager = mock(TenantManager.class, withSettings().stubOnly());
+            when(realmService.getTenantManager()).thenReturn(tenantManager);
+            when(tenantManager.getDomain(anyInt())).thenReturn(BenchmarkDatabase.TENANT_DOMAIN);
+            OAuthComponentServiceHolder.getInstance().setRealmService(realmService);
+
+            ServiceProvider serviceProvider = new ServiceProvider();
+            serviceProvider.setLocalAndOutboundAuthenticationConfig(new LocalAndOutboundAuthenticationConfig());
+            ApplicationManagementService applicationMgtService = mock(ApplicationManagementService.class,
+                    withSettings().stubOnly());
+            when(applicationMgtService.getServiceProviderByClientId(anyString(), anyString(), anyString()))
+                    .thenReturn(serviceProvider);
+            OAuth2ServiceComponentHolder.setApplicationMgtService(applicationMgtService);
+            OAuth2ServiceComponentHolder.setIDPIdColumnEnabled(false);
+            OAuth2ServiceComponentHolder.setConsentedTokenColumnEnabled(false);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+
+            database.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup(SeededDatabase seededDatabase) {
+
+        // Static mocks are bound to the thread that creates them, which is the benchmark thread for this state.
+        BenchmarkDatabase database = seededDatabase.database;
+        identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class,
+                withSettings().stubOnly().defaultAnswer(CALLS_REAL_METHODS));
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> database.getConnection());
+        accessTokenDAO = new AccessTokenDAOImpl();
+        List<String> seededTokens = database.getAccessTokens();
+        accessTokens = seededTokens.toArray(new String[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        identityDatabaseUtil.close();
+    }
+
+    @Benchmark
+    public AccessTokenDO getAccessToken() throws IdentityOAuth2Exception {
+
+        String accessToken = accessTokens[ThreadLocalRandom.current().nextInt(accessTokens.length)];
+        return accessTokenDAO.getAccessToken(accessToken, false);
+    }
+}
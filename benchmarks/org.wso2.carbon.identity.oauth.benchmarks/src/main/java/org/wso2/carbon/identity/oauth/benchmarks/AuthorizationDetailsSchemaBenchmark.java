@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.json.schema.Draft;
+import io.vertx.json.schema.JsonSchema;
+import io.vertx.json.schema.JsonSchemaOptions;
+import io.vertx.json.schema.JsonSchemaValidationException;
+import io.vertx.json.schema.OutputFormat;
+import io.vertx.json.schema.OutputUnit;
+import io.vertx.json.schema.SchemaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.oauth.rar.core.AuthorizationDetailsSchemaValidator;
+import org.wso2.carbon.identity.oauth.rar.core.AuthorizationDetailsSchemaValidatorImpl;
+import org.wso2.carbon.identity.oauth.rar.exception.AuthorizationDetailsProcessingException;
+import org.wso2.carbon.identity.oauth.rar.model.AuthorizationDetail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schema validation of a rich authorization request detail against the schema of its authorization details type,
+ * for typical payment initiation and account information schemas. Compares compiling the schema and re-parsing the
+ * JSON text of the detail on each call, as the validator used to do, with the cached compiled schema of
+ * {@link AuthorizationDetailsSchemaValidator#isSchemaCompliant(String, Map, AuthorizationDetail)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuthorizationDetailsSchemaBenchmark {
+
+    static final String PAYMENT_INITIATION = "payment_initiation";
+    static final String ACCOUNT_INFORMATION = "account_information";
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String BASE_URI = "https://wso2.com/identity-server/schemas";
+    private static final String ADDITIONAL_PROPERTIES = "additionalProperties";
+
+    private static final String PAYMENT_INITIATION_SCHEMA = "{\"type\":\"object\",\"required\":[\"type\"," +
+            "\"instructedAmount\",\"creditorName\",\"creditorAccount\"],\"properties\":{" +
+            "\"type\":{\"type\":\"string\",\"enum\":[\"payment_initiation\"]}," +
+            "\"actions\":{\"type\":\"array\",\"items\":{\"type\":\"string\",\"enum\":[\"initiate\",\"status\"," +
+            "\"cancel\"]}}," +
+            "\"locations\":{\"type\":\"array\",\"items\":{\"type\":\"string\",\"format\":\"uri\"}}," +
+            "\"instructedAmount\":{\"type\":\"object\",\"required\":[\"currency\",\"amount\"],\"properties\":{" +
+            "\"currency\":{\"type\":\"string\",\"pattern\":\"^[A-Z]{3}$\"}," +
+            "\"amount\":{\"type\":\"string\",\"pattern\":\"^[0-9]{1,14}(\\\\.[0-9]{1,3})?$\"}}}," +
+            "\"creditorName\":{\"type\":\"string\",\"maxLength\":140}," +
+            "\"creditorAccount\":{\"type\":\"object\",\"required\":[\"iban\"],\"properties\":{" +
+            "\"iban\":{\"type\":\"string\",\"pattern\":\"^[A-Z]{2}[0-9]{2}[A-Z0-9]{1,30}$\"}}}," +
+            "\"remittanceInformationUnstructured\":{\"type\":\"string\",\"maxLength\":140}}}";
+
+    private static final String ACCOUNT_INFORMATION_SCHEMA = "{\"type\":\"object\",\"required\":[\"type\"," +
+            "\"actions\"],\"properties\":{" +
+            "\"type\":{\"type\":\"string\",\"enum\":[\"account_information\"]}," +
+            "\"actions\":{\"type\":\"array\",\"minItems\":1,\"items\":{\"type\":\"string\"," +
+            "\"enum\":[\"list_accounts\",\"read_balances\",\"read_transactions\"]}}," +
+            "\"locations\":{\"type\":\"array\",\"items\":{\"type\":\"string\",\"format\":\"uri\"}}," +
+            "\"access\":{\"type\":\"object\",\"properties\":{" +
+            "\"accounts\":{\"type\":\"array\",\"items\":{\"type\":\"object\",\"required\":[\"iban\"]," +
+            "\"properties\":{\"iban\":{\"type\":\"string\",\"pattern\":\"^[A-Z]{2}[0-9]{2}[A-Z0-9]{1,30}$\"}}}}," +
+            "\"balances\":{\"type\":\"boolean\"},\"transactions\":{\"type\":\"boolean\"}}}}}";
+
+    @Param({PAYMENT_INITIATION, ACCOUNT_INFORMATION})
+    public String authorizationDetailsType;
+
+    private Vertx vertx;
+    private JsonSchemaOptions jsonSchemaOptions;
+    private SchemaRepository schemaRepository;
+    private AuthorizationDetailsSchemaValidator schemaValidator;
+    private Map<String, Object> schema;
+    private AuthorizationDetail authorizationDetail;
+
+    @Setup
+    public void setup() {
+
+        vertx = Vertx.vertx();
+        jsonSchemaOptions = new JsonSchemaOptions()
+                .setBaseUri(BASE_URI)
+                .setDraft(Draft.DRAFT202012)
+                .setOutputFormat(OutputFormat.Basic);
+        schemaRepository = SchemaRepository.create(jsonSchemaOptions).preloadMetaSchema(vertx.fileSystem());
+        schemaValidator = AuthorizationDetailsSchemaValidatorImpl.getInstance();
+
+        if (PAYMENT_INITIATION.equals(authorizationDetailsType)) {
+            schema = new JsonObject(PAYMENT_INITIATION_SCHEMA).getMap();
+            authorizationDetail = createPaymentInitiationDetail();
+        } else {
+            schema = new JsonObject(ACCOUNT_INFORMATION_SCHEMA).getMap();
+            authorizationDetail = createAccountInformationDetail();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        vertx.close();
+    }
+
+    @Benchmark
+    public boolean compileOnEachCall() {
+
+        final JsonObject jsonSchema = new JsonObject(new HashMap<>(schema));
+        jsonSchema.put(ADDITIONAL_PROPERTIES, false);
+        final OutputUnit outputUnit = schemaRepository.validator(JsonSchema.of(jsonSchema), jsonSchemaOptions)
+                .validate(new JsonObject(authorizationDetail.toJsonString()));
+        try {
+            outputUnit.checkValidity();
+        } catch (JsonSchemaValidationException e) {
+            throw new IllegalStateException("Benchmark authorization detail is not schema compliant.", e);
+        }
+        return outputUnit.getValid();
+    }
+
+    @Benchmark
+    public boolean cachedCompiledSchema() throws AuthorizationDetailsProcessingException {
+
+        return schemaValidator.isSchemaCompliant(TENANT_DOMAIN, schema, authorizationDetail);
+    }
+
+    private static AuthorizationDetail createPaymentInitiationDetail() {
+
+        final AuthorizationDetail detail = new AuthorizationDetail();
+        detail.setType(PAYMENT_INITIATION);
+        detail.setActions(Arrays.asList("initiate", "status", "cancel"));
+        detail.setLocations(Collections.singletonList("https://example.com/payments"));
+
+        final Map<String, Object> instructedAmount = new LinkedHashMap<>();
+        instructedAmount.put("currency", "EUR");
+        instructedAmount.put("amount", "123.50");
+        detail.setDetail("instructedAmount", instructedAmount);
+        detail.setDetail("creditorName", "Merchant A");
+        detail.setDetail("creditorAccount", Collections.singletonMap("iban", "DE02100100109307118603"));
+        detail.setDetail("remittanceInformationUnstructured", "Ref Number Merchant");
+        return detail;
+    }
+
+    private static AuthorizationDetail createAccountInformationDetail() {
+
+        final AuthorizationDetail detail = new AuthorizationDetail();
+        detail.setType(ACCOUNT_INFORMATION);
+        detail.setActions(Arrays.asList("list_accounts", "read_balances", "read_transactions"));
+        detail.setLocations(Collections.singletonList("https://example.com/accounts"));
+
+        final Map<String, Object> access = new LinkedHashMap<>();
+        access.put("accounts", Arrays.asList(Collections.singletonMap("iban", "DE02100100109307118603"),
+                Collections.singletonMap("iban", "DE40100100103307118608")));
+        access.put("balances", true);
+        access.put("transactions", true);
+        detail.setDetail("access", access);
+        return detail;
+    }
+}
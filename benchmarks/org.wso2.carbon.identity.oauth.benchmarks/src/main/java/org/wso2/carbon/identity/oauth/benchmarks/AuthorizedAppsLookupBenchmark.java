@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.mockito.MockedStatic;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.application.common.model.LocalAndOutboundAuthenticationConfig;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAOImpl;
+import org.wso2.carbon.identity.oauth2.dao.TokenManagementDAO;
+import org.wso2.carbon.identity.oauth2.dao.TokenManagementDAOImpl;
+import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Lookup of the applications authorized by a user, which backs the authorized apps listing of the user portal.
+ * Compares loading the tokens of each authorized client and the latest token of each of their scopes with the
+ * single aggregated query of {@link TokenManagementDAO#getAuthorizedClientIds(AuthenticatedUser, String)}.
+ * <p>
+ * The {@code queries} and {@code lookups} counters report the statements prepared and the lookups completed in each
+ * iteration, so their ratio is the number of queries a single listing costs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuthorizedAppsLookupBenchmark {
+
+    private static final String USER = "authorizedAppsUser";
+
+    @Param({"10", "50"})
+    public int appCount;
+
+    @Param({"5"})
+    public int tokensPerApp;
+
+    private BenchmarkDatabase database;
+    private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil;
+    private MockedStatic<IdentityUtil> identityUtil;
+    private MockedStatic<IdentityTenantUtil> identityTenantUtil;
+    private TokenManagementDAO tokenManagementDAO;
+    private AccessTokenDAO accessTokenDAO;
+    private AuthenticatedUser user;
+    private long preparedStatements;
+
+    /**
+     * Statements prepared and lookups completed in an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class QueryCounters {
+
+        public long queries;
+        public long lookups;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+
+            queries = 0;
+            lookups = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        BenchmarkEnvironment.initialize();
+        database = BenchmarkDatabase.create(0);
+        database.insertAuthorizedApplications(USER, appCount, tokensPerApp);
+
+        RealmService realmService = mock(RealmService.class, withSettings().stubOnly());
+        TenantManager tenantManager = mock(TenantManager.class, withSettings().stubOnly());
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        when(tenantManager.getDomain(anyInt())).thenReturn(BenchmarkDatabase.TENANT_DOMAIN);
+        when(tenantManager.getTenantId(anyString())).thenReturn(BenchmarkDatabase.TENANT_ID);
+        OAuthComponentServiceHolder.getInstance().setRealmService(realmService);
+
+        ServiceProvider serviceProvider = new ServiceProvider();
+        serviceProvider.setLocalAndOutboundAuthenticationConfig(new LocalAndOutboundAuthenticationConfig());
+        ApplicationManagementService applicationMgtService = mock(ApplicationManagementService.class,
+                withSettings().stubOnly());
+        when(applicationMgtService.getServiceProviderByClientId(anyString(), anyString(), anyString()))
+                .thenReturn(serviceProvider);
+        OAuth2ServiceComponentHolder.setApplicationMgtService(applicationMgtService);
+        OAuth2ServiceComponentHolder.setIDPIdColumnEnabled(false);
+        OAuth2ServiceComponentHolder.setConsentedTokenColumnEnabled(false);
+
+        // Static mocks are bound to the benchmark thread, which creates this state.
+        identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class,
+                withSettings().stubOnly().defaultAnswer(CALLS_REAL_METHODS));
+        identityDatabaseUtil.when(IdentityDatabaseUtil::getDBConnection).thenAnswer(invocation -> getConnection());
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> getConnection());
+        // The user store case sensitivity is otherwise read from the user realm.
+        identityUtil = mockStatic(IdentityUtil.class, withSettings().stubOnly().defaultAnswer(CALLS_REAL_METHODS));
+        identityUtil.when(() -> IdentityUtil.isUserStoreInUsernameCaseSensitive(anyString())).thenReturn(true);
+        identityUtil.when(() -> IdentityUtil.isUserStoreCaseSensitive(anyString(), anyInt())).thenReturn(true);
+        identityTenantUtil = mockStatic(IdentityTenantUtil.class,
+                withSettings().stubOnly().defaultAnswer(CALLS_REAL_METHODS));
+        identityTenantUtil.when(IdentityTenantUtil::getLoginTenantId).thenReturn(BenchmarkDatabase.TENANT_ID);
+
+        tokenManagementDAO = new TokenManagementDAOImpl();
+        accessTokenDAO = new AccessTokenDAOImpl();
+        user = new AuthenticatedUser();
+        user.setUserName(USER);
+        user.setUserStoreDomain("PRIMARY");
+        user.setTenantDomain(BenchmarkDatabase.TENANT_DOMAIN);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        identityTenantUtil.close();
+        identityUtil.close();
+        identityDatabaseUtil.close();
+        database.close();
+    }
+
+    /**
+     * The lookup before the aggregated query: the tokens of every client the user ever authorized, then the latest
+     * token of each of their scopes.
+     */
+    @Benchmark
+    public Set<String> perClientLookup(QueryCounters counters) throws IdentityOAuth2Exception {
+
+        long startPreparedStatements = preparedStatements;
+        Set<String> authorizedClientIds = new HashSet<>();
+        for (String clientId : tokenManagementDAO.getAllTimeAuthorizedClientIds(user)) {
+            for (AccessTokenDO accessTokenDO : accessTokenDAO.getAccessTokens(clientId, user, null, true)) {
+                AccessTokenDO latestAccessToken = accessTokenDAO.getLatestAccessToken(clientId, user, null,
+                        OAuth2Util.buildScopeString(accessTokenDO.getScope()), true);
+                if (latestAccessToken != null) {
+                    authorizedClientIds.add(clientId);
+                }
+            }
+        }
+        counters.queries += preparedStatements - startPreparedStatements;
+        counters.lookups++;
+        return authorizedClientIds;
+    }
+
+    @Benchmark
+    public Set<String> aggregatedLookup(QueryCounters counters) throws IdentityOAuth2Exception {
+
+        long startPreparedStatements = preparedStatements;
+        Set<String> authorizedClientIds = tokenManagementDAO.getAuthorizedClientIds(user, null);
+        counters.queries += preparedStatements - startPreparedStatements;
+        counters.lookups++;
+        return authorizedClientIds;
+    }
+
+    /**
+     * Get a pooled connection that counts the statements prepared through it.
+     */
+    private Connection getConnection() throws SQLException {
+
+        Connection connection = database.getConnection();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if ("prepareStatement".equals(method.getName()) || "prepareCall".equals(method.getName())) {
+                        preparedStatements++;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.wso2.carbon.identity.oauth.tokenprocessor.HashingPersistenceProcessor;
+import org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcessor;
+import org.wso2.carbon.identity.oauth.tokenprocessor.TokenPersistenceProcessor;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-memory H2 database created from the identity.sql script of the OAuth component tests and seeded with active
+ * access tokens of a single application, and optionally with the applications authorized by a user.
+ */
+final class BenchmarkDatabase {
+
+    static final String CONSUMER_KEY = "benchmarkClientId";
+    static final String TENANT_DOMAIN = "carbon.super";
+    static final int TENANT_ID = -1234;
+    static final String[] SCOPES = {"openid", "profile", "email"};
+
+    private static final String DB_URL = "jdbc:h2:mem:oauthbenchmark_%d;DB_CLOSE_DELAY=-1";
+    private static final int MAX_CONNECTIONS = 64;
+    private static final int BATCH_SIZE = 1000;
+    private static final long VALIDITY_PERIOD = 24 * 60 * 60 * 1000L;
+
+    // The token attributes table is read on every token lookup but is not part of the test schema.
+    private static final String CREATE_TOKEN_ATTRIBUTES_TABLE = "CREATE TABLE IF NOT EXISTS " +
+            "IDN_OAUTH2_ACCESS_TOKEN_ATTRIBUTES (ID INTEGER NOT NULL AUTO_INCREMENT, TOKEN_ID VARCHAR (255), " +
+            "TOKEN_ATTR_NAME VARCHAR (255) NOT NULL, TOKEN_ATTR_VALUE VARCHAR (255) NOT NULL, PRIMARY KEY (ID), " +
+            "FOREIGN KEY (TOKEN_ID) REFERENCES IDN_OAUTH2_ACCESS_TOKEN(TOKEN_ID) ON DELETE CASCADE)";
+
+    private static final String INSERT_APP = "INSERT INTO IDN_OAUTH_CONSUMER_APPS (CONSUMER_KEY, CONSUMER_SECRET, " +
+            "USERNAME, TENANT_ID, USER_DOMAIN, APP_NAME, OAUTH_VERSION, CALLBACK_URL, GRANT_TYPES) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ACCESS_TOKEN = "INSERT INTO IDN_OAUTH2_ACCESS_TOKEN (TOKEN_ID, " +
+            "ACCESS_TOKEN, REFRESH_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, TENANT_ID, USER_DOMAIN, USER_TYPE, " +
+            "GRANT_TYPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, " +
+            "TOKEN_SCOPE_HASH, TOKEN_STATE, SUBJECT_IDENTIFIER, ACCESS_TOKEN_HASH, REFRESH_TOKEN_HASH) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?, ?, ?)";
+
+    private static final String INSERT_TOKEN_SCOPE = "INSERT INTO IDN_OAUTH2_ACCESS_TOKEN_SCOPE (TOKEN_ID, " +
+            "TOKEN_SCOPE, TENANT_ID) VALUES (?, ?, ?)";
+
+    private final JdbcConnectionPool connectionPool;
+    private final List<String> accessTokens;
+
+    private BenchmarkDatabase(JdbcConnectionPool connectionPool, List<String> accessTokens) {
+
+        this.connectionPool = connectionPool;
+        this.accessTokens = accessTokens;
+    }
+
+    /**
+     * Create a database with the identity tables and the given number of active access tokens.
+     *
+     * @param tokenCount Number of access tokens to seed.
+     * @return Seeded database.
+     * @throws SQLException            If the schema could not be created or seeded.
+     * @throws IdentityOAuth2Exception If a token could not be hashed.
+     */
+    static BenchmarkDatabase create(int tokenCount) throws SQLException, IdentityOAuth2Exception {
+
+        // A database per token count, so that the trials of different parameters do not share rows.
+        JdbcConnectionPool connectionPool = JdbcConnectionPool.create(String.format(DB_URL, tokenCount),
+                "username", "password");
+        connectionPool.setMaxConnections(MAX_CONNECTIONS);
+        try (Connection connection = connectionPool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("RUNSCRIPT FROM '" + BenchmarkEnvironment.getIdentityScript() + "'");
+            statement.executeUpdate(CREATE_TOKEN_ATTRIBUTES_TABLE);
+            connection.setAutoCommit(false);
+            int appId = insertApplication(connection, CONSUMER_KEY, "benchmarkApp");
+            List<String> accessTokens = insertAccessTokens(connection, appId, tokenCount);
+            connection.commit();
+            return new BenchmarkDatabase(connectionPool, accessTokens);
+        } catch (SQLException | IdentityOAuth2Exception e) {
+            connectionPool.dispose();
+            throw e;
+        }
+    }
+
+    /**
+     * Get a pooled connection to the database.
+     *
+     * @return Connection.
+     * @throws SQLException If a connection could not be obtained.
+     */
+    Connection getConnection() throws SQLException {
+
+        return connectionPool.getConnection();
+    }
+
+    /**
+     * Get the plain text values of the seeded access tokens.
+     *
+     * @return Access tokens.
+     */
+    List<String> getAccessTokens() {
+
+        return accessTokens;
+    }
+
+    /**
+     * Seed applications authorized by a single user, with a token of a distinct scope per application and scope
+     * index.
+     *
+     * @param user         Tenant aware username of the user, in the primary user store.
+     * @param appCount     Number of applications the user has authorized.
+     * @param tokensPerApp Number of tokens of the user per application.
+     * @return Client IDs of the seeded applications.
+     * @throws SQLException            If the rows could not be inserted.
+     * @throws IdentityOAuth2Exception If a token could not be hashed.
+     */
+    List<String> insertAuthorizedApplications(String user, int appCount, int tokensPerApp)
+            throws SQLException, IdentityOAuth2Exception {
+
+        TokenPersistenceProcessor persistenceProcessor = new PlainTextPersistenceProcessor();
+        TokenPersistenceProcessor hashingPersistenceProcessor = new HashingPersistenceProcessor();
+        Timestamp timeCreated = new Timestamp(System.currentTimeMillis());
+        List<String> consumerKeys = new ArrayList<>(appCount);
+        try (Connection connection = connectionPool.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement tokenStmt = connection.prepareStatement(INSERT_ACCESS_TOKEN);
+                 PreparedStatement scopeStmt = connection.prepareStatement(INSERT_TOKEN_SCOPE)) {
+                for (int i = 0; i < appCount; i++) {
+                    String consumerKey = "authorizedClientId" + i;
+                    int appId = insertApplication(connection, consumerKey, "authorizedApp" + i);
+                    for (int j = 0; j < tokensPerApp; j++) {
+                        String tokenId = UUID.randomUUID().toString();
+                        String accessToken = UUID.randomUUID().toString();
+                        String refreshToken = UUID.randomUUID().toString();
+                        // A user holds a single token per scope set, so each token gets a scope of its own.
+                        String scope = "scope" + j;
+                        tokenStmt.setString(1, tokenId);
+                        tokenStmt.setString(2, persistenceProcessor.getProcessedAccessTokenIdentifier(accessToken));
+                        tokenStmt.setString(3, persistenceProcessor.getProcessedRefreshToken(refreshToken));
+                        tokenStmt.setInt(4, appId);
+                        tokenStmt.setString(5, user);
+                        tokenStmt.setInt(6, TENANT_ID);
+                        tokenStmt.setString(7, "PRIMARY");
+                        tokenStmt.setString(8, "APPLICATION_USER");
+                        tokenStmt.setString(9, "authorization_code");
+                        tokenStmt.setTimestamp(10, timeCreated);
+                        tokenStmt.setTimestamp(11, timeCreated);
+                        tokenStmt.setLong(12, VALIDITY_PERIOD);
+                        tokenStmt.setLong(13, VALIDITY_PERIOD);
+                        tokenStmt.setString(14, OAuth2Util.hashScopes(new String[]{scope}));
+                        tokenStmt.setString(15, user);
+                        tokenStmt.setString(16,
+                                hashingPersistenceProcessor.getProcessedAccessTokenIdentifier(accessToken));
+                        tokenStmt.setString(17, hashingPersistenceProcessor.getProcessedRefreshToken(refreshToken));
+                        tokenStmt.addBatch();
+                        scopeStmt.setString(1, tokenId);
+                        scopeStmt.setString(2, scope);
+                        scopeStmt.setInt(3, TENANT_ID);
+                        scopeStmt.addBatch();
+                    }
+                    consumerKeys.add(consumerKey);
+                }
+                tokenStmt.executeBatch();
+                scopeStmt.executeBatch();
+            }
+            connection.commit();
+        }
+        return consumerKeys;
+    }
+
+    /**
+     * Drop the database and release the pooled connections.
+     */
+    void close() {
+
+        try (Connection connection = connectionPool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        } catch (SQLException e) {
+            // The in-memory database goes away with the JVM anyway.
+        } finally {
+            connectionPool.dispose();
+        }
+    }
+
+    private static int insertApplication(Connection connection, String consumerKey, String appName)
+            throws SQLException {
+
+        try (PreparedStatement prepStmt = connection.prepareStatement(INSERT_APP, Statement.RETURN_GENERATED_KEYS)) {
+            prepStmt.setString(1, consumerKey);
+            prepStmt.setString(2, "benchmarkClientSecret");
+            prepStmt.setString(3, "admin");
+            prepStmt.setInt(4, TENANT_ID);
+            prepStmt.setString(5, "PRIMARY");
+            prepStmt.setString(6, appName);
+            prepStmt.setString(7, "OAuth-2.0");
+            prepStmt.setString(8, "https://localhost/callback");
+            prepStmt.setString(9, "authorization_code password client_credentials refresh_token");
+            prepStmt.executeUpdate();
+            try (ResultSet generatedKeys = prepStmt.getGeneratedKeys()) {
+                if (!generatedKeys.next()) {
+                    throw new SQLException("No id returned for the benchmark application: " + consumerKey);
+                }
+                return generatedKeys.getInt(1);
+            }
+        }
+    }
+
+    private static List<String> insertAccessTokens(Connection connection, int appId, int tokenCount)
+            throws SQLException, IdentityOAuth2Exception {
+
+        TokenPersistenceProcessor persistenceProcessor = new PlainTextPersistenceProcessor();
+        TokenPersistenceProcessor hashingPersistenceProcessor = new HashingPersistenceProcessor();
+        String scopeHash = OAuth2Util.hashScopes(SCOPES);
+        Timestamp timeCreated = new Timestamp(System.currentTimeMillis());
+        List<String> accessTokens = new ArrayList<>(tokenCount);
+        try (PreparedStatement tokenStmt = connection.prepareStatement(INSERT_ACCESS_TOKEN);
+             PreparedStatement scopeStmt = connection.prepareStatement(INSERT_TOKEN_SCOPE)) {
+            for (int i = 0; i < tokenCount; i++) {
+                String tokenId = UUID.randomUUID().toString();
+                String accessToken = UUID.randomUUID().toString();
+                String refreshToken = UUID.randomUUID().toString();
+                // Tokens belong to distinct users, as a user holds a single active token per scope set.
+                String user = "user" + i;
+                tokenStmt.setString(1, tokenId);
+                tokenStmt.setString(2, persistenceProcessor.getProcessedAccessTokenIdentifier(accessToken));
+                tokenStmt.setString(3, persistenceProcessor.getProcessedRefreshToken(refreshToken));
+                tokenStmt.setInt(4, appId);
+                tokenStmt.setString(5, user);
+                tokenStmt.setInt(6, TENANT_ID);
+                tokenStmt.setString(7, "PRIMARY");
+                tokenStmt.setString(8, "APPLICATION_USER");
+                tokenStmt.setString(9, "password");
+                tokenStmt.setTimestamp(10, timeCreated);
+                tokenStmt.setTimestamp(11, timeCreated);
+                tokenStmt.setLong(12, VALIDITY_PERIOD);
+                tokenStmt.setLong(13, VALIDITY_PERIOD);
+                tokenStmt.setString(14, scopeHash);
+                tokenStmt.setString(15, user);
+                tokenStmt.setString(16, hashingPersistenceProcessor.getProcessedAccessTokenIdentifier(accessToken));
+                tokenStmt.setString(17, hashingPersistenceProcessor.getProcessedRefreshToken(refreshToken));
+                tokenStmt.addBatch();
+                for (String scope : SCOPES) {
+                    scopeStmt.setString(1, tokenId);
+                    scopeStmt.setString(2, scope);
+                    scopeStmt.setInt(3, TENANT_ID);
+                    scopeStmt.addBatch();
+                }
+                accessTokens.add(accessToken);
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    tokenStmt.executeBatch();
+                    scopeStmt.executeBatch();
+                }
+            }
+            tokenStmt.executeBatch();
+            scopeStmt.executeBatch();
+        }
+        return accessTokens;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.tokenprocessor.HashingPersistenceProcessor;
+import org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcessor;
+import org.wso2.carbon.identity.oauth.tokenprocessor.TokenPersistenceProcessor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Points the carbon home of the benchmark JVM to the test resources of the OAuth component, so that
+ * {@link OAuthServerConfiguration} loads the same identity.xml the unit tests use.
+ */
+final class BenchmarkEnvironment {
+
+    static final String PLAIN_TEXT_PROCESSOR = "PlainText";
+    static final String HASHING_PROCESSOR = "Hashing";
+
+    private static final String DEFAULT_CARBON_HOME = Paths.get("..", "..", "components",
+            "org.wso2.carbon.identity.oauth", "src", "test", "resources").toString();
+
+    private static Path carbonHome;
+
+    private BenchmarkEnvironment() {
+
+    }
+
+    /**
+     * Resolve the carbon home and load the OAuth server configuration. The carbon home can be overridden with the
+     * carbon.home system property, otherwise it is resolved relative to the benchmarks module directory.
+     *
+     * @return Resolved carbon home.
+     */
+    static synchronized Path initialize() {
+
+        if (carbonHome != null) {
+            return carbonHome;
+        }
+        String configuredCarbonHome = System.getProperty(CarbonBaseConstants.CARBON_HOME);
+        Path resolvedCarbonHome = configuredCarbonHome != null ? Paths.get(configuredCarbonHome) :
+                Paths.get(System.getProperty("user.dir")).resolve(DEFAULT_CARBON_HOME);
+        resolvedCarbonHome = resolvedCarbonHome.toAbsolutePath().normalize();
+        Path identityXml = resolvedCarbonHome.resolve(Paths.get("repository", "conf", "identity", "identity.xml"));
+        if (!Files.isRegularFile(identityXml)) {
+            throw new IllegalStateException("Cannot find identity.xml at " + identityXml + ". Run the benchmarks " +
+                    "from the benchmarks module directory or set -D" + CarbonBaseConstants.CARBON_HOME + ".");
+        }
+        System.setProperty(CarbonBaseConstants.CARBON_HOME, resolvedCarbonHome.toString());
+        OAuthServerConfiguration.getInstance();
+        carbonHome = resolvedCarbonHome;
+        return carbonHome;
+    }
+
+    /**
+     * Get the H2 script that creates the identity tables.
+     *
+     * @return Path of the identity.sql script.
+     */
+    static Path getIdentityScript() {
+
+        return initialize().resolve(Paths.get("dbScripts", "identity.sql"));
+    }
+
+    /**
+     * Create the token persistence processor for the given benchmark parameter.
+     *
+     * @param processorType {@value #PLAIN_TEXT_PROCESSOR} or {@value #HASHING_PROCESSOR}.
+     * @return Token persistence processor.
+     */
+    static TokenPersistenceProcessor createPersistenceProcessor(String processorType) {
+
+        if (PLAIN_TEXT_PROCESSOR.equals(processorType)) {
+            return new PlainTextPersistenceProcessor();
+        }
+        if (HASHING_PROCESSOR.equals(processorType)) {
+            return new HashingPersistenceProcessor();
+        }
+        throw new IllegalArgumentException("Unsupported token persistence processor: " + processorType);
+    }
+}
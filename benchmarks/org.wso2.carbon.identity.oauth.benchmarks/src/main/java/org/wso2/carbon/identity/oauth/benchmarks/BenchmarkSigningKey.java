@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.util.Base64URL;
+import org.wso2.carbon.identity.oauth2.util.JWSSigningMaterial;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+
+/**
+ * Freshly generated key pair of a JWS algorithm, exposed as the {@link JWSSigningMaterial} the token issuers sign
+ * with and the verifier a resource server would validate the signature with.
+ */
+final class BenchmarkSigningKey {
+
+    private static final String KEY_ID = "benchmark";
+    private static final int RSA_KEY_SIZE = 2048;
+
+    private final JWSSigningMaterial signingMaterial;
+    private final JWSVerifier verifier;
+
+    private BenchmarkSigningKey(JWSSigningMaterial signingMaterial, JWSVerifier verifier) {
+
+        this.signingMaterial = signingMaterial;
+        this.verifier = verifier;
+    }
+
+    /**
+     * Generate a key pair for the given JWS algorithm.
+     *
+     * @param algorithmName JWS algorithm name, e.g. RS256 or ES256.
+     * @return Signing key of the algorithm.
+     * @throws GeneralSecurityException If the key pair could not be generated.
+     * @throws JOSEException            If the signer or the verifier could not be created.
+     */
+    static BenchmarkSigningKey generate(String algorithmName) throws GeneralSecurityException, JOSEException {
+
+        JWSAlgorithm algorithm = JWSAlgorithm.parse(algorithmName);
+        if (JWSAlgorithm.Family.RSA.contains(algorithm)) {
+            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+            keyPairGenerator.initialize(RSA_KEY_SIZE);
+            KeyPair keyPair = keyPairGenerator.generateKeyPair();
+            JWSSigningMaterial signingMaterial = new JWSSigningMaterial(algorithm, keyPair.getPrivate(), null,
+                    OAuth2Util.createJWSSigner((RSAPrivateKey) keyPair.getPrivate()), KEY_ID,
+                    thumbprint(keyPair));
+            return new BenchmarkSigningKey(signingMaterial, new RSASSAVerifier((RSAPublicKey) keyPair.getPublic()));
+        }
+        if (JWSAlgorithm.Family.EC.contains(algorithm)) {
+            Curve curve = Curve.forJWSAlgorithm(algorithm).iterator().next();
+            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+            keyPairGenerator.initialize(curve.toECParameterSpec());
+            KeyPair keyPair = keyPairGenerator.generateKeyPair();
+            JWSSigningMaterial signingMaterial = new JWSSigningMaterial(algorithm, keyPair.getPrivate(), null,
+                    new ECDSASigner((ECPrivateKey) keyPair.getPrivate()), KEY_ID, thumbprint(keyPair));
+            return new BenchmarkSigningKey(signingMaterial, new ECDSAVerifier((ECPublicKey) keyPair.getPublic()));
+        }
+        throw new IllegalArgumentException("Unsupported JWS algorithm: " + algorithmName);
+    }
+
+    JWSSigningMaterial getSigningMaterial() {
+
+        return signingMaterial;
+    }
+
+    JWSVerifier getVerifier() {
+
+        return verifier;
+    }
+
+    private static Base64URL thumbprint(KeyPair keyPair) throws GeneralSecurityException {
+
+        // No certificate backs a generated key pair, so the public key stands in for the thumbprint input.
+        return Base64URL.encode(MessageDigest.getInstance("SHA-256").digest(keyPair.getPublic().getEncoded()));
+    }
+}
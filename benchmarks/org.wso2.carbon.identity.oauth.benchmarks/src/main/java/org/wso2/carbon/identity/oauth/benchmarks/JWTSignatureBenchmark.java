@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.oauth2.util.JWSSigningMaterial;
+
+import java.security.GeneralSecurityException;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing a JWT access token per JWS algorithm, and parsing and verifying it the way a JWT introspection or a
+ * resource server does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JWTSignatureBenchmark {
+
+    static final JOSEObjectType AT_JWT = new JOSEObjectType("at+jwt");
+
+    @Param({"RS256", "RS384", "RS512", "PS256", "ES256", "ES384", "ES512"})
+    public String algorithm;
+
+    private JWSSigningMaterial signingMaterial;
+    private JWSVerifier verifier;
+    private JWTClaimsSet claimsSet;
+    private String serializedJWT;
+
+    @Setup
+    public void setup() throws GeneralSecurityException, JOSEException {
+
+        BenchmarkSigningKey signingKey = BenchmarkSigningKey.generate(algorithm);
+        signingMaterial = signingKey.getSigningMaterial();
+        verifier = signingKey.getVerifier();
+        claimsSet = buildClaimsSet();
+        serializedJWT = sign(signingMaterial, claimsSet);
+    }
+
+    @Benchmark
+    public String sign() throws JOSEException {
+
+        return sign(signingMaterial, claimsSet);
+    }
+
+    @Benchmark
+    public boolean parseAndVerify() throws JOSEException, ParseException {
+
+        return SignedJWT.parse(serializedJWT).verify(verifier);
+    }
+
+    /**
+     * Sign the claims the way the JWT token issuer does.
+     *
+     * @param signingMaterial Signing material of the tenant key.
+     * @param claimsSet       Access token claims.
+     * @return Serialized JWT.
+     * @throws JOSEException If signing fails.
+     */
+    static String sign(JWSSigningMaterial signingMaterial, JWTClaimsSet claimsSet) throws JOSEException {
+
+        SignedJWT signedJWT = new SignedJWT(signingMaterial.getHeader(AT_JWT), claimsSet);
+        signedJWT.sign(signingMaterial.getSigner());
+        return signedJWT.serialize();
+    }
+
+    /**
+     * Build a claims set of the size and shape of a JWT access token.
+     *
+     * @return Access token claims.
+     */
+    static JWTClaimsSet buildClaimsSet() {
+
+        long now = System.currentTimeMillis();
+        return new JWTClaimsSet.Builder()
+                .issuer("https://localhost:9443/oauth2/token")
+                .subject("admin")
+                .audience(Arrays.asList(BenchmarkDatabase.CONSUMER_KEY))
+                .issueTime(new Date(now))
+                .notBeforeTime(new Date(now))
+                .expirationTime(new Date(now + 3600 * 1000L))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("client_id", BenchmarkDatabase.CONSUMER_KEY)
+                .claim("azp", BenchmarkDatabase.CONSUMER_KEY)
+                .claim("scope", String.join(" ", BenchmarkDatabase.SCOPES))
+                .claim("org_id", "10084a8d-113f-4211-a0d5-efe36b082211")
+                .claim("org_name", "Super")
+                .build();
+    }
+}
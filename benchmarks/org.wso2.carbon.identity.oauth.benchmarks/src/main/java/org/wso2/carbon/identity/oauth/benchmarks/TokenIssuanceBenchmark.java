@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.apache.oltu.oauth2.common.exception.OAuthSystemException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.identity.oauth.tokenprocessor.TokenPersistenceProcessor;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
+import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
+import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuerImpl;
+import org.wso2.carbon.identity.oauth2.util.JWSSigningMaterial;
+
+import java.security.GeneralSecurityException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token material the token endpoint produces per grant type: processing the presented authorization code or
+ * refresh token, generating an opaque or a signed JWT access token, generating the refresh token and processing the
+ * identifiers that get persisted.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TokenIssuanceBenchmark {
+
+    private static final String AUTHORIZATION_CODE = "authorization_code";
+    private static final String PASSWORD = "password";
+    private static final String CLIENT_CREDENTIALS = "client_credentials";
+    private static final String REFRESH_TOKEN = "refresh_token";
+    private static final String OPAQUE = "Opaque";
+
+    @Param({AUTHORIZATION_CODE, PASSWORD, CLIENT_CREDENTIALS, REFRESH_TOKEN})
+    public String grantType;
+
+    @Param({OPAQUE, "RS256", "ES256"})
+    public String tokenFormat;
+
+    @Param({BenchmarkEnvironment.PLAIN_TEXT_PROCESSOR, BenchmarkEnvironment.HASHING_PROCESSOR})
+    public String processorType;
+
+    private TokenPersistenceProcessor persistenceProcessor;
+    private OauthTokenIssuer tokenIssuer;
+    private JWSSigningMaterial signingMaterial;
+    private String presentedGrant;
+    private boolean authorizationCodeGrant;
+    private boolean refreshTokenGrant;
+    private boolean issueRefreshToken;
+
+    @Setup
+    public void setup() throws GeneralSecurityException, JOSEException {
+
+        if (!AUTHORIZATION_CODE.equals(grantType) && !PASSWORD.equals(grantType) &&
+                !CLIENT_CREDENTIALS.equals(grantType) && !REFRESH_TOKEN.equals(grantType)) {
+            throw new IllegalArgumentException("Unsupported grant type: " + grantType);
+        }
+        BenchmarkEnvironment.initialize();
+        persistenceProcessor = BenchmarkEnvironment.createPersistenceProcessor(processorType);
+        tokenIssuer = new OauthTokenIssuerImpl();
+        if (!OPAQUE.equals(tokenFormat)) {
+            signingMaterial = BenchmarkSigningKey.generate(tokenFormat).getSigningMaterial();
+        }
+        presentedGrant = UUID.randomUUID().toString();
+        authorizationCodeGrant = AUTHORIZATION_CODE.equals(grantType);
+        refreshTokenGrant = REFRESH_TOKEN.equals(grantType);
+        // Refresh tokens are not issued for the client credentials grant.
+        issueRefreshToken = !CLIENT_CREDENTIALS.equals(grantType);
+    }
+
+    @Benchmark
+    public void issueToken(Blackhole blackhole) throws IdentityOAuth2Exception, OAuthSystemException,
+            JOSEException {
+
+        if (authorizationCodeGrant) {
+            blackhole.consume(persistenceProcessor.getProcessedAuthzCode(presentedGrant));
+        } else if (refreshTokenGrant) {
+            blackhole.consume(persistenceProcessor.getProcessedRefreshToken(presentedGrant));
+        }
+
+        String tokenIdentifier;
+        if (signingMaterial == null) {
+            tokenIdentifier = tokenIssuer.accessToken((OAuthTokenReqMessageContext) null);
+        } else {
+            // JWT access tokens are persisted against their jti.
+            JWTClaimsSet claimsSet = JWTSignatureBenchmark.buildClaimsSet();
+            blackhole.consume(JWTSignatureBenchmark.sign(signingMaterial, claimsSet));
+            tokenIdentifier = claimsSet.getJWTID();
+        }
+        blackhole.consume(persistenceProcessor.getProcessedAccessTokenIdentifier(tokenIdentifier));
+
+        if (issueRefreshToken) {
+            String refreshToken = tokenIssuer.refreshToken((OAuthTokenReqMessageContext) null);
+            blackhole.consume(persistenceProcessor.getProcessedRefreshToken(refreshToken));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.oauth.tokenprocessor.TokenPersistenceProcessor;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning the token material into the values persisted in, and looked up from, the token tables with the
+ * plain text and the hashing token persistence processors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TokenPersistenceProcessorBenchmark {
+
+    @Param({BenchmarkEnvironment.PLAIN_TEXT_PROCESSOR, BenchmarkEnvironment.HASHING_PROCESSOR})
+    public String processorType;
+
+    private TokenPersistenceProcessor persistenceProcessor;
+    private String accessToken;
+    private String refreshToken;
+    private String authorizationCode;
+    private String clientSecret;
+
+    @Setup
+    public void setup() {
+
+        BenchmarkEnvironment.initialize();
+        persistenceProcessor = BenchmarkEnvironment.createPersistenceProcessor(processorType);
+        accessToken = UUID.randomUUID().toString();
+        refreshToken = UUID.randomUUID().toString();
+        authorizationCode = UUID.randomUUID().toString();
+        clientSecret = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String processAccessToken() throws IdentityOAuth2Exception {
+
+        return persistenceProcessor.getProcessedAccessTokenIdentifier(accessToken);
+    }
+
+    @Benchmark
+    public String processRefreshToken() throws IdentityOAuth2Exception {
+
+        return persistenceProcessor.getProcessedRefreshToken(refreshToken);
+    }
+
+    @Benchmark
+    public String processAuthorizationCode() throws IdentityOAuth2Exception {
+
+        return persistenceProcessor.getProcessedAuthzCode(authorizationCode);
+    }
+
+    @Benchmark
+    public String processClientSecret() throws IdentityOAuth2Exception {
+
+        return persistenceProcessor.getProcessedClientSecret(clientSecret);
+    }
+}
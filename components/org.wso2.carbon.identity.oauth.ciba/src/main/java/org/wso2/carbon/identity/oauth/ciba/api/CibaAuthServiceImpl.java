@@ -29,6 +29,7 @@ import org.wso2.carbon.identity.oauth.ciba.exceptions.CibaCoreException;
 import org.wso2.carbon.identity.oauth.ciba.model.CibaAuthCodeDO;
 import org.wso2.carbon.identity.oauth.ciba.model.CibaAuthCodeRequest;
 import org.wso2.carbon.identity.oauth.ciba.model.CibaAuthCodeResponse;
+import org.wso2.carbon.identity.oauth.ciba.notification.CibaNotificationDispatcher;
 import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
 import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
@@ -52,9 +53,40 @@ public class CibaAuthServiceImpl implements CibaAuthService {
 
         CibaAuthCodeDO cibaAuthCodeDO = generateCibaAuthCodeDO(cibaAuthCodeRequest);
         CibaDAOFactory.getInstance().getCibaAuthMgtDAO().persistCibaAuthCode(cibaAuthCodeDO);
+        if (isNotificationRequired(cibaAuthCodeRequest)) {
+            // Ping clients are notified of the outcome of the authentication through the outbox.
+            CibaDAOFactory.getInstance().getCibaNotificationDAO().persistNotification(
+                    cibaAuthCodeDO.getCibaAuthCodeKey(), cibaAuthCodeRequest.getClientNotificationToken());
+        }
         return buildAuthCodeResponse(cibaAuthCodeRequest, cibaAuthCodeDO);
     }
 
+    /**
+     * Checks whether the client of the request has to be notified of the outcome of the authentication.
+     *
+     * @param cibaAuthCodeRequest CIBA Request Data Transfer Object.
+     * @return Whether the client uses the ping token delivery mode.
+     * @throws CibaCoreException   Exception thrown from CibaCore Component.
+     * @throws CibaClientException Client exception thrown from CibaCore Component.
+     */
+    private boolean isNotificationRequired(CibaAuthCodeRequest cibaAuthCodeRequest)
+            throws CibaCoreException, CibaClientException {
+
+        if (StringUtils.isBlank(cibaAuthCodeRequest.getClientNotificationToken()) ||
+                !CibaNotificationDispatcher.isEnabled()) {
+            return false;
+        }
+        String clientID = cibaAuthCodeRequest.getIssuer();
+        try {
+            String tokenDeliveryMode = OAuth2Util.getAppInformationByClientId(clientID).getCibaTokenDeliveryMode();
+            return CibaConstants.TOKEN_DELIVERY_MODE_PING.equals(tokenDeliveryMode);
+        } catch (IdentityOAuth2Exception e) {
+            throw new CibaCoreException("Error in resolving the token delivery mode of the client: " + clientID, e);
+        } catch (InvalidOAuthClientException e) {
+            throw new CibaClientException("Error in resolving the token delivery mode of the client: " + clientID, e);
+        }
+    }
+
     /**
      * Returns a unique AuthCodeKey.
      *
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.ciba.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.oauth.ciba.common.AuthReqStatus;
+import org.wso2.carbon.identity.oauth.ciba.common.CibaConstants;
+import org.wso2.carbon.identity.oauth.ciba.dao.CibaMgtDAO;
+import org.wso2.carbon.identity.oauth.ciba.exceptions.CibaCoreException;
+import org.wso2.carbon.identity.oauth.ciba.model.CibaAuthCodeCacheEntry;
+import org.wso2.carbon.identity.oauth.ciba.model.CibaAuthCodeDO;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caching layer for CIBA authentication requests.
+ * <p>
+ * The status of a request is served from the {@link CibaAuthCodeCache}. Every status transition is written to the
+ * database and clears the cache entry across the cluster, so the next poll reads the new status. The last polled
+ * time and the polling interval are only kept in memory of the node that serves the polls, so token polls do not
+ * write to the database.
+ */
+public class CacheBackedCibaMgtDAO implements CibaMgtDAO {
+
+    private static final Log log = LogFactory.getLog(CacheBackedCibaMgtDAO.class);
+    private static final long SWEEP_INTERVAL_MILLIS = 60 * 1000L;
+
+    private final CibaAuthCodeCache cibaAuthCodeCache = CibaAuthCodeCache.getInstance();
+    private final CibaMgtDAO cibaMgtDAO;
+    // Auth code keys of the requests being polled, by auth_req_id. The mapping never changes once issued.
+    private final Map<String, String> authCodeKeys = new ConcurrentHashMap<>();
+    // Polling state of the requests being polled, by auth code key.
+    private final Map<String, PollingState> pollingStates = new ConcurrentHashMap<>();
+    private volatile long lastSweepTime = System.currentTimeMillis();
+
+    public CacheBackedCibaMgtDAO(CibaMgtDAO cibaMgtDAO) {
+
+        this.cibaMgtDAO = cibaMgtDAO;
+    }
+
+    @Override
+    public void updateStatus(String authCodeKey, Enum authenticationStatus) throws CibaCoreException {
+
+        cibaMgtDAO.updateStatus(authCodeKey, authenticationStatus);
+        cibaAuthCodeCache.clearCacheEntry(authCodeKey);
+        if (!AuthReqStatus.REQUESTED.equals(authenticationStatus) &&
+                !AuthReqStatus.AUTHENTICATED.equals(authenticationStatus)) {
+            // No more polls are accepted for the request.
+            removePollingState(authCodeKey);
+        }
+    }
+
+    @Override
+    public void persistAuthenticationSuccess(String authCodeKey, AuthenticatedUser authenticatedUser)
+            throws CibaCoreException {
+
+        cibaMgtDAO.persistAuthenticationSuccess(authCodeKey, authenticatedUser);
+        cibaAuthCodeCache.clearCacheEntry(authCodeKey);
+    }
+
+    @Override
+    public String getCibaAuthCodeKey(String authReqId) throws CibaCoreException {
+
+        String authCodeKey = authCodeKeys.get(authReqId);
+        if (authCodeKey != null) {
+            return authCodeKey;
+        }
+        authCodeKey = cibaMgtDAO.getCibaAuthCodeKey(authReqId);
+        if (StringUtils.isNotBlank(authCodeKey)) {
+            authCodeKeys.put(authReqId, authCodeKey);
+        }
+        return authCodeKey;
+    }
+
+    @Override
+    public void updateLastPollingTime(String authCodeKey, Timestamp lastPolledTime) throws CibaCoreException {
+
+        PollingState pollingState = pollingStates.get(authCodeKey);
+        if (pollingState == null) {
+            cibaMgtDAO.updateLastPollingTime(authCodeKey, lastPolledTime);
+            return;
+        }
+        pollingState.lastPolledTime = lastPolledTime.getTime();
+    }
+
+    @Override
+    public void updatePollingInterval(String authCodeKey, long newInterval) throws CibaCoreException {
+
+        PollingState pollingState = pollingStates.get(authCodeKey);
+        if (pollingState == null) {
+            cibaMgtDAO.updatePollingInterval(authCodeKey, newInterval);
+            return;
+        }
+        pollingState.interval = newInterval;
+    }
+
+    @Override
+    public AuthenticatedUser getAuthenticatedUser(String authCodeKey) throws CibaCoreException {
+
+        return cibaMgtDAO.getAuthenticatedUser(authCodeKey);
+    }
+
+    @Override
+    public void persistCibaAuthCode(CibaAuthCodeDO cibaAuthCodeDO) throws CibaCoreException {
+
+        cibaMgtDAO.persistCibaAuthCode(cibaAuthCodeDO);
+        cibaAuthCodeCache.addToCache(cibaAuthCodeDO.getCibaAuthCodeKey(), new CibaAuthCodeCacheEntry(cibaAuthCodeDO));
+    }
+
+    @Override
+    public CibaAuthCodeDO getCibaAuthCode(String authCodeKey) throws CibaCoreException {
+
+        CibaAuthCodeDO cibaAuthCodeDO;
+        CibaAuthCodeCacheEntry cacheEntry = cibaAuthCodeCache.getValueFromCache(authCodeKey);
+        if (cacheEntry != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache hit for the CIBA auth code of authCodeKey: " + authCodeKey);
+            }
+            cibaAuthCodeDO = cacheEntry.toCibaAuthCodeDO();
+        } else {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache miss for the CIBA auth code of authCodeKey: " + authCodeKey);
+            }
+            cibaAuthCodeDO = cibaMgtDAO.getCibaAuthCode(authCodeKey);
+            if (cibaAuthCodeDO == null) {
+                return null;
+            }
+            cibaAuthCodeCache.addToCache(authCodeKey, new CibaAuthCodeCacheEntry(cibaAuthCodeDO));
+        }
+
+        return applyPollingState(cibaAuthCodeDO);
+    }
+
+    @Override
+    public List<String> getScopes(String authCodeKey) throws CibaCoreException {
+
+        return cibaMgtDAO.getScopes(authCodeKey);
+    }
+
+    private CibaAuthCodeDO applyPollingState(CibaAuthCodeDO cibaAuthCodeDO) {
+
+        sweepExpiredPollingStates();
+        PollingState pollingState = pollingStates.computeIfAbsent(cibaAuthCodeDO.getCibaAuthCodeKey(),
+                authCodeKey -> new PollingState(cibaAuthCodeDO));
+        cibaAuthCodeDO.setLastPolledTime(new Timestamp(pollingState.lastPolledTime));
+        cibaAuthCodeDO.setInterval(pollingState.interval);
+        return cibaAuthCodeDO;
+    }
+
+    private void removePollingState(String authCodeKey) {
+
+        PollingState pollingState = pollingStates.remove(authCodeKey);
+        if (pollingState != null) {
+            authCodeKeys.remove(pollingState.authReqId);
+        }
+    }
+
+    private void sweepExpiredPollingStates() {
+
+        long currentTime = System.currentTimeMillis();
+        if (currentTime - lastSweepTime < SWEEP_INTERVAL_MILLIS) {
+            return;
+        }
+        lastSweepTime = currentTime;
+        pollingStates.entrySet().removeIf(entry -> entry.getValue().expiryTime < currentTime);
+        authCodeKeys.values().removeIf(authCodeKey -> !pollingStates.containsKey(authCodeKey));
+    }
+
+    /**
+     * Polling state of a CIBA authentication request on this node.
+     */
+    private static class PollingState {
+
+        private final String authReqId;
+        private final long expiryTime;
+        private volatile long lastPolledTime;
+        private volatile long interval;
+
+        private PollingState(CibaAuthCodeDO cibaAuthCodeDO) {
+
+            this.authReqId = cibaAuthCodeDO.getAuthReqId();
+            this.expiryTime = cibaAuthCodeDO.getIssuedTime().getTime() +
+                    cibaAuthCodeDO.getExpiresIn() * CibaConstants.SEC_TO_MILLISEC_FACTOR;
+            this.lastPolledTime = cibaAuthCodeDO.getLastPolledTime().getTime();
+            this.interval = cibaAuthCodeDO.getInterval();
+        }
+    }
+}
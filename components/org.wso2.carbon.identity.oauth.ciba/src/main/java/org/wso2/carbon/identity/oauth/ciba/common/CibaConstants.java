@@ -46,6 +46,31 @@ public class CibaConstants {
     public static final String UTC = "UTC";
     public static final String EXPIRES_IN = "expires_in";
 
+    // Caching of the authentication requests for token polling.
+    public static final String CIBA_AUTH_CODE_CACHE_NAME = "CibaAuthCodeCache";
+    public static final String POLLING_STATE_CACHE_ENABLE = "OAuth.CIBA.PollingStateCache.Enable";
+
+    // Token delivery modes of CIBA clients.
+    public static final String TOKEN_DELIVERY_MODE_POLL = "poll";
+    public static final String TOKEN_DELIVERY_MODE_PING = "ping";
+    public static final int CLIENT_NOTIFICATION_TOKEN_MAX_LENGTH = 1024;
+
+    // Delivery of the ping notifications to the client notification endpoints.
+    public static final String NOTIFICATION_ENABLE = "OAuth.CIBA.Notification.Enable";
+    public static final String NOTIFICATION_POOL_SIZE = "OAuth.CIBA.Notification.PoolSize";
+    public static final String NOTIFICATION_QUEUE_SIZE = "OAuth.CIBA.Notification.QueueSize";
+    public static final String NOTIFICATION_MAX_RETRY_COUNT = "OAuth.CIBA.Notification.MaxRetryCount";
+    public static final String NOTIFICATION_RETRY_BACKOFF = "OAuth.CIBA.Notification.RetryBackoff";
+    public static final String NOTIFICATION_RELAY_INTERVAL = "OAuth.CIBA.Notification.RelayInterval";
+    public static final String NOTIFICATION_HTTP_TIMEOUT = "OAuth.CIBA.Notification.HttpTimeout";
+    public static final int DEFAULT_NOTIFICATION_POOL_SIZE = 5;
+    public static final int DEFAULT_NOTIFICATION_QUEUE_SIZE = 1000;
+    public static final int DEFAULT_NOTIFICATION_MAX_RETRY_COUNT = 5;
+    public static final int DEFAULT_NOTIFICATION_RETRY_BACKOFF_IN_MILLIS = 2000;
+    public static final int DEFAULT_NOTIFICATION_RELAY_INTERVAL_IN_SEC = 30;
+    public static final int DEFAULT_NOTIFICATION_HTTP_TIMEOUT_IN_MILLIS = 5000;
+    public static final int NOTIFICATION_RELAY_BATCH_SIZE = 100;
+
     private CibaConstants() {
 
     }
@@ -18,6 +18,10 @@
 
 package org.wso2.carbon.identity.oauth.ciba.dao;
 
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.ciba.cache.CacheBackedCibaMgtDAO;
+import org.wso2.carbon.identity.oauth.ciba.common.CibaConstants;
+
 /**
  * Creates required CibaDAO.
  */
@@ -25,11 +29,16 @@ public class CibaDAOFactory {
 
     // Implementation of DAO.
     private CibaMgtDAO cibaMgtDAOImpl;
+    private CibaNotificationDAO cibaNotificationDAO = new CibaNotificationDAOImpl();
 
     private CibaDAOFactory() {
 
         // This factory creates instance of CIBA DAOImplementation.
         cibaMgtDAOImpl = new CibaMgtDAOImpl();
+        if (Boolean.parseBoolean(IdentityUtil.getProperty(CibaConstants.POLLING_STATE_CACHE_ENABLE))) {
+            // Serves token polls from the cache and memory, and writes only the status transitions.
+            cibaMgtDAOImpl = new CacheBackedCibaMgtDAO(cibaMgtDAOImpl);
+        }
     }
 
     private static CibaDAOFactory cibaDAOFactoryInstance = new CibaDAOFactory();
@@ -46,4 +55,12 @@ public class CibaDAOFactory {
 
         return cibaMgtDAOImpl;
     }
+
+    /**
+     * @return  CibaNotificationDAO.
+     */
+    public CibaNotificationDAO getCibaNotificationDAO() {
+
+        return cibaNotificationDAO;
+    }
 }
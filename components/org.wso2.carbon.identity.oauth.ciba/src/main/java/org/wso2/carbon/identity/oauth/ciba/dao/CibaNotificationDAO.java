@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.ciba.dao;
+
+import org.wso2.carbon.identity.oauth.ciba.common.NotificationStatus;
+import org.wso2.carbon.identity.oauth.ciba.exceptions.CibaCoreException;
+import org.wso2.carbon.identity.oauth.ciba.model.CibaNotificationDO;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * DAO layer for the outbox of the ping notifications of CIBA.
+ */
+public interface CibaNotificationDAO {
+
+    /**
+     * Persists the notification of an authentication request made by a ping client. The notification waits until
+     * the outcome of the user authentication is known.
+     *
+     * @param authCodeKey             Identifier of CibaAuthCode.
+     * @param clientNotificationToken Bearer token to be used with the client notification endpoint.
+     * @throws CibaCoreException Exception thrown from CIBA core Component.
+     */
+    void persistNotification(String authCodeKey, String clientNotificationToken) throws CibaCoreException;
+
+    /**
+     * Marks a waiting notification as ready to be delivered.
+     *
+     * @param authCodeKey     Identifier of CibaAuthCode.
+     * @param nextAttemptTime Time of the first delivery attempt.
+     * @return Whether a waiting notification exists for the authentication request.
+     * @throws CibaCoreException Exception thrown from CIBA core Component.
+     */
+    boolean markNotificationReady(String authCodeKey, Timestamp nextAttemptTime) throws CibaCoreException;
+
+    /**
+     * Claims a pending notification for a delivery attempt. The claim succeeds only for the caller that has seen
+     * the current number of attempts, so that a notification is attempted by one node at a time.
+     *
+     * @param authCodeKey      Identifier of CibaAuthCode.
+     * @param seenAttempts     Number of attempts seen by the caller.
+     * @param leaseExpiryTime  Time after which the notification may be claimed again if this attempt is lost.
+     * @return Whether the notification was claimed.
+     * @throws CibaCoreException Exception thrown from CIBA core Component.
+     */
+    boolean claimNotification(String authCodeKey, int seenAttempts, Timestamp leaseExpiryTime)
+            throws CibaCoreException;
+
+    /**
+     * Updates the delivery status of a notification.
+     *
+     * @param authCodeKey Identifier of CibaAuthCode.
+     * @param status      Delivery status.
+     * @throws CibaCoreException Exception thrown from CIBA core Component.
+     */
+    void updateNotificationStatus(String authCodeKey, NotificationStatus status) throws CibaCoreException;
+
+    /**
+     * Schedules the next delivery attempt of a pending notification.
+     *
+     * @param authCodeKey     Identifier of CibaAuthCode.
+     * @param nextAttemptTime Time of the next delivery attempt.
+     * @throws CibaCoreException Exception thrown from CIBA core Component.
+     */
+    void scheduleNotification(String authCodeKey, Timestamp nextAttemptTime) throws CibaCoreException;
+
+    /**
+     * Returns the notification of an authentication request.
+     *
+     * @param authCodeKey Identifier of CibaAuthCode.
+     * @return Notification, or null if the authentication request has no notification.
+     * @throws CibaCoreException Exception thrown from CIBA core Component.
+     */
+    CibaNotificationDO getNotification(String authCodeKey) throws CibaCoreException;
+
+    /**
+     * Returns the pending notifications whose next delivery attempt is due.
+     *
+     * @param currentTime Current time.
+     * @param limit       Maximum number of notifications to return.
+     * @return Due notifications, earliest first.
+     * @throws CibaCoreException Exception thrown from CIBA core Component.
+     */
+    List<CibaNotificationDO> getDueNotifications(Timestamp currentTime, int limit) throws CibaCoreException;
+}
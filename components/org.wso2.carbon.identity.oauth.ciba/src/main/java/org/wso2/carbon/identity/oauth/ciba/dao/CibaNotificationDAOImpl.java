@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.ciba.dao;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.oauth.ciba.common.AuthReqStatus;
+import org.wso2.carbon.identity.oauth.ciba.common.CibaConstants;
+import org.wso2.carbon.identity.oauth.ciba.common.NotificationStatus;
+import org.wso2.carbon.identity.oauth.ciba.exceptions.CibaCoreException;
+import org.wso2.carbon.identity.oauth.ciba.model.CibaNotificationDO;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Implementation of the DAO layer for the outbox of the ping notifications of CIBA.
+ */
+public class CibaNotificationDAOImpl implements CibaNotificationDAO {
+
+    private static final Log log = LogFactory.getLog(CibaNotificationDAOImpl.class);
+
+    @Override
+    public void persistNotification(String authCodeKey, String clientNotificationToken) throws CibaCoreException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(
+                    SQLQueries.CibaSQLQueries.STORE_NOTIFICATION)) {
+
+                prepStmt.setString(1, authCodeKey);
+                prepStmt.setString(2, clientNotificationToken);
+                prepStmt.setString(3, NotificationStatus.WAITING.toString());
+                prepStmt.setInt(4, 0);
+                prepStmt.setTimestamp(5, new Timestamp(System.currentTimeMillis()), getUTCCalendar());
+                prepStmt.execute();
+                IdentityDatabaseUtil.commitTransaction(connection);
+                if (log.isDebugEnabled()) {
+                    log.debug("Successfully persisted the notification of the request identified by authCodeKey: " +
+                            authCodeKey);
+                }
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw new CibaCoreException("Error occurred in persisting the notification for the authCodeKey: " +
+                        authCodeKey, e);
+            }
+        } catch (SQLException e) {
+            throw new CibaCoreException("Error occurred in persisting the notification for the authCodeKey: " +
+                    authCodeKey, e);
+        }
+    }
+
+    @Override
+    public boolean markNotificationReady(String authCodeKey, Timestamp nextAttemptTime) throws CibaCoreException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(
+                    SQLQueries.CibaSQLQueries.UPDATE_NOTIFICATION_READY)) {
+
+                prepStmt.setString(1, NotificationStatus.PENDING.toString());
+                prepStmt.setTimestamp(2, nextAttemptTime, getUTCCalendar());
+                prepStmt.setString(3, authCodeKey);
+                prepStmt.setString(4, NotificationStatus.WAITING.toString());
+                boolean updated = prepStmt.executeUpdate() > 0;
+                IdentityDatabaseUtil.commitTransaction(connection);
+                return updated;
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw new CibaCoreException("Error occurred in marking the notification ready for the authCodeKey: " +
+                        authCodeKey, e);
+            }
+        } catch (SQLException e) {
+            throw new CibaCoreException("Error occurred in marking the notification ready for the authCodeKey: " +
+                    authCodeKey, e);
+        }
+    }
+
+    @Override
+    public boolean claimNotification(String authCodeKey, int seenAttempts, Timestamp leaseExpiryTime)
+            throws CibaCoreException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(
+                    SQLQueries.CibaSQLQueries.CLAIM_NOTIFICATION)) {
+
+                prepStmt.setInt(1, seenAttempts + 1);
+                prepStmt.setTimestamp(2, leaseExpiryTime, getUTCCalendar());
+                prepStmt.setString(3, authCodeKey);
+                prepStmt.setString(4, NotificationStatus.PENDING.toString());
+                prepStmt.setInt(5, seenAttempts);
+                boolean claimed = prepStmt.executeUpdate() > 0;
+                IdentityDatabaseUtil.commitTransaction(connection);
+                return claimed;
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw new CibaCoreException("Error occurred in claiming the notification for the authCodeKey: " +
+                        authCodeKey, e);
+            }
+        } catch (SQLException e) {
+            throw new CibaCoreException("Error occurred in claiming the notification for the authCodeKey: " +
+                    authCodeKey, e);
+        }
+    }
+
+    @Override
+    public void updateNotificationStatus(String authCodeKey, NotificationStatus status) throws CibaCoreException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(
+                    SQLQueries.CibaSQLQueries.UPDATE_NOTIFICATION_DELIVERY_STATUS)) {
+
+                prepStmt.setString(1, status.toString());
+                prepStmt.setString(2, authCodeKey);
+                prepStmt.execute();
+                IdentityDatabaseUtil.commitTransaction(connection);
+                if (log.isDebugEnabled()) {
+                    log.debug("Successfully updated the delivery status of the notification to: " + status +
+                            " for the authCodeKey: " + authCodeKey);
+                }
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw new CibaCoreException("Error occurred in updating the delivery status of the notification for " +
+                        "the authCodeKey: " + authCodeKey, e);
+            }
+        } catch (SQLException e) {
+            throw new CibaCoreException("Error occurred in updating the delivery status of the notification for the " +
+                    "authCodeKey: " + authCodeKey, e);
+        }
+    }
+
+    @Override
+    public void scheduleNotification(String authCodeKey, Timestamp nextAttemptTime) throws CibaCoreException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(
+                    SQLQueries.CibaSQLQueries.UPDATE_NOTIFICATION_NEXT_ATTEMPT_TIME)) {
+
+                prepStmt.setTimestamp(1, nextAttemptTime, getUTCCalendar());
+                prepStmt.setString(2, authCodeKey);
+                prepStmt.execute();
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw new CibaCoreException("Error occurred in scheduling the notification for the authCodeKey: " +
+                        authCodeKey, e);
+            }
+        } catch (SQLException e) {
+            throw new CibaCoreException("Error occurred in scheduling the notification for the authCodeKey: " +
+                    authCodeKey, e);
+        }
+    }
+
+    @Override
+    public CibaNotificationDO getNotification(String authCodeKey) throws CibaCoreException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(
+                    SQLQueries.CibaSQLQueries.RETRIEVE_NOTIFICATION)) {
+
+                prepStmt.setString(1, authCodeKey);
+                try (ResultSet resultSet = prepStmt.executeQuery()) {
+                    if (resultSet.next()) {
+                        return buildNotificationDO(resultSet);
+                    }
+                    return null;
+                }
+            }
+        } catch (SQLException e) {
+            throw new CibaCoreException("Error occurred in retrieving the notification for the authCodeKey: " +
+                    authCodeKey, e);
+        }
+    }
+
+    @Override
+    public List<CibaNotificationDO> getDueNotifications(Timestamp currentTime, int limit) throws CibaCoreException {
+
+        List<CibaNotificationDO> notifications = new ArrayList<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(
+                    SQLQueries.CibaSQLQueries.RETRIEVE_DUE_NOTIFICATIONS)) {
+
+                prepStmt.setMaxRows(limit);
+                prepStmt.setString(1, NotificationStatus.PENDING.toString());
+                prepStmt.setTimestamp(2, currentTime, getUTCCalendar());
+                try (ResultSet resultSet = prepStmt.executeQuery()) {
+                    while (resultSet.next() && notifications.size() < limit) {
+                        notifications.add(buildNotificationDO(resultSet));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new CibaCoreException("Error occurred in retrieving the due notifications.", e);
+        }
+        return notifications;
+    }
+
+    private CibaNotificationDO buildNotificationDO(ResultSet resultSet) throws SQLException {
+
+        CibaNotificationDO notificationDO = new CibaNotificationDO();
+        notificationDO.setCibaAuthCodeKey(resultSet.getString(1));
+        notificationDO.setAuthReqId(resultSet.getString(2));
+        notificationDO.setConsumerKey(resultSet.getString(3));
+        notificationDO.setAuthReqStatus(AuthReqStatus.valueOf(resultSet.getString(4)));
+        notificationDO.setClientNotificationToken(resultSet.getString(5));
+        notificationDO.setNotificationStatus(NotificationStatus.valueOf(resultSet.getString(6)));
+        notificationDO.setAttempts(resultSet.getInt(7));
+        notificationDO.setNextAttemptTime(resultSet.getTimestamp(8, getUTCCalendar()));
+        return notificationDO;
+    }
+
+    private static Calendar getUTCCalendar() {
+
+        return Calendar.getInstance(TimeZone.getTimeZone(CibaConstants.UTC));
+    }
+}
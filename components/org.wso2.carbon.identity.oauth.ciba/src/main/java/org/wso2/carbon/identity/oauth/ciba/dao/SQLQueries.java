@@ -75,5 +75,34 @@ public class SQLQueries {
                 "SELECT SCOPE FROM IDN_OAUTH2_CIBA_AUTH_CODE INNER JOIN IDN_OAUTH2_CIBA_REQUEST_SCOPES ON " +
                         "(IDN_OAUTH2_CIBA_AUTH_CODE.AUTH_CODE_KEY = IDN_OAUTH2_CIBA_REQUEST_SCOPES.AUTH_CODE_KEY) " +
                         " WHERE IDN_OAUTH2_CIBA_AUTH_CODE.AUTH_CODE_KEY= ? ";
+
+        public static final String STORE_NOTIFICATION = "INSERT INTO IDN_OAUTH2_CIBA_NOTIFICATION " +
+                "(AUTH_CODE_KEY, CLIENT_NOTIFICATION_TOKEN, DELIVERY_STATUS, ATTEMPTS, NEXT_ATTEMPT_TIME) " +
+                "VALUES (?,?,?,?,?)";
+
+        public static final String UPDATE_NOTIFICATION_READY =
+                "UPDATE IDN_OAUTH2_CIBA_NOTIFICATION SET DELIVERY_STATUS = ?, NEXT_ATTEMPT_TIME = ? " +
+                        "WHERE AUTH_CODE_KEY = ? AND DELIVERY_STATUS = ?";
+
+        public static final String CLAIM_NOTIFICATION =
+                "UPDATE IDN_OAUTH2_CIBA_NOTIFICATION SET ATTEMPTS = ?, NEXT_ATTEMPT_TIME = ? " +
+                        "WHERE AUTH_CODE_KEY = ? AND DELIVERY_STATUS = ? AND ATTEMPTS = ?";
+
+        public static final String UPDATE_NOTIFICATION_DELIVERY_STATUS =
+                "UPDATE IDN_OAUTH2_CIBA_NOTIFICATION SET DELIVERY_STATUS = ? WHERE AUTH_CODE_KEY = ?";
+
+        public static final String UPDATE_NOTIFICATION_NEXT_ATTEMPT_TIME =
+                "UPDATE IDN_OAUTH2_CIBA_NOTIFICATION SET NEXT_ATTEMPT_TIME = ? WHERE AUTH_CODE_KEY = ?";
+
+        public static final String RETRIEVE_NOTIFICATION = "SELECT N.AUTH_CODE_KEY, A.AUTH_REQ_ID, A.CONSUMER_KEY, " +
+                "A.AUTH_REQ_STATUS, N.CLIENT_NOTIFICATION_TOKEN, N.DELIVERY_STATUS, N.ATTEMPTS, " +
+                "N.NEXT_ATTEMPT_TIME FROM IDN_OAUTH2_CIBA_NOTIFICATION N INNER JOIN IDN_OAUTH2_CIBA_AUTH_CODE A " +
+                "ON N.AUTH_CODE_KEY = A.AUTH_CODE_KEY WHERE N.AUTH_CODE_KEY = ?";
+
+        public static final String RETRIEVE_DUE_NOTIFICATIONS = "SELECT N.AUTH_CODE_KEY, A.AUTH_REQ_ID, " +
+                "A.CONSUMER_KEY, A.AUTH_REQ_STATUS, N.CLIENT_NOTIFICATION_TOKEN, N.DELIVERY_STATUS, N.ATTEMPTS, " +
+                "N.NEXT_ATTEMPT_TIME FROM IDN_OAUTH2_CIBA_NOTIFICATION N INNER JOIN IDN_OAUTH2_CIBA_AUTH_CODE A " +
+                "ON N.AUTH_CODE_KEY = A.AUTH_CODE_KEY WHERE N.DELIVERY_STATUS = ? AND N.NEXT_ATTEMPT_TIME <= ? " +
+                "ORDER BY N.NEXT_ATTEMPT_TIME";
     }
 }
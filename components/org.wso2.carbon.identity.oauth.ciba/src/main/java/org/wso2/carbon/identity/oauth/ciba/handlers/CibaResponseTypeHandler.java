@@ -26,6 +26,7 @@ import org.wso2.carbon.identity.oauth.ciba.common.AuthReqStatus;
 import org.wso2.carbon.identity.oauth.ciba.common.CibaConstants;
 import org.wso2.carbon.identity.oauth.ciba.dao.CibaDAOFactory;
 import org.wso2.carbon.identity.oauth.ciba.exceptions.CibaCoreException;
+import org.wso2.carbon.identity.oauth.ciba.notification.CibaNotificationDispatcher;
 import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
 import org.wso2.carbon.identity.oauth.dto.OAuthErrorDTO;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
@@ -60,6 +61,7 @@ public class CibaResponseTypeHandler extends AbstractResponseTypeHandler {
             // Update successful authentication.
             CibaDAOFactory.getInstance().getCibaAuthMgtDAO()
                     .persistAuthenticationSuccess(authCodeKey, cibaAuthenticatedUser);
+            notifyClient(authCodeKey);
 
             // Building custom CallBack URL.
             String callbackURL = authorizationReqDTO.getCallbackUrl() + "?authenticationStatus=" + authenticationStatus;
@@ -82,6 +84,7 @@ public class CibaResponseTypeHandler extends AbstractResponseTypeHandler {
 
             // Update authenticationStatus when user denied the consent.
             CibaDAOFactory.getInstance().getCibaAuthMgtDAO().updateStatus(authCodeKey, AuthReqStatus.CONSENT_DENIED);
+            notifyClient(authCodeKey);
 
             oAuthErrorDTO.setErrorDescription("User denied the consent.");
             return oAuthErrorDTO;
@@ -103,6 +106,7 @@ public class CibaResponseTypeHandler extends AbstractResponseTypeHandler {
         try {
             authCodeKey = CibaDAOFactory.getInstance().getCibaAuthMgtDAO().getCibaAuthCodeKey(authReqID);
             CibaDAOFactory.getInstance().getCibaAuthMgtDAO().updateStatus(authCodeKey, AuthReqStatus.FAILED);
+            notifyClient(authCodeKey);
             oAuthErrorDTO.setErrorDescription("Authentication failed.");
             return oAuthErrorDTO;
         } catch (CibaCoreException e) {
@@ -149,4 +153,16 @@ public class CibaResponseTypeHandler extends AbstractResponseTypeHandler {
         }
         return true;
     }
+
+    /**
+     * Notifies ping clients of the outcome of the authentication asynchronously.
+     *
+     * @param authCodeKey Identifier of CibaAuthCode.
+     */
+    private void notifyClient(String authCodeKey) {
+
+        if (CibaNotificationDispatcher.isEnabled()) {
+            CibaNotificationDispatcher.getInstance().dispatch(authCodeKey);
+        }
+    }
 }
@@ -26,6 +26,7 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.wso2.carbon.identity.oauth.ciba.api.CibaAuthService;
 import org.wso2.carbon.identity.oauth.ciba.api.CibaAuthServiceImpl;
+import org.wso2.carbon.identity.oauth.ciba.notification.CibaNotificationDispatcher;
 
 /**
  * Service component for CIBA.
@@ -44,6 +45,9 @@ public class CibaServiceComponent {
         try {
             context.getBundleContext().registerService(CibaAuthService.class.getName(),
                     new CibaAuthServiceImpl(), null);
+            if (CibaNotificationDispatcher.isEnabled()) {
+                CibaNotificationDispatcher.getInstance().start();
+            }
             if (log.isDebugEnabled()) {
                 log.debug("CIBA component bundle is activated.");
             }
@@ -55,6 +59,9 @@ public class CibaServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        if (CibaNotificationDispatcher.isEnabled()) {
+            CibaNotificationDispatcher.getInstance().shutdown();
+        }
         if (log.isDebugEnabled()) {
             log.debug("CIBA component bundle is deactivated.");
         }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.ciba.model;
+
+import org.wso2.carbon.identity.oauth.ciba.common.AuthReqStatus;
+import org.wso2.carbon.identity.oauth.ciba.common.NotificationStatus;
+
+import java.sql.Timestamp;
+
+/**
+ * Captures a ping notification of a CIBA authentication request, as persisted in the notification outbox.
+ */
+public class CibaNotificationDO {
+
+    private String cibaAuthCodeKey;
+    private String authReqId;
+    private String consumerKey;
+    private String clientNotificationToken;
+    private AuthReqStatus authReqStatus;
+    private NotificationStatus notificationStatus;
+    private int attempts;
+    private Timestamp nextAttemptTime;
+
+    public String getCibaAuthCodeKey() {
+
+        return cibaAuthCodeKey;
+    }
+
+    public void setCibaAuthCodeKey(String cibaAuthCodeKey) {
+
+        this.cibaAuthCodeKey = cibaAuthCodeKey;
+    }
+
+    public String getAuthReqId() {
+
+        return authReqId;
+    }
+
+    public void setAuthReqId(String authReqId) {
+
+        this.authReqId = authReqId;
+    }
+
+    public String getConsumerKey() {
+
+        return consumerKey;
+    }
+
+    public void setConsumerKey(String consumerKey) {
+
+        this.consumerKey = consumerKey;
+    }
+
+    public String getClientNotificationToken() {
+
+        return clientNotificationToken;
+    }
+
+    public void setClientNotificationToken(String clientNotificationToken) {
+
+        this.clientNotificationToken = clientNotificationToken;
+    }
+
+    public AuthReqStatus getAuthReqStatus() {
+
+        return authReqStatus;
+    }
+
+    public void setAuthReqStatus(AuthReqStatus authReqStatus) {
+
+        this.authReqStatus = authReqStatus;
+    }
+
+    public NotificationStatus getNotificationStatus() {
+
+        return notificationStatus;
+    }
+
+    public void setNotificationStatus(NotificationStatus notificationStatus) {
+
+        this.notificationStatus = notificationStatus;
+    }
+
+    public int getAttempts() {
+
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+
+        this.attempts = attempts;
+    }
+
+    public Timestamp getNextAttemptTime() {
+
+        return nextAttemptTime;
+    }
+
+    public void setNextAttemptTime(Timestamp nextAttemptTime) {
+
+        this.nextAttemptTime = nextAttemptTime;
+    }
+}
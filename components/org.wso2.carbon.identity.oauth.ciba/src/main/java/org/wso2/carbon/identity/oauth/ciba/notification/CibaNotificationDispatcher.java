@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.ciba.notification;
+
+import net.minidev.json.JSONObject;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.OAuthUtil;
+import org.wso2.carbon.identity.oauth.ciba.common.CibaConstants;
+import org.wso2.carbon.identity.oauth.ciba.common.NotificationStatus;
+import org.wso2.carbon.identity.oauth.ciba.dao.CibaDAOFactory;
+import org.wso2.carbon.identity.oauth.ciba.dao.CibaNotificationDAO;
+import org.wso2.carbon.identity.oauth.ciba.exceptions.CibaCoreException;
+import org.wso2.carbon.identity.oauth.ciba.model.CibaNotificationDO;
+import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
+import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.util.ConfigurationUtil;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers the outcome of CIBA authentication requests to the notification endpoints of ping clients.
+ * <p>
+ * Notifications are persisted in an outbox when the authentication request is made, and are marked ready when the
+ * user authentication completes. Ready notifications are delivered by a bounded pool of worker threads through a
+ * shared pool of HTTP connections. Failed deliveries are retried with an exponential backoff, and a relay task
+ * periodically picks up due notifications that were rejected by the pool or lost with a node, so that a
+ * notification is not lost when it could not be delivered right away.
+ */
+public class CibaNotificationDispatcher {
+
+    private static final Log log = LogFactory.getLog(CibaNotificationDispatcher.class);
+    private static final int MAX_BACKOFF_EXPONENT = 10;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private static volatile CibaNotificationDispatcher instance;
+
+    private final CibaNotificationDAO notificationDAO;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService scheduler;
+    private final CloseableHttpClient httpClient;
+    private final int maxRetryCount;
+    private final long retryBackoff;
+    private final int httpTimeout;
+
+    CibaNotificationDispatcher(CibaNotificationDAO notificationDAO, int poolSize, int queueSize, int maxRetryCount,
+                               long retryBackoff, int httpTimeout) {
+
+        this.notificationDAO = notificationDAO;
+        this.maxRetryCount = maxRetryCount;
+        this.retryBackoff = retryBackoff;
+        this.httpTimeout = httpTimeout;
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new NamedThreadFactory("CibaNotificationWorker"));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new NamedThreadFactory("CibaNotificationScheduler"));
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(poolSize);
+        connectionManager.setDefaultMaxPerRoute(poolSize);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(httpTimeout)
+                .setConnectionRequestTimeout(httpTimeout)
+                .setSocketTimeout(httpTimeout)
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .disableRedirectHandling()
+                .evictExpiredConnections()
+                .build();
+    }
+
+    /**
+     * getInstance() method of CibaNotificationDispatcher, as it is a singleton.
+     *
+     * @return CibaNotificationDispatcher instance.
+     */
+    public static CibaNotificationDispatcher getInstance() {
+
+        if (instance == null) {
+            synchronized (CibaNotificationDispatcher.class) {
+                if (instance == null) {
+                    instance = new CibaNotificationDispatcher(CibaDAOFactory.getInstance().getCibaNotificationDAO(),
+                            ConfigurationUtil.getIntProperty(CibaConstants.NOTIFICATION_POOL_SIZE,
+                                    CibaConstants.DEFAULT_NOTIFICATION_POOL_SIZE, 1),
+                            ConfigurationUtil.getIntProperty(CibaConstants.NOTIFICATION_QUEUE_SIZE,
+                                    CibaConstants.DEFAULT_NOTIFICATION_QUEUE_SIZE, 1),
+                            ConfigurationUtil.getIntProperty(CibaConstants.NOTIFICATION_MAX_RETRY_COUNT,
+                                    CibaConstants.DEFAULT_NOTIFICATION_MAX_RETRY_COUNT, 0),
+                            ConfigurationUtil.getIntProperty(CibaConstants.NOTIFICATION_RETRY_BACKOFF,
+                                    CibaConstants.DEFAULT_NOTIFICATION_RETRY_BACKOFF_IN_MILLIS, 0),
+                            ConfigurationUtil.getIntProperty(CibaConstants.NOTIFICATION_HTTP_TIMEOUT,
+                                    CibaConstants.DEFAULT_NOTIFICATION_HTTP_TIMEOUT_IN_MILLIS, 1));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Checks whether the ping token delivery mode is enabled. The notification outbox table is required when it is
+     * enabled.
+     *
+     * @return Whether the notifications are enabled.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(CibaConstants.NOTIFICATION_ENABLE));
+    }
+
+    /**
+     * Starts the relay task that delivers the due notifications of the outbox.
+     */
+    public void start() {
+
+        int relayInterval = ConfigurationUtil.getIntProperty(CibaConstants.NOTIFICATION_RELAY_INTERVAL,
+                CibaConstants.DEFAULT_NOTIFICATION_RELAY_INTERVAL_IN_SEC, 1);
+        scheduler.scheduleWithFixedDelay(this::relay, relayInterval, relayInterval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the delivery of notifications. Undelivered notifications remain in the outbox.
+     */
+    public void shutdown() {
+
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            log.error("Error while closing the HTTP client of the CIBA notification dispatcher.", e);
+        }
+    }
+
+    /**
+     * Dispatches the notification of an authentication request whose user authentication has completed. Does
+     * nothing for the authentication requests of poll clients, as they have no notification.
+     *
+     * @param authCodeKey Identifier of CibaAuthCode.
+     */
+    public void dispatch(String authCodeKey) {
+
+        try {
+            if (!notificationDAO.markNotificationReady(authCodeKey, new Timestamp(System.currentTimeMillis()))) {
+                return;
+            }
+            CibaNotificationDO notification = notificationDAO.getNotification(authCodeKey);
+            if (notification != null) {
+                submit(notification);
+            }
+        } catch (CibaCoreException e) {
+            log.error("Error occurred in dispatching the notification for the authCodeKey: " + authCodeKey, e);
+        }
+    }
+
+    /**
+     * Submits the due notifications of the outbox for delivery.
+     */
+    void relay() {
+
+        try {
+            List<CibaNotificationDO> notifications = notificationDAO.getDueNotifications(
+                    new Timestamp(System.currentTimeMillis()), CibaConstants.NOTIFICATION_RELAY_BATCH_SIZE);
+            for (CibaNotificationDO notification : notifications) {
+                if (workers.getQueue().remainingCapacity() == 0) {
+                    break;
+                }
+                submit(notification);
+            }
+        } catch (CibaCoreException e) {
+            log.error("Error occurred in relaying the due CIBA notifications.", e);
+        } catch (RuntimeException e) {
+            // Keeps the relay task scheduled.
+            log.error("Unexpected error occurred in relaying the due CIBA notifications.", e);
+        }
+    }
+
+    private void submit(CibaNotificationDO notification) {
+
+        try {
+            workers.execute(() -> deliver(notification));
+        } catch (RejectedExecutionException e) {
+            // The notification stays due in the outbox and is picked up by the relay.
+            if (log.isDebugEnabled()) {
+                log.debug("CIBA notification queue is full. Notification for the authCodeKey: " +
+                        notification.getCibaAuthCodeKey() + " is deferred to the relay.");
+            }
+        }
+    }
+
+    /**
+     * Makes a delivery attempt for a notification. The attempt is made only if this dispatcher wins the claim on
+     * the notification, so that concurrent relays of the cluster do not deliver the same attempt twice.
+     *
+     * @param notification Notification to be delivered.
+     */
+    void deliver(CibaNotificationDO notification) {
+
+        String authCodeKey = notification.getCibaAuthCodeKey();
+        try {
+            // The lease covers the request timeouts, after which a lost attempt can be claimed again.
+            Timestamp leaseExpiryTime = new Timestamp(System.currentTimeMillis() + 3L * httpTimeout);
+            if (!notificationDAO.claimNotification(authCodeKey, notification.getAttempts(), leaseExpiryTime)) {
+                return;
+            }
+            int attempts = notification.getAttempts() + 1;
+
+            OAuthAppDO appDO = getClientApplication(notification.getConsumerKey());
+            String endpoint = appDO.getCibaClientNotificationEndpoint();
+            // The application may have been updated after the authentication request was made.
+            if (!CibaConstants.TOKEN_DELIVERY_MODE_PING.equals(appDO.getCibaTokenDeliveryMode()) ||
+                    !isValidNotificationEndpoint(endpoint)) {
+                log.warn("The client: " + notification.getConsumerKey() + " is not configured with the ping token " +
+                        "delivery mode and a valid client notification endpoint. Notification for the authCodeKey: " +
+                        authCodeKey + " is dropped.");
+                notificationDAO.updateNotificationStatus(authCodeKey, NotificationStatus.FAILED);
+                return;
+            }
+            String payload = buildPayload(notification);
+
+            int statusCode;
+            try {
+                statusCode = send(endpoint, notification.getClientNotificationToken(), payload);
+            } catch (IOException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Error occurred in sending the CIBA notification to: " + endpoint, e);
+                }
+                statusCode = HttpStatus.SC_SERVICE_UNAVAILABLE;
+            }
+
+            if (statusCode >= HttpStatus.SC_OK && statusCode < HttpStatus.SC_MULTIPLE_CHOICES) {
+                notificationDAO.updateNotificationStatus(authCodeKey, NotificationStatus.DELIVERED);
+                if (log.isDebugEnabled()) {
+                    log.debug("Delivered the CIBA notification for the authCodeKey: " + authCodeKey + " to: " +
+                            endpoint + " in attempt: " + attempts);
+                }
+            } else if (isRetryableStatus(statusCode) && attempts <= maxRetryCount) {
+                scheduleRetry(authCodeKey, attempts);
+            } else {
+                log.warn("Failed to deliver the CIBA notification for the authCodeKey: " + authCodeKey + " to: " +
+                        endpoint + " after " + attempts + " attempt(s). Last response status: " + statusCode);
+                notificationDAO.updateNotificationStatus(authCodeKey, NotificationStatus.FAILED);
+            }
+        } catch (CibaCoreException | IdentityOAuth2Exception | InvalidOAuthClientException e) {
+            log.error("Error occurred in delivering the CIBA notification for the authCodeKey: " + authCodeKey, e);
+        }
+    }
+
+    /**
+     * Returns the client application of a notification. Notifications are delivered outside of the request
+     * threads, hence the application is resolved by the client ID alone.
+     *
+     * @param consumerKey Client ID.
+     * @return Client application.
+     * @throws IdentityOAuth2Exception     Error in retrieving the application.
+     * @throws InvalidOAuthClientException Application is not found.
+     */
+    OAuthAppDO getClientApplication(String consumerKey) throws IdentityOAuth2Exception, InvalidOAuthClientException {
+
+        return OAuth2Util.getAppInformationByClientIdOnly(consumerKey);
+    }
+
+    private void scheduleRetry(String authCodeKey, int attempts) throws CibaCoreException {
+
+        long backoff = retryBackoff << Math.min(attempts - 1, MAX_BACKOFF_EXPONENT);
+        // The persisted attempt time lets the relay retry the notification if this node goes down in between.
+        notificationDAO.scheduleNotification(authCodeKey, new Timestamp(System.currentTimeMillis() + backoff));
+        try {
+            scheduler.schedule(() -> {
+                try {
+                    CibaNotificationDO notification = notificationDAO.getNotification(authCodeKey);
+                    if (notification != null && notification.getNotificationStatus() == NotificationStatus.PENDING) {
+                        submit(notification);
+                    }
+                } catch (CibaCoreException e) {
+                    log.error("Error occurred in retrying the CIBA notification for the authCodeKey: " +
+                            authCodeKey, e);
+                }
+            }, backoff, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("CIBA notification dispatcher is shut down. Retry of the notification for the " +
+                        "authCodeKey: " + authCodeKey + " is deferred to the relay.");
+            }
+        }
+    }
+
+    /**
+     * Checks whether the notification can be sent to the given endpoint. The endpoint is validated when the
+     * application is registered, but is checked again here since the request is made from the server.
+     *
+     * @param endpoint Client notification endpoint.
+     * @return Whether the endpoint is a valid client notification endpoint.
+     */
+    boolean isValidNotificationEndpoint(String endpoint) {
+
+        return OAuthUtil.isValidCibaClientNotificationEndpoint(endpoint);
+    }
+
+    /**
+     * Builds the body of the notification. Ping notifications carry the auth_req_id only, upon which the client
+     * requests the token, or receives the error of an unsuccessful authentication, from the token endpoint.
+     */
+    private String buildPayload(CibaNotificationDO notification) {
+
+        JSONObject payload = new JSONObject();
+        payload.put(CibaConstants.AUTH_REQ_ID, notification.getAuthReqId());
+        return payload.toJSONString();
+    }
+
+    private int send(String endpoint, String clientNotificationToken, String payload) throws IOException {
+
+        HttpPost httpPost = new HttpPost(endpoint);
+        httpPost.setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + clientNotificationToken);
+        httpPost.setEntity(new StringEntity(payload, ContentType.APPLICATION_JSON));
+        try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
+            // Consume the entity so that the connection is released back to the pool.
+            EntityUtils.consumeQuietly(response.getEntity());
+            return response.getStatusLine().getStatusCode();
+        }
+    }
+
+    private static boolean isRetryableStatus(int statusCode) {
+
+        return statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR || statusCode == HTTP_TOO_MANY_REQUESTS ||
+                statusCode == HttpStatus.SC_REQUEST_TIMEOUT;
+    }
+
+    /**
+     * Creates the daemon threads of the dispatcher.
+     */
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        NamedThreadFactory(String namePrefix) {
+
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
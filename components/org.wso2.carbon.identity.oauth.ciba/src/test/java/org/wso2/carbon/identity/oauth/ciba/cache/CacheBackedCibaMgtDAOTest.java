@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.ciba.cache;
+
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.ciba.common.AuthReqStatus;
+import org.wso2.carbon.identity.oauth.ciba.dao.CibaMgtDAO;
+import org.wso2.carbon.identity.oauth.ciba.model.CibaAuthCodeCacheEntry;
+import org.wso2.carbon.identity.oauth.ciba.model.CibaAuthCodeDO;
+
+import java.sql.Timestamp;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Listeners(MockitoTestNGListener.class)
+public class CacheBackedCibaMgtDAOTest {
+
+    private static final String AUTH_CODE_KEY = "8a8c4e4e-1b1c-4f7f-9b8d-6b2c0c7e5d11";
+    private static final String AUTH_REQ_ID = "2201e5aa-1c5f-4a17-90c9-1956a3540b19";
+
+    @Mock
+    private CibaMgtDAO cibaMgtDAO;
+
+    @Mock
+    private CibaAuthCodeCache cibaAuthCodeCache;
+
+    private MockedStatic<CibaAuthCodeCache> cibaAuthCodeCacheStatic;
+    private CacheBackedCibaMgtDAO cacheBackedCibaMgtDAO;
+
+    @BeforeMethod
+    public void setUp() {
+
+        cibaAuthCodeCacheStatic = mockStatic(CibaAuthCodeCache.class);
+        cibaAuthCodeCacheStatic.when(CibaAuthCodeCache::getInstance).thenReturn(cibaAuthCodeCache);
+        cacheBackedCibaMgtDAO = new CacheBackedCibaMgtDAO(cibaMgtDAO);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        cibaAuthCodeCacheStatic.close();
+    }
+
+    @Test
+    public void testPollingStateIsKeptInMemory() throws Exception {
+
+        when(cibaMgtDAO.getCibaAuthCode(AUTH_CODE_KEY)).thenReturn(buildCibaAuthCodeDO());
+
+        cacheBackedCibaMgtDAO.getCibaAuthCode(AUTH_CODE_KEY);
+        Timestamp polledTime = new Timestamp(System.currentTimeMillis());
+        cacheBackedCibaMgtDAO.updateLastPollingTime(AUTH_CODE_KEY, polledTime);
+        cacheBackedCibaMgtDAO.updatePollingInterval(AUTH_CODE_KEY, 5);
+
+        CibaAuthCodeDO cibaAuthCodeDO = cacheBackedCibaMgtDAO.getCibaAuthCode(AUTH_CODE_KEY);
+        Assert.assertEquals(cibaAuthCodeDO.getLastPolledTime().getTime(), polledTime.getTime());
+        Assert.assertEquals(cibaAuthCodeDO.getInterval(), 5);
+        verify(cibaMgtDAO, never()).updateLastPollingTime(anyString(), any(Timestamp.class));
+        verify(cibaMgtDAO, never()).updatePollingInterval(anyString(), anyLong());
+    }
+
+    @Test
+    public void testStatusIsServedFromCache() throws Exception {
+
+        when(cibaAuthCodeCache.getValueFromCache(AUTH_CODE_KEY))
+                .thenReturn(new CibaAuthCodeCacheEntry(buildCibaAuthCodeDO()));
+
+        CibaAuthCodeDO cibaAuthCodeDO = cacheBackedCibaMgtDAO.getCibaAuthCode(AUTH_CODE_KEY);
+        Assert.assertEquals(cibaAuthCodeDO.getAuthReqStatus(), AuthReqStatus.REQUESTED);
+        Assert.assertEquals(cibaAuthCodeDO.getAuthReqId(), AUTH_REQ_ID);
+        verify(cibaMgtDAO, never()).getCibaAuthCode(anyString());
+    }
+
+    @Test
+    public void testStatusTransitionInvalidatesCache() throws Exception {
+
+        when(cibaMgtDAO.getCibaAuthCode(AUTH_CODE_KEY)).thenReturn(buildCibaAuthCodeDO());
+        when(cibaMgtDAO.getCibaAuthCodeKey(AUTH_REQ_ID)).thenReturn(AUTH_CODE_KEY);
+
+        Assert.assertEquals(cacheBackedCibaMgtDAO.getCibaAuthCodeKey(AUTH_REQ_ID), AUTH_CODE_KEY);
+        cacheBackedCibaMgtDAO.getCibaAuthCode(AUTH_CODE_KEY);
+        cacheBackedCibaMgtDAO.persistAuthenticationSuccess(AUTH_CODE_KEY, null);
+        verify(cibaAuthCodeCache).clearCacheEntry(AUTH_CODE_KEY);
+
+        cacheBackedCibaMgtDAO.updateStatus(AUTH_CODE_KEY, AuthReqStatus.TOKEN_ISSUED);
+        verify(cibaMgtDAO).updateStatus(AUTH_CODE_KEY, AuthReqStatus.TOKEN_ISSUED);
+        verify(cibaAuthCodeCache, times(2)).clearCacheEntry(AUTH_CODE_KEY);
+
+        // Once the request is completed, polls are no longer tracked in memory.
+        Timestamp polledTime = new Timestamp(System.currentTimeMillis());
+        cacheBackedCibaMgtDAO.updateLastPollingTime(AUTH_CODE_KEY, polledTime);
+        verify(cibaMgtDAO).updateLastPollingTime(AUTH_CODE_KEY, polledTime);
+        cacheBackedCibaMgtDAO.getCibaAuthCodeKey(AUTH_REQ_ID);
+        verify(cibaMgtDAO, times(2)).getCibaAuthCodeKey(AUTH_REQ_ID);
+    }
+
+    private CibaAuthCodeDO buildCibaAuthCodeDO() {
+
+        Timestamp issuedTime = new Timestamp(System.currentTimeMillis());
+        CibaAuthCodeDO cibaAuthCodeDO = new CibaAuthCodeDO();
+        cibaAuthCodeDO.setCibaAuthCodeKey(AUTH_CODE_KEY);
+        cibaAuthCodeDO.setAuthReqId(AUTH_REQ_ID);
+        cibaAuthCodeDO.setConsumerKey("ZzxmDqqK8YYfjtlOh9vw85qnNVoa");
+        cibaAuthCodeDO.setIssuedTime(issuedTime);
+        cibaAuthCodeDO.setLastPolledTime(issuedTime);
+        cibaAuthCodeDO.setInterval(2);
+        cibaAuthCodeDO.setExpiresIn(3600);
+        cibaAuthCodeDO.setAuthReqStatus(AuthReqStatus.REQUESTED);
+        return cibaAuthCodeDO;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.ciba.notification;
+
+import com.sun.net.httpserver.HttpServer;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.ciba.common.AuthReqStatus;
+import org.wso2.carbon.identity.oauth.ciba.common.CibaConstants;
+import org.wso2.carbon.identity.oauth.ciba.common.NotificationStatus;
+import org.wso2.carbon.identity.oauth.ciba.dao.CibaNotificationDAO;
+import org.wso2.carbon.identity.oauth.ciba.model.CibaNotificationDO;
+import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Listeners(MockitoTestNGListener.class)
+public class CibaNotificationDispatcherTest {
+
+    private static final String AUTH_CODE_KEY = "8a8c4e4e-1b1c-4f7f-9b8d-6b2c0c7e5d11";
+    private static final String AUTH_REQ_ID = "2201e5aa-1c5f-4a17-90c9-1956a3540b19";
+    private static final String CONSUMER_KEY = "ZzxmDqqK8YYfjtlOh9vw85qnNVoa";
+    private static final String CLIENT_NOTIFICATION_TOKEN = "8d67dc78-7faa-4d41-aabd-67707b374255";
+
+    @Mock
+    private CibaNotificationDAO cibaNotificationDAO;
+
+    private HttpServer notificationServer;
+    private final List<String> receivedAuthorizations = new CopyOnWriteArrayList<>();
+    private final List<String> receivedPayloads = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+    private String notificationEndpoint;
+    private CibaNotificationDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        notificationServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        notificationServer.createContext("/notify", exchange -> {
+            receivedAuthorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = exchange.getRequestBody().read(buffer)) != -1) {
+                payload.write(buffer, 0, read);
+            }
+            receivedPayloads.add(new String(payload.toByteArray(), StandardCharsets.UTF_8));
+            int status = failuresBeforeSuccess.getAndDecrement() > 0 ? 503 : 204;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        notificationServer.start();
+        notificationEndpoint = "http://localhost:" + notificationServer.getAddress().getPort() + "/notify";
+        receivedAuthorizations.clear();
+        receivedPayloads.clear();
+        failuresBeforeSuccess.set(0);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        notificationServer.stop(0);
+    }
+
+    @Test
+    public void testPingNotificationIsDelivered() throws Exception {
+
+        dispatcher = buildDispatcher(CibaConstants.TOKEN_DELIVERY_MODE_PING);
+        when(cibaNotificationDAO.claimNotification(eq(AUTH_CODE_KEY), eq(0), any(Timestamp.class))).thenReturn(true);
+
+        dispatcher.deliver(buildNotification(AuthReqStatus.AUTHENTICATED, 0));
+
+        verify(cibaNotificationDAO).updateNotificationStatus(AUTH_CODE_KEY, NotificationStatus.DELIVERED);
+        Assert.assertEquals(receivedAuthorizations.size(), 1);
+        Assert.assertEquals(receivedAuthorizations.get(0), "Bearer " + CLIENT_NOTIFICATION_TOKEN);
+        Assert.assertEquals(receivedPayloads.get(0), "{\"auth_req_id\":\"" + AUTH_REQ_ID + "\"}");
+    }
+
+    @Test
+    public void testPingNotificationOfDeniedRequestCarriesAuthReqIdOnly() throws Exception {
+
+        dispatcher = buildDispatcher(CibaConstants.TOKEN_DELIVERY_MODE_PING);
+        when(cibaNotificationDAO.claimNotification(eq(AUTH_CODE_KEY), eq(0), any(Timestamp.class))).thenReturn(true);
+
+        dispatcher.deliver(buildNotification(AuthReqStatus.CONSENT_DENIED, 0));
+
+        verify(cibaNotificationDAO).updateNotificationStatus(AUTH_CODE_KEY, NotificationStatus.DELIVERED);
+        Assert.assertEquals(receivedPayloads.get(0), "{\"auth_req_id\":\"" + AUTH_REQ_ID + "\"}");
+    }
+
+    @Test
+    public void testNotificationOfNonPingClientIsFailed() throws Exception {
+
+        dispatcher = buildDispatcher("push");
+        when(cibaNotificationDAO.claimNotification(eq(AUTH_CODE_KEY), eq(0), any(Timestamp.class))).thenReturn(true);
+
+        dispatcher.deliver(buildNotification(AuthReqStatus.AUTHENTICATED, 0));
+
+        verify(cibaNotificationDAO).updateNotificationStatus(AUTH_CODE_KEY, NotificationStatus.FAILED);
+        Assert.assertTrue(receivedPayloads.isEmpty());
+    }
+
+    @Test
+    public void testNotificationToInvalidEndpointIsFailed() throws Exception {
+
+        dispatcher = buildDispatcher(CibaConstants.TOKEN_DELIVERY_MODE_PING,
+                "http://169.254.169.254/latest/meta-data");
+        when(cibaNotificationDAO.claimNotification(eq(AUTH_CODE_KEY), eq(0), any(Timestamp.class))).thenReturn(true);
+
+        dispatcher.deliver(buildNotification(AuthReqStatus.AUTHENTICATED, 0));
+
+        verify(cibaNotificationDAO).updateNotificationStatus(AUTH_CODE_KEY, NotificationStatus.FAILED);
+        verify(cibaNotificationDAO, never()).scheduleNotification(anyString(), any(Timestamp.class));
+    }
+
+    @Test
+    public void testDispatchedNotificationIsRetriedUntilDelivered() throws Exception {
+
+        dispatcher = buildDispatcher(CibaConstants.TOKEN_DELIVERY_MODE_PING);
+        failuresBeforeSuccess.set(1);
+        when(cibaNotificationDAO.markNotificationReady(eq(AUTH_CODE_KEY), any(Timestamp.class))).thenReturn(true);
+        when(cibaNotificationDAO.getNotification(AUTH_CODE_KEY)).thenReturn(
+                buildNotification(AuthReqStatus.AUTHENTICATED, 0), buildNotification(AuthReqStatus.AUTHENTICATED, 1));
+        when(cibaNotificationDAO.claimNotification(eq(AUTH_CODE_KEY), anyInt(), any(Timestamp.class)))
+                .thenReturn(true);
+
+        dispatcher.dispatch(AUTH_CODE_KEY);
+
+        verify(cibaNotificationDAO, timeout(5000)).updateNotificationStatus(AUTH_CODE_KEY,
+                NotificationStatus.DELIVERED);
+        verify(cibaNotificationDAO).scheduleNotification(eq(AUTH_CODE_KEY), any(Timestamp.class));
+        Assert.assertEquals(receivedPayloads.size(), 2);
+    }
+
+    @Test
+    public void testNotificationIsFailedWhenRetriesAreExhausted() throws Exception {
+
+        dispatcher = buildDispatcher(CibaConstants.TOKEN_DELIVERY_MODE_PING);
+        failuresBeforeSuccess.set(Integer.MAX_VALUE);
+        when(cibaNotificationDAO.claimNotification(eq(AUTH_CODE_KEY), eq(1), any(Timestamp.class))).thenReturn(true);
+
+        // The notification has already used its single retry.
+        dispatcher.deliver(buildNotification(AuthReqStatus.AUTHENTICATED, 1));
+
+        verify(cibaNotificationDAO).updateNotificationStatus(AUTH_CODE_KEY, NotificationStatus.FAILED);
+        verify(cibaNotificationDAO, never()).scheduleNotification(anyString(), any(Timestamp.class));
+    }
+
+    @Test
+    public void testNotificationClaimedElsewhereIsNotSent() throws Exception {
+
+        dispatcher = buildDispatcher(CibaConstants.TOKEN_DELIVERY_MODE_PING);
+        when(cibaNotificationDAO.claimNotification(eq(AUTH_CODE_KEY), eq(0), any(Timestamp.class))).thenReturn(false);
+
+        dispatcher.deliver(buildNotification(AuthReqStatus.AUTHENTICATED, 0));
+
+        Assert.assertTrue(receivedPayloads.isEmpty());
+        verify(cibaNotificationDAO, never()).updateNotificationStatus(anyString(), any(NotificationStatus.class));
+    }
+
+    @Test
+    public void testPollClientIsNotNotified() throws Exception {
+
+        dispatcher = buildDispatcher(CibaConstants.TOKEN_DELIVERY_MODE_PING);
+        when(cibaNotificationDAO.markNotificationReady(eq(AUTH_CODE_KEY), any(Timestamp.class))).thenReturn(false);
+
+        dispatcher.dispatch(AUTH_CODE_KEY);
+
+        verify(cibaNotificationDAO, never()).getNotification(anyString());
+        Assert.assertTrue(receivedPayloads.isEmpty());
+    }
+
+    private CibaNotificationDispatcher buildDispatcher(String tokenDeliveryMode) {
+
+        return buildDispatcher(tokenDeliveryMode, notificationEndpoint);
+    }
+
+    private CibaNotificationDispatcher buildDispatcher(String tokenDeliveryMode, String clientNotificationEndpoint) {
+
+        OAuthAppDO appDO = new OAuthAppDO();
+        appDO.setOauthConsumerKey(CONSUMER_KEY);
+        appDO.setCibaTokenDeliveryMode(tokenDeliveryMode);
+        appDO.setCibaClientNotificationEndpoint(clientNotificationEndpoint);
+        return new CibaNotificationDispatcher(cibaNotificationDAO, 2, 10, 1, 100, 2000) {
+
+            @Override
+            OAuthAppDO getClientApplication(String consumerKey) {
+
+                return appDO;
+            }
+
+            @Override
+            boolean isValidNotificationEndpoint(String endpoint) {
+
+                // The local notification server is not served over TLS.
+                return notificationEndpoint.equals(endpoint) || super.isValidNotificationEndpoint(endpoint);
+            }
+        };
+    }
+
+    private CibaNotificationDO buildNotification(AuthReqStatus authReqStatus, int attempts) {
+
+        CibaNotificationDO notification = new CibaNotificationDO();
+        notification.setCibaAuthCodeKey(AUTH_CODE_KEY);
+        notification.setAuthReqId(AUTH_REQ_ID);
+        notification.setConsumerKey(CONSUMER_KEY);
+        notification.setClientNotificationToken(CLIENT_NOTIFICATION_TOKEN);
+        notification.setAuthReqStatus(authReqStatus);
+        notification.setNotificationStatus(NotificationStatus.PENDING);
+        notification.setAttempts(attempts);
+        return notification;
+    }
+}
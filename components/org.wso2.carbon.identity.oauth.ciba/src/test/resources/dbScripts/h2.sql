@@ -99,6 +99,16 @@ CREATE TABLE IF NOT EXISTS IDN_OAUTH2_CIBA_REQUEST_SCOPES (
             FOREIGN KEY (AUTH_CODE_KEY) REFERENCES IDN_OAUTH2_CIBA_AUTH_CODE(AUTH_CODE_KEY) ON DELETE CASCADE
 );
 
+CREATE TABLE IF NOT EXISTS IDN_OAUTH2_CIBA_NOTIFICATION (
+            AUTH_CODE_KEY CHAR (36),
+            CLIENT_NOTIFICATION_TOKEN VARCHAR (1024) NOT NULL,
+            DELIVERY_STATUS VARCHAR (20) NOT NULL,
+            ATTEMPTS INTEGER DEFAULT 0,
+            NEXT_ATTEMPT_TIME TIMESTAMP NOT NULL,
+            PRIMARY KEY (AUTH_CODE_KEY),
+            FOREIGN KEY (AUTH_CODE_KEY) REFERENCES IDN_OAUTH2_CIBA_AUTH_CODE(AUTH_CODE_KEY) ON DELETE CASCADE
+);
+
 CREATE TABLE IF NOT EXISTS IDP (
             ID INTEGER AUTO_INCREMENT,
             TENANT_ID INTEGER,
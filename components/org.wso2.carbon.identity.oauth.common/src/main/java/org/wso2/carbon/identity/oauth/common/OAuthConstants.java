@@ -648,6 +648,10 @@ public final class OAuthConstants {
         public static final String REQUEST_OBJECT_ENCRYPTION_ALGORITHM = "requestObjectEncryptionAlgorithm";
         public static final String REQUEST_OBJECT_ENCRYPTION_METHOD = "requestObjectEncryptionMethod";
         public static final String IS_FAPI_CONFORMANT_APP = "isFAPIConformant";
+        public static final String CIBA_TOKEN_DELIVERY_MODE = "backchannelTokenDeliveryMode";
+        public static final String CIBA_CLIENT_NOTIFICATION_ENDPOINT = "backchannelClientNotificationEndpoint";
+        public static final String CIBA_TOKEN_DELIVERY_MODE_POLL = "poll";
+        public static final String CIBA_TOKEN_DELIVERY_MODE_PING = "ping";
         public static final String IS_SUBJECT_TOKEN_ENABLED = "isSubjectTokenEnabled";
         public static final String SUBJECT_TOKEN_EXPIRY_TIME = "subjectTokenExpiryTime";
         public static final int SUBJECT_TOKEN_EXPIRY_TIME_VALUE = 180;
@@ -29,9 +29,11 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.core.ServiceURLBuilder;
 import org.wso2.carbon.identity.core.URLBuilderException;
+import org.wso2.carbon.identity.oauth.OAuthUtil;
 import org.wso2.carbon.identity.oauth.ciba.common.CibaConstants;
 import org.wso2.carbon.identity.oauth.ciba.exceptions.ErrorCodes;
 import org.wso2.carbon.identity.oauth.ciba.model.CibaAuthCodeRequest;
+import org.wso2.carbon.identity.oauth.ciba.notification.CibaNotificationDispatcher;
 import org.wso2.carbon.identity.oauth.common.OAuth2ErrorCodes;
 import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
@@ -496,6 +498,9 @@ public class CibaAuthRequestValidator {
                 throw new CibaAuthFailureException(OAuth2ErrorCodes.UNAUTHORIZED_CLIENT,
                         "Client has not configured grant_type properly.");
             }
+
+            // Validate the client_notification_token of ping clients.
+            validateTokenDeliveryMode(claimsSet, appDO);
             if (log.isDebugEnabled()) {
                 log.debug("CIBA Authentication Request 'request':" + request +
                         " is having a proper clientID : " + claimsSet.getIssuer() + " as the issuer.");
@@ -512,6 +517,45 @@ public class CibaAuthRequestValidator {
         }
     }
 
+    /**
+     * Checks whether the token delivery mode of the client is supported, and whether ping clients have provided a
+     * valid client_notification_token to be used with their notification endpoint.
+     *
+     * @param claimsSet CIBA Authentication request as claim sets.
+     * @param appDO     Client application.
+     * @throws CibaAuthFailureException CIBA Authentication Failed Exception.
+     * @throws ParseException           Error in parsing the claims.
+     */
+    private void validateTokenDeliveryMode(JWTClaimsSet claimsSet, OAuthAppDO appDO)
+            throws CibaAuthFailureException, ParseException {
+
+        String tokenDeliveryMode = appDO.getCibaTokenDeliveryMode();
+        if (StringUtils.isBlank(tokenDeliveryMode) ||
+                CibaConstants.TOKEN_DELIVERY_MODE_POLL.equals(tokenDeliveryMode)) {
+            return;
+        }
+        if (!CibaConstants.TOKEN_DELIVERY_MODE_PING.equals(tokenDeliveryMode) ||
+                !CibaNotificationDispatcher.isEnabled() ||
+                !OAuthUtil.isValidCibaClientNotificationEndpoint(appDO.getCibaClientNotificationEndpoint())) {
+            if (log.isDebugEnabled()) {
+                log.debug("Token delivery mode: " + tokenDeliveryMode + " of the client: " + claimsSet.getIssuer() +
+                        " is not supported or the client notification endpoint is not configured.");
+            }
+            throw new CibaAuthFailureException(OAuth2ErrorCodes.UNAUTHORIZED_CLIENT,
+                    "Client has not configured the token delivery mode properly.");
+        }
+        String clientNotificationToken = claimsSet.getStringClaim(CibaConstants.CLIENT_NOTIFICATION_TOKEN);
+        if (StringUtils.isBlank(clientNotificationToken) ||
+                clientNotificationToken.length() > CibaConstants.CLIENT_NOTIFICATION_TOKEN_MAX_LENGTH) {
+            if (log.isDebugEnabled()) {
+                log.debug("Invalid CIBA Authentication Request made by client with clientID : " +
+                        claimsSet.getIssuer() + ". The request is with invalid value for (client_notification_token).");
+            }
+            throw new CibaAuthFailureException(OAuth2ErrorCodes.INVALID_REQUEST,
+                    "Invalid value for (client_notification_token).");
+        }
+    }
+
     /**
      * Checks whether the client is valid.
      *
@@ -796,6 +840,10 @@ public class CibaAuthRequestValidator {
                 cibaAuthCodeRequest.setTransactionContext(transactionContext.toJSONString());
             }
 
+            // Setting client_notification_token to AuthenticationRequest after successful validation.
+            cibaAuthCodeRequest.setClientNotificationToken(
+                    claimsSet.getStringClaim(CibaConstants.CLIENT_NOTIFICATION_TOKEN));
+
             // Setting requested_expiry to AuthenticationRequest after successful validation.
             if (claimsSet.getClaim(CibaConstants.REQUESTED_EXPIRY) != null) {
                 if (claimsSet.getClaim(CibaConstants.REQUESTED_EXPIRY) instanceof String) {
@@ -20,6 +20,8 @@ package org.wso2.carbon.identity.oauth.endpoint.jwks;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.KeyUse;
 import com.nimbusds.jose.jwk.RSAKey;
@@ -37,23 +39,33 @@ import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.util.JWKSDocument;
+import org.wso2.carbon.identity.oauth2.util.JWKSDocumentCache;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 
 import java.security.KeyStore;
+import java.security.PublicKey;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
+import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPublicKey;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Set;
 
 import javax.jws.WebService;
+import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 /**
  * Rest implementation for JWKS endpoint.
@@ -66,34 +78,87 @@ public class JwksEndpoint {
     private static final String KEYS = "keys";
     private static final String ADD_PREVIOUS_VERSION_KID = "JWTValidatorConfigs.JWKSEndpoint.AddPreviousVersionKID";
     private static final String ENABLE_X5C_IN_RESPONSE = "JWTValidatorConfigs.JWKSEndpoint.EnableX5CInResponse";
+    private static final String CACHE_CONTROL_PUBLIC_MAX_AGE = "public, max-age=";
+    private static final String ANY_ENTITY_TAG = "*";
+    private static final String WEAK_ENTITY_TAG_PREFIX = "W/";
     public static final String JWKS_IS_THUMBPRINT_HEXIFY_REQUIRED = "JWTValidatorConfigs.JWKSEndpoint" +
             ".IsThumbprintHexifyRequired";
 
     @GET
     @Path(value = "/jwks")
     @Produces(MediaType.APPLICATION_JSON)
-    public String jwks() {
+    public Response jwks(@Context HttpServletRequest request) {
 
         String tenantDomain = getTenantDomain();
+        JWKSDocumentCache documentCache = JWKSDocumentCache.getInstance();
+        JWKSDocument document = documentCache.get(tenantDomain);
+        if (document == null) {
+            try {
+                document = documentCache.put(tenantDomain, buildJwks(tenantDomain));
+            } catch (Exception e) {
+                String errorMessage = "Error while generating the keyset for tenant domain: " + tenantDomain;
+                return Response.ok(logAndReturnError(errorMessage, e)).build();
+            }
+        }
+        if (!documentCache.isEnabled()) {
+            return Response.ok(document.getJson()).build();
+        }
 
-        try {
-            final KeyStore keystore = IdentityKeyStoreResolver.getInstance().getKeyStore(tenantDomain,
-                    IdentityKeyStoreResolverConstants.InboundProtocol.OAUTH);
-            List<CertificateInfo> certificateInfoList = new ArrayList<>();
-            Enumeration enumeration = keystore.aliases();
-            while (enumeration.hasMoreElements()) {
-                String alias = (String) enumeration.nextElement();
-                if (keystore.isKeyEntry(alias)) {
-                    CertificateInfo certificateInfo = new CertificateInfo(keystore.getCertificate(alias), alias);
-                    certificateInfo.setCertificateChain(keystore.getCertificateChain(alias));
-                    certificateInfoList.add(certificateInfo);
-                }
+        EntityTag entityTag = new EntityTag(document.getEntityTag());
+        String cacheControl = CACHE_CONTROL_PUBLIC_MAX_AGE + documentCache.getMaxAgeSeconds();
+        if (isEntityTagMatched(request.getHeader(HttpHeaders.IF_NONE_MATCH), entityTag.getValue())) {
+            if (log.isDebugEnabled()) {
+                log.debug("JWKS of tenant domain: " + tenantDomain + " is not modified since the last request.");
+            }
+            return Response.notModified(entityTag)
+                    .header(OAuthConstants.HTTP_RESP_HEADER_CACHE_CONTROL, cacheControl)
+                    .build();
+        }
+        return Response.ok(document.getJson())
+                .tag(entityTag)
+                .header(OAuthConstants.HTTP_RESP_HEADER_CACHE_CONTROL, cacheControl)
+                .build();
+    }
+
+    private String buildJwks(String tenantDomain) throws Exception {
+
+        final KeyStore keystore = IdentityKeyStoreResolver.getInstance().getKeyStore(tenantDomain,
+                IdentityKeyStoreResolverConstants.InboundProtocol.OAUTH);
+        List<CertificateInfo> certificateInfoList = new ArrayList<>();
+        Enumeration enumeration = keystore.aliases();
+        while (enumeration.hasMoreElements()) {
+            String alias = (String) enumeration.nextElement();
+            if (keystore.isKeyEntry(alias)) {
+                CertificateInfo certificateInfo = new CertificateInfo(keystore.getCertificate(alias), alias);
+                certificateInfo.setCertificateChain(keystore.getCertificateChain(alias));
+                certificateInfoList.add(certificateInfo);
             }
-            return buildResponse(certificateInfoList);
-        } catch (Exception e) {
-            String errorMessage = "Error while generating the keyset for tenant domain: " + tenantDomain;
-            return logAndReturnError(errorMessage, e);
         }
+        return buildResponse(certificateInfoList);
+    }
+
+    /**
+     * Check whether the If-None-Match header of the request matches the entity tag of the current JWKS document.
+     * Weak comparison is used as required for If-None-Match by RFC 7232.
+     */
+    private boolean isEntityTagMatched(String ifNoneMatch, String entityTagValue) {
+
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        for (String requestedTag : ifNoneMatch.split(",")) {
+            String tag = requestedTag.trim();
+            if (ANY_ENTITY_TAG.equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith(WEAK_ENTITY_TAG_PREFIX)) {
+                tag = tag.substring(WEAK_ENTITY_TAG_PREFIX.length());
+            }
+            if (tag.equals("\"" + entityTagValue + "\"")) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private String buildResponse(List<CertificateInfo> certInfoList)
@@ -131,37 +196,86 @@ public class JwksEndpoint {
             for (JWSAlgorithm algorithm : diffAlgorithms) {
                 String alias = certInfo.getCertificateAlias();
                 X509Certificate cert = (X509Certificate) certInfo.getCertificate();
+                if (!isKeyCompatible(cert.getPublicKey(), algorithm)) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Skipping the key with alias: " + alias + " for the algorithm: " + algorithm +
+                                " since the key type does not support the algorithm.");
+                    }
+                    continue;
+                }
                 Certificate[] certChain = certInfo.getCertificateChain();
                 List<Base64> encodedCertList = generateEncodedCertList(certChain, alias);
-                RSAKey.Builder jwk = getJWK(algorithm, encodedCertList, cert,
-                        hashingAlgorithm, alias);
-                jwksArray.add(jwk.build().toJSONObject());
+                JWK jwk = getJWK(algorithm, encodedCertList, cert, hashingAlgorithm, alias);
+                jwksArray.add(jwk.toJSONObject());
             }
         }
     }
 
-    private RSAKey.Builder getJWK(JWSAlgorithm algorithm, List<Base64> encodedCertList, X509Certificate certificate,
-                                  String kidAlgorithm, String alias)
+    private JWK getJWK(JWSAlgorithm algorithm, List<Base64> encodedCertList, X509Certificate certificate,
+                       String kidAlgorithm, String alias)
             throws ParseException, IdentityOAuth2Exception, JOSEException {
 
-        RSAKey.Builder jwk = new RSAKey.Builder((RSAPublicKey) certificate.getPublicKey());
+        String keyId;
         if (kidAlgorithm.equals(OAuthConstants.SignatureAlgorithms.KID_HASHING_ALGORITHM)) {
-            jwk.keyID(OAuth2Util.getKID(certificate, algorithm, getTenantDomain()));
+            keyId = OAuth2Util.getKID(certificate, algorithm, getTenantDomain());
         } else {
-            jwk.keyID(OAuth2Util.getPreviousKID(certificate, algorithm, getTenantDomain()));
+            keyId = OAuth2Util.getPreviousKID(certificate, algorithm, getTenantDomain());
         }
-        jwk.algorithm(algorithm);
-        jwk.keyUse(KeyUse.parse(KEY_USE));
+        List<Base64> x509CertChain = null;
         if (Boolean.parseBoolean(IdentityUtil.getProperty(ENABLE_X5C_IN_RESPONSE))) {
-            jwk.x509CertChain(encodedCertList);
+            x509CertChain = encodedCertList;
         }
+        Base64URL x509CertSHA256Thumbprint;
         if (!Boolean.parseBoolean(IdentityUtil.getProperty(JWKS_IS_THUMBPRINT_HEXIFY_REQUIRED))) {
             JWK parsedJWK = JWK.parse(certificate);
-            jwk.x509CertSHA256Thumbprint(parsedJWK.getX509CertSHA256Thumbprint());
+            x509CertSHA256Thumbprint = parsedJWK.getX509CertSHA256Thumbprint();
         } else {
-            jwk.x509CertSHA256Thumbprint(new Base64URL(OAuth2Util.getThumbPrint(certificate, alias)));
+            x509CertSHA256Thumbprint = new Base64URL(OAuth2Util.getThumbPrint(certificate, alias));
+        }
+        return buildJWK(certificate.getPublicKey(), keyId, algorithm, x509CertChain, x509CertSHA256Thumbprint);
+    }
+
+    /**
+     * Build the signing JWK of the given public key. EC keys are published as EC JWKs of the curve of the key and
+     * all other keys as RSA JWKs.
+     */
+    private JWK buildJWK(PublicKey publicKey, String keyId, JWSAlgorithm algorithm, List<Base64> x509CertChain,
+                         Base64URL x509CertSHA256Thumbprint) throws ParseException {
+
+        if (publicKey instanceof ECPublicKey) {
+            ECPublicKey ecPublicKey = (ECPublicKey) publicKey;
+            return new ECKey.Builder(Curve.forECParameterSpec(ecPublicKey.getParams()), ecPublicKey)
+                    .keyID(keyId)
+                    .algorithm(algorithm)
+                    .keyUse(KeyUse.parse(KEY_USE))
+                    .x509CertChain(x509CertChain)
+                    .x509CertSHA256Thumbprint(x509CertSHA256Thumbprint)
+                    .build();
         }
-        return jwk;
+        return new RSAKey.Builder((RSAPublicKey) publicKey)
+                .keyID(keyId)
+                .algorithm(algorithm)
+                .keyUse(KeyUse.parse(KEY_USE))
+                .x509CertChain(x509CertChain)
+                .x509CertSHA256Thumbprint(x509CertSHA256Thumbprint)
+                .build();
+    }
+
+    /**
+     * Check whether the given public key can verify signatures of the given algorithm, so that an EC key is only
+     * published with the ECDSA algorithm of its curve and an RSA key only with RSA algorithms.
+     */
+    private boolean isKeyCompatible(PublicKey publicKey, JWSAlgorithm algorithm) {
+
+        if (publicKey instanceof ECPublicKey) {
+            Curve curve = Curve.forECParameterSpec(((ECPublicKey) publicKey).getParams());
+            Set<Curve> algorithmCurves = Curve.forJWSAlgorithm(algorithm);
+            return curve != null && algorithmCurves != null && algorithmCurves.contains(curve);
+        }
+        if (publicKey instanceof RSAPublicKey) {
+            return JWSAlgorithm.Family.RSA.contains(algorithm);
+        }
+        return false;
     }
 
     /**
@@ -181,12 +295,12 @@ public class JwksEndpoint {
 
         for (CertificateInfo certInfo : certInfoList) {
             X509Certificate cert = (X509Certificate) certInfo.getCertificate();
-            RSAPublicKey publicKey = (RSAPublicKey) cert.getPublicKey();
-            RSAKey.Builder jwk = new RSAKey.Builder(publicKey);
-            jwk.keyID(OAuth2Util.getThumbPrintWithPrevAlgorithm(cert));
-            jwk.algorithm(algorithm);
-            jwk.keyUse(KeyUse.parse(KEY_USE));
-            jwksArray.add(jwk.build().toJSONObject());
+            if (!isKeyCompatible(cert.getPublicKey(), algorithm)) {
+                continue;
+            }
+            JWK jwk = buildJWK(cert.getPublicKey(), OAuth2Util.getThumbPrintWithPrevAlgorithm(cert), algorithm,
+                    null, null);
+            jwksArray.add(jwk.toJSONObject());
         }
     }
 
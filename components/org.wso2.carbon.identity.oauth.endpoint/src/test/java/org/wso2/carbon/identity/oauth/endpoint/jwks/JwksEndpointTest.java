@@ -44,6 +44,7 @@ import org.wso2.carbon.identity.oauth.tokenprocessor.TokenPersistenceProcessor;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.keyidprovider.DefaultKeyIDProviderImpl;
+import org.wso2.carbon.identity.oauth2.util.JWKSDocumentCache;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.utils.CarbonUtils;
 import org.wso2.carbon.utils.security.KeystoreUtils;
@@ -59,6 +60,11 @@ import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
@@ -223,7 +229,10 @@ public class JwksEndpointTest {
 
                 identityUtil.when(() -> IdentityUtil.getProperty(ENABLE_X5C_IN_RESPONSE)).thenReturn("true");
 
-                String result = jwksEndpoint.jwks();
+                JWKSDocumentCache.getInstance().clear();
+                HttpServletRequest request = mock(HttpServletRequest.class);
+                Response response = jwksEndpoint.jwks(request);
+                String result = (String) response.getEntity();
 
                 try {
                     JSONObject jwksJson = new JSONObject(result);
@@ -247,6 +256,14 @@ public class JwksEndpointTest {
                     String base64UrlEncodedString = (String) keyObject.get("x5t#S256");
                     byte[] decodedBytes = Base64.getUrlDecoder().decode(base64UrlEncodedString);
                     assertEquals(decodedBytes.length, 32, "Incorrect x5t#S256 size");
+
+                    // A conditional request with the entity tag of the served key set is answered from the cache.
+                    assertEquals(response.getHeaderString(OAuthConstants.HTTP_RESP_HEADER_CACHE_CONTROL),
+                            "public, max-age=60", "Incorrect Cache-Control value");
+                    when(request.getHeader(HttpHeaders.IF_NONE_MATCH))
+                            .thenReturn("\"" + response.getEntityTag().getValue() + "\"");
+                    assertEquals(jwksEndpoint.jwks(request).getStatus(), HttpServletResponse.SC_NOT_MODIFIED,
+                            "Conditional request with a matching entity tag is not answered with 304");
                 } catch (JSONException e) {
                     if ("invalid.com".equals(tenantDomain)) {
                         // This is expected. We don't validate for invalid tenants.
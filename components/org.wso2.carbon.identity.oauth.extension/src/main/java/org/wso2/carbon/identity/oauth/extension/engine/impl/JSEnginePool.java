@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.extension.engine.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.oauth.extension.engine.JSEngine;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+
+/**
+ * Fixed pool of script engines handing out JavaScript engine contexts.
+ * <p>
+ * Each call to {@link #createEngineContext()} returns a new {@link JSEngine} with its own global scope, so that
+ * concurrent script executions do not see each other's variables. A context is bound to a script engine of the pool
+ * on its first use. Scripts are compiled once per script engine and cached by the SHA-256 hash of their source, so an
+ * updated script is compiled afresh and the stale compilation ages out of the cache.
+ * <p>
+ * Scripts run on the thread of their script engine and are abandoned if they do not complete within the execution
+ * timeout, measured from the moment the script starts running. A script waiting for the script engine to finish the
+ * scripts ahead of it is not timed out, since each of those is timed out by its own caller. A running script cannot
+ * be stopped, hence the script engine of a timed out script is replaced and its
+ * thread is left to finish the script. Once the configured number of abandoned script engines are still running,
+ * further script executions are refused until they finish, so that runaway scripts cannot exhaust the threads.
+ */
+public class JSEnginePool {
+
+    private static final Log log = LogFactory.getLog(JSEnginePool.class);
+    private static final String HASHING_ALGORITHM = "SHA-256";
+
+    private final Supplier<ScriptEngine> scriptEngineFactory;
+    private final Predicate<Object> functionCheck;
+    private final FunctionInvoker functionInvoker;
+    private final String initScript;
+    private final int compiledScriptCacheSize;
+    private final long executionTimeoutMillis;
+    private final int maxAbandonedEngines;
+    private final AtomicReferenceArray<EngineSlot> engineSlots;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final AtomicInteger engineCount = new AtomicInteger();
+    private final AtomicInteger abandonedEngineCount = new AtomicInteger();
+
+    /**
+     * Invokes a script function with the function objects of the underlying script engine implementation.
+     */
+    @FunctionalInterface
+    public interface FunctionInvoker {
+
+        /**
+         * Invoke the given script function.
+         *
+         * @param function Script function.
+         * @param args     Arguments of the function.
+         */
+        void invoke(Object function, Object... args);
+    }
+
+    /**
+     * Create a pool of script engines.
+     *
+     * @param scriptEngineFactory     Factory of the script engines of the pool.
+     * @param functionCheck           Whether a script object is a function.
+     * @param functionInvoker         Invoker of the script functions.
+     * @param initScript              Script run in every new engine context before any other script.
+     * @param poolSize                Number of script engines.
+     * @param compiledScriptCacheSize Maximum number of compiled scripts kept per script engine.
+     * @param executionTimeoutMillis  Maximum execution time of a script.
+     * @param maxAbandonedEngines     Maximum number of abandoned script engines still running timed out scripts.
+     */
+    public JSEnginePool(Supplier<ScriptEngine> scriptEngineFactory, Predicate<Object> functionCheck,
+                        FunctionInvoker functionInvoker, String initScript, int poolSize, int compiledScriptCacheSize,
+                        long executionTimeoutMillis, int maxAbandonedEngines) {
+
+        this.scriptEngineFactory = scriptEngineFactory;
+        this.functionCheck = functionCheck;
+        this.functionInvoker = functionInvoker;
+        this.initScript = initScript;
+        this.compiledScriptCacheSize = compiledScriptCacheSize;
+        this.executionTimeoutMillis = executionTimeoutMillis;
+        this.maxAbandonedEngines = maxAbandonedEngines;
+        this.engineSlots = new AtomicReferenceArray<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            engineSlots.set(i, new EngineSlot());
+        }
+    }
+
+    /**
+     * Create an engine context with its own global scope. The {@link JSEngine#createEngine()} method of the returned
+     * context creates another context of this pool.
+     *
+     * @return JavaScript engine context.
+     */
+    public JSEngine createEngineContext() {
+
+        return new EngineContext();
+    }
+
+    /**
+     * Get the number of abandoned script engines which are still running timed out scripts.
+     *
+     * @return Number of abandoned script engines.
+     */
+    public int getAbandonedEngineCount() {
+
+        return abandonedEngineCount.get();
+    }
+
+    /**
+     * Stop the threads of the script engines in the pool. Scripts that are still running are interrupted and the
+     * scripts waiting to run are cancelled.
+     */
+    public void shutdown() {
+
+        for (int i = 0; i < engineSlots.length(); i++) {
+            engineSlots.get(i).stop();
+        }
+    }
+
+    private void abandonEngineSlot(int slotIndex, EngineSlot engineSlot) {
+
+        if (engineSlots.compareAndSet(slotIndex, engineSlot, new EngineSlot())) {
+            engineSlot.abandoned = true;
+            abandonedEngineCount.incrementAndGet();
+            engineSlot.stop();
+        }
+    }
+
+    private static String hash(String script) throws ScriptException {
+
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(HASHING_ALGORITHM);
+            return Base64.getEncoder().encodeToString(messageDigest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new ScriptException(e);
+        }
+    }
+
+    /**
+     * Script engine of the pool, with the thread its scripts run on and the scripts compiled by it.
+     */
+    private class EngineSlot {
+
+        private final ScriptEngine scriptEngine;
+        private final ThreadPoolExecutor executor;
+        // Only accessed from the executor thread.
+        private final Map<String, CompiledScript> compiledScripts;
+        private volatile boolean abandoned;
+
+        private EngineSlot() {
+
+            int engineId = engineCount.incrementAndGet();
+            this.scriptEngine = scriptEngineFactory.get();
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "OAuthScriptEngine-" + engineId);
+                        thread.setDaemon(true);
+                        return thread;
+                    }) {
+
+                @Override
+                protected void terminated() {
+
+                    // The thread of an abandoned script engine terminates once the timed out script completes.
+                    if (abandoned) {
+                        abandonedEngineCount.decrementAndGet();
+                    }
+                }
+            };
+            this.compiledScripts = new LinkedHashMap<String, CompiledScript>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+
+                    return size() > compiledScriptCacheSize;
+                }
+            };
+        }
+
+        private CompiledScript compile(String script) throws ScriptException {
+
+            String scriptHash = hash(script);
+            CompiledScript compiledScript = compiledScripts.get(scriptHash);
+            if (compiledScript == null) {
+                compiledScript = ((Compilable) scriptEngine).compile(script);
+                compiledScripts.put(scriptHash, compiledScript);
+            }
+            return compiledScript;
+        }
+
+        private void stop() {
+
+            // Cancel the scripts waiting behind the running script, so that their callers do not wait for a timeout.
+            for (Runnable pendingTask : executor.shutdownNow()) {
+                if (pendingTask instanceof Future) {
+                    ((Future<?>) pendingTask).cancel(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Engine context with its own global scope, bound to one script engine of the pool on its first use.
+     */
+    private class EngineContext implements JSEngine {
+
+        private final Map<String, Object> pendingBindings = new LinkedHashMap<>();
+        private int slotIndex;
+        private EngineSlot engineSlot;
+        private ScriptContext scriptContext;
+
+        @Override
+        public JSEngine createEngine() {
+
+            return createEngineContext();
+        }
+
+        @Override
+        public JSEngine addBindings(Map<String, Object> bindings) {
+
+            if (scriptContext == null) {
+                pendingBindings.putAll(bindings);
+            } else {
+                scriptContext.getBindings(ScriptContext.ENGINE_SCOPE).putAll(bindings);
+            }
+            return this;
+        }
+
+        @Override
+        public JSEngine evalScript(String script) throws ScriptException {
+
+            bind();
+            execute(() -> engineSlot.compile(script).eval(scriptContext));
+            return this;
+        }
+
+        @Override
+        public JSEngine invokeFunction(String functionName, Object... args) throws ScriptException {
+
+            bind();
+            Object scriptObject = scriptContext.getAttribute(functionName, ScriptContext.ENGINE_SCOPE);
+            if (scriptObject != null && functionCheck.test(scriptObject)) {
+                execute(() -> {
+                    functionInvoker.invoke(scriptObject, args);
+                    return null;
+                });
+                return this;
+            }
+            log.warn(String.format("Function %s is not defined in the script.", functionName));
+            return this;
+        }
+
+        @Override
+        public Map<String, Object> getJSObjects(List<String> objectNames) {
+
+            if (scriptContext == null) {
+                return Collections.emptyMap();
+            }
+            Bindings bindings = scriptContext.getBindings(ScriptContext.ENGINE_SCOPE);
+            Map<String, Object> jsObjects = new HashMap<>();
+            for (String objectName : objectNames) {
+                if (bindings.get(objectName) != null) {
+                    jsObjects.put(objectName, bindings.get(objectName));
+                }
+            }
+            return jsObjects;
+        }
+
+        private void bind() throws ScriptException {
+
+            if (scriptContext != null) {
+                return;
+            }
+            slotIndex = Math.floorMod(nextSlot.getAndIncrement(), engineSlots.length());
+            engineSlot = engineSlots.get(slotIndex);
+            ScriptContext newScriptContext = new SimpleScriptContext();
+            // Bindings created by the script engine carry a new global scope.
+            newScriptContext.setBindings(engineSlot.scriptEngine.createBindings(), ScriptContext.ENGINE_SCOPE);
+            execute(() -> engineSlot.compile(initScript).eval(newScriptContext));
+            newScriptContext.getBindings(ScriptContext.ENGINE_SCOPE).putAll(pendingBindings);
+            pendingBindings.clear();
+            scriptContext = newScriptContext;
+        }
+
+        private void execute(Callable<Object> task) throws ScriptException {
+
+            int abandonedEngines = abandonedEngineCount.get();
+            if (abandonedEngines >= maxAbandonedEngines) {
+                throw new ScriptException("Script execution refused since " + abandonedEngines + " script engines " +
+                        "are still running timed out scripts.");
+            }
+            CountDownLatch started = new CountDownLatch(1);
+            AtomicLong startTime = new AtomicLong();
+            Future<Object> future;
+            try {
+                future = engineSlot.executor.submit(() -> {
+                    startTime.set(System.nanoTime());
+                    started.countDown();
+                    return task.call();
+                });
+            } catch (RejectedExecutionException e) {
+                throw new ScriptException("Script engine of the context has been stopped.");
+            }
+            try {
+                awaitCompletion(future, started, startTime);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                abandonEngineSlot(slotIndex, engineSlot);
+                log.error("Script execution did not complete within " + executionTimeoutMillis + "ms. Replacing " +
+                        "the script engine.");
+                throw new ScriptException("Script execution timed out after " + executionTimeoutMillis + "ms.");
+            } catch (CancellationException e) {
+                throw new ScriptException("Script execution was cancelled since the script engine of the context " +
+                        "has been stopped.");
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new ScriptException("Interrupted while waiting for the script execution.");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof ScriptException) {
+                    throw (ScriptException) e.getCause();
+                }
+                ScriptException scriptException = new ScriptException("Error while executing the script: " +
+                        e.getCause().getMessage());
+                scriptException.initCause(e.getCause());
+                throw scriptException;
+            }
+        }
+
+        /**
+         * Wait for a submitted script to complete. The execution timeout is only applied once the script has started,
+         * so the time spent waiting behind the other scripts of the engine does not count towards it.
+         */
+        private void awaitCompletion(Future<Object> future, CountDownLatch started, AtomicLong startTime)
+                throws InterruptedException, ExecutionException, TimeoutException {
+
+            long waitMillis = executionTimeoutMillis;
+            while (true) {
+                try {
+                    future.get(waitMillis, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (TimeoutException e) {
+                    if (started.getCount() > 0) {
+                        // The script is still waiting for the script engine.
+                        continue;
+                    }
+                    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime.get());
+                    waitMillis = executionTimeoutMillis - elapsedMillis;
+                    if (waitMillis <= 0) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -40,7 +40,6 @@ import javax.script.ScriptException;
  */
 public class OpenJdkJSEngineImpl implements JSEngine {
 
-    private ClassFilter classFilter;
     private final ScriptEngine engine;
     private static final String[] NASHORN_ARGS = {"--no-java"};
     private static final String REMOVE_FUNCTIONS = "var quit=function(){Log.error('quit function is restricted.')};" +
@@ -59,9 +58,7 @@ public class OpenJdkJSEngineImpl implements JSEngine {
 
     public OpenJdkJSEngineImpl() {
 
-        NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
-        classFilter = new OpenJdkNashornRestrictedClassFilter();
-        this.engine = factory.getScriptEngine(NASHORN_ARGS, getClassLoader(), classFilter);
+        this.engine = createScriptEngine();
     }
 
     /**
@@ -74,6 +71,25 @@ public class OpenJdkJSEngineImpl implements JSEngine {
         return OPEN_JDK_JS_ENGINE_INSTANCE;
     }
 
+    /**
+     * Create a pool of script engines handing out JavaScript engine contexts with an isolated global scope each.
+     *
+     * @param poolSize                Number of script engines.
+     * @param compiledScriptCacheSize Maximum number of compiled scripts kept per script engine.
+     * @param executionTimeoutMillis  Maximum execution time of a script.
+     * @param maxAbandonedEngines     Maximum number of abandoned script engines still running timed out scripts.
+     * @return Pool of script engines.
+     */
+    public static JSEnginePool createEnginePool(int poolSize, int compiledScriptCacheSize, long executionTimeoutMillis,
+                                                int maxAbandonedEngines) {
+
+        return new JSEnginePool(OpenJdkJSEngineImpl::createScriptEngine,
+                scriptObject -> scriptObject instanceof ScriptObjectMirror &&
+                        ((ScriptObjectMirror) scriptObject).isFunction(),
+                (function, args) -> ((ScriptObjectMirror) function).call(null, args), REMOVE_FUNCTIONS, poolSize,
+                compiledScriptCacheSize, executionTimeoutMillis, maxAbandonedEngines);
+    }
+
     @Override
     public JSEngine createEngine() throws ScriptException {
 
@@ -123,11 +139,18 @@ public class OpenJdkJSEngineImpl implements JSEngine {
         return jsObjects;
     }
 
+    private static ScriptEngine createScriptEngine() {
+
+        NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
+        ClassFilter classFilter = new OpenJdkNashornRestrictedClassFilter();
+        return factory.getScriptEngine(NASHORN_ARGS, getClassLoader(), classFilter);
+    }
+
     /**
      * This method returns the current thread's class loader.
      * @return Returns NashornScriptEngineFactory class to evaluate the javascript if classLoader is null.
      */
-    private ClassLoader getClassLoader() {
+    private static ClassLoader getClassLoader() {
 
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         return classLoader == null ? NashornScriptEngineFactory.class.getClassLoader() : classLoader;
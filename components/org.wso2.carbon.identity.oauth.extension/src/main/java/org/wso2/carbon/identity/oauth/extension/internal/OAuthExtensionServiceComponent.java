@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.extension.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.osgi.service.component.ComponentContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.wso2.carbon.identity.oauth.extension.utils.EngineUtils;
+
+/**
+ * Service component of the OAuth extensions, which stops the script engine pools when the bundle is deactivated.
+ */
+@Component(
+        name = "identity.oauth.extension.component",
+        immediate = true
+)
+public class OAuthExtensionServiceComponent {
+
+    private static final Log log = LogFactory.getLog(OAuthExtensionServiceComponent.class);
+
+    @Activate
+    protected void activate(ComponentContext context) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("OAuth extension component bundle is activated.");
+        }
+    }
+
+    @Deactivate
+    protected void deactivate(ComponentContext context) {
+
+        EngineUtils.shutdownEnginePools();
+        if (log.isDebugEnabled()) {
+            log.debug("OAuth extension component bundle is deactivated.");
+        }
+    }
+}
@@ -25,4 +25,16 @@ public class Constants {
 
     public static final String OPENJDK_SCRIPT_CLASS_NAME = "org.openjdk.nashorn.api.scripting.ScriptObjectMirror";
     public static final String JDK_SCRIPT_CLASS_NAME = "jdk.nashorn.api.scripting.ScriptObjectMirror";
+
+    // These config properties are defined in identity.xml
+    public static final String SCRIPT_ENGINE_POOL_ENABLE = "OAuth.ScriptEngine.Pool.Enable";
+    public static final String SCRIPT_ENGINE_POOL_SIZE = "OAuth.ScriptEngine.Pool.Size";
+    public static final String SCRIPT_ENGINE_POOL_COMPILED_SCRIPT_CACHE_SIZE =
+            "OAuth.ScriptEngine.Pool.CompiledScriptCacheSize";
+    public static final String SCRIPT_ENGINE_POOL_EXECUTION_TIMEOUT = "OAuth.ScriptEngine.Pool.ExecutionTimeout";
+    public static final String SCRIPT_ENGINE_POOL_MAX_ABANDONED_ENGINES = "OAuth.ScriptEngine.Pool.MaxAbandonedEngines";
+    public static final int DEFAULT_SCRIPT_ENGINE_POOL_SIZE = 4;
+    public static final int DEFAULT_COMPILED_SCRIPT_CACHE_SIZE = 100;
+    public static final int DEFAULT_SCRIPT_EXECUTION_TIMEOUT_MILLIS = 2000;
+    public static final int DEFAULT_MAX_ABANDONED_SCRIPT_ENGINES = 4;
 }
@@ -19,27 +19,84 @@
 package org.wso2.carbon.identity.oauth.extension.utils;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.extension.engine.JSEngine;
 import org.wso2.carbon.identity.oauth.extension.engine.impl.JSEngineImpl;
+import org.wso2.carbon.identity.oauth.extension.engine.impl.JSEnginePool;
 import org.wso2.carbon.identity.oauth.extension.engine.impl.OpenJdkJSEngineImpl;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.wso2.carbon.identity.oauth.extension.utils.Constants.DEFAULT_COMPILED_SCRIPT_CACHE_SIZE;
+import static org.wso2.carbon.identity.oauth.extension.utils.Constants.DEFAULT_MAX_ABANDONED_SCRIPT_ENGINES;
+import static org.wso2.carbon.identity.oauth.extension.utils.Constants.DEFAULT_SCRIPT_ENGINE_POOL_SIZE;
+import static org.wso2.carbon.identity.oauth.extension.utils.Constants.DEFAULT_SCRIPT_EXECUTION_TIMEOUT_MILLIS;
 import static org.wso2.carbon.identity.oauth.extension.utils.Constants.JDK_SCRIPT_CLASS_NAME;
 import static org.wso2.carbon.identity.oauth.extension.utils.Constants.OPENJDK_SCRIPT_CLASS_NAME;
+import static org.wso2.carbon.identity.oauth.extension.utils.Constants.SCRIPT_ENGINE_POOL_COMPILED_SCRIPT_CACHE_SIZE;
+import static org.wso2.carbon.identity.oauth.extension.utils.Constants.SCRIPT_ENGINE_POOL_ENABLE;
+import static org.wso2.carbon.identity.oauth.extension.utils.Constants.SCRIPT_ENGINE_POOL_EXECUTION_TIMEOUT;
+import static org.wso2.carbon.identity.oauth.extension.utils.Constants.SCRIPT_ENGINE_POOL_MAX_ABANDONED_ENGINES;
+import static org.wso2.carbon.identity.oauth.extension.utils.Constants.SCRIPT_ENGINE_POOL_SIZE;
 
 /**
  * Utility class for JSEngine.
  */
 public class EngineUtils {
 
+    private static final Log log = LogFactory.getLog(EngineUtils.class);
+    private static final Map<Class<? extends JSEngine>, JSEnginePool> enginePools = new ConcurrentHashMap<>();
+
     /**
-     * Get the JSEngine based on the configuration.
+     * Get the JSEngine based on the configuration. If the script engine pool is enabled, the returned engine is a
+     * context of a pool of script engines of the configured implementation.
      *
      * @return JSEngine instance.
      */
     public static JSEngine getEngineFromConfig() {
 
+        JSEngine jsEngine = getConfiguredEngine();
+        if (jsEngine == null || !Boolean.parseBoolean(IdentityUtil.getProperty(SCRIPT_ENGINE_POOL_ENABLE))) {
+            return jsEngine;
+        }
+        return enginePools.computeIfAbsent(jsEngine.getClass(), engineClass -> createEnginePool(jsEngine))
+                .createEngineContext();
+    }
+
+    /**
+     * Stop the threads of the script engine pools created so far.
+     */
+    public static void shutdownEnginePools() {
+
+        for (JSEnginePool enginePool : enginePools.values()) {
+            enginePool.shutdown();
+        }
+        enginePools.clear();
+    }
+
+    private static JSEnginePool createEnginePool(JSEngine jsEngine) {
+
+        int poolSize = getIntProperty(SCRIPT_ENGINE_POOL_SIZE, DEFAULT_SCRIPT_ENGINE_POOL_SIZE, 1);
+        int compiledScriptCacheSize = getIntProperty(SCRIPT_ENGINE_POOL_COMPILED_SCRIPT_CACHE_SIZE,
+                DEFAULT_COMPILED_SCRIPT_CACHE_SIZE, 1);
+        int executionTimeout = getIntProperty(SCRIPT_ENGINE_POOL_EXECUTION_TIMEOUT,
+                DEFAULT_SCRIPT_EXECUTION_TIMEOUT_MILLIS, 1);
+        int maxAbandonedEngines = getIntProperty(SCRIPT_ENGINE_POOL_MAX_ABANDONED_ENGINES,
+                DEFAULT_MAX_ABANDONED_SCRIPT_ENGINES, 1);
+        if (jsEngine instanceof OpenJdkJSEngineImpl) {
+            return OpenJdkJSEngineImpl.createEnginePool(poolSize, compiledScriptCacheSize, executionTimeout,
+                    maxAbandonedEngines);
+        }
+        return JSEngineImpl.createEnginePool(poolSize, compiledScriptCacheSize, executionTimeout,
+                maxAbandonedEngines);
+    }
+
+    private static JSEngine getConfiguredEngine() {
+
         String scriptEngineName = IdentityUtil.getProperty(FrameworkConstants.SCRIPT_ENGINE_CONFIG);
         if (scriptEngineName != null) {
             if (StringUtils.equalsIgnoreCase(FrameworkConstants.OPENJDK_NASHORN, scriptEngineName)) {
@@ -63,4 +120,28 @@ public class EngineUtils {
             }
         }
     }
+
+    /**
+     * Read an integer configuration the same way as the other components of the OAuth feature, which this module
+     * does not depend on. The default value is used when the configuration is not set, is not a number, or is less
+     * than the given minimum value.
+     */
+    private static int getIntProperty(String propertyName, int defaultValue, int minValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue >= minValue) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            // Fall back to the default value below.
+        }
+        log.warn("Invalid value: " + value + " configured for " + propertyName + ". Using the default value: " +
+                defaultValue);
+        return defaultValue;
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.extension.engine.impl;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.extension.engine.JSEngine;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.script.ScriptException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class JSEnginePoolTest {
+
+    // Busy loop which outlives the execution timeout of the pools but still completes.
+    private static final String SLOW_SCRIPT = "var end = Date.now() + 1500; while (Date.now() < end) {}";
+
+    private JSEnginePool enginePool;
+
+    @BeforeClass
+    public void setUp() {
+
+        enginePool = OpenJdkJSEngineImpl.createEnginePool(2, 10, 500, 4);
+    }
+
+    @AfterClass
+    public void tearDown() {
+
+        enginePool.shutdown();
+    }
+
+    @Test
+    public void testContextsAreIsolated() throws ScriptException {
+
+        JSEngine first = enginePool.createEngineContext();
+        first.addBindings(Collections.singletonMap("name", "John"));
+        first.evalScript("var message = 'Hello ' + name;");
+
+        JSEngine second = enginePool.createEngineContext();
+        second.evalScript("var other = typeof message;");
+
+        assertEquals(first.getJSObjects(Collections.singletonList("message")).get("message"), "Hello John");
+        assertEquals(second.getJSObjects(Collections.singletonList("other")).get("other"), "undefined");
+        assertNull(second.getJSObjects(Collections.singletonList("message")).get("message"));
+    }
+
+    @Test
+    public void testCreateEngineReturnsNewContext() throws ScriptException {
+
+        JSEngine context = enginePool.createEngineContext();
+        context.evalScript("var value = 'first';");
+
+        JSEngine newContext = context.createEngine();
+        assertNotSame(newContext, context);
+        assertTrue(newContext.getJSObjects(Collections.singletonList("value")).isEmpty());
+        newContext.evalScript("var other = typeof value;");
+        assertEquals(newContext.getJSObjects(Collections.singletonList("other")).get("other"), "undefined");
+    }
+
+    @Test
+    public void testInvokeFunctionWithCachedScript() throws ScriptException, NoSuchMethodException {
+
+        String script = "function add(a, b) { result = a + b; }";
+        for (int i = 0; i < 4; i++) {
+            JSEngine engine = enginePool.createEngineContext();
+            engine.evalScript(script);
+            engine.invokeFunction("add", i, 2);
+            Map<String, Object> jsObjects = engine.getJSObjects(Collections.singletonList("result"));
+            assertEquals(((Number) jsObjects.get("result")).intValue(), i + 2);
+        }
+    }
+
+    @Test
+    public void testRunawayScriptIsTerminated() throws ScriptException {
+
+        JSEngine engine = enginePool.createEngineContext();
+        try {
+            engine.evalScript(SLOW_SCRIPT);
+            fail("The script should have timed out.");
+        } catch (ScriptException e) {
+            // Expected since the script does not complete within the execution timeout.
+        }
+
+        for (int i = 0; i < 2; i++) {
+            JSEngine next = enginePool.createEngineContext();
+            next.evalScript("var value = 'ok';");
+            assertEquals(next.getJSObjects(Collections.singletonList("value")).get("value"), "ok");
+        }
+    }
+
+    @Test
+    public void testTimeoutExcludesTimeWaitingForEngine() throws Exception {
+
+        JSEnginePool singleEnginePool = OpenJdkJSEngineImpl.createEnginePool(1, 10, 1000, 1);
+        try {
+            CountDownLatch firstCompleted = new CountDownLatch(1);
+            Thread first = new Thread(() -> {
+                try {
+                    singleEnginePool.createEngineContext().evalScript(
+                            "var end = Date.now() + 700; while (Date.now() < end) {}");
+                    firstCompleted.countDown();
+                } catch (ScriptException e) {
+                    // The latch is never released, failing the test.
+                }
+            });
+            first.start();
+            Thread.sleep(100);
+
+            // The script waits for the first one before running, which together exceeds the execution timeout.
+            JSEngine second = singleEnginePool.createEngineContext();
+            second.evalScript("var end = Date.now() + 500; while (Date.now() < end) {} var value = 'ok';");
+
+            assertEquals(second.getJSObjects(Collections.singletonList("value")).get("value"), "ok");
+            assertTrue(firstCompleted.await(10, TimeUnit.SECONDS));
+            assertEquals(singleEnginePool.getAbandonedEngineCount(), 0);
+        } finally {
+            singleEnginePool.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecutionIsRefusedWhenAbandonedEnginesReachLimit() throws Exception {
+
+        JSEnginePool limitedPool = OpenJdkJSEngineImpl.createEnginePool(1, 10, 200, 1);
+        try {
+            try {
+                limitedPool.createEngineContext().evalScript(SLOW_SCRIPT);
+                fail("The script should have timed out.");
+            } catch (ScriptException e) {
+                assertEquals(limitedPool.getAbandonedEngineCount(), 1);
+            }
+
+            // The abandoned script engine is still running the timed out script.
+            try {
+                limitedPool.createEngineContext().evalScript("var value = 'ok';");
+                fail("The script execution should have been refused.");
+            } catch (ScriptException e) {
+                assertTrue(e.getMessage().contains("refused"));
+            }
+
+            // Executions are accepted again once the timed out script completes.
+            long deadline = System.currentTimeMillis() + 10000;
+            while (limitedPool.getAbandonedEngineCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(limitedPool.getAbandonedEngineCount(), 0);
+            JSEngine engine = limitedPool.createEngineContext();
+            engine.evalScript("var value = 'ok';");
+            assertEquals(engine.getJSObjects(Collections.singletonList("value")).get("value"), "ok");
+        } finally {
+            limitedPool.shutdown();
+        }
+    }
+}
@@ -87,4 +87,21 @@ public interface AuthorizationDetailsSchemaValidator {
      */
     boolean isSchemaCompliant(final JsonObject schema, final AuthorizationDetail authorizationDetail)
             throws AuthorizationDetailsProcessingException;
+
+    /**
+     * Validates whether the given authorization detail complies with the JSON schema of its type in the given
+     * tenant. Implementations may reuse the compiled schema of the type while the schema stays unchanged.
+     *
+     * @param tenantDomain        the tenant domain the schema belongs to.
+     * @param schema              the JSON schema as a {@code Map<String, Object>}.
+     * @param authorizationDetail the authorization detail to be validated.
+     * @return true if the authorization detail is schema compliant, false if schema or authorizationDetail is invalid.
+     * @throws AuthorizationDetailsProcessingException if the validation fails or an error occurs during validation.
+     */
+    default boolean isSchemaCompliant(final String tenantDomain, final Map<String, Object> schema,
+                                      final AuthorizationDetail authorizationDetail)
+            throws AuthorizationDetailsProcessingException {
+
+        return this.isSchemaCompliant(schema, authorizationDetail);
+    }
 }
@@ -37,7 +37,9 @@ import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.oauth.rar.exception.AuthorizationDetailsProcessingException;
 import org.wso2.carbon.identity.oauth.rar.model.AuthorizationDetail;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.wso2.carbon.identity.oauth.rar.util.AuthorizationDetailsConstants.SCHEMA_VALIDATION_FAILED_ERR_MSG_FORMAT;
 import static org.wso2.carbon.identity.oauth.rar.util.AuthorizationDetailsConstants.TYPE_VALIDATION_FAILED_ERR_MSG_FORMAT;
@@ -59,6 +61,10 @@ import static org.wso2.carbon.identity.oauth.rar.util.AuthorizationDetailsConsta
  * <p> Refer to <a href="https://json-schema.org/draft/2020-12/draft-bhutton-json-schema-01">
  * json-schema </a> for detailed information on the JSON documents structure. </p>
  *
+ * <p>
+ * Compiled schemas are cached per tenant domain and authorization details type. A cached schema is used only while
+ * the schema of the type stays the same, so an updated API resource schema is compiled on its next use.
+ *
  * @see AuthorizationDetail
  * @see JsonSchema
  */
@@ -68,10 +74,14 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
 
     private static final String ADDITIONAL_PROPERTIES = "additionalProperties";
     private static final String BASE_URI = "https://wso2.com/identity-server/schemas";
+    private static final String CACHE_KEY_SEPARATOR = "/";
+    private static final int MAX_COMPILED_SCHEMAS = 1024;
 
     private static volatile AuthorizationDetailsSchemaValidator instance;
     private final JsonSchemaOptions jsonSchemaOptions;
     private final SchemaRepository schemaRepository;
+    private final Validator draftValidator;
+    private final Map<String, CompiledSchema> compiledSchemas = new ConcurrentHashMap<>();
 
     private AuthorizationDetailsSchemaValidatorImpl() {
 
@@ -82,6 +92,7 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
 
         this.schemaRepository = SchemaRepository.create(this.jsonSchemaOptions)
                 .preloadMetaSchema(Vertx.vertx().fileSystem());
+        this.draftValidator = this.schemaRepository.validator(this.jsonSchemaOptions.getDraft().getIdentifier());
     }
 
     public static AuthorizationDetailsSchemaValidator getInstance() {
@@ -110,7 +121,7 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
             return false;
         }
 
-        final OutputUnit outputUnit = this.buildOutputUnit(null, this.parseJsonObject(schema));
+        final OutputUnit outputUnit = this.draftValidator.validate(this.parseJsonObject(schema));
         try {
             // Validates the schema itself against the DRAFT202012 schema standard
             outputUnit.checkValidity();
@@ -125,14 +136,43 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
         return true;
     }
 
-    private OutputUnit buildOutputUnit(final JsonObject jsonSchema, final JsonObject jsonInput) {
+    /**
+     * Returns the cached compiled schema of the given authorization details type, if it was compiled from the same
+     * schema.
+     *
+     * @param tenantDomain The tenant domain of the schema, or {@code null} if the schema is not tenant specific.
+     * @param type         The authorization details type.
+     * @param fingerprint  The JSON text of the schema.
+     * @return The compiled schema, or {@code null} if the schema is not compiled yet or has changed.
+     */
+    private Validator getCompiledSchema(final String tenantDomain, final String type, final String fingerprint) {
+
+        final CompiledSchema compiledSchema = this.compiledSchemas.get(buildCacheKey(tenantDomain, type));
+        if (compiledSchema != null && compiledSchema.fingerprint.equals(fingerprint)) {
+            return compiledSchema.validator;
+        }
+        return null;
+    }
+
+    private Validator compileSchema(final String tenantDomain, final String type, final String fingerprint,
+                                    final JsonObject jsonSchema) {
 
-        // Validate the jsonSchema if present, otherwise validate the schema itself against json-schema DRAFT202012
-        final Validator validator = (jsonSchema != null)
-                ? this.schemaRepository.validator(JsonSchema.of(jsonSchema), this.jsonSchemaOptions)
-                : this.schemaRepository.validator(this.jsonSchemaOptions.getDraft().getIdentifier());
+        if (log.isDebugEnabled()) {
+            log.debug("Compiling the schema of authorization details type: " + type);
+        }
+        // Copy the schema so that later changes to the caller's schema cannot change the compiled schema.
+        final Validator validator =
+                this.schemaRepository.validator(JsonSchema.of(jsonSchema.copy()), this.jsonSchemaOptions);
+        if (this.compiledSchemas.size() >= MAX_COMPILED_SCHEMAS) {
+            this.compiledSchemas.clear();
+        }
+        this.compiledSchemas.put(buildCacheKey(tenantDomain, type), new CompiledSchema(fingerprint, validator));
+        return validator;
+    }
 
-        return validator.validate(jsonInput);
+    private static String buildCacheKey(final String tenantDomain, final String type) {
+
+        return StringUtils.defaultString(tenantDomain) + CACHE_KEY_SEPARATOR + StringUtils.defaultString(type);
     }
 
     /**
@@ -182,7 +222,12 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
             return false;
         }
 
-        return this.isSchemaCompliant(this.parseJsonObject(schema), authorizationDetail);
+        final String type = authorizationDetail.getType();
+        Validator validator = this.getCompiledSchema(null, type, schema);
+        if (validator == null) {
+            validator = this.compileSchema(null, type, schema, this.parseJsonObject(schema));
+        }
+        return this.isSchemaCompliant(validator, authorizationDetail);
     }
 
     public boolean isSchemaCompliant(final JsonObject schema, final AuthorizationDetail authorizationDetail)
@@ -193,8 +238,28 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
             return false;
         }
 
-        final OutputUnit outputUnit =
-                this.buildOutputUnit(schema, this.parseJsonObject(authorizationDetail.toJsonString()));
+        return this.isSchemaCompliant(null, schema, authorizationDetail);
+    }
+
+    private boolean isSchemaCompliant(final String tenantDomain, final JsonObject schema,
+                                      final AuthorizationDetail authorizationDetail)
+            throws AuthorizationDetailsProcessingException {
+
+        final String type = authorizationDetail.getType();
+        final String fingerprint = schema.encode();
+        Validator validator = this.getCompiledSchema(tenantDomain, type, fingerprint);
+        if (validator == null) {
+            validator = this.compileSchema(tenantDomain, type, fingerprint, schema);
+        }
+        return this.isSchemaCompliant(validator, authorizationDetail);
+    }
+
+    private boolean isSchemaCompliant(final Validator validator, final AuthorizationDetail authorizationDetail)
+            throws AuthorizationDetailsProcessingException {
+
+        // Validate the in-memory authorization detail, converted to Vert.x JSON types, instead of a parsed copy of
+        // its JSON string.
+        final OutputUnit outputUnit = validator.validate(new JsonObject(authorizationDetail.toMap()).copy());
 
         try {
             // Validates the authorization detail against the schema
@@ -213,14 +278,37 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
     public boolean isSchemaCompliant(final Map<String, Object> schema, final AuthorizationDetail authorizationDetail)
             throws AuthorizationDetailsProcessingException {
 
+        return this.isSchemaCompliant(null, schema, authorizationDetail);
+    }
+
+    public boolean isSchemaCompliant(final String tenantDomain, final Map<String, Object> schema,
+                                     final AuthorizationDetail authorizationDetail)
+            throws AuthorizationDetailsProcessingException {
+
         if (MapUtils.isEmpty(schema) || authorizationDetail == null) {
             log.debug("Schema validation failed. Inputs cannot be null");
             return false;
         }
 
-        final JsonObject jsonSchema = new JsonObject(schema);
+        // Copy the schema so that the caller's schema is not modified.
+        final JsonObject jsonSchema = new JsonObject(new HashMap<>(schema));
         jsonSchema.put(ADDITIONAL_PROPERTIES, false); // Ensure no unknown fields are allowed
 
-        return this.isSchemaCompliant(jsonSchema, authorizationDetail);
+        return this.isSchemaCompliant(tenantDomain, jsonSchema, authorizationDetail);
+    }
+
+    /**
+     * A compiled schema along with the JSON text of the schema it was compiled from.
+     */
+    private static final class CompiledSchema {
+
+        private final String fingerprint;
+        private final Validator validator;
+
+        private CompiledSchema(final String fingerprint, final Validator validator) {
+
+            this.fingerprint = fingerprint;
+            this.validator = validator;
+        }
     }
 }
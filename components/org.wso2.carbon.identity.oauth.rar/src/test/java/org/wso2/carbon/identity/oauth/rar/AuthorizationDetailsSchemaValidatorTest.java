@@ -36,6 +36,7 @@ import java.util.Map;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.wso2.carbon.identity.oauth.rar.util.TestConstants.TEST_SCHEMA;
 import static org.wso2.carbon.identity.oauth.rar.util.TestConstants.TEST_TYPE;
 
@@ -44,6 +45,8 @@ import static org.wso2.carbon.identity.oauth.rar.util.TestConstants.TEST_TYPE;
  */
 public class AuthorizationDetailsSchemaValidatorTest {
 
+    private static final String TEST_TENANT_DOMAIN = "carbon.super";
+
     private AuthorizationDetailsSchemaValidator uut;
 
     @BeforeClass
@@ -114,10 +117,57 @@ public class AuthorizationDetailsSchemaValidatorTest {
         assertFalse(this.uut.isValidSchema(invalidSchema));
     }
 
+    @Test
+    public void shouldNotModifySchema_whenSchemaIsValidated() throws AuthorizationDetailsProcessingException {
+
+        final Map<String, Object> schema = this.getTestSchema();
+        AuthorizationDetail testAuthorizationDetail = new TestDAOUtils.TestAuthorizationDetail();
+        testAuthorizationDetail.setType(TEST_TYPE);
+
+        assertTrue(this.uut.isSchemaCompliant(TEST_TENANT_DOMAIN, schema, testAuthorizationDetail));
+        assertTrue(this.uut.isSchemaCompliant(TEST_TENANT_DOMAIN, schema, testAuthorizationDetail));
+        assertFalse(schema.containsKey("additionalProperties"));
+    }
+
+    @Test(expectedExceptions = {AuthorizationDetailsProcessingException.class})
+    public void shouldThrowAuthorizationDetailsProcessingException_whenSchemaOfTypeIsUpdated()
+            throws AuthorizationDetailsProcessingException {
+
+        AuthorizationDetail testAuthorizationDetail = new TestDAOUtils.TestAuthorizationDetail();
+        testAuthorizationDetail.setType(TEST_TYPE);
+        testAuthorizationDetail.setActions(Collections.singletonList("initiate"));
+        assertTrue(this.uut.isSchemaCompliant(TEST_TENANT_DOMAIN, this.getTestSchema(), testAuthorizationDetail));
+
+        this.uut.isSchemaCompliant(TEST_TENANT_DOMAIN, this.getTestSchema("cancel"), testAuthorizationDetail);
+    }
+
+    @Test
+    public void shouldUseSchemaOfTenant_whenTenantsHaveDifferentSchemasForType()
+            throws AuthorizationDetailsProcessingException {
+
+        AuthorizationDetail testAuthorizationDetail = new TestDAOUtils.TestAuthorizationDetail();
+        testAuthorizationDetail.setType(TEST_TYPE);
+        testAuthorizationDetail.setActions(Collections.singletonList("cancel"));
+
+        assertTrue(this.uut.isSchemaCompliant("tenant1.com", this.getTestSchema("cancel"), testAuthorizationDetail));
+        try {
+            this.uut.isSchemaCompliant("tenant2.com", this.getTestSchema(), testAuthorizationDetail);
+            fail("Expected AuthorizationDetailsProcessingException was not thrown");
+        } catch (AuthorizationDetailsProcessingException e) {
+            // Expected, since the schema of tenant2.com only allows the initiate action.
+        }
+        assertTrue(this.uut.isSchemaCompliant("tenant1.com", this.getTestSchema("cancel"), testAuthorizationDetail));
+    }
+
     private Map<String, Object> getTestSchema() {
+
+        return this.getTestSchema("initiate");
+    }
+
+    private Map<String, Object> getTestSchema(final String action) {
         final Map<String, Object> items = new HashMap<>();
         items.put("type", "string");
-        items.put("enum", Collections.singletonList("initiate"));
+        items.put("enum", Collections.singletonList(action));
 
         final Map<String, Object> actions = new HashMap<>();
         actions.put("type", "array");
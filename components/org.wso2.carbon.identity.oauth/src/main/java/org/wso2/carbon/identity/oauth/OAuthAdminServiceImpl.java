@@ -92,6 +92,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -100,6 +101,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -552,6 +554,10 @@ public class OAuthAdminServiceImpl {
                         }
                         app.setRequirePushedAuthorizationRequests(application.getRequirePushedAuthorizationRequests());
                         app.setFapiConformanceEnabled(application.isFapiConformanceEnabled());
+                        validateCibaTokenDelivery(application.getCibaTokenDeliveryMode(),
+                                application.getCibaClientNotificationEndpoint());
+                        app.setCibaTokenDeliveryMode(application.getCibaTokenDeliveryMode());
+                        app.setCibaClientNotificationEndpoint(application.getCibaClientNotificationEndpoint());
                         app.setSubjectTokenEnabled(application.isSubjectTokenEnabled());
                         app.setSubjectTokenExpiryTime(application.getSubjectTokenExpiryTime());
                         if (isAccessTokenClaimsSeparationFeatureEnabled()) {
@@ -756,6 +762,31 @@ public class OAuthAdminServiceImpl {
         return new IdentityOAuthClientException(errorMessage.getErrorCode(), msg, ex);
     }
 
+    /**
+     * Validates the CIBA token delivery mode of an application. The notifications of the ping mode are sent from
+     * the server to the client notification endpoint, hence the endpoint has to be a valid HTTPS URL. The push
+     * mode is not supported since the tokens are only issued from the token endpoint.
+     *
+     * @param tokenDeliveryMode          CIBA token delivery mode.
+     * @param clientNotificationEndpoint CIBA client notification endpoint.
+     * @throws IdentityOAuthClientException If the token delivery mode or the notification endpoint is invalid.
+     */
+    private void validateCibaTokenDelivery(String tokenDeliveryMode, String clientNotificationEndpoint)
+            throws IdentityOAuthClientException {
+
+        if (StringUtils.isBlank(tokenDeliveryMode) ||
+                OAuthConstants.OIDCConfigProperties.CIBA_TOKEN_DELIVERY_MODE_POLL.equals(tokenDeliveryMode)) {
+            return;
+        }
+        if (!OAuthConstants.OIDCConfigProperties.CIBA_TOKEN_DELIVERY_MODE_PING.equals(tokenDeliveryMode)) {
+            throw handleClientError(INVALID_REQUEST, "Unsupported CIBA token delivery mode: " + tokenDeliveryMode);
+        }
+        if (!OAuthUtil.isValidCibaClientNotificationEndpoint(clientNotificationEndpoint)) {
+            throw handleClientError(INVALID_REQUEST, "A valid HTTPS client notification endpoint is required for " +
+                    "the CIBA token delivery mode: " + tokenDeliveryMode);
+        }
+    }
+
     private void validateCallbackURI(OAuthConsumerAppDTO application) throws IdentityOAuthClientException {
 
         boolean isCallbackUriRequired = application.getGrantTypes().contains(AUTHORIZATION_CODE) ||
@@ -991,6 +1022,10 @@ public class OAuthAdminServiceImpl {
             }
             oAuthAppDO.setRequestObjectEncryptionMethod(requestObjectEncryptionMethod);
             oAuthAppDO.setRequirePushedAuthorizationRequests(consumerAppDTO.getRequirePushedAuthorizationRequests());
+            validateCibaTokenDelivery(consumerAppDTO.getCibaTokenDeliveryMode(),
+                    consumerAppDTO.getCibaClientNotificationEndpoint());
+            oAuthAppDO.setCibaTokenDeliveryMode(consumerAppDTO.getCibaTokenDeliveryMode());
+            oAuthAppDO.setCibaClientNotificationEndpoint(consumerAppDTO.getCibaClientNotificationEndpoint());
             oAuthAppDO.setSubjectTokenEnabled(consumerAppDTO.isSubjectTokenEnabled());
             oAuthAppDO.setSubjectTokenExpiryTime(consumerAppDTO.getSubjectTokenExpiryTime());
 
@@ -1462,18 +1497,17 @@ public class OAuthAdminServiceImpl {
     void updateAppAndRevokeTokensAndAuthzCodes(String consumerKey,
                                                Properties properties) throws IdentityOAuthAdminException {
 
-        int countToken = 0;
         try {
-            Set<AccessTokenDO> activeDetailedTokens = OAuthTokenPersistenceFactory
-                    .getInstance().getAccessTokenDAO().getActiveAcessTokenDataByConsumerKey(consumerKey);
-            String[] accessTokens = new String[activeDetailedTokens.size()];
-
-            for (AccessTokenDO detailToken : activeDetailedTokens) {
-                String token = detailToken.getAccessToken();
-                accessTokens[countToken] = token;
-                countToken++;
-            }
-            clearTokenCacheEntry(consumerKey, activeDetailedTokens);
+            Map<String, String> accessTokens = new HashMap<>();
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().getActiveAcessTokenDataByConsumerKey(
+                    consumerKey, activeDetailedTokens -> {
+                        addTokenTableRepresentatives(accessTokens, activeDetailedTokens);
+                        try {
+                            clearTokenCacheEntry(consumerKey, activeDetailedTokens);
+                        } catch (IdentityOAuthAdminException e) {
+                            throw new IdentityOAuth2Exception(e.getMessage(), e);
+                        }
+                    });
 
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Access tokens and token of users are removed from the cache for OAuth App with " +
@@ -1493,9 +1527,13 @@ public class OAuthAdminServiceImpl {
             OAuthTokenPersistenceFactory.getInstance().getTokenManagementDAO()
                     .updateAppAndRevokeTokensAndAuthzCodes(
                             consumerKey, properties, authorizationCodes.toArray(
-                                    new String[0]), accessTokens);
+                                    new String[0]), accessTokens.values().toArray(new String[0]));
 
         } catch (IdentityOAuth2Exception | IdentityApplicationManagementException e) {
+            if (e.getCause() instanceof IdentityOAuthAdminException) {
+                // Failures of clearing the cache entries of a token chunk are surfaced as they are.
+                throw (IdentityOAuthAdminException) e.getCause();
+            }
             throw handleError("Error in updating oauth app & revoking access tokens and authz " +
                     "codes for OAuth App with consumerKey: " + consumerKey, e);
         }
@@ -1641,50 +1679,23 @@ public class OAuthAdminServiceImpl {
             }
         }
 
+        // A single query returns the distinct clients for which the user holds a token, instead of loading the
+        // tokens of each client and the latest token of each scope.
         Set<String> clientIds;
         try {
             clientIds = OAuthTokenPersistenceFactory.getInstance().getTokenManagementDAO()
-                    .getAllTimeAuthorizedClientIds(loggedInUser);
+                    .getAuthorizedClientIds(loggedInUser, userStoreDomain);
         } catch (IdentityOAuth2Exception e) {
             String errorMsg = "Error occurred while retrieving apps authorized by User ID : " + username;
             throw handleError(errorMsg, e);
         }
-        Set<OAuthConsumerAppDTO> appDTOs = new HashSet<OAuthConsumerAppDTO>();
+        List<OAuthConsumerAppDTO> appDTOs = new ArrayList<>(clientIds.size());
         for (String clientId : clientIds) {
-            Set<AccessTokenDO> accessTokenDOs;
-            try {
-                accessTokenDOs = OAuthTokenPersistenceFactory.getInstance()
-                        .getAccessTokenDAO().getAccessTokens(
-                                clientId, loggedInUser, userStoreDomain, true);
-            } catch (IdentityOAuth2Exception e) {
-                String errorMsg = "Error occurred while retrieving access tokens issued for " +
-                        "Client ID : " + clientId + ", User ID : " + username;
-                throw handleError(errorMsg, e);
-            }
-            if (!accessTokenDOs.isEmpty()) {
-                Set<String> distinctClientUserScopeCombo = new HashSet<String>();
-                for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                    AccessTokenDO scopedToken;
-                    String scopeString = buildScopeString(accessTokenDO.getScope());
-                    try {
-                        scopedToken = OAuthTokenPersistenceFactory.getInstance().
-                                getAccessTokenDAO().getLatestAccessToken(clientId, loggedInUser, userStoreDomain,
-                                scopeString, true);
-                        if (scopedToken != null && !distinctClientUserScopeCombo.contains(clientId + ":" + username)) {
-                            OAuthAppDO appDO = getOAuthAppDO(scopedToken.getConsumerKey(), tenantDomain);
-                            if (LOG.isDebugEnabled()) {
-                                LOG.debug("Found App: " + appDO.getApplicationName() + " for user: " + username);
-                            }
-                            appDTOs.add(OAuthUtil.buildConsumerAppDTO(appDO));
-                            distinctClientUserScopeCombo.add(clientId + ":" + username);
-                        }
-                    } catch (IdentityOAuth2Exception e) {
-                        String errorMsg = "Error occurred while retrieving latest access token issued for Client ID :" +
-                                " " + clientId + ", User ID : " + username + " and Scope : " + scopeString;
-                        throw handleError(errorMsg, e);
-                    }
-                }
+            OAuthAppDO appDO = getOAuthAppDO(clientId, tenantDomain);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Found App: " + appDO.getApplicationName() + " for user: " + username);
             }
+            appDTOs.add(OAuthUtil.buildConsumerAppDTO(appDO));
         }
         return appDTOs.toArray(new OAuthConsumerAppDTO[0]);
     }
@@ -1853,25 +1864,34 @@ public class OAuthAdminServiceImpl {
 
         String tenantDomain = getLoggedInTenant(consumerKey);
         String applicationName = getApplicationName(consumerKey, tenantDomain);
-        List<AccessTokenDO> accessTokenDOs = getActiveAccessTokensByConsumerKey(consumerKey);
-        if (accessTokenDOs.size() > 0) {
-            String[] accessTokens = new String[accessTokenDOs.size()];
-            int count = 0;
-            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                accessTokens[count++] = accessTokenDO.getAccessToken();
-                clearCacheByAccessTokenAndConsumerKey(accessTokenDO, consumerKey);
-            }
-
+        AtomicInteger revokedTokenCount = new AtomicInteger();
+        try {
+            // Tokens are revoked chunk by chunk. Once a chunk is committed, its cache entries are cleared and the post
+            // revocation listeners are notified with it, so the token set of the application is never held as a whole.
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().revokeActiveAccessTokensByConsumerKey(
+                    consumerKey, revokedTokens -> {
+                        for (AccessTokenDO accessTokenDO : revokedTokens) {
+                            clearCacheByAccessTokenAndConsumerKey(accessTokenDO, consumerKey);
+                        }
+                        revokedTokenCount.addAndGet(revokedTokens.size());
+                        notifyPostApplicationTokenRevokeListeners(application, revokeRespDTO, revokedTokens);
+                    });
+        } catch (IdentityOAuth2Exception e) {
+            String errorMsg = String.format("Error occurred while revoking access tokens for OAuth app in " +
+                    "tenant domain: %s with consumer key: %s.", tenantDomain, consumerKey);
+            throw handleError(errorMsg, e);
+        }
+        if (revokedTokenCount.get() > 0) {
             if (LOG.isDebugEnabled()) {
-                String message = String.format("Access tokens and token of users are removed from the cache for " +
-                        "OAuth app in tenant domain: %s with consumer key: %s.", tenantDomain, consumerKey);
+                String message = String.format("%d access tokens are revoked and removed from the cache for " +
+                        "OAuth app in tenant domain: %s with consumer key: %s.", revokedTokenCount.get(),
+                        tenantDomain, consumerKey);
                 LOG.debug(message);
             }
-
-            revokeAccessTokens(accessTokens, consumerKey, tenantDomain);
             revokeOAuthConsentsForApplication(applicationName, tenantDomain);
+        } else {
+            triggerPostApplicationTokenRevokeListeners(application, revokeRespDTO, new ArrayList<>());
         }
-        triggerPostApplicationTokenRevokeListeners(application, revokeRespDTO, accessTokenDOs);
         return revokeRespDTO;
     }
 
@@ -2025,16 +2045,24 @@ public class OAuthAdminServiceImpl {
                                                             List<AccessTokenDO> accessTokenDOs)
             throws IdentityOAuthAdminException {
 
+        try {
+            notifyPostApplicationTokenRevokeListeners(revokeRequestDTO, revokeRespDTO, accessTokenDOs);
+        } catch (IdentityOAuth2Exception e) {
+            throw handleError("Error occurred when triggering post revocation listener.", e);
+        }
+    }
+
+    private void notifyPostApplicationTokenRevokeListeners(OAuthAppRevocationRequestDTO revokeRequestDTO,
+                                                           OAuthRevocationResponseDTO revokeRespDTO,
+                                                           List<AccessTokenDO> accessTokenDOs)
+            throws IdentityOAuth2Exception {
+
         OAuthEventInterceptor oAuthEventInterceptorProxy = OAuthComponentServiceHolder.getInstance()
                 .getOAuthEventInterceptorProxy();
         if (oAuthEventInterceptorProxy != null && oAuthEventInterceptorProxy.isEnabled()) {
             Map<String, Object> paramMap = new HashMap<>();
-            try {
-                oAuthEventInterceptorProxy.onPostTokenRevocationByApplication(revokeRequestDTO, revokeRespDTO,
-                        accessTokenDOs, paramMap);
-            } catch (IdentityOAuth2Exception e) {
-                throw handleError("Error occurred when triggering post revocation listener.", e);
-            }
+            oAuthEventInterceptorProxy.onPostTokenRevocationByApplication(revokeRequestDTO, revokeRespDTO,
+                    accessTokenDOs, paramMap);
         }
     }
 
@@ -2824,7 +2852,7 @@ public class OAuthAdminServiceImpl {
                 OAuth2Util.buildScopeString(detailToken.getScope()), tokenBindingRef);
     }
 
-    private static void clearTokenCacheEntry(String consumerKey, Set<AccessTokenDO> activeDetailedTokens)
+    private static void clearTokenCacheEntry(String consumerKey, Collection<AccessTokenDO> activeDetailedTokens)
             throws IdentityOAuthAdminException {
 
         for (AccessTokenDO detailToken : activeDetailedTokens) {
@@ -2839,6 +2867,30 @@ public class OAuthAdminServiceImpl {
         }
     }
 
+    /**
+     * The active tokens of an application are revoked with one predicate update per token table, hence only one
+     * token of each token table needs to be handed to the revocation instead of every active token.
+     *
+     * @param representativeTokens Tokens kept so far, keyed by the user store domain of their token table.
+     * @param accessTokenDOs       Chunk of active access tokens of the application.
+     * @throws IdentityOAuth2Exception If the token table of a token could not be resolved.
+     */
+    private static void addTokenTableRepresentatives(Map<String, String> representativeTokens,
+                                                     List<AccessTokenDO> accessTokenDOs)
+            throws IdentityOAuth2Exception {
+
+        if (!OAuth2Util.checkAccessTokenPartitioningEnabled() || !OAuth2Util.checkUserNameAssertionEnabled()) {
+            representativeTokens.putIfAbsent(StringUtils.EMPTY, accessTokenDOs.get(0).getAccessToken());
+            return;
+        }
+        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+            String userStoreDomain = OAuth2Util.getUserStoreDomainFromUserId(
+                    OAuth2Util.getUserIdFromAccessToken(accessTokenDO.getAccessToken()));
+            representativeTokens.putIfAbsent(StringUtils.defaultString(userStoreDomain),
+                    accessTokenDO.getAccessToken());
+        }
+    }
+
     /**
      * validate access token claims.
      *
@@ -78,6 +78,8 @@ import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -115,6 +117,7 @@ public final class OAuthUtil {
     private static final String ALGORITHM_SHA1 = "HmacSHA1";
     private static final String ALGORITHM_SHA256 = "HmacSHA256";
     private static final String managedOrgClaim = "http://wso2.org/claims/identity/managedOrg";
+    private static final String HTTPS_SCHEME = "https";
 
     private OAuthUtil() {
 
@@ -561,6 +564,8 @@ public final class OAuthUtil {
         dto.setRequestObjectEncryptionMethod(appDO.getRequestObjectEncryptionMethod());
         dto.setRequirePushedAuthorizationRequests(appDO.isRequirePushedAuthorizationRequests());
         dto.setFapiConformanceEnabled(appDO.isFapiConformanceEnabled());
+        dto.setCibaTokenDeliveryMode(appDO.getCibaTokenDeliveryMode());
+        dto.setCibaClientNotificationEndpoint(appDO.getCibaClientNotificationEndpoint());
         dto.setSubjectTokenEnabled(appDO.isSubjectTokenEnabled());
         dto.setSubjectTokenExpiryTime(appDO.getSubjectTokenExpiryTime());
         dto.setAccessTokenClaims(appDO.getAccessTokenClaims());
@@ -1178,11 +1183,14 @@ public final class OAuthUtil {
     private static void revokeTokens(List<AccessTokenDO> accessTokens) throws IdentityOAuth2Exception {
 
         if (!accessTokens.isEmpty()) {
-            // Revoking token from database.
             for (AccessTokenDO accessToken : accessTokens) {
                 OAuthUtil.invokePreRevocationBySystemListeners(accessToken, Collections.emptyMap());
-                OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                        .revokeAccessTokens(new String[]{accessToken.getAccessToken()}, OAuth2Util.isHashEnabled());
+            }
+            // Revoking tokens from database as a batch, which the DAO splits into chunks.
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().revokeAccessTokens(
+                    accessTokens.stream().map(AccessTokenDO::getAccessToken).toArray(String[]::new),
+                    OAuth2Util.isHashEnabled());
+            for (AccessTokenDO accessToken : accessTokens) {
                 OAuthUtil.invokePostRevocationBySystemListeners(accessToken, Collections.emptyMap());
             }
         }
@@ -1429,6 +1437,30 @@ public final class OAuthUtil {
         return tokenEPAllowReusePvtKeyJwtTenantConfig;
     }
 
+    /**
+     * Checks whether the given value is acceptable as the CIBA client notification endpoint of an application. The
+     * endpoint has to be an absolute HTTPS URL with a host and without a fragment.
+     *
+     * @param clientNotificationEndpoint Client notification endpoint.
+     * @return True if the endpoint is a valid client notification endpoint.
+     */
+    public static boolean isValidCibaClientNotificationEndpoint(String clientNotificationEndpoint) {
+
+        if (StringUtils.isBlank(clientNotificationEndpoint)) {
+            return false;
+        }
+        try {
+            URI uri = new URI(clientNotificationEndpoint);
+            return HTTPS_SCHEME.equalsIgnoreCase(uri.getScheme()) && StringUtils.isNotBlank(uri.getHost()) &&
+                    uri.getRawFragment() == null;
+        } catch (URISyntaxException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Invalid client notification endpoint: " + clientNotificationEndpoint, e);
+            }
+            return false;
+        }
+    }
+
     /**
      * Retrieves the user store domain of the parent user for a shared user in a specific organization.
      *
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.util.ConfigurationUtil;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Bounded, node local near-cache of {@link AccessTokenDO}s in front of the {@link OAuthCache}, keyed by the access
+ * token identifier. It serves the token validation and introspection paths without going through the tenant flow
+ * and the cache manager of the {@link OAuthCache}.
+ * <p>
+ * An entry never outlives the access token it holds nor the configured time to live, and it is removed whenever the
+ * corresponding {@link OAuthCache} entry is cleared on this node, including the removals triggered by cluster
+ * invalidation messages while the {@link OAuthCache} of this node still holds the entry. Entries are evicted as
+ * described in {@link BoundedTTLCache}.
+ */
+public class AccessTokenNearCache implements AccessTokenNearCacheMBean {
+
+    static final String OBJECT_NAME = "org.wso2.carbon.identity.oauth:type=AccessTokenNearCache";
+
+    private static final Log log = LogFactory.getLog(AccessTokenNearCache.class);
+
+    private static final String ENABLE = "OAuth.AccessTokenNearCache.Enable";
+    private static final String MAX_ENTRIES = "OAuth.AccessTokenNearCache.MaxEntries";
+    /*
+     A token revoked on another node is only dropped from this cache by the removal event of the OAuthCache entry on
+     this node, which the cluster invalidation message raises only if the Carbon local cache of this node still holds
+     the entry. Once that entry has expired or been evicted locally, a revoked token may be served from this cache
+     until its time to live elapses. Keep the time to live short, and below the expiry of the OAuthCache.
+    */
+    private static final String TIME_TO_LIVE = "OAuth.AccessTokenNearCache.TimeToLive";
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+    private static final int DEFAULT_TIME_TO_LIVE_SECONDS = 60;
+
+    private static volatile AccessTokenNearCache instance;
+
+    private final boolean enabled;
+    private final long timeToLiveMillis;
+    private final BoundedTTLCache<OAuthCacheKey, AccessTokenDO> entries;
+
+    AccessTokenNearCache(boolean enabled, int maxEntries, long timeToLiveMillis) {
+
+        this.enabled = enabled && maxEntries > 0 && timeToLiveMillis > 0;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.entries = new BoundedTTLCache<>(maxEntries);
+    }
+
+    public static AccessTokenNearCache getInstance() {
+
+        if (instance == null) {
+            synchronized (AccessTokenNearCache.class) {
+                if (instance == null) {
+                    instance = new AccessTokenNearCache(Boolean.parseBoolean(IdentityUtil.getProperty(ENABLE)),
+                            ConfigurationUtil.getIntProperty(MAX_ENTRIES, DEFAULT_MAX_ENTRIES, 1),
+                            TimeUnit.SECONDS.toMillis(ConfigurationUtil.getIntProperty(TIME_TO_LIVE,
+                                    DEFAULT_TIME_TO_LIVE_SECONDS, 1)));
+                }
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Get the access token cached against the given token identifier key.
+     *
+     * @param key OAuth cache key of the access token identifier.
+     * @return Cached access token or null if there is no live entry.
+     */
+    public AccessTokenDO get(OAuthCacheKey key) {
+
+        if (!enabled) {
+            return null;
+        }
+        return entries.get(key);
+    }
+
+    /**
+     * Cache the access token if the key is its token identifier. Entries under other keys, such as the
+     * client, user and scope keys used while issuing tokens, are not cached.
+     *
+     * @param key   OAuth cache key.
+     * @param entry OAuth cache entry.
+     */
+    public void put(OAuthCacheKey key, CacheEntry entry) {
+
+        if (!enabled || !(entry instanceof AccessTokenDO)) {
+            return;
+        }
+        AccessTokenDO accessTokenDO = (AccessTokenDO) entry;
+        if (!StringUtils.equals(key.getCacheKeyString(), accessTokenDO.getAccessToken())) {
+            return;
+        }
+        entries.put(key, accessTokenDO, getExpiryTime(accessTokenDO, System.currentTimeMillis()));
+    }
+
+    /**
+     * Remove the entry of the given key.
+     *
+     * @param key OAuth cache key.
+     */
+    public void invalidate(OAuthCacheKey key) {
+
+        if (enabled && key != null) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+
+        entries.clear();
+    }
+
+    @Override
+    public long getHitCount() {
+
+        return entries.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+
+        return entries.getMissCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+
+        return entries.getEvictionCount();
+    }
+
+    @Override
+    public int getSize() {
+
+        return entries.size();
+    }
+
+    /**
+     * Register the statistics of this cache in the platform MBean server, replacing a registration left by a previous
+     * activation.
+     */
+    public void registerMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(this, objectName);
+        } catch (JMException e) {
+            log.warn("Error while registering the access token near-cache MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Remove the statistics of this cache from the platform MBean server.
+     */
+    public void unregisterMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Error while unregistering the access token near-cache MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    private long getExpiryTime(AccessTokenDO accessTokenDO, long currentTime) {
+
+        long expiryTime = currentTime + timeToLiveMillis;
+        if (accessTokenDO.getIssuedTime() != null && accessTokenDO.getValidityPeriodInMillis() >= 0) {
+            long tokenExpiryTime = accessTokenDO.getIssuedTime().getTime() +
+                    accessTokenDO.getValidityPeriodInMillis();
+            if (tokenExpiryTime > 0) {
+                expiryTime = Math.min(expiryTime, tokenExpiryTime);
+            }
+        }
+        return expiryTime;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+/**
+ * JMX view of the statistics of the {@link AccessTokenNearCache}.
+ */
+public interface AccessTokenNearCacheMBean {
+
+    /**
+     * Check whether the cache is enabled by the configuration.
+     *
+     * @return True if entries are cached.
+     */
+    boolean isEnabled();
+
+    /**
+     * Get the number of lookups served from the cache.
+     *
+     * @return Hit count.
+     */
+    long getHitCount();
+
+    /**
+     * Get the number of lookups that found no live entry.
+     *
+     * @return Miss count.
+     */
+    long getMissCount();
+
+    /**
+     * Get the number of entries evicted since they expired or the cache was full.
+     *
+     * @return Eviction count.
+     */
+    long getEvictionCount();
+
+    /**
+     * Get the number of entries held, including expired entries not evicted yet.
+     *
+     * @return Entry count.
+     */
+    int getSize();
+}
@@ -18,10 +18,17 @@
 
 package org.wso2.carbon.identity.oauth.cache;
 
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationBaseCache;
+import org.wso2.carbon.identity.core.cache.AbstractCacheListener;
 import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
+import org.wso2.carbon.identity.oauth.listener.AppInfoCacheRemoveListener;
 import org.wso2.carbon.utils.CarbonUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * AppInfoCache is used to cache oauth application information.
  */
@@ -29,10 +36,15 @@ public class AppInfoCache extends AuthenticationBaseCache<String, OAuthAppDO> {
 
     private static final String OAUTH_APP_INFO_CACHE_NAME = "AppInfoCache";
 
+    private static final List<AbstractCacheListener<String, OAuthAppDO>> cacheListeners = new ArrayList<>();
     private static volatile AppInfoCache instance;
 
+    static {
+        cacheListeners.add(new AppInfoCacheRemoveListener());
+    }
+
     private AppInfoCache() {
-        super(OAUTH_APP_INFO_CACHE_NAME);
+        super(OAUTH_APP_INFO_CACHE_NAME, cacheListeners);
     }
 
     /**
@@ -51,4 +63,70 @@ public class AppInfoCache extends AuthenticationBaseCache<String, OAuthAppDO> {
         }
         return instance;
     }
+
+    @Override
+    public void addToCache(String key, OAuthAppDO entry) {
+
+        super.addToCache(key, entry);
+        AppInfoNearCache.getInstance().put(key, getCurrentTenantDomain(), entry);
+    }
+
+    @Override
+    public void addToCache(String key, OAuthAppDO entry, String tenantDomain) {
+
+        super.addToCache(key, entry, tenantDomain);
+        AppInfoNearCache.getInstance().put(key, tenantDomain, entry);
+    }
+
+    @Override
+    public OAuthAppDO getValueFromCache(String key) {
+
+        String tenantDomain = getCurrentTenantDomain();
+        OAuthAppDO nearCacheEntry = AppInfoNearCache.getInstance().get(key, tenantDomain);
+        if (nearCacheEntry != null) {
+            return nearCacheEntry;
+        }
+        OAuthAppDO appDO = super.getValueFromCache(key);
+        AppInfoNearCache.getInstance().put(key, tenantDomain, appDO);
+        return appDO;
+    }
+
+    @Override
+    public OAuthAppDO getValueFromCache(String key, String tenantDomain) {
+
+        OAuthAppDO nearCacheEntry = AppInfoNearCache.getInstance().get(key, tenantDomain);
+        if (nearCacheEntry != null) {
+            return nearCacheEntry;
+        }
+        OAuthAppDO appDO = super.getValueFromCache(key, tenantDomain);
+        AppInfoNearCache.getInstance().put(key, tenantDomain, appDO);
+        return appDO;
+    }
+
+    @Override
+    public void clearCacheEntry(String key) {
+
+        AppInfoNearCache.getInstance().invalidate(key);
+        super.clearCacheEntry(key);
+    }
+
+    @Override
+    public void clearCacheEntry(String key, String tenantDomain) {
+
+        AppInfoNearCache.getInstance().invalidate(key);
+        super.clearCacheEntry(key, tenantDomain);
+    }
+
+    @Override
+    public void clear(int tenantId) {
+
+        AppInfoNearCache.getInstance().clear();
+        super.clear(tenantId);
+    }
+
+    private static String getCurrentTenantDomain() {
+
+        String tenantDomain = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        return StringUtils.isNotBlank(tenantDomain) ? tenantDomain : StringUtils.EMPTY;
+    }
 }
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
+import org.wso2.carbon.identity.oauth2.util.ConfigurationUtil;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Bounded, node local near-cache of {@link OAuthAppDO}s in front of the {@link AppInfoCache}, keyed by the client
+ * ID and the tenant domain of the lookup. It serves the application lookups of the hot clients without going through
+ * the tenant flow and the cache manager of the {@link AppInfoCache}.
+ * <p>
+ * The cache can also remember, for a shorter time, the client IDs that are not associated with any application, so
+ * that requests made with unknown client IDs do not reach the database on every attempt. Such negative entries are
+ * disabled by default: an application created on another node is not announced to this node, which keeps rejecting
+ * its client ID until the negative entry expires.
+ * <p>
+ * An entry never outlives the configured time to live, and the entries of a client ID in all tenants are removed
+ * whenever the corresponding {@link AppInfoCache} entry is cleared on this node, including the removals triggered by
+ * cluster invalidation messages. Entries are evicted as described in {@link BoundedTTLCache}.
+ */
+public class AppInfoNearCache implements AppInfoNearCacheMBean {
+
+    static final String OBJECT_NAME = "org.wso2.carbon.identity.oauth:type=AppInfoNearCache";
+
+    private static final Log log = LogFactory.getLog(AppInfoNearCache.class);
+
+    private static final String ENABLE = "OAuth.AppInfoNearCache.Enable";
+    private static final String MAX_ENTRIES = "OAuth.AppInfoNearCache.MaxEntries";
+    private static final String TIME_TO_LIVE = "OAuth.AppInfoNearCache.TimeToLive";
+    private static final String NEGATIVE_TIME_TO_LIVE = "OAuth.AppInfoNearCache.NegativeTimeToLive";
+    private static final int DEFAULT_MAX_ENTRIES = 5000;
+    private static final int DEFAULT_TIME_TO_LIVE_SECONDS = 60;
+    private static final int DEFAULT_NEGATIVE_TIME_TO_LIVE_SECONDS = 0;
+    private static final String KEY_SEPARATOR = "@";
+
+    private static volatile AppInfoNearCache instance;
+
+    private final boolean enabled;
+    private final long timeToLiveMillis;
+    private final long negativeTimeToLiveMillis;
+    private final BoundedTTLCache<String, OAuthAppDO> applications;
+    // Client IDs that are not associated with an application.
+    private final BoundedTTLCache<String, Boolean> missingClientIds;
+
+    AppInfoNearCache(boolean enabled, int maxEntries, long timeToLiveMillis, long negativeTimeToLiveMillis) {
+
+        this.enabled = enabled && maxEntries > 0 && timeToLiveMillis > 0;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.negativeTimeToLiveMillis = negativeTimeToLiveMillis;
+        this.applications = new BoundedTTLCache<>(maxEntries);
+        this.missingClientIds = new BoundedTTLCache<>(maxEntries);
+    }
+
+    public static AppInfoNearCache getInstance() {
+
+        if (instance == null) {
+            synchronized (AppInfoNearCache.class) {
+                if (instance == null) {
+                    instance = new AppInfoNearCache(Boolean.parseBoolean(IdentityUtil.getProperty(ENABLE)),
+                            ConfigurationUtil.getIntProperty(MAX_ENTRIES, DEFAULT_MAX_ENTRIES, 1),
+                            TimeUnit.SECONDS.toMillis(ConfigurationUtil.getIntProperty(TIME_TO_LIVE,
+                                    DEFAULT_TIME_TO_LIVE_SECONDS, 1)),
+                            TimeUnit.SECONDS.toMillis(ConfigurationUtil.getIntProperty(NEGATIVE_TIME_TO_LIVE,
+                                    DEFAULT_NEGATIVE_TIME_TO_LIVE_SECONDS, 0)));
+                }
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Get the application cached against the given client ID in the given tenant.
+     *
+     * @param clientId     Client ID.
+     * @param tenantDomain Tenant domain of the lookup.
+     * @return Cached application or null if there is no live entry of the application.
+     */
+    public OAuthAppDO get(String clientId, String tenantDomain) {
+
+        if (!enabled || clientId == null) {
+            return null;
+        }
+        return applications.get(getKey(clientId, tenantDomain));
+    }
+
+    /**
+     * Check whether the given client ID is known not to be associated with an application in the given tenant.
+     *
+     * @param clientId     Client ID.
+     * @param tenantDomain Tenant domain of the lookup.
+     * @return True if a live negative entry exists for the client ID.
+     */
+    public boolean isKnownMissing(String clientId, String tenantDomain) {
+
+        if (!enabled || clientId == null) {
+            return false;
+        }
+        return missingClientIds.get(getKey(clientId, tenantDomain)) != null;
+    }
+
+    /**
+     * Cache the application of the given client ID in the given tenant.
+     *
+     * @param clientId     Client ID.
+     * @param tenantDomain Tenant domain of the lookup.
+     * @param appDO        Application.
+     */
+    public void put(String clientId, String tenantDomain, OAuthAppDO appDO) {
+
+        if (!enabled || clientId == null || appDO == null) {
+            return;
+        }
+        String key = getKey(clientId, tenantDomain);
+        missingClientIds.remove(key);
+        applications.put(key, appDO, System.currentTimeMillis() + timeToLiveMillis);
+    }
+
+    /**
+     * Remember that the given client ID is not associated with an application in the given tenant.
+     *
+     * @param clientId     Client ID.
+     * @param tenantDomain Tenant domain of the lookup.
+     */
+    public void putMissing(String clientId, String tenantDomain) {
+
+        if (!enabled || clientId == null || negativeTimeToLiveMillis <= 0) {
+            return;
+        }
+        String key = getKey(clientId, tenantDomain);
+        applications.remove(key);
+        missingClientIds.put(key, Boolean.TRUE, System.currentTimeMillis() + negativeTimeToLiveMillis);
+    }
+
+    /**
+     * Remove the entries of the given client ID in all tenants.
+     *
+     * @param clientId Client ID.
+     */
+    public void invalidate(String clientId) {
+
+        if (!enabled || clientId == null) {
+            return;
+        }
+        /*
+         A client ID containing the separator may also drop the entries of another client ID which starts with it,
+         which only costs a reload of that application.
+        */
+        String keyPrefix = clientId + KEY_SEPARATOR;
+        applications.removeIf((key, appDO) -> key.startsWith(keyPrefix));
+        missingClientIds.removeIf((key, missing) -> key.startsWith(keyPrefix));
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+
+        applications.clear();
+        missingClientIds.clear();
+    }
+
+    @Override
+    public long getHitCount() {
+
+        return applications.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+
+        return applications.getMissCount();
+    }
+
+    @Override
+    public long getNegativeHitCount() {
+
+        return missingClientIds.getHitCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+
+        return applications.getEvictionCount() + missingClientIds.getEvictionCount();
+    }
+
+    @Override
+    public int getSize() {
+
+        return applications.size() + missingClientIds.size();
+    }
+
+    /**
+     * Register the statistics of this cache in the platform MBean server, replacing a registration left by a previous
+     * activation.
+     */
+    public void registerMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(this, objectName);
+        } catch (JMException e) {
+            log.warn("Error while registering the application near-cache MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Remove the statistics of this cache from the platform MBean server.
+     */
+    public void unregisterMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Error while unregistering the application near-cache MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    private static String getKey(String clientId, String tenantDomain) {
+
+        return clientId + KEY_SEPARATOR + (tenantDomain == null ? StringUtils.EMPTY : tenantDomain);
+    }
+}
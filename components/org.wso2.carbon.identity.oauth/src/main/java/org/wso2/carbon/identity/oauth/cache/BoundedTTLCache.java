@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * Bounded, node local cache whose entries expire at the time given when they are added. It backs the near-caches
+ * that serve hot lookups without going through the cache manager of the distributed caches.
+ * <p>
+ * When the cache is full, a single eviction pass removes the expired entries and then arbitrary entries until a
+ * tenth of the capacity is free, so that the cost of scanning the entries is shared by the puts that fill the freed
+ * space. Puts made while another thread runs the eviction pass do not wait for it, hence the cache may briefly hold
+ * a few entries more than its capacity.
+ *
+ * @param <K> Type of the keys.
+ * @param <V> Type of the values.
+ */
+public class BoundedTTLCache<K, V> {
+
+    private static final int EVICTION_BATCH_DIVISOR = 10;
+
+    private final int maxEntries;
+    private final int evictionTarget;
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public BoundedTTLCache(int maxEntries) {
+
+        this.maxEntries = maxEntries;
+        this.evictionTarget = maxEntries - Math.max(1, maxEntries / EVICTION_BATCH_DIVISOR);
+    }
+
+    /**
+     * Get the value cached against the given key.
+     *
+     * @param key Key.
+     * @return Cached value or null if there is no live entry of the key.
+     */
+    public V get(K key) {
+
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(key, entry)) {
+                evictionCount.increment();
+            }
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return entry.value;
+    }
+
+    /**
+     * Cache the given value until the given expiry time. Values that have already expired are not cached.
+     *
+     * @param key        Key.
+     * @param value      Value.
+     * @param expiryTime Time in milliseconds at which the entry expires.
+     */
+    public void put(K key, V value, long expiryTime) {
+
+        long currentTime = System.currentTimeMillis();
+        if (expiryTime <= currentTime) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evict(currentTime);
+        }
+        entries.put(key, new Entry<>(value, expiryTime));
+    }
+
+    /**
+     * Remove the entry of the given key.
+     *
+     * @param key Key.
+     */
+    public void remove(K key) {
+
+        entries.remove(key);
+    }
+
+    /**
+     * Remove the entries matching the given predicate. All the entries are visited, hence this is meant for the
+     * invalidations that are rare compared to the lookups.
+     *
+     * @param predicate Predicate on the key and the value of an entry.
+     */
+    public void removeIf(BiPredicate<? super K, ? super V> predicate) {
+
+        entries.entrySet().removeIf(mapEntry -> predicate.test(mapEntry.getKey(), mapEntry.getValue().value));
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+
+        entries.clear();
+    }
+
+    public long getHitCount() {
+
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+
+        return evictionCount.sum();
+    }
+
+    public int size() {
+
+        return entries.size();
+    }
+
+    private void evict(long currentTime) {
+
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            entries.values().removeIf(entry -> {
+                if (entry.isExpired(currentTime)) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            });
+            Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (entries.size() > evictionTarget && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictionCount.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expiryTime;
+
+        private Entry(V value, long expiryTime) {
+
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+
+        private boolean isExpired(long currentTime) {
+
+            return currentTime >= expiryTime;
+        }
+    }
+}
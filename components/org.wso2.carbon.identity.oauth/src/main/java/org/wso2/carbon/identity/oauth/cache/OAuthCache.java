@@ -71,31 +71,51 @@ public class OAuthCache extends AuthenticationBaseCache<OAuthCacheKey, CacheEntr
                         ((AccessTokenDO) entry).getTokenId(), tenantDomain));
             }
             super.addToCache(key, entry, tenantDomain);
+            AccessTokenNearCache.getInstance().put(key, entry);
         } else {
             super.addToCache(key, entry);
         }
     }
 
+    @Override
+    public void clearCacheEntry(OAuthCacheKey key) {
+
+        AccessTokenNearCache.getInstance().invalidate(key);
+        super.clearCacheEntry(key);
+    }
+
     @Override
     public void clearCacheEntry(OAuthCacheKey key, String tenantDomain) {
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("Hit OAuthCache for clearing in tenant domain: " + tenantDomain);
         }
-        if (LOG.isDebugEnabled() && getValueFromCache(key, tenantDomain) == null) {
-            LOG.debug(String.format("No cache entry found for the given cache key in the tenant: %s.", tenantDomain));
-        }
+        AccessTokenNearCache.getInstance().invalidate(key);
         if (StringUtils.isNotBlank(tenantDomain)) {
             super.clearCacheEntry(key, tenantDomain);
         } else {
             super.clearCacheEntry(key);
         }
-        // Added below logs to make sure the cache is cleared properly.
-        if (LOG.isDebugEnabled() && super.getValueFromCache(key, tenantDomain) == null) {
-            LOG.debug("Successfully cleared OAuthCache for the provided key in tenant domain: " + tenantDomain);
-        }
     }
 
+    @Override
+    public void clear(int tenantId) {
+
+        AccessTokenNearCache.getInstance().clear();
+        super.clear(tenantId);
+    }
+
+    @Override
+    public CacheEntry getValueFromCache(OAuthCacheKey key) {
+
+        AccessTokenDO nearCacheEntry = AccessTokenNearCache.getInstance().get(key);
+        if (nearCacheEntry != null) {
+            return nearCacheEntry;
+        }
+        CacheEntry cacheEntry = super.getValueFromCache(key);
+        AccessTokenNearCache.getInstance().put(key, cacheEntry);
+        return cacheEntry;
+    }
 
     @Override
     public CacheEntry getValueFromCache(OAuthCacheKey key, String tenantDomain) {
@@ -103,6 +123,10 @@ public class OAuthCache extends AuthenticationBaseCache<OAuthCacheKey, CacheEntr
         if (LOG.isDebugEnabled()) {
             LOG.debug("Hit OAuthCache for getting the cache entry in tenant domain: " + tenantDomain);
         }
+        AccessTokenDO nearCacheEntry = AccessTokenNearCache.getInstance().get(key);
+        if (nearCacheEntry != null) {
+            return nearCacheEntry;
+        }
         CacheEntry cacheEntry;
         if (StringUtils.isNotBlank(tenantDomain)) {
             cacheEntry = super.getValueFromCache(key, tenantDomain);
@@ -112,6 +136,7 @@ public class OAuthCache extends AuthenticationBaseCache<OAuthCacheKey, CacheEntr
         if (LOG.isDebugEnabled() && cacheEntry != null) {
             LOG.debug("Successfully retrieved cache entry from OauthCache for tenant domain: " + tenantDomain);
         }
+        AccessTokenNearCache.getInstance().put(key, cacheEntry);
         return cacheEntry;
     }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.config;
+
+import org.apache.oltu.oauth2.common.validators.OAuthValidator;
+import org.wso2.carbon.identity.oauth2.authz.handlers.ResponseTypeHandler;
+import org.wso2.carbon.identity.oauth2.token.handlers.grant.AuthorizationGrantHandler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Immutable snapshot of the grant type and response type dispatch tables built from the OAuth configuration.
+ * <p>
+ * The snapshot is built once with the handlers initialized, and replaced as a whole when the configuration is
+ * refreshed, so that the lookups done while serving requests do not need any locking.
+ */
+public final class OAuthDispatchTable {
+
+    private final Map<String, AuthorizationGrantHandler> grantHandlers;
+    private final Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> grantTypeValidators;
+    private final Map<String, ResponseTypeHandler> responseTypeHandlers;
+    private final Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> responseTypeValidators;
+
+    OAuthDispatchTable(Map<String, AuthorizationGrantHandler> grantHandlers,
+                       Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> grantTypeValidators,
+                       Map<String, ResponseTypeHandler> responseTypeHandlers,
+                       Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> responseTypeValidators) {
+
+        this.grantHandlers = Collections.unmodifiableMap(new HashMap<>(grantHandlers));
+        this.grantTypeValidators = Collections.unmodifiableMap(new HashMap<>(grantTypeValidators));
+        this.responseTypeHandlers = Collections.unmodifiableMap(new HashMap<>(responseTypeHandlers));
+        this.responseTypeValidators = Collections.unmodifiableMap(new HashMap<>(responseTypeValidators));
+    }
+
+    /**
+     * Get the initialized grant handlers.
+     *
+     * @return Unmodifiable map of grant type to grant handler.
+     */
+    public Map<String, AuthorizationGrantHandler> getGrantHandlers() {
+
+        return grantHandlers;
+    }
+
+    /**
+     * Get the request validators of the grant types.
+     *
+     * @return Unmodifiable map of grant type to validator class.
+     */
+    public Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> getGrantTypeValidators() {
+
+        return grantTypeValidators;
+    }
+
+    /**
+     * Get the initialized response type handlers.
+     *
+     * @return Unmodifiable map of response type to response type handler.
+     */
+    public Map<String, ResponseTypeHandler> getResponseTypeHandlers() {
+
+        return responseTypeHandlers;
+    }
+
+    /**
+     * Get the request validators of the response types.
+     *
+     * @return Unmodifiable map of response type to validator class.
+     */
+    public Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> getResponseTypeValidators() {
+
+        return responseTypeValidators;
+    }
+}
@@ -86,6 +86,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.xml.namespace.QName;
@@ -170,7 +171,7 @@ public class OAuthServerConfiguration {
     private String persistAccessTokenAlias;
     private String retainOldAccessTokens;
     private String tokenCleanupFeatureEnable;
-    private OauthTokenIssuer oauthIdentityTokenGenerator;
+    private volatile OauthTokenIssuer oauthIdentityTokenGenerator;
     private boolean scopeValidationConfigValue = true;
     private boolean globalRbacScopeIssuerEnabled = false;
     private boolean cacheEnabled = false;
@@ -194,23 +195,20 @@ public class OAuthServerConfiguration {
     private Map<String, String> idTokenAllowedForGrantTypesMap = new HashMap<>();
     private Set<String> idTokenNotAllowedGrantTypesSet = new HashSet<>();
     private Set<String> userConsentEnabledGrantTypes = new HashSet<>();
-    private Map<String, AuthorizationGrantHandler> supportedGrantTypes;
     private Map<String, RequestObjectBuilder> requestObjectBuilder;
     private Map<String, String> supportedGrantTypeValidatorNames = new HashMap<>();
-    private Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> supportedGrantTypeValidators;
     private Map<String, String> supportedResponseTypeClassNames = new HashMap<>();
-    private Map<String, ResponseTypeHandler> supportedResponseTypes;
     private Map<String, String> supportedResponseTypeValidatorNames = new HashMap<>();
     private Map<String, String> supportedResponseModeProviderClassNames = new HashMap<>();
     private Map<String, ResponseModeProvider> supportedResponseModes;
     private String defaultResponseModeProviderClassName;
     private ResponseModeProvider defaultResponseModeProvider;
-    private Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> supportedResponseTypeValidators;
     private Map<String, TokenIssuerDO> supportedTokenIssuers = new HashMap<>();
     private List<String> supportedTokenTypes = new ArrayList<>();
     private List<String> publicClientSupportedGrantTypes = new ArrayList<>();
     private List<String> publicClientNotSupportedGrantTypes = new ArrayList<>();
-    private Map<String, OauthTokenIssuer> oauthTokenIssuerMap = new HashMap<>();
+    private final Map<String, OauthTokenIssuer> oauthTokenIssuerMap = new ConcurrentHashMap<>();
+    private volatile OAuthDispatchTable dispatchTable;
     private String[] supportedClaims = null;
     private boolean isFapiCiba = false;
     private boolean isFapiSecurity = false;
@@ -1126,39 +1124,81 @@ public class OAuthServerConfiguration {
         return isTokenRenewalPerRequestEnabled;
     }
 
-    public Map<String, AuthorizationGrantHandler> getSupportedGrantTypes() {
-        if (supportedGrantTypes == null) {
-            synchronized (this) {
-                if (supportedGrantTypes == null) {
-                    Map<String, AuthorizationGrantHandler> supportedGrantTypesTemp = new HashMap<>();
-                    for (Map.Entry<String, String> entry : supportedGrantTypeClassNames.entrySet()) {
-                        AuthorizationGrantHandler authzGrantHandler = null;
-                        try {
-                            authzGrantHandler =
-                                    (AuthorizationGrantHandler) Class.forName(entry.getValue()).newInstance();
-                            authzGrantHandler.init();
-                        } catch (InstantiationException e) {
-                            log.error("Error instantiating " + entry.getValue(), e);
-                        } catch (IllegalAccessException e) {
-                            log.error("Illegal access to " + entry.getValue(), e);
-                        } catch (ClassNotFoundException e) {
-                            log.error("Cannot find class: " + entry.getValue(), e);
-                        } catch (IdentityOAuth2Exception e) {
-                            log.error("Error while initializing " + entry.getValue(), e);
-                        }
+    /**
+     * Get the dispatch table of the grant types and response types. The table is built, and the handlers
+     * initialized, on the first call.
+     *
+     * @return Dispatch table.
+     */
+    public OAuthDispatchTable getDispatchTable() {
 
-                        if (authzGrantHandler != null) {
-                            supportedGrantTypesTemp.put(entry.getKey(), authzGrantHandler);
-                        } else {
-                            log.warn("Grant type : " + entry.getKey() + ", is not added as a supported grant type. "
-                                    + "Relevant grant handler failed to initiate properly.");
-                        }
-                    }
-                    supportedGrantTypes = supportedGrantTypesTemp;
+        OAuthDispatchTable table = dispatchTable;
+        if (table == null) {
+            synchronized (this) {
+                table = dispatchTable;
+                if (table == null) {
+                    table = buildDispatchTable();
+                    dispatchTable = table;
                 }
             }
         }
-        return supportedGrantTypes;
+        return table;
+    }
+
+    /**
+     * Rebuild the dispatch table from the current configuration and replace the existing one. Lookups made during
+     * the rebuild are served from the existing table. Components that hold on to the maps of a table, such as the
+     * token issuer, keep using the handlers of that table.
+     */
+    public void refreshDispatchTable() {
+
+        OAuthDispatchTable table = buildDispatchTable();
+        synchronized (this) {
+            dispatchTable = table;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("OAuth dispatch table refreshed with grant types: " + table.getGrantHandlers().keySet() +
+                    " and response types: " + table.getResponseTypeHandlers().keySet());
+        }
+    }
+
+    private OAuthDispatchTable buildDispatchTable() {
+
+        return new OAuthDispatchTable(buildGrantHandlers(), buildGrantTypeValidators(), buildResponseTypeHandlers(),
+                buildResponseTypeValidators());
+    }
+
+    public Map<String, AuthorizationGrantHandler> getSupportedGrantTypes() {
+
+        return getDispatchTable().getGrantHandlers();
+    }
+
+    private Map<String, AuthorizationGrantHandler> buildGrantHandlers() {
+
+        Map<String, AuthorizationGrantHandler> supportedGrantTypesTemp = new HashMap<>();
+        for (Map.Entry<String, String> entry : supportedGrantTypeClassNames.entrySet()) {
+            AuthorizationGrantHandler authzGrantHandler = null;
+            try {
+                authzGrantHandler = (AuthorizationGrantHandler) Class.forName(entry.getValue()).newInstance();
+                authzGrantHandler.init();
+            } catch (InstantiationException e) {
+                log.error("Error instantiating " + entry.getValue(), e);
+            } catch (IllegalAccessException e) {
+                log.error("Illegal access to " + entry.getValue(), e);
+            } catch (ClassNotFoundException e) {
+                log.error("Cannot find class: " + entry.getValue(), e);
+            } catch (IdentityOAuth2Exception e) {
+                log.error("Error while initializing " + entry.getValue(), e);
+            }
+
+            if (authzGrantHandler != null) {
+                supportedGrantTypesTemp.put(entry.getKey(), authzGrantHandler);
+            } else {
+                log.warn("Grant type : " + entry.getKey() + ", is not added as a supported grant type. "
+                        + "Relevant grant handler failed to initiate properly.");
+            }
+        }
+        return supportedGrantTypesTemp;
     }
 
     /**
@@ -1173,125 +1213,104 @@ public class OAuthServerConfiguration {
      */
     public Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> getSupportedGrantTypeValidators() {
 
-        if (supportedGrantTypeValidators == null) {
-            synchronized (this) {
-                if (supportedGrantTypeValidators == null) {
-                    Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> supportedGrantTypeValidatorsTemp =
-                            new Hashtable<>();
-                    // Load default grant type validators
-                    supportedGrantTypeValidatorsTemp
-                            .put(GrantType.PASSWORD.toString(), PasswordGrantValidator.class);
-                    supportedGrantTypeValidatorsTemp.put(GrantType.CLIENT_CREDENTIALS.toString(),
-                            ClientCredentialGrantValidator.class);
-                    supportedGrantTypeValidatorsTemp.put(GrantType.AUTHORIZATION_CODE.toString(),
-                            AuthorizationCodeGrantValidator.class);
-                    supportedGrantTypeValidatorsTemp.put(GrantType.REFRESH_TOKEN.toString(),
-                            RefreshTokenGrantValidator.class);
-                    supportedGrantTypeValidatorsTemp.put(
-                            org.wso2.carbon.identity.oauth.common.GrantType.SAML20_BEARER
-                                    .toString(), SAML2GrantValidator.class);
-
-                    if (supportedGrantTypeValidatorNames != null) {
-                        // Load configured grant type validators
-                        for (Map.Entry<String, String> entry : supportedGrantTypeValidatorNames.entrySet()) {
-                            try {
-                                @SuppressWarnings("unchecked")
-                                Class<? extends OAuthValidator<HttpServletRequest>>
-                                        oauthValidatorClass =
-                                        (Class<? extends OAuthValidator<HttpServletRequest>>) Class
-                                                .forName(entry.getValue());
-                                supportedGrantTypeValidatorsTemp
-                                        .put(entry.getKey(), oauthValidatorClass);
-                            } catch (ClassNotFoundException e) {
-                                log.error("Cannot find class: " + entry.getValue(), e);
-                            } catch (ClassCastException e) {
-                                log.error("Cannot cast class: " + entry.getValue(), e);
-                            }
-                        }
-                    }
-                    supportedGrantTypeValidators = supportedGrantTypeValidatorsTemp;
-                }
-            }
-        }
+        return getDispatchTable().getGrantTypeValidators();
+    }
+
+    private Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> buildGrantTypeValidators() {
 
-        return supportedGrantTypeValidators;
+        Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> supportedGrantTypeValidatorsTemp =
+                new HashMap<>();
+        // Load default grant type validators
+        supportedGrantTypeValidatorsTemp.put(GrantType.PASSWORD.toString(), PasswordGrantValidator.class);
+        supportedGrantTypeValidatorsTemp.put(GrantType.CLIENT_CREDENTIALS.toString(),
+                ClientCredentialGrantValidator.class);
+        supportedGrantTypeValidatorsTemp.put(GrantType.AUTHORIZATION_CODE.toString(),
+                AuthorizationCodeGrantValidator.class);
+        supportedGrantTypeValidatorsTemp.put(GrantType.REFRESH_TOKEN.toString(), RefreshTokenGrantValidator.class);
+        supportedGrantTypeValidatorsTemp.put(
+                org.wso2.carbon.identity.oauth.common.GrantType.SAML20_BEARER.toString(), SAML2GrantValidator.class);
+
+        if (supportedGrantTypeValidatorNames != null) {
+            // Load configured grant type validators
+            supportedGrantTypeValidatorsTemp.putAll(loadValidatorClasses(supportedGrantTypeValidatorNames));
+        }
+        return supportedGrantTypeValidatorsTemp;
     }
 
     public Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> getSupportedResponseTypeValidators() {
 
-        if (supportedResponseTypeValidators == null) {
-            synchronized (this) {
-                if (supportedResponseTypeValidators == null) {
-                    Map<String, Class<? extends OAuthValidator<HttpServletRequest>>>
-                            supportedResponseTypeValidatorsTemp = new Hashtable<>();
-                    // Load default grant type validators
-                    supportedResponseTypeValidatorsTemp
-                            .put(ResponseType.CODE.toString(), CodeValidator.class);
-                    supportedResponseTypeValidatorsTemp.put(ResponseType.TOKEN.toString(),
-                            TokenValidator.class);
-                    supportedResponseTypeValidatorsTemp.put(OAuthConstants.ID_TOKEN,
-                            IDTokenResponseValidator.class);
-                    supportedResponseTypeValidatorsTemp.put(OAuthConstants.IDTOKEN_TOKEN,
-                            IDTokenTokenResponseValidator.class);
-                    supportedResponseTypeValidatorsTemp.put(OAuthConstants.CODE_TOKEN,
-                            CodeTokenResponseValidator.class);
-                    supportedResponseTypeValidatorsTemp.put(OAuthConstants.CODE_IDTOKEN,
-                            CodeTokenResponseValidator.class);
-                    supportedResponseTypeValidatorsTemp.put(OAuthConstants.CODE_IDTOKEN_TOKEN,
-                            CodeTokenResponseValidator.class);
-                    if (supportedResponseTypeValidatorNames != null) {
-                        // Load configured grant type validators
-                        for (Map.Entry<String, String> entry : supportedResponseTypeValidatorNames
-                                .entrySet()) {
-                            try {
-                                @SuppressWarnings("unchecked")
-                                Class<? extends OAuthValidator<HttpServletRequest>>
-                                        oauthValidatorClass =
-                                        (Class<? extends OAuthValidator<HttpServletRequest>>) Class
-                                                .forName(entry.getValue());
-                                supportedResponseTypeValidatorsTemp
-                                        .put(entry.getKey(), oauthValidatorClass);
-                            } catch (ClassNotFoundException e) {
-                                log.error("Cannot find class: " + entry.getValue(), e);
-                            } catch (ClassCastException e) {
-                                log.error("Cannot cast class: " + entry.getValue(), e);
-                            }
-                        }
-                        supportedResponseTypeValidators = supportedResponseTypeValidatorsTemp;
-                    }
-                }
-            }
+        return getDispatchTable().getResponseTypeValidators();
+    }
+
+    private Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> buildResponseTypeValidators() {
+
+        Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> supportedResponseTypeValidatorsTemp =
+                new HashMap<>();
+        // Load default response type validators
+        supportedResponseTypeValidatorsTemp.put(ResponseType.CODE.toString(), CodeValidator.class);
+        supportedResponseTypeValidatorsTemp.put(ResponseType.TOKEN.toString(), TokenValidator.class);
+        supportedResponseTypeValidatorsTemp.put(OAuthConstants.ID_TOKEN, IDTokenResponseValidator.class);
+        supportedResponseTypeValidatorsTemp.put(OAuthConstants.IDTOKEN_TOKEN, IDTokenTokenResponseValidator.class);
+        supportedResponseTypeValidatorsTemp.put(OAuthConstants.CODE_TOKEN, CodeTokenResponseValidator.class);
+        supportedResponseTypeValidatorsTemp.put(OAuthConstants.CODE_IDTOKEN, CodeTokenResponseValidator.class);
+        supportedResponseTypeValidatorsTemp.put(OAuthConstants.CODE_IDTOKEN_TOKEN, CodeTokenResponseValidator.class);
+        if (supportedResponseTypeValidatorNames != null) {
+            // Load configured response type validators
+            supportedResponseTypeValidatorsTemp.putAll(loadValidatorClasses(supportedResponseTypeValidatorNames));
         }
+        return supportedResponseTypeValidatorsTemp;
+    }
+
+    private Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> loadValidatorClasses(
+            Map<String, String> validatorClassNames) {
 
-        return supportedResponseTypeValidators;
+        Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> validatorClasses = new HashMap<>();
+        for (Map.Entry<String, String> entry : validatorClassNames.entrySet()) {
+            try {
+                @SuppressWarnings("unchecked")
+                Class<? extends OAuthValidator<HttpServletRequest>> oauthValidatorClass =
+                        (Class<? extends OAuthValidator<HttpServletRequest>>) Class.forName(entry.getValue());
+                validatorClasses.put(entry.getKey(), oauthValidatorClass);
+            } catch (ClassNotFoundException e) {
+                log.error("Cannot find class: " + entry.getValue(), e);
+            } catch (ClassCastException e) {
+                log.error("Cannot cast class: " + entry.getValue(), e);
+            }
+        }
+        return validatorClasses;
     }
 
     public Map<String, ResponseTypeHandler> getSupportedResponseTypes() {
-        if (supportedResponseTypes == null) {
-            synchronized (this) {
-                if (supportedResponseTypes == null) {
-                    Map<String, ResponseTypeHandler> supportedResponseTypesTemp = new Hashtable<>();
-                    for (Map.Entry<String, String> entry : supportedResponseTypeClassNames.entrySet()) {
-                        ResponseTypeHandler responseTypeHandler = null;
-                        try {
-                            responseTypeHandler = (ResponseTypeHandler) Class.forName(entry.getValue()).newInstance();
-                            responseTypeHandler.init();
-                        } catch (InstantiationException e) {
-                            log.error("Error instantiating " + entry.getValue(), e);
-                        } catch (IllegalAccessException e) {
-                            log.error("Illegal access to " + entry.getValue(), e);
-                        } catch (ClassNotFoundException e) {
-                            log.error("Cannot find class: " + entry.getValue(), e);
-                        } catch (IdentityOAuth2Exception e) {
-                            log.error("Error while initializing " + entry.getValue(), e);
-                        }
-                        supportedResponseTypesTemp.put(entry.getKey(), responseTypeHandler);
-                    }
-                    supportedResponseTypes = supportedResponseTypesTemp;
-                }
+
+        return getDispatchTable().getResponseTypeHandlers();
+    }
+
+    private Map<String, ResponseTypeHandler> buildResponseTypeHandlers() {
+
+        Map<String, ResponseTypeHandler> supportedResponseTypesTemp = new HashMap<>();
+        for (Map.Entry<String, String> entry : supportedResponseTypeClassNames.entrySet()) {
+            ResponseTypeHandler responseTypeHandler = null;
+            try {
+                responseTypeHandler = (ResponseTypeHandler) Class.forName(entry.getValue()).newInstance();
+                responseTypeHandler.init();
+            } catch (InstantiationException e) {
+                log.error("Error instantiating " + entry.getValue(), e);
+            } catch (IllegalAccessException e) {
+                log.error("Illegal access to " + entry.getValue(), e);
+            } catch (ClassNotFoundException e) {
+                log.error("Cannot find class: " + entry.getValue(), e);
+            } catch (IdentityOAuth2Exception e) {
+                log.error("Error while initializing " + entry.getValue(), e);
+            }
+
+            if (responseTypeHandler != null) {
+                supportedResponseTypesTemp.put(entry.getKey(), responseTypeHandler);
+            } else {
+                log.warn("Response type : " + entry.getKey() + ", is not added as a supported response type. "
+                        + "Relevant response type handler failed to initiate properly.");
             }
         }
-        return supportedResponseTypes;
+        return supportedResponseTypesTemp;
     }
 
     /**
@@ -2941,18 +2960,21 @@ public class OAuthServerConfiguration {
         TokenIssuerDO tokenIssuerDO = supportedTokenIssuers.get(tokenType);
         OauthTokenIssuer oauthTokenIssuer = null;
         if (tokenIssuerDO != null && tokenIssuerDO.getTokenImplClass() != null) {
+            oauthTokenIssuer = oauthTokenIssuerMap.get(tokenType);
+            if (oauthTokenIssuer != null) {
+                return oauthTokenIssuer;
+            }
             try {
-                if (oauthTokenIssuerMap.get(tokenType) == null) {
-                    Class clazz = this.getClass().getClassLoader().loadClass(tokenIssuerDO.getTokenImplClass());
-                    oauthTokenIssuer = (OauthTokenIssuer) clazz.newInstance();
-                    oauthTokenIssuer.setPersistAccessTokenAlias(
-                            supportedTokenIssuers.get(tokenType).isPersistAccessTokenAlias());
-                    oauthTokenIssuerMap.put(tokenType, oauthTokenIssuer);
-                    log.info("An instance of " + tokenIssuerDO.getTokenImplClass()
-                            + " is created for Identity OAuth token generation.");
-                } else {
-                    oauthTokenIssuer = oauthTokenIssuerMap.get(tokenType);
+                Class clazz = this.getClass().getClassLoader().loadClass(tokenIssuerDO.getTokenImplClass());
+                oauthTokenIssuer = (OauthTokenIssuer) clazz.newInstance();
+                oauthTokenIssuer.setPersistAccessTokenAlias(tokenIssuerDO.isPersistAccessTokenAlias());
+                OauthTokenIssuer existingTokenIssuer = oauthTokenIssuerMap.putIfAbsent(tokenType, oauthTokenIssuer);
+                if (existingTokenIssuer != null) {
+                    // Another request created the instance first.
+                    return existingTokenIssuer;
                 }
+                log.info("An instance of " + tokenIssuerDO.getTokenImplClass()
+                        + " is created for Identity OAuth token generation.");
             } catch (Exception e) {
                 String errorMsg = "Error when instantiating the OAuthIssuer : " + tokenIssuerDO.getTokenImplClass()
                         + ". Defaulting to OAuthIssuerImpl";
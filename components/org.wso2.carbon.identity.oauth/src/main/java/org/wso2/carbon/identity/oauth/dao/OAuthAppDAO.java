@@ -40,6 +40,7 @@ import org.wso2.carbon.identity.oauth.Error;
 import org.wso2.carbon.identity.oauth.IdentityOAuthAdminException;
 import org.wso2.carbon.identity.oauth.IdentityOAuthClientException;
 import org.wso2.carbon.identity.oauth.OAuthUtil;
+import org.wso2.carbon.identity.oauth.cache.AppInfoNearCache;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
@@ -80,6 +81,8 @@ import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OIDCConfigPro
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OIDCConfigProperties.BYPASS_CLIENT_CREDENTIALS;
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OIDCConfigProperties.FRONT_CHANNEL_LOGOUT_URL;
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OIDCConfigProperties.HYBRID_FLOW_ENABLED;
+import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OIDCConfigProperties.CIBA_CLIENT_NOTIFICATION_ENDPOINT;
+import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OIDCConfigProperties.CIBA_TOKEN_DELIVERY_MODE;
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OIDCConfigProperties.HYBRID_FLOW_RESPONSE_TYPE;
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OIDCConfigProperties.ID_TOKEN_ENCRYPTED;
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OIDCConfigProperties.ID_TOKEN_ENCRYPTION_ALGORITHM;
@@ -228,6 +231,11 @@ public class OAuthAppDAO {
                     // Handle OIDC Related Properties. These are persisted in IDN_OIDC_PROPERTY table.
                     addServiceProviderOIDCProperties(connection, consumerAppDO, processedClientId, spTenantId);
                     IdentityDatabaseUtil.commitTransaction(connection);
+                    /*
+                     The client ID may have been looked up before it was registered. The negative near-cache entry
+                     of the other nodes expires within the short negative time to live.
+                    */
+                    AppInfoNearCache.getInstance().invalidate(consumerAppDO.getOauthConsumerKey());
                 } catch (SQLException e1) {
                     IdentityDatabaseUtil.rollbackTransaction(connection);
                     if (isDuplicateClient(e1)) {
@@ -489,9 +497,8 @@ public class OAuthAppDAO {
                             oauthApp.setState(rSet.getString(16));
 
                             String spTenantDomain = authenticatedUser.getTenantDomain();
-                            handleSpOIDCProperties(connection, preprocessedClientId, spTenantDomain, oauthApp);
-                            oauthApp.setScopeValidators(getScopeValidators(connection, oauthApp.getId()));
-                            oauthApp.setAccessTokenClaims(getAccessTokenClaims(connection, oauthApp.getId()));
+                            handleSpOIDCPropertiesScopeValidatorsAndTokenClaims(connection, preprocessedClientId,
+                                    spTenantDomain, oauthApp);
                         }
                     }
 
@@ -1074,6 +1081,14 @@ public class OAuthAppDAO {
                 SUBJECT_TYPE, oauthAppDO.getSubjectType(),
                 prepStatementForPropertyAdd, preparedStatementForPropertyUpdate);
 
+        addOrUpdateOIDCSpProperty(preprocessedClientId, spTenantId, spOIDCProperties,
+                CIBA_TOKEN_DELIVERY_MODE, oauthAppDO.getCibaTokenDeliveryMode(),
+                prepStatementForPropertyAdd, preparedStatementForPropertyUpdate);
+
+        addOrUpdateOIDCSpProperty(preprocessedClientId, spTenantId, spOIDCProperties,
+                CIBA_CLIENT_NOTIFICATION_ENDPOINT, oauthAppDO.getCibaClientNotificationEndpoint(),
+                prepStatementForPropertyAdd, preparedStatementForPropertyUpdate);
+
         addOrUpdateOIDCSpProperty(preprocessedClientId, spTenantId, spOIDCProperties,
                 IS_SUBJECT_TOKEN_ENABLED, String.valueOf(oauthAppDO.isSubjectTokenEnabled()),
                 prepStatementForPropertyAdd, preparedStatementForPropertyUpdate);
@@ -1804,6 +1819,12 @@ public class OAuthAppDAO {
             addToBatchForOIDCPropertyAdd(processedClientId, spTenantId, prepStmtAddOIDCProperty,
                     IS_FAPI_CONFORMANT_APP, String.valueOf(consumerAppDO.isFapiConformanceEnabled()));
 
+            addToBatchForOIDCPropertyAdd(processedClientId, spTenantId, prepStmtAddOIDCProperty,
+                    CIBA_TOKEN_DELIVERY_MODE, consumerAppDO.getCibaTokenDeliveryMode());
+
+            addToBatchForOIDCPropertyAdd(processedClientId, spTenantId, prepStmtAddOIDCProperty,
+                    CIBA_CLIENT_NOTIFICATION_ENDPOINT, consumerAppDO.getCibaClientNotificationEndpoint());
+
             addToBatchForOIDCPropertyAdd(processedClientId, spTenantId, prepStmtAddOIDCProperty,
                     IS_SUBJECT_TOKEN_ENABLED, String.valueOf(consumerAppDO.isSubjectTokenEnabled()));
 
@@ -1837,6 +1858,61 @@ public class OAuthAppDAO {
         setSpOIDCProperties(spOIDCProperties, oauthApp);
     }
 
+    /**
+     * Load the OIDC properties, the scope validators and the access token claims of the given application with a
+     * single query, instead of a round trip to the database for each of them.
+     *
+     * @param connection           Same db connection used in retrieving OAuth App.
+     * @param preprocessedClientId Processed client ID of the application.
+     * @param spTenantDomain       Tenant domain of the application.
+     * @param oauthApp             Application to populate.
+     * @throws IdentityOAuth2Exception Error while retrieving the application properties.
+     */
+    private void handleSpOIDCPropertiesScopeValidatorsAndTokenClaims(Connection connection,
+                                                                     String preprocessedClientId,
+                                                                     String spTenantDomain,
+                                                                     OAuthAppDO oauthApp)
+            throws IdentityOAuth2Exception {
+
+        Map<String, List<String>> spOIDCProperties = new HashMap<>();
+        List<String> scopeValidators = new ArrayList<>();
+        List<String> accessTokenClaims = new ArrayList<>();
+        try (PreparedStatement prepStmt = connection.prepareStatement(
+                SQLQueries.OAuthAppDAOSQLQueries.GET_APP_OIDC_PROPERTIES_SCOPE_VALIDATORS_AND_TOKEN_CLAIMS)) {
+            prepStmt.setString(1, preprocessedClientId);
+            prepStmt.setInt(2, IdentityTenantUtil.getTenantId(spTenantDomain));
+            prepStmt.setInt(3, oauthApp.getId());
+            prepStmt.setInt(4, oauthApp.getId());
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    switch (resultSet.getInt(1)) {
+                        case 1:
+                            spOIDCProperties.computeIfAbsent(resultSet.getString(2), k -> new ArrayList<>())
+                                    .add(resultSet.getString(3));
+                            break;
+                        case 2:
+                            scopeValidators.add(resultSet.getString(2));
+                            break;
+                        default:
+                            accessTokenClaims.add(resultSet.getString(2));
+                            break;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            String errorMsg = "Error occurred while retrieving OIDC properties, scope validators and access token " +
+                    "claims for client ID: " + preprocessedClientId + " and tenant domain: " + spTenantDomain;
+            throw new IdentityOAuth2Exception(errorMsg, e);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("Retrieving %d Scope validators and %d access token claims registered for " +
+                    "OAuth appId %d", scopeValidators.size(), accessTokenClaims.size(), oauthApp.getId()));
+        }
+        setSpOIDCProperties(spOIDCProperties, oauthApp);
+        oauthApp.setScopeValidators(scopeValidators.toArray(new String[0]));
+        oauthApp.setAccessTokenClaims(accessTokenClaims.toArray(new String[0]));
+    }
+
     private Map<String, List<String>> getSpOIDCProperties(Connection connection,
                                                           String consumerKey,
                                                           String spTenantDomain) throws IdentityOAuth2Exception {
@@ -1983,6 +2059,15 @@ public class OAuthAppDAO {
         if (isFAPI != null) {
             oauthApp.setFapiConformanceEnabled(Boolean.parseBoolean(isFAPI));
         }
+        String cibaTokenDeliveryMode = getFirstPropertyValue(spOIDCProperties, CIBA_TOKEN_DELIVERY_MODE);
+        if (cibaTokenDeliveryMode != null) {
+            oauthApp.setCibaTokenDeliveryMode(cibaTokenDeliveryMode);
+        }
+        String cibaClientNotificationEndpoint = getFirstPropertyValue(spOIDCProperties,
+                CIBA_CLIENT_NOTIFICATION_ENDPOINT);
+        if (cibaClientNotificationEndpoint != null) {
+            oauthApp.setCibaClientNotificationEndpoint(cibaClientNotificationEndpoint);
+        }
 
         String isSubjectTokenEnabled = getFirstPropertyValue(spOIDCProperties, IS_SUBJECT_TOKEN_ENABLED);
         if (isSubjectTokenEnabled != null) {
@@ -111,6 +111,8 @@ public class OAuthAppDO extends InboundConfigurationProtocol implements Serializ
     private String requestObjectEncryptionAlgorithm;
     private String requestObjectEncryptionMethod;
     private boolean fapiConformanceEnabled;
+    private String cibaTokenDeliveryMode;
+    private String cibaClientNotificationEndpoint;
     private boolean subjectTokenEnabled;
     private int subjectTokenExpiryTime;
     private String[] accessTokenClaims;
@@ -525,6 +527,26 @@ public class OAuthAppDO extends InboundConfigurationProtocol implements Serializ
         fapiConformanceEnabled = fapiConformant;
     }
 
+    public String getCibaTokenDeliveryMode() {
+
+        return cibaTokenDeliveryMode;
+    }
+
+    public void setCibaTokenDeliveryMode(String cibaTokenDeliveryMode) {
+
+        this.cibaTokenDeliveryMode = cibaTokenDeliveryMode;
+    }
+
+    public String getCibaClientNotificationEndpoint() {
+
+        return cibaClientNotificationEndpoint;
+    }
+
+    public void setCibaClientNotificationEndpoint(String cibaClientNotificationEndpoint) {
+
+        this.cibaClientNotificationEndpoint = cibaClientNotificationEndpoint;
+    }
+
 
     public boolean isSubjectTokenEnabled() {
 
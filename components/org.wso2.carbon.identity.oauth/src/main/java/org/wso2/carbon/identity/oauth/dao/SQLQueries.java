@@ -230,6 +230,13 @@ public class SQLQueries {
         public static final String GET_ACCESS_TOKEN_CLAIMS = "SELECT CLAIM_URI FROM IDN_OAUTH2_TOKEN_CLAIMS " +
                 "WHERE APP_ID=? ";
 
+        public static final String GET_APP_OIDC_PROPERTIES_SCOPE_VALIDATORS_AND_TOKEN_CLAIMS =
+                "SELECT 1 AS RECORD_TYPE, PROPERTY_KEY AS RECORD_KEY, PROPERTY_VALUE AS RECORD_VALUE " +
+                        "FROM IDN_OIDC_PROPERTY WHERE CONSUMER_KEY = ? AND TENANT_ID = ? " +
+                        "UNION ALL SELECT 2, SCOPE_VALIDATOR, SCOPE_VALIDATOR FROM IDN_OAUTH2_SCOPE_VALIDATORS " +
+                        "WHERE APP_ID = ? " +
+                        "UNION ALL SELECT 3, CLAIM_URI, CLAIM_URI FROM IDN_OAUTH2_TOKEN_CLAIMS WHERE APP_ID = ?";
+
         public static final String REMOVE_ACCESS_TOKEN_CLAIMS = "DELETE FROM IDN_OAUTH2_TOKEN_CLAIMS " +
                 "WHERE APP_ID=?";
 
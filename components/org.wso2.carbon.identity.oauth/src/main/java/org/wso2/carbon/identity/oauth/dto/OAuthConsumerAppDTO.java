@@ -78,6 +78,8 @@ public class OAuthConsumerAppDTO implements InboundProtocolConfigurationDTO {
     private String requestObjectEncryptionMethod;
     private String jwksURI;
     private boolean fapiConformanceEnabled;
+    private String cibaTokenDeliveryMode;
+    private String cibaClientNotificationEndpoint;
     private boolean subjectTokenEnabled;
     private int subjectTokenExpiryTime;
     private String[] accessTokenClaims;
@@ -484,6 +486,26 @@ public class OAuthConsumerAppDTO implements InboundProtocolConfigurationDTO {
         fapiConformanceEnabled = fapiConformant;
     }
 
+    public String getCibaTokenDeliveryMode() {
+
+        return cibaTokenDeliveryMode;
+    }
+
+    public void setCibaTokenDeliveryMode(String cibaTokenDeliveryMode) {
+
+        this.cibaTokenDeliveryMode = cibaTokenDeliveryMode;
+    }
+
+    public String getCibaClientNotificationEndpoint() {
+
+        return cibaClientNotificationEndpoint;
+    }
+
+    public void setCibaClientNotificationEndpoint(String cibaClientNotificationEndpoint) {
+
+        this.cibaClientNotificationEndpoint = cibaClientNotificationEndpoint;
+    }
+
     @Override
     public String fetchProtocolName() {
 
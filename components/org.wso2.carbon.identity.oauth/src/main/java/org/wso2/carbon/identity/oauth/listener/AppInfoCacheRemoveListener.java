@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.listener;
+
+import org.wso2.carbon.identity.core.cache.AbstractCacheListener;
+import org.wso2.carbon.identity.oauth.cache.AppInfoNearCache;
+import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
+
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryListenerException;
+import javax.cache.event.CacheEntryRemovedListener;
+
+/**
+ * Cache listener to keep the {@link AppInfoNearCache} in sync with the AppInfoCache.
+ */
+public class AppInfoCacheRemoveListener extends AbstractCacheListener<String, OAuthAppDO>
+        implements CacheEntryRemovedListener<String, OAuthAppDO> {
+
+    @Override
+    public void entryRemoved(CacheEntryEvent<? extends String, ? extends OAuthAppDO> cacheEntryEvent)
+            throws CacheEntryListenerException {
+
+        /*
+         The near-cache entry is dropped for every removal, including the ones triggered by cluster invalidation
+         messages, so that an updated or deleted application is not served from the near-cache of another node.
+        */
+        if (cacheEntryEvent != null) {
+            AppInfoNearCache.getInstance().invalidate(cacheEntryEvent.getKey());
+        }
+    }
+}
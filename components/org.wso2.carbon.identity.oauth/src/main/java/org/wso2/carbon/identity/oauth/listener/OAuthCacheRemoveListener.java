@@ -22,6 +22,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.application.authentication.framework.exception.UserIdNotFoundException;
 import org.wso2.carbon.identity.core.cache.AbstractCacheListener;
+import org.wso2.carbon.identity.oauth.cache.AccessTokenNearCache;
 import org.wso2.carbon.identity.oauth.cache.CacheEntry;
 import org.wso2.carbon.identity.oauth.cache.OAuthCache;
 import org.wso2.carbon.identity.oauth.cache.OAuthCacheKey;
@@ -44,6 +45,11 @@ public class OAuthCacheRemoveListener extends AbstractCacheListener<OAuthCacheKe
     public void entryRemoved(CacheEntryEvent<? extends OAuthCacheKey, ? extends CacheEntry> cacheEntryEvent)
             throws CacheEntryListenerException {
 
+        /*
+         The near-cache entry is dropped for every removal, including the ones triggered by cluster invalidation
+         messages, so that it never serves a token that was cleared from the OAuthCache.
+        */
+        AccessTokenNearCache.getInstance().invalidate(cacheEntryEvent.getKey());
         CacheEntry cacheEntry = cacheEntryEvent.getValue();
         if (!(cacheEntry instanceof AccessTokenDO)) {
             return;
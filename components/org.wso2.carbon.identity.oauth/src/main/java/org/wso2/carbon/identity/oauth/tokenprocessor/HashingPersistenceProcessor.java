@@ -39,6 +39,13 @@ public class HashingPersistenceProcessor implements TokenPersistenceProcessor {
     protected static final Log LOG = LogFactory.getLog(HashingPersistenceProcessor.class);
     public static final String ALGORITHM = "algorithm";
     public static final String HASH = "hash";
+    private static final ThreadLocal<HashContext> HASH_CONTEXT = new ThreadLocal<>();
+
+    /*
+     Resolved on the first hash rather than at construction, since the configuration instantiates its persistence
+     processor while it is being built.
+    */
+    private volatile String hashAlgorithm;
 
     @Override
     public String getProcessedClientId(String clientId) throws IdentityOAuth2Exception {
@@ -113,22 +120,28 @@ public class HashingPersistenceProcessor implements TokenPersistenceProcessor {
             throw new IdentityOAuth2Exception("plainText value is null or empty to be hash.");
         }
 
-        MessageDigest messageDigest = null;
-        byte[] hash = null;
-        String hashAlgorithm = OAuthServerConfiguration.getInstance().getHashAlgorithm();
-        try {
-            messageDigest = MessageDigest.getInstance(hashAlgorithm);
-            messageDigest.update(plainText.getBytes(StandardCharsets.UTF_8));
-            hash = messageDigest.digest();
-
-        } catch (NoSuchAlgorithmException e) {
-            throw new IdentityOAuth2Exception(
-                    "Error while retrieving MessageDigest for the provided hash algorithm: " + hashAlgorithm, e);
+        String hashAlgorithm = getHashAlgorithm();
+        HashContext hashContext = HASH_CONTEXT.get();
+        if (hashContext == null || !hashContext.algorithm.equals(hashAlgorithm)) {
+            try {
+                hashContext = new HashContext(hashAlgorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IdentityOAuth2Exception(
+                        "Error while retrieving MessageDigest for the provided hash algorithm: " + hashAlgorithm, e);
+            }
+            HASH_CONTEXT.set(hashContext);
+        }
+        return hashContext.hash(plainText);
+    }
+
+    private String getHashAlgorithm() {
+
+        String algorithm = hashAlgorithm;
+        if (algorithm == null) {
+            algorithm = OAuthServerConfiguration.getInstance().getHashAlgorithm();
+            hashAlgorithm = algorithm;
         }
-        JSONObject object = new JSONObject();
-        object.put(ALGORITHM, hashAlgorithm);
-        object.put(HASH, bytesToHex(hash));
-        return object.toString();
+        return algorithm;
     }
 
     private static String bytesToHex(byte[] bytes) {
@@ -139,4 +152,88 @@ public class HashingPersistenceProcessor implements TokenPersistenceProcessor {
         }
         return result.toString();
     }
+
+    /**
+     * Per thread hashing state of a hash algorithm: a reusable message digest, the input buffer for ASCII values and
+     * the pre-rendered parts of the JSON document stored as the hash.
+     */
+    private static final class HashContext {
+
+        private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+        private static final int MAX_BUFFERED_INPUT_LENGTH = 4096;
+
+        private final String algorithm;
+        private final MessageDigest messageDigest;
+        private final char[] prefix;
+        private final char[] suffix;
+        private byte[] inputBuffer = new byte[128];
+
+        private HashContext(String algorithm) throws NoSuchAlgorithmException {
+
+            this.algorithm = algorithm;
+            this.messageDigest = MessageDigest.getInstance(algorithm);
+
+            /*
+             Render the stored JSON document once with a placeholder hash, so that the property order and escaping
+             stay exactly as JSONObject produces them, and only the hex digits are filled in per hash.
+            */
+            String placeholder = StringUtils.repeat("f", messageDigest.getDigestLength() * 2);
+            JSONObject object = new JSONObject();
+            object.put(ALGORITHM, algorithm);
+            object.put(HASH, placeholder);
+            String template = object.toString();
+            int placeholderIndex = template.indexOf("\"" + placeholder + "\"");
+            if (messageDigest.getDigestLength() > 0 && placeholderIndex >= 0) {
+                this.prefix = template.substring(0, placeholderIndex + 1).toCharArray();
+                this.suffix = template.substring(placeholderIndex + 1 + placeholder.length()).toCharArray();
+            } else {
+                this.prefix = null;
+                this.suffix = null;
+            }
+        }
+
+        private String hash(String plainText) {
+
+            int length = plainText.length();
+            byte[] hash;
+            if (length <= MAX_BUFFERED_INPUT_LENGTH && isAscii(plainText)) {
+                if (inputBuffer.length < length) {
+                    inputBuffer = new byte[Math.max(length, inputBuffer.length * 2)];
+                }
+                for (int i = 0; i < length; i++) {
+                    inputBuffer[i] = (byte) plainText.charAt(i);
+                }
+                messageDigest.update(inputBuffer, 0, length);
+                hash = messageDigest.digest();
+            } else {
+                hash = messageDigest.digest(plainText.getBytes(StandardCharsets.UTF_8));
+            }
+
+            if (prefix == null) {
+                JSONObject object = new JSONObject();
+                object.put(ALGORITHM, algorithm);
+                object.put(HASH, bytesToHex(hash));
+                return object.toString();
+            }
+            char[] document = new char[prefix.length + hash.length * 2 + suffix.length];
+            System.arraycopy(prefix, 0, document, 0, prefix.length);
+            int position = prefix.length;
+            for (byte hashByte : hash) {
+                document[position++] = HEX_DIGITS[(hashByte >> 4) & 0x0f];
+                document[position++] = HEX_DIGITS[hashByte & 0x0f];
+            }
+            System.arraycopy(suffix, 0, document, position, suffix.length);
+            return new String(document);
+        }
+
+        private static boolean isAscii(String value) {
+
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) >= 0x80) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
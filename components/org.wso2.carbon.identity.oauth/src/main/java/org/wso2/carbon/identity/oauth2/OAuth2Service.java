@@ -62,6 +62,8 @@ import org.wso2.carbon.identity.oauth2.model.SubjectTokenDO;
 import org.wso2.carbon.identity.oauth2.token.AccessTokenIssuer;
 import org.wso2.carbon.identity.oauth2.token.SubjectTokenIssuer;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinder;
+import org.wso2.carbon.identity.oauth2.token.lock.TokenIssuanceLock;
+import org.wso2.carbon.identity.oauth2.token.lock.TokenIssuanceLockManager;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.openidconnect.model.Constants;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
@@ -727,8 +729,8 @@ public class OAuth2Service extends AbstractAdmin {
                         OAuthUtil.clearOAuthCache(accessTokenDO);
                         String scope = OAuth2Util.buildScopeString(accessTokenDO.getScope());
                         String userId = accessTokenDO.getAuthzUser().getUserId();
-                        synchronized ((revokeRequestDTO.getConsumerKey() + ":" + userId + ":" + scope + ":"
-                                + tokenBindingReference).intern()) {
+                        try (TokenIssuanceLock issuanceLock = TokenIssuanceLockManager.lock(
+                                revokeRequestDTO.getConsumerKey(), userId, scope, tokenBindingReference)) {
                             getRevocationProcessor().revokeAccessToken(revokeRequestDTO, accessTokenDO);
                         }
                         addRevokeResponseHeaders(revokeResponseDTO,
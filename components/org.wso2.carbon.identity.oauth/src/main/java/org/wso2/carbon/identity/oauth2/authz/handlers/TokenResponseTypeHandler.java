@@ -49,6 +49,8 @@ import org.wso2.carbon.identity.oauth2.dto.OAuth2AuthorizeRespDTO;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.AuthzCodeDO;
 import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
+import org.wso2.carbon.identity.oauth2.token.lock.TokenIssuanceLock;
+import org.wso2.carbon.identity.oauth2.token.lock.TokenIssuanceLockManager;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.openidconnect.IDTokenBuilder;
 
@@ -138,7 +140,8 @@ public class TokenResponseTypeHandler extends AbstractResponseTypeHandler {
 
         AccessTokenDO tokenDO = null;
 
-        synchronized ((consumerKey + ":" + authorizedUserId + ":" + scope).intern()) {
+        try (TokenIssuanceLock issuanceLock = TokenIssuanceLockManager.lock(consumerKey, authorizedUserId, scope,
+                null)) {
 
             AccessTokenDO existingAccessTokenDO = null;
             /*
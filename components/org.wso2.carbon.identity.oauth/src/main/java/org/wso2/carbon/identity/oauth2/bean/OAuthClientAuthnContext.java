@@ -35,6 +35,7 @@ public class OAuthClientAuthnContext extends MessageContext {
     private List<String> executedAuthenticators = new ArrayList<String>();
     private String errorMessage;
     private String errorCode;
+    private long authenticationTimeNanos;
 
     /**
      * Get authenticated client id.
@@ -154,4 +155,24 @@ public class OAuthClientAuthnContext extends MessageContext {
 
         return this.executedAuthenticators.size() > 1;
     }
+
+    /**
+     * Get the time taken to authenticate the client. Only measured while the token endpoint metrics are enabled.
+     *
+     * @return Client authentication time in nanoseconds, or 0 if it was not measured.
+     */
+    public long getAuthenticationTimeNanos() {
+
+        return authenticationTimeNanos;
+    }
+
+    /**
+     * Set the time taken to authenticate the client.
+     *
+     * @param authenticationTimeNanos Client authentication time in nanoseconds.
+     */
+    public void setAuthenticationTimeNanos(long authenticationTimeNanos) {
+
+        this.authenticationTimeNanos = authenticationTimeNanos;
+    }
 }
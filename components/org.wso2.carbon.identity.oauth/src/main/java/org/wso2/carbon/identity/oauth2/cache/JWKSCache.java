@@ -23,7 +23,11 @@ import org.wso2.carbon.utils.CarbonUtils;
 
 /**
  * JWKS cache enables caching responses from JWK URIs
+ *
+ * @deprecated JWK sources are kept by
+ * {@link org.wso2.carbon.identity.oauth2.validators.jwt.JWKSourceDataProvider}, which refreshes them ahead of expiry.
  */
+@Deprecated
 public class JWKSCache extends AuthenticationBaseCache<JWKSCacheKey, JWKSCacheEntry> {
 
     private static final String JWKS_CACHE_NAME = "JWKSCache";
@@ -32,6 +32,7 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.bean.OAuthClientAuthnContext;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.ClientAuthenticationMethodModel;
+import org.wso2.carbon.identity.oauth2.token.metrics.TokenEndpointMetrics;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 
@@ -75,9 +76,15 @@ public class OAuthClientAuthnService {
      */
     public OAuthClientAuthnContext authenticateClient(HttpServletRequest request, Map<String, List> bodyContentParams) {
 
+        boolean recordTime = TokenEndpointMetrics.isEnabled();
+        long startTime = recordTime ? System.nanoTime() : 0L;
         OAuthClientAuthnContext oAuthClientAuthnContext = new OAuthClientAuthnContext();
         executeClientAuthenticators(request, oAuthClientAuthnContext, bodyContentParams);
         failOnMultipleAuthenticators(oAuthClientAuthnContext);
+        if (recordTime) {
+            // Client authentication runs before the token request is handed to the grant flow, which records it.
+            oAuthClientAuthnContext.setAuthenticationTimeNanos(System.nanoTime() - startTime);
+        }
         return oAuthClientAuthnContext;
     }
 
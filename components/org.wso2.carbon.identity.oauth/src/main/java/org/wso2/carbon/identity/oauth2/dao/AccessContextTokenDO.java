@@ -18,7 +18,11 @@
 
 package org.wso2.carbon.identity.oauth2.dao;
 
+import org.wso2.carbon.base.MultitenantConstants;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Access token context data object.
@@ -30,6 +34,10 @@ public class AccessContextTokenDO {
     private AccessTokenDO newAccessTokenDO;
     private AccessTokenDO existingAccessTokenDO;
     private String userStoreDomain;
+    private int appTenantId = MultitenantConstants.INVALID_TENANT_ID;
+    private OauthTokenIssuer oauthTokenIssuer;
+    private long enqueuedTime;
+    private final CompletableFuture<Void> flushed = new CompletableFuture<>();
 
     public AccessContextTokenDO(String accessToken, String consumerKey, AccessTokenDO newAccessTokenDO, AccessTokenDO
             existingAccessTokenDO, String userStoreDomain) {
@@ -38,6 +46,18 @@ public class AccessContextTokenDO {
         this.newAccessTokenDO = newAccessTokenDO;
         this.existingAccessTokenDO = existingAccessTokenDO;
         this.userStoreDomain = userStoreDomain;
+        this.enqueuedTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Create an access token context capturing the tenant and the token issuer of the application, since the tenant
+     * information of the issuing thread is not available to the thread which persists the token.
+     */
+    public AccessContextTokenDO(String accessToken, String consumerKey, AccessTokenDO newAccessTokenDO, AccessTokenDO
+            existingAccessTokenDO, String userStoreDomain, int appTenantId, OauthTokenIssuer oauthTokenIssuer) {
+        this(accessToken, consumerKey, newAccessTokenDO, existingAccessTokenDO, userStoreDomain);
+        this.appTenantId = appTenantId;
+        this.oauthTokenIssuer = oauthTokenIssuer;
     }
 
     public String getAccessToken() {
@@ -59,4 +79,30 @@ public class AccessContextTokenDO {
     public AccessTokenDO getExistingAccessTokenDO() {
         return existingAccessTokenDO;
     }
+
+    public int getAppTenantId() {
+        return appTenantId;
+    }
+
+    public OauthTokenIssuer getOauthTokenIssuer() {
+        return oauthTokenIssuer;
+    }
+
+    public long getEnqueuedTime() {
+        return enqueuedTime;
+    }
+
+    /**
+     * Get the future completed once the batch holding this token has been flushed, whether or not the token could be
+     * persisted.
+     *
+     * @return Flush completion of this token.
+     */
+    public CompletableFuture<Void> getFlushed() {
+        return flushed;
+    }
+
+    void markFlushed() {
+        flushed.complete(null);
+    }
 }
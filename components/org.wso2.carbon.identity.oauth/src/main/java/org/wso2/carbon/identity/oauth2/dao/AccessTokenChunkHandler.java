@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.util.List;
+
+/**
+ * Receives access tokens from the data layer one chunk at a time, so that bulk operations over the tokens of a
+ * user, an application or a tenant do not need to hold the whole token set in memory.
+ */
+@FunctionalInterface
+public interface AccessTokenChunkHandler {
+
+    /**
+     * Handle a chunk of access tokens.
+     *
+     * @param accessTokenDOs Access tokens of the current chunk. Never empty.
+     * @throws IdentityOAuth2Exception If the chunk could not be handled. Processing of the remaining chunks stops.
+     */
+    void handle(List<AccessTokenDO> accessTokenDOs) throws IdentityOAuth2Exception;
+}
@@ -18,10 +18,13 @@
 
 package org.wso2.carbon.identity.oauth2.dao;
 
+import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -38,6 +41,30 @@ public interface AccessTokenDAO {
                               AccessTokenDO newAccessTokenDO, AccessTokenDO existingAccessTokenDO,
                               String rawUserStoreDomain) throws IdentityOAuth2Exception;
 
+    /**
+     * Persist a batch of access tokens. Tokens that could not be persisted are returned to the caller instead of
+     * failing the whole batch.
+     *
+     * @param accessContextTokens Access tokens to be persisted along with their persistence context.
+     * @return Access tokens which could not be persisted.
+     */
+    default List<AccessContextTokenDO> insertAccessTokens(List<AccessContextTokenDO> accessContextTokens) {
+
+        List<AccessContextTokenDO> failedTokens = new ArrayList<>();
+        for (AccessContextTokenDO accessContextTokenDO : accessContextTokens) {
+            try {
+                insertAccessToken(accessContextTokenDO.getAccessToken(), accessContextTokenDO.getConsumerKey(),
+                        accessContextTokenDO.getNewAccessTokenDO(), accessContextTokenDO.getExistingAccessTokenDO(),
+                        accessContextTokenDO.getUserStoreDomain());
+            } catch (IdentityOAuth2Exception e) {
+                LogFactory.getLog(AccessTokenDAO.class).error("Error while persisting access token of client: " +
+                        accessContextTokenDO.getConsumerKey(), e);
+                failedTokens.add(accessContextTokenDO);
+            }
+        }
+        return failedTokens;
+    }
+
     AccessTokenDO getLatestAccessToken(String consumerKey, AuthenticatedUser authzUser, String userStoreDomain,
                                        String scope, boolean includeExpiredTokens) throws IdentityOAuth2Exception;
 
@@ -121,6 +148,73 @@ public interface AccessTokenDAO {
     Set<AccessTokenDO> getAccessTokensOfUserStore(int tenantId, String userStoreDomain) throws
             IdentityOAuth2Exception;
 
+    /**
+     * Streaming variant of {@link #getActiveAcessTokenDataByConsumerKey(String)}. Implementations read the active
+     * tokens of the application in chunks and hand each chunk to the handler, instead of materializing the whole
+     * token set of the application.
+     *
+     * @param consumerKey Consumer key of the application.
+     * @param handler     Handler invoked with each chunk of active access tokens.
+     * @throws IdentityOAuth2Exception If an error occurred while reading the access tokens.
+     */
+    default void getActiveAcessTokenDataByConsumerKey(String consumerKey, AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        Set<AccessTokenDO> accessTokenDOs = getActiveAcessTokenDataByConsumerKey(consumerKey);
+        if (accessTokenDOs != null && !accessTokenDOs.isEmpty()) {
+            handler.handle(new ArrayList<>(accessTokenDOs));
+        }
+    }
+
+    /**
+     * Streaming variant of {@link #getAccessTokensByTenant(int)}.
+     *
+     * @param tenantId Tenant id.
+     * @param handler  Handler invoked with each chunk of 'ACTIVE or EXPIRED' access tokens of the tenant.
+     * @throws IdentityOAuth2Exception If an error occurred while reading the access tokens.
+     */
+    default void getAccessTokensByTenant(int tenantId, AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        Set<AccessTokenDO> accessTokenDOs = getAccessTokensByTenant(tenantId);
+        if (accessTokenDOs != null && !accessTokenDOs.isEmpty()) {
+            handler.handle(new ArrayList<>(accessTokenDOs));
+        }
+    }
+
+    /**
+     * Streaming variant of {@link #getAccessTokensByAuthorizedOrg(String)}.
+     *
+     * @param organizationId Id of the organization the tokens are issued for.
+     * @param handler        Handler invoked with each chunk of 'ACTIVE or EXPIRED' access tokens of the organization.
+     * @throws IdentityOAuth2Exception If an error occurred while reading the access tokens.
+     */
+    default void getAccessTokensByAuthorizedOrg(String organizationId, AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        Set<AccessTokenDO> accessTokenDOs = getAccessTokensByAuthorizedOrg(organizationId);
+        if (accessTokenDOs != null && !accessTokenDOs.isEmpty()) {
+            handler.handle(new ArrayList<>(accessTokenDOs));
+        }
+    }
+
+    /**
+     * Streaming variant of {@link #getAccessTokensOfUserStore(int, String)}.
+     *
+     * @param tenantId        Tenant id.
+     * @param userStoreDomain User store domain.
+     * @param handler         Handler invoked with each chunk of 'ACTIVE or EXPIRED' access tokens of the user store.
+     * @throws IdentityOAuth2Exception If an error occurred while reading the access tokens.
+     */
+    default void getAccessTokensOfUserStore(int tenantId, String userStoreDomain, AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        Set<AccessTokenDO> accessTokenDOs = getAccessTokensOfUserStore(tenantId, userStoreDomain);
+        if (accessTokenDOs != null && !accessTokenDOs.isEmpty()) {
+            handler.handle(new ArrayList<>(accessTokenDOs));
+        }
+    }
+
     /**
      * This method is to revoke specific tokens where tokens should be plain text tokens.
      *
@@ -170,6 +264,27 @@ public interface AccessTokenDAO {
 
     void revokeAccessToken(String tokenId, String userId) throws IdentityOAuth2Exception;
 
+    /**
+     * Revoke all the active access tokens issued for the given application. Implementations revoke the tokens in
+     * chunks and hand every revoked chunk to the handler, so that callers can clear caches and fire listener events
+     * without loading the whole token set of the application.
+     *
+     * @param consumerKey Consumer key of the application.
+     * @param handler     Handler invoked with each chunk of revoked access tokens.
+     * @throws IdentityOAuth2Exception If an error occurred while revoking the access tokens.
+     */
+    default void revokeActiveAccessTokensByConsumerKey(String consumerKey, AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        Set<AccessTokenDO> accessTokenDOs = getActiveAcessTokenDataByConsumerKey(consumerKey);
+        if (accessTokenDOs == null || accessTokenDOs.isEmpty()) {
+            return;
+        }
+        revokeAccessTokens(accessTokenDOs.stream().map(AccessTokenDO::getAccessToken).toArray(String[]::new),
+                OAuth2Util.isHashEnabled());
+        handler.handle(new ArrayList<>(accessTokenDOs));
+    }
+
     void invalidateAndCreateNewAccessToken(String oldAccessTokenId, String tokenState, String consumerKey,
                                            String tokenStateId, AccessTokenDO accessTokenDO,
                                            String userStoreDomain) throws IdentityOAuth2Exception;
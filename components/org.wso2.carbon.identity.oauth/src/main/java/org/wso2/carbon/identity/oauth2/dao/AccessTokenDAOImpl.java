@@ -25,6 +25,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.oltu.oauth2.common.exception.OAuthSystemException;
+import org.wso2.carbon.base.MultitenantConstants;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.database.utils.jdbc.JdbcTemplate;
 import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
@@ -68,6 +69,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -91,6 +93,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
 
     private static final String OAUTH_TOKEN_PERSISTENCE_RETRY_COUNT = "OAuth.TokenPersistence.RetryCount";
     private static final int DEFAULT_TOKEN_PERSIST_RETRY_COUNT = 5;
+    private static final String OAUTH_TOKEN_REVOCATION_CHUNK_SIZE = "OAuth.TokenRevocation.ChunkSize";
+    private static final int DEFAULT_TOKEN_REVOCATION_CHUNK_SIZE = 500;
     private static final String IDN_OAUTH2_ACCESS_TOKEN = "IDN_OAUTH2_ACCESS_TOKEN";
     private static final String CONSENTED_TOKEN_COLUMN_NAME = "CONSENTED_TOKEN";
     private boolean isTokenCleanupFeatureEnabled = OAuthServerConfiguration.getInstance().isTokenCleanupEnabled();
@@ -113,11 +117,17 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     private void insertAccessToken(String accessToken, String consumerKey, AccessTokenDO accessTokenDO,
                                    Connection connection, String userStoreDomain) throws IdentityOAuth2Exception {
         // Start inserting access token with retryAttemptCounter set to 0.
-        insertAccessToken(accessToken, consumerKey, accessTokenDO, connection, userStoreDomain, 0);
+        insertAccessToken(accessToken, consumerKey, accessTokenDO, connection, userStoreDomain, 0, null,
+                MultitenantConstants.INVALID_TENANT_ID);
     }
 
+    /**
+     * Insert an access token. The token issuer and the tenant of the application are resolved from the carbon
+     * context unless they were captured while the token was issued.
+     */
     private void insertAccessToken(String accessToken, String consumerKey, AccessTokenDO accessTokenDO,
-                                   Connection connection, String userStoreDomain, int retryAttemptCounter)
+                                   Connection connection, String userStoreDomain, int retryAttemptCounter,
+                                   OauthTokenIssuer capturedOauthTokenIssuer, int capturedAppTenantId)
             throws IdentityOAuth2Exception {
 
         if (!isPersistenceEnabled()) {
@@ -134,23 +144,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     "Authorized user should be available for further execution.");
         }
 
-        String accessTokenHash = accessToken;
-        try {
-            OauthTokenIssuer oauthTokenIssuer = OAuth2Util.getOAuthTokenIssuerForOAuthApp(consumerKey);
-            //check for persist alias for the token type
-            if (oauthTokenIssuer.usePersistedAccessTokenAlias()) {
-                accessTokenHash = oauthTokenIssuer.getAccessTokenHash(accessToken);
-            }
-        } catch (OAuthSystemException e) {
-            if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
-                log.debug("Error while getting access token hash for token(hashed): " + DigestUtils
-                        .sha256Hex(accessTokenHash));
-            }
-            throw new IdentityOAuth2Exception("Error while getting access token hash.", e);
-        } catch (InvalidOAuthClientException e) {
-            throw new IdentityOAuth2Exception(
-                    "Error while retrieving oauth issuer for the app with clientId: " + consumerKey, e);
-        }
+        String accessTokenHash = getPersistedAccessTokenHash(accessToken, consumerKey, capturedOauthTokenIssuer);
 
         if (log.isDebugEnabled()) {
             if (IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
@@ -180,21 +174,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
             log.debug("Userstore domain for user: " + username + " is " + userDomain);
         }
 
-        String sql;
-        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-            if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
-                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN_WITH_IDP_NAME_WITH_CONSENTED_TOKEN;
-            } else {
-                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN_WITH_IDP_NAME;
-            }
-        } else {
-            if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
-                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN_WITH_CONSENTED_TOKEN;
-            } else {
-                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN;
-            }
-        }
-        sql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql, userDomain);
+        String sql = getInsertAccessTokenSql(userDomain);
         String sqlAddScopes = OAuth2Util.getTokenPartitionedSqlByUserStore(SQLQueries.INSERT_OAUTH2_TOKEN_SCOPE,
                 userDomain);
         String sqlInsertTokenExtendedAttribute = OAuth2Util.getTokenPartitionedSqlByUserStore(
@@ -204,100 +184,16 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 accessTokenDO.getAccessTokenExtendedAttributes() != null &&
                 accessTokenDO.getAccessTokenExtendedAttributes().isExtendedToken();
         try {
-            insertTokenPrepStmt = connection.prepareStatement(sql);
-            insertTokenPrepStmt.setString(1, getPersistenceProcessor().getProcessedAccessTokenIdentifier(
-                    accessTokenHash));
-
-            if (accessTokenDO.getRefreshToken() != null) {
-                insertTokenPrepStmt.setString(2,
-                        getPersistenceProcessor().getProcessedRefreshToken(accessTokenDO.getRefreshToken()));
-            } else {
-                insertTokenPrepStmt.setString(2, accessTokenDO.getRefreshToken());
-            }
-
-            insertTokenPrepStmt.setString(3, accessTokenDO.getAuthzUser().getUserName());
             String userTenantDomain = getUserResidentTenantDomain(accessTokenDO.getAuthzUser());
             int tenantId = OAuth2Util.getTenantId(userTenantDomain);
-            insertTokenPrepStmt.setInt(4, tenantId);
-            insertTokenPrepStmt.setString(5, OAuth2Util.getSanitizedUserStoreDomain(userDomain));
-            insertTokenPrepStmt
-                    .setTimestamp(6, accessTokenDO.getIssuedTime(), Calendar.getInstance(TimeZone.getTimeZone(UTC)));
-            insertTokenPrepStmt.setTimestamp(7, accessTokenDO.getRefreshTokenIssuedTime(), Calendar.getInstance(TimeZone
-                    .getTimeZone(UTC)));
-            insertTokenPrepStmt.setLong(8, accessTokenDO.getValidityPeriodInMillis());
-            insertTokenPrepStmt.setLong(9, accessTokenDO.getRefreshTokenValidityPeriodInMillis());
-            insertTokenPrepStmt.setString(10, OAuth2Util.hashScopes(accessTokenDO.getScope()));
-            insertTokenPrepStmt.setString(11, accessTokenDO.getTokenState());
-            insertTokenPrepStmt.setString(12, accessTokenDO.getTokenType());
-            insertTokenPrepStmt.setString(13, accessTokenDO.getTokenId());
-            insertTokenPrepStmt.setString(14, accessTokenDO.getGrantType());
-            insertTokenPrepStmt.setString(15, accessTokenDO.getAuthzUser().getAuthenticatedSubjectIdentifier());
-            insertTokenPrepStmt
-                    .setString(16, getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(accessTokenHash));
-            if (accessTokenDO.getRefreshToken() != null) {
-                insertTokenPrepStmt.setString(17,
-                        getHashingPersistenceProcessor().getProcessedRefreshToken(accessTokenDO.getRefreshToken()));
-            } else {
-                insertTokenPrepStmt.setString(17, accessTokenDO.getRefreshToken());
-            }
-            boolean tokenBindingAvailable = isTokenBindingAvailable(accessTokenDO.getTokenBinding());
-            if (tokenBindingAvailable) {
-                insertTokenPrepStmt.setString(18, accessTokenDO.getTokenBinding().getBindingReference());
-            } else {
-                insertTokenPrepStmt.setString(18, NONE);
-            }
-
-            String authorizedOrganization = accessTokenDO.getAuthzUser().getAccessingOrganization();
-            if (StringUtils.isBlank(authorizedOrganization)) {
-                authorizedOrganization = OAuthConstants.AuthorizedOrganization.NONE;
-            }
-            insertTokenPrepStmt.setString(19, authorizedOrganization);
-
-            int appTenantId = IdentityTenantUtil.getLoginTenantId();
-            String applicationResidentOrgId = PrivilegedCarbonContext.getThreadLocalCarbonContext()
-                    .getApplicationResidentOrganizationId();
-            /*
-             If applicationResidentOrgId is not empty, then the request comes for an application which is registered
-             directly in the organization of the applicationResidentOrgId. Therefore, we need to resolve the
-             tenant domain of the organization to get the application tenant id.
-            */
-            if (StringUtils.isNotEmpty(applicationResidentOrgId)) {
-                try {
-                    String tenantDomain = OAuthComponentServiceHolder.getInstance().getOrganizationManager()
-                            .resolveTenantDomain(applicationResidentOrgId);
-                    appTenantId = OAuth2Util.getTenantId(tenantDomain);
-                } catch (OrganizationManagementException e) {
-                    throw new IdentityOAuth2Exception("Error while resolving tenant domain from the organization id: "
-                            + applicationResidentOrgId, e);
-                }
-            }
-            if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
-                    insertTokenPrepStmt.setString(20, Boolean.toString(accessTokenDO.isConsentedToken()));
-                    insertTokenPrepStmt.setString(21, authenticatedIDP);
-                    // Set tenant ID of the IDP by considering it is same as appTenantID.
-                    insertTokenPrepStmt.setInt(22, appTenantId);
-                    insertTokenPrepStmt.setString(23, getPersistenceProcessor().getProcessedClientId(consumerKey));
-                    insertTokenPrepStmt.setInt(24, appTenantId);
-                } else {
-                    insertTokenPrepStmt.setString(20, authenticatedIDP);
-                    // Set tenant ID of the IDP by considering it is same as appTenantID.
-                    insertTokenPrepStmt.setInt(21, appTenantId);
-                    insertTokenPrepStmt.setString(22, getPersistenceProcessor().getProcessedClientId(consumerKey));
-                    insertTokenPrepStmt.setInt(23, appTenantId);
-                }
-            } else {
-                if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
-                    insertTokenPrepStmt.setString(20, Boolean.toString(accessTokenDO.isConsentedToken()));
-                    insertTokenPrepStmt.setString(21, getPersistenceProcessor().getProcessedClientId(consumerKey));
-                    insertTokenPrepStmt.setInt(22, appTenantId);
-                } else {
-                    insertTokenPrepStmt.setString(20, getPersistenceProcessor().getProcessedClientId(consumerKey));
-                    insertTokenPrepStmt.setInt(21, appTenantId);
-                }
-            }
+            int appTenantId = capturedAppTenantId != MultitenantConstants.INVALID_TENANT_ID ? capturedAppTenantId :
+                    resolveAppTenantId();
+            insertTokenPrepStmt = connection.prepareStatement(sql);
+            setInsertAccessTokenParams(insertTokenPrepStmt, accessTokenHash, consumerKey, accessTokenDO, userDomain,
+                    authenticatedIDP, tenantId, appTenantId);
             insertTokenPrepStmt.executeUpdate();
 
+            boolean tokenBindingAvailable = isTokenBindingAvailable(accessTokenDO.getTokenBinding());
             String accessTokenId = accessTokenDO.getTokenId();
             addScopePrepStmt = connection.prepareStatement(sqlAddScopes);
 
@@ -363,7 +259,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
             }
 
             recoverFromConAppKeyConstraintViolation(accessToken, consumerKey, accessTokenDO, connection,
-                    userStoreDomain, retryAttemptCounter + 1);
+                    userStoreDomain, retryAttemptCounter + 1, capturedOauthTokenIssuer, capturedAppTenantId);
         } catch (DataTruncation e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
             throw new IdentityOAuth2Exception("Invalid request", e);
@@ -382,7 +278,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 }
 
                 recoverFromConAppKeyConstraintViolation(accessToken, consumerKey, accessTokenDO,
-                        connection, userStoreDomain, retryAttemptCounter + 1);
+                        connection, userStoreDomain, retryAttemptCounter + 1, capturedOauthTokenIssuer,
+                        capturedAppTenantId);
             } else {
                 throw new IdentityOAuth2Exception(
                         "Error when storing the access token for consumer key : " + consumerKey, e);
@@ -405,7 +302,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 }
 
                 recoverFromConAppKeyConstraintViolation(accessToken, consumerKey, accessTokenDO,
-                        connection, userStoreDomain, retryAttemptCounter + 1);
+                        connection, userStoreDomain, retryAttemptCounter + 1, capturedOauthTokenIssuer,
+                        capturedAppTenantId);
             } else {
                 throw new IdentityOAuth2Exception(
                         "Error when storing the access token for consumer key : " + consumerKey, e);
@@ -425,6 +323,15 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                                      AccessTokenDO newAccessTokenDO, AccessTokenDO existingAccessTokenDO,
                                      String rawUserStoreDomain) throws IdentityOAuth2Exception {
 
+        return insertAccessToken(accessToken, consumerKey, newAccessTokenDO, existingAccessTokenDO,
+                rawUserStoreDomain, null, MultitenantConstants.INVALID_TENANT_ID);
+    }
+
+    private boolean insertAccessToken(String accessToken, String consumerKey, AccessTokenDO newAccessTokenDO,
+                                      AccessTokenDO existingAccessTokenDO, String rawUserStoreDomain,
+                                      OauthTokenIssuer capturedOauthTokenIssuer, int capturedAppTenantId)
+            throws IdentityOAuth2Exception {
+
         if (!isPersistenceEnabled()) {
             return false;
         }
@@ -451,7 +358,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                         .TOKEN_STATE_EXPIRED, UUID.randomUUID().toString(), userStoreDomain,
                         existingAccessTokenDO.getGrantType());
             }
-            insertAccessToken(accessToken, consumerKey, newAccessTokenDO, connection, userStoreDomain);
+            insertAccessToken(accessToken, consumerKey, newAccessTokenDO, connection, userStoreDomain, 0,
+                    capturedOauthTokenIssuer, capturedAppTenantId);
 
             if (isTokenCleanupFeatureEnabled && existingAccessTokenDO != null) {
                 oldTokenCleanupObject.cleanupTokenByTokenId(existingAccessTokenDO.getTokenId(), connection);
@@ -466,6 +374,219 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         }
     }
 
+    @Override
+    public List<AccessContextTokenDO> insertAccessTokens(List<AccessContextTokenDO> accessContextTokens) {
+
+        if (!isPersistenceEnabled() || CollectionUtils.isEmpty(accessContextTokens)) {
+            return Collections.emptyList();
+        }
+
+        boolean batchPersisted = false;
+        try (Connection connection = getConnection()) {
+            try {
+                insertAccessTokensInBatch(accessContextTokens, connection);
+                IdentityDatabaseUtil.commitTransaction(connection);
+                batchPersisted = true;
+            } catch (SQLException | IdentityOAuth2Exception e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                log.warn("Error while persisting a batch of " + accessContextTokens.size() + " access tokens. " +
+                        "Retrying the tokens individually.");
+                if (log.isDebugEnabled()) {
+                    log.debug("Error while persisting access tokens in batch.", e);
+                }
+            }
+            if (batchPersisted) {
+                cleanupReplacedAccessTokens(accessContextTokens, connection);
+            }
+        } catch (SQLException e) {
+            log.error("Error while closing the connection used to persist access tokens.", e);
+        }
+
+        if (batchPersisted) {
+            return Collections.emptyList();
+        }
+        return insertAccessTokensIndividually(accessContextTokens);
+    }
+
+    /**
+     * Notify the state change of the access tokens replaced by a persisted batch and clean them up if the token
+     * cleanup feature is enabled.
+     */
+    private void cleanupReplacedAccessTokens(List<AccessContextTokenDO> accessContextTokens, Connection connection) {
+
+        for (AccessContextTokenDO accessContextTokenDO : accessContextTokens) {
+            AccessTokenDO existingAccessTokenDO = accessContextTokenDO.getExistingAccessTokenDO();
+            if (existingAccessTokenDO == null) {
+                continue;
+            }
+            String grantType = existingAccessTokenDO.getGrantType();
+            boolean isRequestObjectFlow = !(StringUtils.equals(grantType, OAuthConstants.GrantTypes.CLIENT_CREDENTIALS)
+                    || StringUtils.equals(grantType, OAuthConstants.GrantTypes.PASSWORD));
+            try {
+                OAuth2TokenUtil.postUpdateAccessToken(existingAccessTokenDO.getTokenId(),
+                        OAuthConstants.TokenStates.TOKEN_STATE_EXPIRED, isRequestObjectFlow);
+                if (isTokenCleanupFeatureEnabled) {
+                    oldTokenCleanupObject.cleanupTokenByTokenId(existingAccessTokenDO.getTokenId(), connection);
+                }
+            } catch (IdentityOAuth2Exception | SQLException e) {
+                log.error("Error while cleaning up the replaced access token with id: " +
+                        existingAccessTokenDO.getTokenId(), e);
+            }
+        }
+    }
+
+    private List<AccessContextTokenDO> insertAccessTokensIndividually(List<AccessContextTokenDO> accessContextTokens) {
+
+        List<AccessContextTokenDO> failedTokens = new ArrayList<>();
+        for (AccessContextTokenDO accessContextTokenDO : accessContextTokens) {
+            try {
+                // The tokens are retried on the persisting thread, so the issuer and the tenant of the application
+                // captured while issuing the token are used instead of the carbon context of this thread.
+                insertAccessToken(accessContextTokenDO.getAccessToken(), accessContextTokenDO.getConsumerKey(),
+                        accessContextTokenDO.getNewAccessTokenDO(), accessContextTokenDO.getExistingAccessTokenDO(),
+                        accessContextTokenDO.getUserStoreDomain(), accessContextTokenDO.getOauthTokenIssuer(),
+                        accessContextTokenDO.getAppTenantId());
+            } catch (IdentityOAuth2Exception e) {
+                log.error("Error while persisting access token of client: " + accessContextTokenDO.getConsumerKey(),
+                        e);
+                failedTokens.add(accessContextTokenDO);
+            }
+        }
+        return failedTokens;
+    }
+
+    /**
+     * Add the given access tokens, their scopes, bindings and extended attributes to JDBC batches and execute them
+     * on the given connection. Statements are executed in the order they were first used so that the token rows are
+     * written before the rows referring to them. A token replacing a token of the same batch starts a new set of
+     * batches, since the replaced token has to be written before its state is updated, and its state has to be updated
+     * before the new token is written. The transaction is not committed by this method.
+     */
+    private void insertAccessTokensInBatch(List<AccessContextTokenDO> accessContextTokens, Connection connection)
+            throws IdentityOAuth2Exception, SQLException {
+
+        Map<String, PreparedStatement> batchStatements = new LinkedHashMap<>();
+        Set<String> batchedTokenIds = new HashSet<>();
+        try {
+            for (AccessContextTokenDO accessContextTokenDO : accessContextTokens) {
+                AccessTokenDO accessTokenDO = accessContextTokenDO.getNewAccessTokenDO();
+                if (accessTokenDO == null || accessTokenDO.getAuthzUser() == null) {
+                    throw new IdentityOAuth2Exception("Access token data object with an authorized user should be " +
+                            "available for further execution.");
+                }
+                String consumerKey = accessContextTokenDO.getConsumerKey();
+                String userStoreDomain = OAuth2Util.getSanitizedUserStoreDomain(
+                        accessContextTokenDO.getUserStoreDomain());
+                AccessTokenDO existingAccessTokenDO = accessContextTokenDO.getExistingAccessTokenDO();
+                if (existingAccessTokenDO != null) {
+                    if (batchedTokenIds.contains(existingAccessTokenDO.getTokenId())) {
+                        executeBatchStatements(batchStatements);
+                        closeBatchStatements(batchStatements);
+                        batchStatements.clear();
+                        batchedTokenIds.clear();
+                    }
+                    PreparedStatement updateStateStmt = getBatchStatement(connection, batchStatements,
+                            OAuth2Util.getTokenPartitionedSqlByUserStore(SQLQueries.UPDATE_TOKEN_STATE,
+                                    userStoreDomain));
+                    updateStateStmt.setString(1, OAuthConstants.TokenStates.TOKEN_STATE_EXPIRED);
+                    updateStateStmt.setString(2, UUID.randomUUID().toString());
+                    updateStateStmt.setString(3, existingAccessTokenDO.getTokenId());
+                    updateStateStmt.addBatch();
+                }
+
+                String accessTokenHash = getPersistedAccessTokenHash(accessContextTokenDO.getAccessToken(),
+                        consumerKey, accessContextTokenDO.getOauthTokenIssuer());
+                String userDomain = OAuth2Util.getUserStoreDomain(accessTokenDO.getAuthzUser());
+                String authenticatedIDP = OAuth2Util.getAuthenticatedIDP(accessTokenDO.getAuthzUser());
+                int tenantId = OAuth2Util.getTenantId(getUserResidentTenantDomain(accessTokenDO.getAuthzUser()));
+                int appTenantId = accessContextTokenDO.getAppTenantId();
+                if (appTenantId == MultitenantConstants.INVALID_TENANT_ID) {
+                    appTenantId = resolveAppTenantId();
+                }
+                PreparedStatement insertTokenStmt = getBatchStatement(connection, batchStatements,
+                        getInsertAccessTokenSql(userDomain));
+                setInsertAccessTokenParams(insertTokenStmt, accessTokenHash, consumerKey, accessTokenDO, userDomain,
+                        authenticatedIDP, tenantId, appTenantId);
+                insertTokenStmt.addBatch();
+
+                String accessTokenId = accessTokenDO.getTokenId();
+                batchedTokenIds.add(accessTokenId);
+                if (ArrayUtils.isNotEmpty(accessTokenDO.getScope())) {
+                    PreparedStatement addScopeStmt = getBatchStatement(connection, batchStatements,
+                            OAuth2Util.getTokenPartitionedSqlByUserStore(SQLQueries.INSERT_OAUTH2_TOKEN_SCOPE,
+                                    userDomain));
+                    for (String scope : accessTokenDO.getScope()) {
+                        addScopeStmt.setString(1, accessTokenId);
+                        addScopeStmt.setString(2, scope);
+                        addScopeStmt.setInt(3, tenantId);
+                        addScopeStmt.addBatch();
+                    }
+                }
+
+                if (isTokenBindingAvailable(accessTokenDO.getTokenBinding())) {
+                    PreparedStatement tokenBindingStmt = getBatchStatement(connection, batchStatements,
+                            STORE_TOKEN_BINDING);
+                    tokenBindingStmt.setString(1, accessTokenId);
+                    tokenBindingStmt.setString(2, accessTokenDO.getTokenBinding().getBindingType());
+                    tokenBindingStmt.setString(3, accessTokenDO.getTokenBinding().getBindingReference());
+                    tokenBindingStmt.setString(4, accessTokenDO.getTokenBinding().getBindingValue());
+                    tokenBindingStmt.setInt(5, tenantId);
+                    tokenBindingStmt.addBatch();
+                }
+
+                if (OAuth2ServiceComponentHolder.isTokenExtendedTableExist() &&
+                        accessTokenDO.getAccessTokenExtendedAttributes() != null &&
+                        accessTokenDO.getAccessTokenExtendedAttributes().isExtendedToken()) {
+                    PreparedStatement extendedAttributeStmt = getBatchStatement(connection, batchStatements,
+                            OAuth2Util.getTokenPartitionedSqlByUserStore(SQLQueries.INSERT_OAUTH2_TOKEN_ATTRIBUTES,
+                                    userDomain));
+                    extendedAttributeStmt.setString(1, IS_EXTENDED_TOKEN);
+                    extendedAttributeStmt.setString(2, "true");
+                    extendedAttributeStmt.setString(3, accessTokenId);
+                    extendedAttributeStmt.addBatch();
+                    if (accessTokenDO.getAccessTokenExtendedAttributes().getParameters() != null) {
+                        for (Map.Entry<String, String> entry : accessTokenDO.getAccessTokenExtendedAttributes()
+                                .getParameters().entrySet()) {
+                            extendedAttributeStmt.setString(1, entry.getKey());
+                            extendedAttributeStmt.setString(2, entry.getValue());
+                            extendedAttributeStmt.setString(3, accessTokenId);
+                            extendedAttributeStmt.addBatch();
+                        }
+                    }
+                }
+            }
+
+            executeBatchStatements(batchStatements);
+        } finally {
+            closeBatchStatements(batchStatements);
+        }
+    }
+
+    private void executeBatchStatements(Map<String, PreparedStatement> batchStatements) throws SQLException {
+
+        for (PreparedStatement batchStatement : batchStatements.values()) {
+            batchStatement.executeBatch();
+        }
+    }
+
+    private void closeBatchStatements(Map<String, PreparedStatement> batchStatements) {
+
+        for (PreparedStatement batchStatement : batchStatements.values()) {
+            IdentityDatabaseUtil.closeStatement(batchStatement);
+        }
+    }
+
+    private PreparedStatement getBatchStatement(Connection connection, Map<String, PreparedStatement> batchStatements,
+                                                String sql) throws SQLException {
+
+        PreparedStatement prepStmt = batchStatements.get(sql);
+        if (prepStmt == null) {
+            prepStmt = connection.prepareStatement(sql);
+            batchStatements.put(sql, prepStmt);
+        }
+        return prepStmt;
+    }
+
     @Override
     public AccessTokenDO getLatestAccessToken(String consumerKey, AuthenticatedUser authzUser, String userStoreDomain,
                                               String scope, boolean includeExpiredTokens)
@@ -1523,43 +1644,17 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
             }
         }
         String accessTokenStoreTable = OAuthConstants.ACCESS_TOKEN_STORE_TABLE;
-        Connection connection = IdentityDatabaseUtil.getDBConnection();
-        PreparedStatement ps = null;
         if (tokens.length > 1) {
-            try {
-                List<String> oldTokens = new ArrayList<>();
-                String sqlQuery = SQLQueries.REVOKE_ACCESS_TOKEN.replace(IDN_OAUTH2_ACCESS_TOKEN,
-                        accessTokenStoreTable);
-                ps = connection.prepareStatement(sqlQuery);
-                for (String token : tokens) {
-                    ps.setString(1, OAuthConstants.TokenStates.TOKEN_STATE_REVOKED);
-                    ps.setString(2, UUID.randomUUID().toString());
-                    if (isHashedToken) {
-                        ps.setString(3, token);
-                    } else {
-                        ps.setString(3, getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(token));
-                    }
-                    ps.addBatch();
-                    oldTokens.add(getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(token));
-                }
-                ps.executeBatch();
-                IdentityDatabaseUtil.commitTransaction(connection);
-                if (isTokenCleanupFeatureEnabled) {
-                    if (connection.getMetaData().getDriverName().contains("Microsoft")) {
-                        /* When token is deleted, the request objects get on delete cascade except for the SQL server.
-                        Hence, invoke the event listener to revoke the request objects.*/
-                        revokeRequestObjectEntries(Arrays.asList(tokens));
-                    }
-                    oldTokenCleanupObject.cleanupTokensInBatch(oldTokens, connection);
-                }
-            } catch (SQLException e) {
-                IdentityDatabaseUtil.rollbackTransaction(connection);
-                throw new IdentityOAuth2Exception("Error occurred while revoking Access Tokens : " +
-                        Arrays.toString(tokens), e);
-            } finally {
-                IdentityDatabaseUtil.closeAllConnections(connection, null, ps);
+            int chunkSize = Math.min(getTokenChunkSize(), tokens.length);
+            String sqlQuery = SQLQueries.REVOKE_ACCESS_TOKEN.replace(IDN_OAUTH2_ACCESS_TOKEN, accessTokenStoreTable);
+            for (int from = 0; from < tokens.length; from += chunkSize) {
+                revokeAccessTokenChunk(sqlQuery, Arrays.copyOfRange(tokens, from,
+                        Math.min(tokens.length, from + chunkSize)), isHashedToken);
             }
+            return;
         }
+        Connection connection = IdentityDatabaseUtil.getDBConnection();
+        PreparedStatement ps = null;
         if (tokens.length == 1) {
             try {
                 connection.setAutoCommit(true);
@@ -1595,6 +1690,50 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         }
     }
 
+    /**
+     * Revoke a chunk of access tokens with a single JDBC batch and commit it, so that a large revocation does not
+     * hold one long running transaction over the access token table.
+     *
+     * @param sqlQuery      Revocation query.
+     * @param tokens        Tokens of the chunk.
+     * @param isHashedToken Given tokens are hashed tokens or plain text.
+     * @throws IdentityOAuth2Exception If the chunk could not be revoked.
+     */
+    private void revokeAccessTokenChunk(String sqlQuery, String[] tokens, boolean isHashedToken)
+            throws IdentityOAuth2Exception {
+
+        Connection connection = IdentityDatabaseUtil.getDBConnection();
+        PreparedStatement ps = null;
+        try {
+            List<String> oldTokens = new ArrayList<>(tokens.length);
+            ps = connection.prepareStatement(sqlQuery);
+            for (String token : tokens) {
+                String processedToken = getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(token);
+                ps.setString(1, OAuthConstants.TokenStates.TOKEN_STATE_REVOKED);
+                ps.setString(2, UUID.randomUUID().toString());
+                ps.setString(3, isHashedToken ? token : processedToken);
+                ps.addBatch();
+                oldTokens.add(processedToken);
+            }
+            ps.executeBatch();
+            IdentityDatabaseUtil.commitTransaction(connection);
+            if (isTokenCleanupFeatureEnabled) {
+                if (connection.getMetaData().getDriverName().contains("Microsoft")) {
+                    /* When token is deleted, the request objects get on delete cascade except for the SQL server.
+                    Hence, invoke the event listener to revoke the request objects.*/
+                    revokeRequestObjectEntries(Arrays.asList(tokens));
+                }
+                oldTokenCleanupObject.cleanupTokensInBatch(oldTokens, connection);
+            }
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityOAuth2Exception("Error occurred while revoking Access Tokens : " +
+                    Arrays.toString(tokens), e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, ps);
+        }
+    }
+
     /**
      * Revoke the access token(s) individually. Token(s) which is reached here will be a plain text tokens.
      *
@@ -2074,6 +2213,226 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         return activeDetailedTokens;
     }
 
+    @Override
+    public void revokeActiveAccessTokensByConsumerKey(String consumerKey, AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Revoking active access tokens of client: " + consumerKey + " in chunks.");
+        }
+        revokeActiveAccessTokensByConsumerKey(consumerKey, IdentityUtil.getPrimaryDomainName(), handler);
+
+        if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
+            Map<String, String> availableDomainMappings = OAuth2Util.getAvailableUserStoreDomainMappings();
+            for (Map.Entry<String, String> availableDomainMapping : availableDomainMappings.entrySet()) {
+                revokeActiveAccessTokensByConsumerKey(consumerKey, availableDomainMapping.getKey(), handler);
+            }
+        }
+    }
+
+    /**
+     * Revokes the active access tokens of the given application stored in the table of the given user store. The
+     * tokens are walked in token id order, one chunk at a time, and each chunk is committed before it is handed to
+     * the handler.
+     *
+     * @param consumerKey     Consumer key of the application.
+     * @param userStoreDomain User store domain used to resolve the partitioned token table.
+     * @param handler         Handler invoked with each chunk of revoked access tokens.
+     * @throws IdentityOAuth2Exception If an error occurred while revoking the access tokens.
+     */
+    private void revokeActiveAccessTokensByConsumerKey(String consumerKey, String userStoreDomain,
+                                                       AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        int chunkSize = getTokenChunkSize();
+        int appTenantId = IdentityTenantUtil.getLoginTenantId();
+        String lastTokenId = null;
+        while (true) {
+            List<AccessTokenDO> accessTokenDOs = getActiveAccessTokenChunkByConsumerKey(consumerKey, appTenantId,
+                    userStoreDomain, lastTokenId, chunkSize);
+            if (accessTokenDOs.isEmpty()) {
+                return;
+            }
+            revokeAccessTokenChunkByTokenId(accessTokenDOs, userStoreDomain);
+            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+                accessTokenDO.setTokenState(OAuthConstants.TokenStates.TOKEN_STATE_REVOKED);
+            }
+            handler.handle(accessTokenDOs);
+            if (accessTokenDOs.size() < chunkSize) {
+                return;
+            }
+            lastTokenId = accessTokenDOs.get(accessTokenDOs.size() - 1).getTokenId();
+        }
+    }
+
+    @Override
+    public void getActiveAcessTokenDataByConsumerKey(String consumerKey, AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving active access tokens for client: " + consumerKey + " in chunks.");
+        }
+        getActiveAcessTokenDataByConsumerKey(consumerKey, IdentityUtil.getPrimaryDomainName(), handler);
+
+        if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
+            Map<String, String> availableDomainMappings = OAuth2Util.getAvailableUserStoreDomainMappings();
+            for (Map.Entry<String, String> availableDomainMapping : availableDomainMappings.entrySet()) {
+                getActiveAcessTokenDataByConsumerKey(consumerKey, availableDomainMapping.getKey(), handler);
+            }
+        }
+    }
+
+    private void getActiveAcessTokenDataByConsumerKey(String consumerKey, String userStoreDomain,
+                                                      AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        int chunkSize = getTokenChunkSize();
+        int appTenantId = IdentityTenantUtil.getLoginTenantId();
+        String lastTokenId = null;
+        while (true) {
+            List<AccessTokenDO> accessTokenDOs = getActiveAccessTokenChunkByConsumerKey(consumerKey, appTenantId,
+                    userStoreDomain, lastTokenId, chunkSize);
+            if (accessTokenDOs.isEmpty()) {
+                return;
+            }
+            handler.handle(accessTokenDOs);
+            if (accessTokenDOs.size() < chunkSize) {
+                return;
+            }
+            lastTokenId = accessTokenDOs.get(accessTokenDOs.size() - 1).getTokenId();
+        }
+    }
+
+    private List<AccessTokenDO> getActiveAccessTokenChunkByConsumerKey(String consumerKey, int appTenantId,
+                                                                      String userStoreDomain, String lastTokenId,
+                                                                      int chunkSize)
+            throws IdentityOAuth2Exception {
+
+        boolean isIDPIdColumnEnabled = OAuth2ServiceComponentHolder.isIDPIdColumnEnabled();
+        String sqlQuery = isIDPIdColumnEnabled ? SQLQueries.GET_ACTIVE_TOKEN_CHUNK_FOR_CONSUMER_KEY_IDP_NAME :
+                SQLQueries.GET_ACTIVE_TOKEN_CHUNK_FOR_CONSUMER_KEY;
+        // The first chunk is read without a keyset condition, as an empty string is null on some databases.
+        sqlQuery = sqlQuery.replace(SQLQueries.TOKEN_ID_KEYSET_PLACEHOLDER,
+                lastTokenId == null ? "" : SQLQueries.TOKEN_ID_KEYSET_CONDITION);
+        sqlQuery = OAuth2Util.getTokenPartitionedSqlByUserStore(sqlQuery, userStoreDomain);
+        Map<String, AccessTokenDO> tokenMap = new LinkedHashMap<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            try (PreparedStatement ps = connection.prepareStatement(sqlQuery)) {
+                ps.setMaxRows(chunkSize);
+                ps.setString(1, consumerKey);
+                ps.setInt(2, appTenantId);
+                ps.setString(3, OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE);
+                if (lastTokenId != null) {
+                    ps.setString(4, lastTokenId);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String tokenId = rs.getString(1);
+                        String authorizedOrganizationId = rs.getString(7);
+                        String authenticatedIDP = isIDPIdColumnEnabled ? rs.getString(9) : null;
+                        AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(rs.getString(3),
+                                rs.getString(5), OAuth2Util.getTenantDomain(rs.getInt(4)), authenticatedIDP,
+                                authorizedOrganizationId, appTenantId);
+                        user.setAuthenticatedSubjectIdentifier(rs.getString(6));
+
+                        AccessTokenDO accessTokenDO = new AccessTokenDO();
+                        accessTokenDO.setTokenId(tokenId);
+                        accessTokenDO.setAccessToken(rs.getString(2));
+                        accessTokenDO.setConsumerKey(consumerKey);
+                        accessTokenDO.setTenantID(appTenantId);
+                        accessTokenDO.setAuthzUser(user);
+                        accessTokenDO.setAuthorizedOrganizationId(authorizedOrganizationId);
+                        accessTokenDO.setScope(new String[0]);
+                        accessTokenDO.setTokenState(OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE);
+                        String tokenBindingReference = rs.getString(8);
+                        if (isNotBlank(tokenBindingReference) && !NONE.equals(tokenBindingReference)) {
+                            TokenBinding tokenBinding = new TokenBinding();
+                            tokenBinding.setBindingReference(tokenBindingReference);
+                            accessTokenDO.setTokenBinding(tokenBinding);
+                        }
+                        tokenMap.put(tokenId, accessTokenDO);
+                    }
+                }
+            }
+            if (!tokenMap.isEmpty()) {
+                populateScopesOfTokenChunk(connection, tokenMap, userStoreDomain);
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error occurred while retrieving a chunk of active access tokens " +
+                    "of the application with consumer key : " + consumerKey, e);
+        }
+        return new ArrayList<>(tokenMap.values());
+    }
+
+    private void populateScopesOfTokenChunk(Connection connection, Map<String, AccessTokenDO> tokenMap,
+                                            String userStoreDomain) throws SQLException, IdentityOAuth2Exception {
+
+        String placeholder = String.join(", ", Collections.nCopies(tokenMap.size(), "?"));
+        String sqlQuery = OAuth2Util.getTokenPartitionedSqlByUserStore(SQLQueries.GET_SCOPES_FOR_TOKEN_IDS
+                .replace(SQLQueries.TOKEN_ID_LIST_PLACEHOLDER, placeholder), userStoreDomain);
+        Map<String, List<String>> scopes = new HashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(sqlQuery)) {
+            int index = 1;
+            for (String tokenId : tokenMap.keySet()) {
+                ps.setString(index++, tokenId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    scopes.computeIfAbsent(rs.getString(1), tokenId -> new ArrayList<>()).add(rs.getString(2));
+                }
+            }
+        }
+        for (Map.Entry<String, List<String>> tokenScopes : scopes.entrySet()) {
+            tokenMap.get(tokenScopes.getKey()).setScope(tokenScopes.getValue().toArray(new String[0]));
+        }
+    }
+
+    /**
+     * Revokes the given tokens by token id with one JDBC batch. The update is guarded by the active state, so a token
+     * revoked concurrently by another flow is not touched again. Every row gets its own token state id since the
+     * state id is part of the unique key of the access token table.
+     *
+     * @param accessTokenDOs  Tokens to be revoked.
+     * @param userStoreDomain User store domain used to resolve the partitioned token table.
+     * @throws IdentityOAuth2Exception If the tokens could not be revoked.
+     */
+    private void revokeAccessTokenChunkByTokenId(List<AccessTokenDO> accessTokenDOs, String userStoreDomain)
+            throws IdentityOAuth2Exception {
+
+        String sqlQuery = OAuth2Util.getTokenPartitionedSqlByUserStore(
+                SQLQueries.REVOKE_ACTIVE_ACCESS_TOKEN_BY_TOKEN_ID, userStoreDomain);
+        List<String> tokenIds = new ArrayList<>(accessTokenDOs.size());
+        Connection connection = IdentityDatabaseUtil.getDBConnection();
+        PreparedStatement ps = null;
+        try {
+            ps = connection.prepareStatement(sqlQuery);
+            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+                ps.setString(1, OAuthConstants.TokenStates.TOKEN_STATE_REVOKED);
+                ps.setString(2, UUID.randomUUID().toString());
+                ps.setString(3, accessTokenDO.getTokenId());
+                ps.setString(4, OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE);
+                ps.addBatch();
+                tokenIds.add(accessTokenDO.getTokenId());
+            }
+            ps.executeBatch();
+            IdentityDatabaseUtil.commitTransaction(connection);
+            if (isTokenCleanupFeatureEnabled) {
+                if (connection.getMetaData().getDriverName().contains("Microsoft")) {
+                    /* When token is deleted, the request objects get on delete cascade except for the SQL server.
+                    Hence, invoke the event listener to revoke the request objects.*/
+                    revokeRequestObjectEntries(tokenIds);
+                }
+                oldTokenCleanupObject.cleanupTokensInBatchByTokenId(tokenIds, connection);
+            }
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityOAuth2Exception("Error occurred while revoking a chunk of " + tokenIds.size() +
+                    " access tokens", e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, ps);
+        }
+    }
+
     /**
      * This method is used invalidate the existing token and generate a new toke within one DB transaction.
      *
@@ -2434,6 +2793,167 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         return new HashSet<>(accessTokenDOMap.values());
     }
 
+    @Override
+    public void getAccessTokensByTenant(int tenantId, AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving all access tokens of tenant id: " + tenantId + " in chunks.");
+        }
+        String sqlQuery = OAuth2ServiceComponentHolder.isIDPIdColumnEnabled() ?
+                SQLQueries.LIST_TOKEN_CHUNK_IN_TENANT_IDP_NAME : SQLQueries.LIST_TOKEN_CHUNK_IN_TENANT;
+        String rootTenantDomain = getRootTenantDomainByOrganizationId(
+                resolveOrganizationId(IdentityTenantUtil.getTenantDomain(tenantId)));
+        Object[] parameters = {tenantId};
+
+        getAccessTokenChunks(sqlQuery, IdentityUtil.getPrimaryDomainName(), parameters, rootTenantDomain, handler);
+        if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
+            Map<String, String> availableDomainMappings = OAuth2Util.getAvailableUserStoreDomainMappings();
+            for (Map.Entry<String, String> availableDomainMapping : availableDomainMappings.entrySet()) {
+                getAccessTokenChunks(sqlQuery, availableDomainMapping.getKey(), parameters, rootTenantDomain,
+                        handler);
+            }
+        }
+    }
+
+    @Override
+    public void getAccessTokensByAuthorizedOrg(String organizationId, AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving all access tokens issued for organization id: " + organizationId + " in chunks.");
+        }
+        String sqlQuery = OAuth2ServiceComponentHolder.isIDPIdColumnEnabled() ?
+                SQLQueries.LIST_TOKEN_CHUNK_ISSUED_FOR_ORGANIZATION_IDP_NAME :
+                SQLQueries.LIST_TOKEN_CHUNK_ISSUED_FOR_ORGANIZATION;
+        String rootTenantDomain = getRootTenantDomainByOrganizationId(organizationId);
+        Object[] parameters = {organizationId};
+
+        getAccessTokenChunks(sqlQuery, IdentityUtil.getPrimaryDomainName(), parameters, rootTenantDomain, handler);
+        if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
+            Map<String, String> availableDomainMappings = OAuth2Util.getAvailableUserStoreDomainMappings();
+            for (Map.Entry<String, String> availableDomainMapping : availableDomainMappings.entrySet()) {
+                getAccessTokenChunks(sqlQuery, availableDomainMapping.getKey(), parameters, rootTenantDomain,
+                        handler);
+            }
+        }
+    }
+
+    @Override
+    public void getAccessTokensOfUserStore(int tenantId, String userStoreDomain, AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving all ACTIVE and EXPIRED access tokens of userstore: " + userStoreDomain + " tenant " +
+                    "id: " + tenantId + " in chunks.");
+        }
+        userStoreDomain = OAuth2Util.getSanitizedUserStoreDomain(userStoreDomain);
+        String sqlQuery = OAuth2ServiceComponentHolder.isIDPIdColumnEnabled() ?
+                SQLQueries.LIST_TOKEN_CHUNK_IN_USER_STORE_IDP_NAME : SQLQueries.LIST_TOKEN_CHUNK_IN_USER_STORE;
+        // The tokens of a user store are not bound to an organization, hence no root tenant domain is resolved.
+        getAccessTokenChunks(sqlQuery, userStoreDomain, new Object[]{tenantId, userStoreDomain}, null, handler);
+    }
+
+    /**
+     * Reads the 'ACTIVE or EXPIRED' access tokens matched by the given chunk query from the table of the given user
+     * store, walking them in token id order and handing one chunk at a time to the handler.
+     *
+     * @param sqlQuery         One of the keyset paginated token chunk queries.
+     * @param userStoreDomain  User store domain used to resolve the partitioned token table.
+     * @param parameters       Values of the query parameters preceding the keyset condition.
+     * @param rootTenantDomain Root tenant domain of organization bound tokens, or null if the authorized organization
+     *                         of the tokens should not be resolved.
+     * @param handler          Handler invoked with each chunk of access tokens.
+     * @throws IdentityOAuth2Exception If an error occurred while reading the access tokens.
+     */
+    private void getAccessTokenChunks(String sqlQuery, String userStoreDomain, Object[] parameters,
+                                      String rootTenantDomain, AccessTokenChunkHandler handler)
+            throws IdentityOAuth2Exception {
+
+        int chunkSize = getTokenChunkSize();
+        String lastTokenId = null;
+        while (true) {
+            List<AccessTokenDO> accessTokenDOs = getAccessTokenChunk(sqlQuery, userStoreDomain, parameters,
+                    rootTenantDomain, lastTokenId, chunkSize);
+            if (accessTokenDOs.isEmpty()) {
+                return;
+            }
+            handler.handle(accessTokenDOs);
+            if (accessTokenDOs.size() < chunkSize) {
+                return;
+            }
+            lastTokenId = accessTokenDOs.get(accessTokenDOs.size() - 1).getTokenId();
+        }
+    }
+
+    private List<AccessTokenDO> getAccessTokenChunk(String sqlQuery, String userStoreDomain, Object[] parameters,
+                                                    String rootTenantDomain, String lastTokenId, int chunkSize)
+            throws IdentityOAuth2Exception {
+
+        boolean isIDPIdColumnEnabled = OAuth2ServiceComponentHolder.isIDPIdColumnEnabled();
+        // The first chunk is read without a keyset condition, as an empty string is null on some databases.
+        sqlQuery = sqlQuery.replace(SQLQueries.TOKEN_ID_KEYSET_PLACEHOLDER,
+                lastTokenId == null ? "" : SQLQueries.TOKEN_ID_KEYSET_CONDITION);
+        sqlQuery = OAuth2Util.getTokenPartitionedSqlByUserStore(sqlQuery, userStoreDomain);
+        Map<String, AccessTokenDO> tokenMap = new LinkedHashMap<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            try (PreparedStatement ps = connection.prepareStatement(sqlQuery)) {
+                ps.setMaxRows(chunkSize);
+                int index = 1;
+                for (Object parameter : parameters) {
+                    if (parameter instanceof Integer) {
+                        ps.setInt(index++, (Integer) parameter);
+                    } else {
+                        ps.setString(index++, (String) parameter);
+                    }
+                }
+                if (lastTokenId != null) {
+                    ps.setString(index, lastTokenId);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String tokenId = rs.getString(1);
+                        Timestamp issuedTime = rs.getTimestamp(4, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+                        Timestamp refreshTokenIssuedTime = rs.getTimestamp(5,
+                                Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+                        int tenantId = rs.getInt(10);
+                        String authorizedOrganization = rs.getString(13);
+                        String authenticatedIDP = isIDPIdColumnEnabled ? rs.getString(14) : null;
+
+                        AuthenticatedUser user;
+                        if (rootTenantDomain != null) {
+                            user = OAuth2Util.createAuthenticatedUser(rs.getString(9), rs.getString(11),
+                                    OAuth2Util.getTenantDomain(tenantId), authenticatedIDP, authorizedOrganization,
+                                    rootTenantDomain);
+                        } else {
+                            user = OAuth2Util.createAuthenticatedUser(rs.getString(9), rs.getString(11),
+                                    OAuth2Util.getTenantDomain(tenantId), authenticatedIDP);
+                        }
+                        AccessTokenDO accessTokenDO = new AccessTokenDO(rs.getString(12), user, new String[0],
+                                issuedTime, refreshTokenIssuedTime, rs.getLong(6), rs.getLong(7), rs.getString(8));
+                        accessTokenDO.setAccessToken(
+                                getPersistenceProcessor().getPreprocessedAccessTokenIdentifier(rs.getString(2)));
+                        accessTokenDO.setRefreshToken(
+                                getPersistenceProcessor().getPreprocessedRefreshToken(rs.getString(3)));
+                        accessTokenDO.setTokenId(tokenId);
+                        accessTokenDO.setTenantID(tenantId);
+                        if (rootTenantDomain != null) {
+                            accessTokenDO.setAuthorizedOrganizationId(authorizedOrganization);
+                        }
+                        tokenMap.put(tokenId, accessTokenDO);
+                    }
+                }
+            }
+            if (!tokenMap.isEmpty()) {
+                populateScopesOfTokenChunk(connection, tokenMap, userStoreDomain);
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error occurred while retrieving a chunk of 'ACTIVE or EXPIRED' " +
+                    "access tokens from the " + userStoreDomain + " user store table", e);
+        }
+        return new ArrayList<>(tokenMap.values());
+    }
+
     @Override
     public void updateUserStoreDomain(int tenantId, String currentUserStoreDomain, String
             newUserStoreDomain) throws IdentityOAuth2Exception {
@@ -2618,8 +3138,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     }
 
     private void recoverFromConAppKeyConstraintViolation(String accessToken, String consumerKey, AccessTokenDO
-            accessTokenDO, Connection connection, String userStoreDomain, int retryAttemptCounter)
-            throws IdentityOAuth2Exception {
+            accessTokenDO, Connection connection, String userStoreDomain, int retryAttemptCounter,
+            OauthTokenIssuer capturedOauthTokenIssuer, int capturedAppTenantId) throws IdentityOAuth2Exception {
         try {
             connection.setAutoCommit(false);
             log.warn("'CON_APP_KEY' constrain violation retry attempt for application with " +
@@ -2633,7 +3153,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
             AccessTokenDO latestActiveToken = getLatestAccessTokenByState(connection, consumerKey,
                     accessTokenDO.getAuthzUser(), userStoreDomain,
                     OAuth2Util.buildScopeString(accessTokenDO.getScope()), true);
-            OauthTokenIssuer oauthTokenIssuer = OAuth2Util.getOAuthTokenIssuerForOAuthApp(consumerKey);
+            OauthTokenIssuer oauthTokenIssuer = capturedOauthTokenIssuer != null ? capturedOauthTokenIssuer :
+                    OAuth2Util.getOAuthTokenIssuerForOAuthApp(consumerKey);
 
             if (latestActiveToken != null) {
                 OAuthTokenReqMessageContext tokReqMsgCtx = OAuth2Util.getTokenRequestContext();
@@ -2647,7 +3168,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     // Update token issued time make this token as latest token & try to store it again.
                     accessTokenDO.setIssuedTime(new Timestamp(new Date().getTime()));
                     insertAccessToken(accessTokenDO.getAccessToken(), consumerKey, accessTokenDO, connection,
-                            userStoreDomain, retryAttemptCounter);
+                            userStoreDomain, retryAttemptCounter, capturedOauthTokenIssuer,
+                            capturedAppTenantId);
                 } else if (OAuth2Util.getAccessTokenExpireMillis(latestActiveToken) != 0 &&
                         (latestNonActiveToken == null || latestActiveToken.getIssuedTime().after
                                 (latestNonActiveToken.getIssuedTime()))) {
@@ -2676,7 +3198,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     // Update token issued time make this token as latest token & try to store it again.
                     accessTokenDO.setIssuedTime(new Timestamp(new Date().getTime()));
                     insertAccessToken(accessToken, consumerKey, accessTokenDO, connection, userStoreDomain,
-                            retryAttemptCounter);
+                            retryAttemptCounter, capturedOauthTokenIssuer, capturedAppTenantId);
 
                 } else {
                     // Inactivate latest active token.
@@ -2687,7 +3209,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     // Update token issued time make this token as latest token & try to store it again.
                     accessTokenDO.setIssuedTime(new Timestamp(new Date().getTime()));
                     insertAccessToken(accessToken, consumerKey, accessTokenDO, connection, userStoreDomain,
-                            retryAttemptCounter);
+                            retryAttemptCounter, capturedOauthTokenIssuer, capturedAppTenantId);
                 }
             } else {
                 // In this case another process already updated the latest active token to inactive.
@@ -2695,7 +3217,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 // Update token issued time make this token as latest token & try to store it again.
                 accessTokenDO.setIssuedTime(new Timestamp(new Date().getTime()));
                 insertAccessToken(accessToken, consumerKey, accessTokenDO, connection, userStoreDomain,
-                        retryAttemptCounter);
+                        retryAttemptCounter, capturedOauthTokenIssuer, capturedAppTenantId);
             }
             connection.commit();
         } catch (SQLException e) {
@@ -2715,6 +3237,153 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         }
     }
 
+    private String getPersistedAccessTokenHash(String accessToken, String consumerKey,
+                                               OauthTokenIssuer capturedOauthTokenIssuer)
+            throws IdentityOAuth2Exception {
+
+        String accessTokenHash = accessToken;
+        try {
+            OauthTokenIssuer oauthTokenIssuer = capturedOauthTokenIssuer != null ? capturedOauthTokenIssuer :
+                    OAuth2Util.getOAuthTokenIssuerForOAuthApp(consumerKey);
+            //check for persist alias for the token type
+            if (oauthTokenIssuer.usePersistedAccessTokenAlias()) {
+                accessTokenHash = oauthTokenIssuer.getAccessTokenHash(accessToken);
+            }
+        } catch (OAuthSystemException e) {
+            if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
+                log.debug("Error while getting access token hash for token(hashed): " + DigestUtils
+                        .sha256Hex(accessTokenHash));
+            }
+            throw new IdentityOAuth2Exception("Error while getting access token hash.", e);
+        } catch (InvalidOAuthClientException e) {
+            throw new IdentityOAuth2Exception(
+                    "Error while retrieving oauth issuer for the app with clientId: " + consumerKey, e);
+        }
+        return accessTokenHash;
+    }
+
+    private String getInsertAccessTokenSql(String userDomain) {
+
+        String sql;
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
+                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN_WITH_IDP_NAME_WITH_CONSENTED_TOKEN;
+            } else {
+                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN_WITH_IDP_NAME;
+            }
+        } else {
+            if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
+                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN_WITH_CONSENTED_TOKEN;
+            } else {
+                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN;
+            }
+        }
+        return OAuth2Util.getTokenPartitionedSqlByUserStore(sql, userDomain);
+    }
+
+    /**
+     * Resolve the tenant id of the application the token is issued for, using the login tenant and the application
+     * resident organization available in the current thread.
+     *
+     * @return Tenant id of the application.
+     * @throws IdentityOAuth2Exception If the tenant of the application resident organization cannot be resolved.
+     */
+    static int resolveAppTenantId() throws IdentityOAuth2Exception {
+
+        int appTenantId = IdentityTenantUtil.getLoginTenantId();
+        String applicationResidentOrgId = PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                .getApplicationResidentOrganizationId();
+        /*
+         If applicationResidentOrgId is not empty, then the request comes for an application which is registered
+         directly in the organization of the applicationResidentOrgId. Therefore, we need to resolve the
+         tenant domain of the organization to get the application tenant id.
+        */
+        if (StringUtils.isNotEmpty(applicationResidentOrgId)) {
+            try {
+                String tenantDomain = OAuthComponentServiceHolder.getInstance().getOrganizationManager()
+                        .resolveTenantDomain(applicationResidentOrgId);
+                appTenantId = OAuth2Util.getTenantId(tenantDomain);
+            } catch (OrganizationManagementException e) {
+                throw new IdentityOAuth2Exception("Error while resolving tenant domain from the organization id: "
+                        + applicationResidentOrgId, e);
+            }
+        }
+        return appTenantId;
+    }
+
+    private void setInsertAccessTokenParams(PreparedStatement prepStmt, String accessTokenHash, String consumerKey,
+                                            AccessTokenDO accessTokenDO, String userDomain, String authenticatedIDP,
+                                            int tenantId, int appTenantId)
+            throws SQLException, IdentityOAuth2Exception {
+
+        prepStmt.setString(1, getPersistenceProcessor().getProcessedAccessTokenIdentifier(accessTokenHash));
+
+        if (accessTokenDO.getRefreshToken() != null) {
+            prepStmt.setString(2, getPersistenceProcessor().getProcessedRefreshToken(accessTokenDO.getRefreshToken()));
+        } else {
+            prepStmt.setString(2, accessTokenDO.getRefreshToken());
+        }
+
+        prepStmt.setString(3, accessTokenDO.getAuthzUser().getUserName());
+        prepStmt.setInt(4, tenantId);
+        prepStmt.setString(5, OAuth2Util.getSanitizedUserStoreDomain(userDomain));
+        prepStmt.setTimestamp(6, accessTokenDO.getIssuedTime(), Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+        prepStmt.setTimestamp(7, accessTokenDO.getRefreshTokenIssuedTime(),
+                Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+        prepStmt.setLong(8, accessTokenDO.getValidityPeriodInMillis());
+        prepStmt.setLong(9, accessTokenDO.getRefreshTokenValidityPeriodInMillis());
+        prepStmt.setString(10, OAuth2Util.hashScopes(accessTokenDO.getScope()));
+        prepStmt.setString(11, accessTokenDO.getTokenState());
+        prepStmt.setString(12, accessTokenDO.getTokenType());
+        prepStmt.setString(13, accessTokenDO.getTokenId());
+        prepStmt.setString(14, accessTokenDO.getGrantType());
+        prepStmt.setString(15, accessTokenDO.getAuthzUser().getAuthenticatedSubjectIdentifier());
+        prepStmt.setString(16, getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(accessTokenHash));
+        if (accessTokenDO.getRefreshToken() != null) {
+            prepStmt.setString(17,
+                    getHashingPersistenceProcessor().getProcessedRefreshToken(accessTokenDO.getRefreshToken()));
+        } else {
+            prepStmt.setString(17, accessTokenDO.getRefreshToken());
+        }
+        if (isTokenBindingAvailable(accessTokenDO.getTokenBinding())) {
+            prepStmt.setString(18, accessTokenDO.getTokenBinding().getBindingReference());
+        } else {
+            prepStmt.setString(18, NONE);
+        }
+
+        String authorizedOrganization = accessTokenDO.getAuthzUser().getAccessingOrganization();
+        if (StringUtils.isBlank(authorizedOrganization)) {
+            authorizedOrganization = OAuthConstants.AuthorizedOrganization.NONE;
+        }
+        prepStmt.setString(19, authorizedOrganization);
+
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
+                prepStmt.setString(20, Boolean.toString(accessTokenDO.isConsentedToken()));
+                prepStmt.setString(21, authenticatedIDP);
+                // Set tenant ID of the IDP by considering it is same as appTenantID.
+                prepStmt.setInt(22, appTenantId);
+                prepStmt.setString(23, getPersistenceProcessor().getProcessedClientId(consumerKey));
+                prepStmt.setInt(24, appTenantId);
+            } else {
+                prepStmt.setString(20, authenticatedIDP);
+                // Set tenant ID of the IDP by considering it is same as appTenantID.
+                prepStmt.setInt(21, appTenantId);
+                prepStmt.setString(22, getPersistenceProcessor().getProcessedClientId(consumerKey));
+                prepStmt.setInt(23, appTenantId);
+            }
+        } else {
+            if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
+                prepStmt.setString(20, Boolean.toString(accessTokenDO.isConsentedToken()));
+                prepStmt.setString(21, getPersistenceProcessor().getProcessedClientId(consumerKey));
+                prepStmt.setInt(22, appTenantId);
+            } else {
+                prepStmt.setString(20, getPersistenceProcessor().getProcessedClientId(consumerKey));
+                prepStmt.setInt(21, appTenantId);
+            }
+        }
+    }
+
     private int getTokenPersistRetryCount() {
 
         int tokenPersistRetryCount = DEFAULT_TOKEN_PERSIST_RETRY_COUNT;
@@ -2727,6 +3396,30 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         return tokenPersistRetryCount;
     }
 
+    /**
+     * Number of tokens read or revoked per chunk by the bulk token flows.
+     *
+     * @return Token chunk size.
+     */
+    private int getTokenChunkSize() {
+
+        String chunkSize = getProperty(OAUTH_TOKEN_REVOCATION_CHUNK_SIZE);
+        if (StringUtils.isBlank(chunkSize)) {
+            return DEFAULT_TOKEN_REVOCATION_CHUNK_SIZE;
+        }
+        try {
+            int tokenRevocationChunkSize = Integer.parseInt(chunkSize.trim());
+            if (tokenRevocationChunkSize > 0) {
+                return tokenRevocationChunkSize;
+            }
+        } catch (NumberFormatException e) {
+            // Falls back to the default value below.
+        }
+        log.warn("Invalid value: " + chunkSize + " configured for " + OAUTH_TOKEN_REVOCATION_CHUNK_SIZE +
+                ". Using the default value: " + DEFAULT_TOKEN_REVOCATION_CHUNK_SIZE);
+        return DEFAULT_TOKEN_REVOCATION_CHUNK_SIZE;
+    }
+
     @Deprecated
     public AccessTokenDO getAccessTokenDOfromTokenIdentifier(String accessTokenIdentifier) throws
             IdentityOAuth2Exception {
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+import org.wso2.carbon.identity.oauth2.util.OAuth2TokenUtil;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Reads and deletes expired rows of the OAuth tables in keyset ordered chunks, for the
+ * {@link ExpiredTokenPurgeService}.
+ */
+public class ExpiredTokenPurgeDAO {
+
+    private static final Log log = LogFactory.getLog(ExpiredTokenPurgeDAO.class);
+    private static final String UTC = "UTC";
+
+    /**
+     * Tables purged by the {@link ExpiredTokenPurgeService}. Rows matched by the candidate query of a table are
+     * deleted if {@link #isExpired(ResultSet, long)} holds for them.
+     */
+    public enum PurgeTable {
+
+        ACCESS_TOKEN(SQLQueries.LIST_ACCESS_TOKEN_PURGE_CANDIDATES, SQLQueries.ACCESS_TOKEN_PURGE_KEYSET_CONDITION,
+                SQLQueries.DELETE_OLD_TOKEN_BY_ID) {
+            @Override
+            boolean isExpired(ResultSet resultSet, long cutoffMillis) throws SQLException {
+
+                // Revoked and inactive tokens are purged once they are older than the safe period.
+                String tokenState = resultSet.getString(2);
+                if (!OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE.equals(tokenState) &&
+                        !OAuthConstants.TokenStates.TOKEN_STATE_EXPIRED.equals(tokenState)) {
+                    return true;
+                }
+                /* Active and expired tokens are kept as long as either the access token or the refresh token is
+                valid, since the refresh grant accepts the refresh token of an expired access token. */
+                return isValidityOver(resultSet.getTimestamp(3, getUTCCalendar()), resultSet.getLong(4),
+                        cutoffMillis) && isValidityOver(resultSet.getTimestamp(5, getUTCCalendar()),
+                        resultSet.getLong(6), cutoffMillis);
+            }
+        },
+
+        AUTHORIZATION_CODE(SQLQueries.LIST_AUTHORIZATION_CODE_PURGE_CANDIDATES,
+                SQLQueries.AUTHORIZATION_CODE_PURGE_KEYSET_CONDITION, SQLQueries.DELETE_AUTHORIZATION_CODE_BY_CODE_ID) {
+            @Override
+            boolean isExpired(ResultSet resultSet, long cutoffMillis) throws SQLException {
+
+                if (!OAuthConstants.AuthorizationCodeState.ACTIVE.equals(resultSet.getString(2))) {
+                    return true;
+                }
+                return isValidityOver(resultSet.getTimestamp(3, getUTCCalendar()), resultSet.getLong(4),
+                        cutoffMillis);
+            }
+        },
+
+        DEVICE_FLOW(SQLQueries.LIST_DEVICE_FLOW_PURGE_CANDIDATES, SQLQueries.DEVICE_FLOW_PURGE_KEYSET_CONDITION,
+                SQLQueries.DELETE_DEVICE_FLOW_BY_DEVICE_CODE),
+
+        CIBA_AUTH_CODE(SQLQueries.LIST_CIBA_AUTH_CODE_PURGE_CANDIDATES,
+                SQLQueries.CIBA_AUTH_CODE_PURGE_KEYSET_CONDITION, SQLQueries.DELETE_CIBA_AUTH_CODE_BY_AUTH_CODE_KEY) {
+            @Override
+            boolean isExpired(ResultSet resultSet, long cutoffMillis) throws SQLException {
+
+                // The expiry of a CIBA request is stored in seconds.
+                return isValidityOver(resultSet.getTimestamp(2, getUTCCalendar()), resultSet.getLong(3) * 1000,
+                        cutoffMillis);
+            }
+        },
+
+        PAR_REQUEST(SQLQueries.LIST_PAR_REQUEST_PURGE_CANDIDATES, SQLQueries.PAR_REQUEST_PURGE_KEYSET_CONDITION,
+                SQLQueries.DELETE_PAR_REQUEST_BY_REQ_URI_REF);
+
+        private final String candidateSql;
+        private final String keysetCondition;
+        private final String deleteSql;
+
+        PurgeTable(String candidateSql, String keysetCondition, String deleteSql) {
+
+            this.candidateSql = candidateSql;
+            this.keysetCondition = keysetCondition;
+            this.deleteSql = deleteSql;
+        }
+
+        /**
+         * Whether the candidate at the current row of the result set has expired. The candidate queries of the
+         * device flow and PAR tables filter by the stored expiry time, hence every candidate of them has expired.
+         *
+         * @param resultSet    Result set of the candidate query, positioned at the candidate.
+         * @param cutoffMillis Rows which expired before this time are purged.
+         * @return Whether the candidate has expired.
+         * @throws SQLException If the candidate could not be read.
+         */
+        boolean isExpired(ResultSet resultSet, long cutoffMillis) throws SQLException {
+
+            return true;
+        }
+
+        /**
+         * Whether the table is partitioned by user store when access token partitioning is enabled.
+         *
+         * @return Whether the table is partitioned.
+         */
+        public boolean isPartitioned() {
+
+            return this == ACCESS_TOKEN;
+        }
+    }
+
+    /**
+     * Keys read in one chunk of purge candidates.
+     */
+    public static class PurgeChunk {
+
+        private final List<String> expiredKeys = new ArrayList<>();
+        private String lastKey;
+        private int candidateCount;
+
+        public List<String> getExpiredKeys() {
+
+            return expiredKeys;
+        }
+
+        /**
+         * Get the key of the last candidate of the chunk, from which the next chunk is read.
+         *
+         * @return Last candidate key, or null if the chunk is empty.
+         */
+        public String getLastKey() {
+
+            return lastKey;
+        }
+
+        public int getCandidateCount() {
+
+            return candidateCount;
+        }
+
+        void addCandidate(String key, boolean expired) {
+
+            if (expired) {
+                expiredKeys.add(key);
+            }
+            lastKey = key;
+            candidateCount++;
+        }
+    }
+
+    /**
+     * Read a chunk of purge candidates of the given table.
+     *
+     * @param purgeTable      Table to be purged.
+     * @param userStoreDomain User store domain used to resolve the partitioned token table.
+     * @param cutoffMillis    Rows which expired before this time are purged.
+     * @param lastKey         Key of the last candidate of the previous chunk, or null for the first chunk.
+     * @param chunkSize       Maximum number of candidates to read.
+     * @return Chunk of purge candidates.
+     * @throws IdentityOAuth2Exception If the candidates could not be read.
+     */
+    public PurgeChunk getPurgeChunk(PurgeTable purgeTable, String userStoreDomain, long cutoffMillis,
+                                    String lastKey, int chunkSize) throws IdentityOAuth2Exception {
+
+        // The first chunk is read without a keyset condition, as an empty string is null on some databases.
+        String sqlQuery = purgeTable.candidateSql.replace(SQLQueries.PURGE_KEYSET_PLACEHOLDER,
+                lastKey == null ? "" : purgeTable.keysetCondition);
+        if (purgeTable.isPartitioned()) {
+            sqlQuery = OAuth2Util.getTokenPartitionedSqlByUserStore(sqlQuery, userStoreDomain);
+        }
+        PurgeChunk purgeChunk = new PurgeChunk();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement ps = connection.prepareStatement(sqlQuery)) {
+            ps.setMaxRows(chunkSize);
+            if (purgeTable == PurgeTable.PAR_REQUEST) {
+                // The scheduled expiry of a PAR request is stored as epoch milliseconds.
+                ps.setLong(1, cutoffMillis);
+            } else {
+                ps.setTimestamp(1, new Timestamp(cutoffMillis), getUTCCalendar());
+            }
+            if (lastKey != null) {
+                ps.setString(2, lastKey);
+            }
+            try (ResultSet resultSet = ps.executeQuery()) {
+                while (resultSet.next()) {
+                    purgeChunk.addCandidate(resultSet.getString(1), purgeTable.isExpired(resultSet, cutoffMillis));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error occurred while reading purge candidates of " + purgeTable +
+                    " from the " + userStoreDomain + " user store table", e);
+        }
+        return purgeChunk;
+    }
+
+    /**
+     * Delete the given rows of the given table with one JDBC batch. Access tokens are moved to the audit table
+     * before they are deleted, if old access tokens are retained.
+     *
+     * @param purgeTable      Table to be purged.
+     * @param userStoreDomain User store domain used to resolve the partitioned token table.
+     * @param keys            Keys of the rows to be deleted.
+     * @throws IdentityOAuth2Exception If the rows could not be deleted.
+     */
+    public void deletePurgeChunk(PurgeTable purgeTable, String userStoreDomain, List<String> keys)
+            throws IdentityOAuth2Exception {
+
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        try {
+            if (purgeTable == PurgeTable.ACCESS_TOKEN) {
+                if (connection.getMetaData().getDriverName().contains("Microsoft")) {
+                    /* When token is deleted, the request objects get on delete cascade except for the SQL server.
+                    Hence, invoke the event listener to revoke the request objects.*/
+                    OAuth2TokenUtil.postUpdateAccessTokens(keys, OAuthConstants.TokenStates.TOKEN_STATE_REVOKED);
+                }
+                if (OAuthServerConfiguration.getInstance().useRetainOldAccessTokens()) {
+                    String auditSql = OAuth2ServiceComponentHolder.isIDPIdColumnEnabled() ?
+                            SQLQueries.RETRIEVE_AND_STORE_IN_AUDIT_WITH_IDP_NAME :
+                            SQLQueries.RETRIEVE_AND_STORE_IN_AUDIT;
+                    Timestamp invalidatedTime = new Timestamp(System.currentTimeMillis());
+                    try (PreparedStatement ps = connection.prepareStatement(
+                            OAuth2Util.getTokenPartitionedSqlByUserStore(auditSql, userStoreDomain))) {
+                        for (String key : keys) {
+                            ps.setTimestamp(1, invalidatedTime);
+                            ps.setString(2, key);
+                            ps.addBatch();
+                        }
+                        ps.executeBatch();
+                    }
+                }
+            }
+            String deleteSql = purgeTable.isPartitioned() ?
+                    OAuth2Util.getTokenPartitionedSqlByUserStore(purgeTable.deleteSql, userStoreDomain) :
+                    purgeTable.deleteSql;
+            try (PreparedStatement ps = connection.prepareStatement(deleteSql)) {
+                for (String key : keys) {
+                    ps.setString(1, key);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+            if (log.isDebugEnabled()) {
+                log.debug("Purged " + keys.size() + " expired rows of " + purgeTable + ".");
+            }
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityOAuth2Exception("Error occurred while purging " + keys.size() + " expired rows of " +
+                    purgeTable, e);
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    private static boolean isValidityOver(Timestamp issuedTime, long validityPeriodMillis, long cutoffMillis) {
+
+        if (issuedTime == null) {
+            return true;
+        }
+        // A negative validity period never expires.
+        return validityPeriodMillis >= 0 && validityPeriodMillis < cutoffMillis - issuedTime.getTime();
+    }
+
+    private static Calendar getUTCCalendar() {
+
+        return Calendar.getInstance(TimeZone.getTimeZone(UTC));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.wso2.carbon.identity.oauth2.dao.ExpiredTokenPurgeDAO.PurgeTable;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and progress of the {@link ExpiredTokenPurgeService}.
+ */
+public class ExpiredTokenPurgeMetrics {
+
+    private final Map<PurgeTable, LongAdder> purgedRowCounts = new EnumMap<>(PurgeTable.class);
+    private final LongAdder scannedRowCount = new LongAdder();
+    private final LongAdder failedChunkCount = new LongAdder();
+    private final LongAdder runCount = new LongAdder();
+    private volatile PurgeTable currentTable;
+    private volatile long lastRunStartTime;
+    private volatile long lastRunDurationMillis;
+    private volatile long lastRunPurgedRowCount;
+    private volatile long currentRunPurgedRowCount;
+
+    public ExpiredTokenPurgeMetrics() {
+
+        for (PurgeTable purgeTable : PurgeTable.values()) {
+            purgedRowCounts.put(purgeTable, new LongAdder());
+        }
+    }
+
+    void recordRunStart(long startTime) {
+
+        lastRunStartTime = startTime;
+        currentRunPurgedRowCount = 0;
+    }
+
+    void recordTableStart(PurgeTable purgeTable) {
+
+        currentTable = purgeTable;
+    }
+
+    /**
+     * Record a chunk of purge candidates.
+     *
+     * @param purgeTable     Purged table.
+     * @param candidateCount Number of candidates read in the chunk.
+     * @param purgedCount    Number of expired rows deleted from the chunk.
+     */
+    void recordChunk(PurgeTable purgeTable, int candidateCount, int purgedCount) {
+
+        scannedRowCount.add(candidateCount);
+        purgedRowCounts.get(purgeTable).add(purgedCount);
+        // Only the purge thread updates the count of the current run.
+        currentRunPurgedRowCount += purgedCount;
+    }
+
+    void recordFailedChunk() {
+
+        failedChunkCount.increment();
+    }
+
+    void recordRunEnd(long endTime) {
+
+        currentTable = null;
+        lastRunDurationMillis = endTime - lastRunStartTime;
+        lastRunPurgedRowCount = currentRunPurgedRowCount;
+        runCount.increment();
+    }
+
+    /**
+     * Get the number of rows purged from the given table since the server started.
+     *
+     * @param purgeTable Purged table.
+     * @return Number of purged rows.
+     */
+    public long getPurgedRowCount(PurgeTable purgeTable) {
+
+        return purgedRowCounts.get(purgeTable).sum();
+    }
+
+    public long getScannedRowCount() {
+
+        return scannedRowCount.sum();
+    }
+
+    public long getFailedChunkCount() {
+
+        return failedChunkCount.sum();
+    }
+
+    public long getRunCount() {
+
+        return runCount.sum();
+    }
+
+    /**
+     * Get the table being purged by the running purge.
+     *
+     * @return Table being purged, or null if no purge is running.
+     */
+    public PurgeTable getCurrentTable() {
+
+        return currentTable;
+    }
+
+    /**
+     * Get the number of rows purged so far by the running purge, or by the last purge if none is running.
+     *
+     * @return Number of rows purged in the current run.
+     */
+    public long getCurrentRunPurgedRowCount() {
+
+        return currentRunPurgedRowCount;
+    }
+
+    public long getLastRunStartTime() {
+
+        return lastRunStartTime;
+    }
+
+    public long getLastRunDurationMillis() {
+
+        return lastRunDurationMillis;
+    }
+
+    public long getLastRunPurgedRowCount() {
+
+        return lastRunPurgedRowCount;
+    }
+}
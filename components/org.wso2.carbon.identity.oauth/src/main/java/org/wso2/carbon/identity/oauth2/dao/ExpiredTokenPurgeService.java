@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.dao.ExpiredTokenPurgeDAO.PurgeChunk;
+import org.wso2.carbon.identity.oauth2.dao.ExpiredTokenPurgeDAO.PurgeTable;
+import org.wso2.carbon.identity.oauth2.util.ConfigurationUtil;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background purge of expired and inactive rows of the access token, authorization code, device flow, CIBA and PAR
+ * tables.
+ * <p>
+ * Each table is walked in chunks ordered by its primary key, so that a purge neither holds long running locks nor
+ * rescans rows it has already visited. Partitioned access token tables are purged one user store at a time. Deletes
+ * are rate limited so that the purge does not compete with token issuance for database capacity. The purge is
+ * disabled unless enabled in identity.xml. Purging is idempotent, but it is sufficient to enable it on one node of a
+ * cluster.
+ */
+public class ExpiredTokenPurgeService {
+
+    private static final Log log = LogFactory.getLog(ExpiredTokenPurgeService.class);
+
+    // These config properties are defined in identity.xml
+    private static final String TOKEN_PURGE_ENABLE = "OAuth.TokenPurge.Enable";
+    private static final String TOKEN_PURGE_INTERVAL = "OAuth.TokenPurge.Interval";
+    private static final String TOKEN_PURGE_SAFE_PERIOD = "OAuth.TokenPurge.SafePeriod";
+    private static final String TOKEN_PURGE_CHUNK_SIZE = "OAuth.TokenPurge.ChunkSize";
+    private static final String TOKEN_PURGE_MAX_DELETES_PER_SECOND = "OAuth.TokenPurge.MaxDeletesPerSecond";
+
+    private static final int DEFAULT_INTERVAL_MINUTES = 60;
+    private static final int DEFAULT_SAFE_PERIOD_MINUTES = 120;
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final int DEFAULT_MAX_DELETES_PER_SECOND = 1000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
+    private static final ExpiredTokenPurgeService instance = new ExpiredTokenPurgeService();
+
+    private final ExpiredTokenPurgeMetrics metrics = new ExpiredTokenPurgeMetrics();
+    private ExpiredTokenPurgeDAO purgeDAO = new ExpiredTokenPurgeDAO();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean started;
+    private int safePeriodMinutes = DEFAULT_SAFE_PERIOD_MINUTES;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int maxDeletesPerSecond = DEFAULT_MAX_DELETES_PER_SECOND;
+
+    public static ExpiredTokenPurgeService getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Schedule the purge if it is enabled. The first purge runs one interval after the start, so that it does not
+     * slow down the server startup.
+     */
+    public synchronized void start() {
+
+        if (started || !Boolean.parseBoolean(IdentityUtil.getProperty(TOKEN_PURGE_ENABLE))) {
+            return;
+        }
+
+        int intervalMinutes = ConfigurationUtil.getIntProperty(TOKEN_PURGE_INTERVAL, DEFAULT_INTERVAL_MINUTES, 1);
+        loadConfigurations();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "OAuthTokenPurge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::purgeSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        started = true;
+
+        if (log.isDebugEnabled()) {
+            log.debug("Expired token purge scheduled with interval: " + intervalMinutes + "min, safe period: " +
+                    safePeriodMinutes + "min, chunk size: " + chunkSize + ", max deletes per second: " +
+                    maxDeletesPerSecond);
+        }
+    }
+
+    /**
+     * Stop the purge. A running purge stops after the chunk being deleted.
+     */
+    public synchronized void shutdown() {
+
+        if (!started) {
+            return;
+        }
+        started = false;
+        scheduler.shutdownNow();
+        try {
+            if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                log.warn("Expired token purge did not stop within " + SHUTDOWN_TIMEOUT_MILLIS + "ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+
+        return started;
+    }
+
+    public ExpiredTokenPurgeMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    /**
+     * Purge the expired rows of all tables in the calling thread. A failure to purge a chunk of a table skips the
+     * rest of that table until the next purge, without stopping the purge of the other tables.
+     */
+    public void purge() {
+
+        if (!started) {
+            loadConfigurations();
+        }
+        long startTime = System.currentTimeMillis();
+        long cutoffMillis = startTime - TimeUnit.MINUTES.toMillis(safePeriodMinutes);
+        metrics.recordRunStart(startTime);
+        for (PurgeTable purgeTable : PurgeTable.values()) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            metrics.recordTableStart(purgeTable);
+            try {
+                for (String userStoreDomain : getUserStoreDomains(purgeTable)) {
+                    purge(purgeTable, userStoreDomain, cutoffMillis);
+                }
+            } catch (IdentityOAuth2Exception e) {
+                metrics.recordFailedChunk();
+                log.error("Error while purging expired rows of " + purgeTable + ". Purge of the table will be " +
+                        "retried in the next run.", e);
+            }
+        }
+        metrics.recordRunEnd(System.currentTimeMillis());
+
+        if (log.isDebugEnabled()) {
+            log.debug("Purged " + metrics.getLastRunPurgedRowCount() + " expired rows in " +
+                    metrics.getLastRunDurationMillis() + "ms.");
+        }
+    }
+
+    private void purgeSafely() {
+
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            // An exception thrown out of a scheduled task cancels the subsequent runs.
+            log.error("Error while purging expired tokens.", e);
+        }
+    }
+
+    private void purge(PurgeTable purgeTable, String userStoreDomain, long cutoffMillis)
+            throws IdentityOAuth2Exception {
+
+        String lastKey = null;
+        while (!Thread.currentThread().isInterrupted()) {
+            long chunkStartTime = System.nanoTime();
+            PurgeChunk purgeChunk = purgeDAO.getPurgeChunk(purgeTable, userStoreDomain, cutoffMillis, lastKey,
+                    chunkSize);
+            List<String> expiredKeys = purgeChunk.getExpiredKeys();
+            if (!expiredKeys.isEmpty()) {
+                purgeDAO.deletePurgeChunk(purgeTable, userStoreDomain, expiredKeys);
+            }
+            metrics.recordChunk(purgeTable, purgeChunk.getCandidateCount(), expiredKeys.size());
+            if (purgeChunk.getCandidateCount() < chunkSize) {
+                return;
+            }
+            lastKey = purgeChunk.getLastKey();
+            throttle(expiredKeys.size(), System.nanoTime() - chunkStartTime);
+        }
+    }
+
+    private void throttle(int deletedRows, long elapsedNanos) {
+
+        long minimumNanos = TimeUnit.SECONDS.toNanos(deletedRows) / maxDeletesPerSecond;
+        if (elapsedNanos >= minimumNanos) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(minimumNanos - elapsedNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<String> getUserStoreDomains(PurgeTable purgeTable) throws IdentityOAuth2Exception {
+
+        List<String> userStoreDomains = new ArrayList<>();
+        userStoreDomains.add(IdentityUtil.getPrimaryDomainName());
+        if (purgeTable.isPartitioned() && OAuth2Util.checkAccessTokenPartitioningEnabled() &&
+                OAuth2Util.checkUserNameAssertionEnabled()) {
+            userStoreDomains.addAll(OAuth2Util.getAvailableUserStoreDomainMappings().keySet());
+        }
+        return userStoreDomains;
+    }
+
+    private void loadConfigurations() {
+
+        safePeriodMinutes = ConfigurationUtil.getIntProperty(TOKEN_PURGE_SAFE_PERIOD, DEFAULT_SAFE_PERIOD_MINUTES, 1);
+        chunkSize = ConfigurationUtil.getIntProperty(TOKEN_PURGE_CHUNK_SIZE, DEFAULT_CHUNK_SIZE, 1);
+        maxDeletesPerSecond = ConfigurationUtil.getIntProperty(TOKEN_PURGE_MAX_DELETES_PER_SECOND,
+                DEFAULT_MAX_DELETES_PER_SECOND, 1);
+    }
+
+    /**
+     * Set the DAO used by the purge. Used by the tests.
+     *
+     * @param purgeDAO Purge DAO.
+     */
+    void setPurgeDAO(ExpiredTokenPurgeDAO purgeDAO) {
+
+        this.purgeDAO = purgeDAO;
+    }
+}
@@ -194,9 +194,78 @@ public class OldTokensCleanDAO {
         }
     }
 
+    /**
+     * Move the given tokens to the audit table (when old tokens are retained) and remove them from the access token
+     * table. Both steps run as JDBC batches keyed by the token hash, so the cost is two round trips for the whole
+     * list instead of a select, an insert and a delete for every token.
+     *
+     * @param oldTokens  Hashes of the access tokens to be cleaned up.
+     * @param connection Connection to be used for the cleanup.
+     * @throws SQLException If the connection could not be rolled back.
+     */
     public void cleanupTokensInBatch(List<String> oldTokens, Connection connection) throws SQLException {
-        for (String token : oldTokens) {
-            cleanupTokenByTokenValue(token, connection);
+
+        String auditSql;
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            auditSql = SQLQueries.RETRIEVE_AND_STORE_IN_AUDIT_BY_TOKEN_HASH_WITH_IDP_NAME;
+        } else {
+            auditSql = SQLQueries.RETRIEVE_AND_STORE_IN_AUDIT_BY_TOKEN_HASH;
+        }
+        cleanupTokensInBatch(oldTokens, auditSql, SQLQueries.DELETE_OLD_TOKEN_BY_TOKEN_HASH, connection);
+    }
+
+    /**
+     * Move the tokens with the given ids to the audit table (when old tokens are retained) and remove them from the
+     * access token table, using one JDBC batch per step.
+     *
+     * @param tokenIds   Ids of the access tokens to be cleaned up.
+     * @param connection Connection to be used for the cleanup.
+     * @throws SQLException If the connection could not be rolled back.
+     */
+    public void cleanupTokensInBatchByTokenId(List<String> tokenIds, Connection connection) throws SQLException {
+
+        String auditSql;
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            auditSql = SQLQueries.RETRIEVE_AND_STORE_IN_AUDIT_WITH_IDP_NAME;
+        } else {
+            auditSql = SQLQueries.RETRIEVE_AND_STORE_IN_AUDIT;
+        }
+        cleanupTokensInBatch(tokenIds, auditSql, SQLQueries.DELETE_OLD_TOKEN_BY_ID, connection);
+    }
+
+    private void cleanupTokensInBatch(List<String> tokenKeys, String auditSql, String deleteSql,
+                                      Connection connection) throws SQLException {
+
+        if (tokenKeys == null || tokenKeys.isEmpty()) {
+            return;
+        }
+        try {
+            connection.setAutoCommit(false);
+            if (OAuthServerConfiguration.getInstance().useRetainOldAccessTokens()) {
+                try (PreparedStatement prepStmt = connection.prepareStatement(auditSql)) {
+                    Timestamp invalidatedTime = new Timestamp(System.currentTimeMillis());
+                    for (String tokenKey : tokenKeys) {
+                        prepStmt.setTimestamp(1, invalidatedTime);
+                        prepStmt.setString(2, tokenKey);
+                        prepStmt.addBatch();
+                    }
+                    prepStmt.executeBatch();
+                }
+            }
+            try (PreparedStatement prepStmt = connection.prepareStatement(deleteSql)) {
+                for (String tokenKey : tokenKeys) {
+                    prepStmt.setString(1, tokenKey);
+                    prepStmt.addBatch();
+                }
+                prepStmt.executeBatch();
+            }
+            connection.commit();
+            if (log.isDebugEnabled()) {
+                log.debug("Successfully cleaned up " + tokenKeys.size() + " old access tokens in batch mode.");
+            }
+        } catch (SQLException e) {
+            connection.rollback();
+            log.error("SQL error occurred while cleanup tokens in batch", e);
         }
     }
 }
@@ -493,6 +493,81 @@ public class SQLQueries {
     public static final String REVOKE_REFRESH_TOKEN = "UPDATE IDN_OAUTH2_ACCESS_TOKEN SET TOKEN_STATE=?, " +
             "TOKEN_STATE_ID=? WHERE REFRESH_TOKEN=?";
 
+    public static final String REVOKE_ACTIVE_ACCESS_TOKEN_BY_TOKEN_ID = "UPDATE IDN_OAUTH2_ACCESS_TOKEN SET " +
+            "TOKEN_STATE=?, TOKEN_STATE_ID=? WHERE TOKEN_ID=? AND TOKEN_STATE=?";
+
+    public static final String TOKEN_ID_LIST_PLACEHOLDER = "_TOKEN_ID_LIST_";
+
+    public static final String TOKEN_ID_KEYSET_PLACEHOLDER = "_TOKEN_ID_KEYSET_";
+
+    public static final String TOKEN_ID_KEYSET_CONDITION = " AND IDN_OAUTH2_ACCESS_TOKEN.TOKEN_ID > ?";
+
+    /**
+     * Keyset paginated chunk of the active tokens of an application. The keyset placeholder is replaced with
+     * {@link #TOKEN_ID_KEYSET_CONDITION} for every chunk but the first one, and the caller limits the chunk size with
+     * {@link java.sql.Statement#setMaxRows(int)}.
+     */
+    public static final String GET_ACTIVE_TOKEN_CHUNK_FOR_CONSUMER_KEY = "SELECT TOKEN_ID, ACCESS_TOKEN, " +
+            "AUTHZ_USER, TENANT_ID, USER_DOMAIN, SUBJECT_IDENTIFIER, AUTHORIZED_ORGANIZATION, TOKEN_BINDING_REF " +
+            "FROM IDN_OAUTH2_ACCESS_TOKEN WHERE CONSUMER_KEY_ID = (SELECT ID FROM IDN_OAUTH_CONSUMER_APPS WHERE " +
+            "CONSUMER_KEY=? AND TENANT_ID=?) AND TOKEN_STATE=?" + TOKEN_ID_KEYSET_PLACEHOLDER + " ORDER BY TOKEN_ID";
+
+    public static final String GET_ACTIVE_TOKEN_CHUNK_FOR_CONSUMER_KEY_IDP_NAME = "SELECT " +
+            "IDN_OAUTH2_ACCESS_TOKEN.TOKEN_ID, IDN_OAUTH2_ACCESS_TOKEN.ACCESS_TOKEN, " +
+            "IDN_OAUTH2_ACCESS_TOKEN.AUTHZ_USER, IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID, " +
+            "IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN, IDN_OAUTH2_ACCESS_TOKEN.SUBJECT_IDENTIFIER, " +
+            "IDN_OAUTH2_ACCESS_TOKEN.AUTHORIZED_ORGANIZATION, IDN_OAUTH2_ACCESS_TOKEN.TOKEN_BINDING_REF, IDP.NAME " +
+            "FROM IDN_OAUTH2_ACCESS_TOKEN JOIN IDP ON IDN_OAUTH2_ACCESS_TOKEN.IDP_ID = IDP.ID WHERE " +
+            "IDN_OAUTH2_ACCESS_TOKEN.CONSUMER_KEY_ID = (SELECT ID FROM IDN_OAUTH_CONSUMER_APPS WHERE " +
+            "CONSUMER_KEY=? AND TENANT_ID=?) AND IDN_OAUTH2_ACCESS_TOKEN.TOKEN_STATE=?" + TOKEN_ID_KEYSET_PLACEHOLDER +
+            " ORDER BY IDN_OAUTH2_ACCESS_TOKEN.TOKEN_ID";
+
+    public static final String GET_SCOPES_FOR_TOKEN_IDS = "SELECT TOKEN_ID, TOKEN_SCOPE FROM " +
+            "IDN_OAUTH2_ACCESS_TOKEN_SCOPE WHERE TOKEN_ID IN (" + TOKEN_ID_LIST_PLACEHOLDER + ")";
+
+    private static final String TOKEN_CHUNK_COLUMNS = "SELECT IDN_OAUTH2_ACCESS_TOKEN.TOKEN_ID, " +
+            "IDN_OAUTH2_ACCESS_TOKEN.ACCESS_TOKEN, IDN_OAUTH2_ACCESS_TOKEN.REFRESH_TOKEN, " +
+            "IDN_OAUTH2_ACCESS_TOKEN.TIME_CREATED, IDN_OAUTH2_ACCESS_TOKEN.REFRESH_TOKEN_TIME_CREATED, " +
+            "IDN_OAUTH2_ACCESS_TOKEN.VALIDITY_PERIOD, IDN_OAUTH2_ACCESS_TOKEN.REFRESH_TOKEN_VALIDITY_PERIOD, " +
+            "IDN_OAUTH2_ACCESS_TOKEN.USER_TYPE, IDN_OAUTH2_ACCESS_TOKEN.AUTHZ_USER, " +
+            "IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID, IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN, " +
+            "IDN_OAUTH_CONSUMER_APPS.CONSUMER_KEY, IDN_OAUTH2_ACCESS_TOKEN.AUTHORIZED_ORGANIZATION";
+
+    private static final String TOKEN_CHUNK_FROM = " FROM IDN_OAUTH2_ACCESS_TOKEN JOIN IDN_OAUTH_CONSUMER_APPS " +
+            "ON IDN_OAUTH_CONSUMER_APPS.ID = IDN_OAUTH2_ACCESS_TOKEN.CONSUMER_KEY_ID";
+
+    private static final String TOKEN_CHUNK_FROM_IDP_NAME = ", IDP.NAME" + TOKEN_CHUNK_FROM +
+            " JOIN IDP ON IDP.ID = IDN_OAUTH2_ACCESS_TOKEN.IDP_ID";
+
+    private static final String TOKEN_CHUNK_ACTIVE_OR_EXPIRED = " AND (IDN_OAUTH2_ACCESS_TOKEN.TOKEN_STATE='ACTIVE' " +
+            "OR IDN_OAUTH2_ACCESS_TOKEN.TOKEN_STATE='EXPIRED')" + TOKEN_ID_KEYSET_PLACEHOLDER +
+            " ORDER BY IDN_OAUTH2_ACCESS_TOKEN.TOKEN_ID";
+
+    /**
+     * Keyset paginated chunks of the 'ACTIVE or EXPIRED' tokens of a tenant, a user store or an organization. The
+     * scopes of each chunk are read separately with {@link #GET_SCOPES_FOR_TOKEN_IDS}.
+     */
+    public static final String LIST_TOKEN_CHUNK_IN_TENANT = TOKEN_CHUNK_COLUMNS + TOKEN_CHUNK_FROM +
+            " WHERE IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID=?" + TOKEN_CHUNK_ACTIVE_OR_EXPIRED;
+
+    public static final String LIST_TOKEN_CHUNK_IN_TENANT_IDP_NAME = TOKEN_CHUNK_COLUMNS + TOKEN_CHUNK_FROM_IDP_NAME +
+            " WHERE IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID=?" + TOKEN_CHUNK_ACTIVE_OR_EXPIRED;
+
+    public static final String LIST_TOKEN_CHUNK_IN_USER_STORE = TOKEN_CHUNK_COLUMNS + TOKEN_CHUNK_FROM +
+            " WHERE IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID=? AND IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN=?" +
+            TOKEN_CHUNK_ACTIVE_OR_EXPIRED;
+
+    public static final String LIST_TOKEN_CHUNK_IN_USER_STORE_IDP_NAME = TOKEN_CHUNK_COLUMNS +
+            TOKEN_CHUNK_FROM_IDP_NAME + " WHERE IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID=? AND " +
+            "IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN=?" + TOKEN_CHUNK_ACTIVE_OR_EXPIRED;
+
+    public static final String LIST_TOKEN_CHUNK_ISSUED_FOR_ORGANIZATION = TOKEN_CHUNK_COLUMNS + TOKEN_CHUNK_FROM +
+            " WHERE IDN_OAUTH2_ACCESS_TOKEN.AUTHORIZED_ORGANIZATION=?" + TOKEN_CHUNK_ACTIVE_OR_EXPIRED;
+
+    public static final String LIST_TOKEN_CHUNK_ISSUED_FOR_ORGANIZATION_IDP_NAME = TOKEN_CHUNK_COLUMNS +
+            TOKEN_CHUNK_FROM_IDP_NAME + " WHERE IDN_OAUTH2_ACCESS_TOKEN.AUTHORIZED_ORGANIZATION=?" +
+            TOKEN_CHUNK_ACTIVE_OR_EXPIRED;
+
     public static final String GET_ACCESS_TOKENS_BY_BINDING_REFERENCE_AND_USER = "SELECT ACCESS_TOKEN, CONSUMER_KEY, " +
             "TOKEN_SCOPE, REFRESH_TOKEN, ACCESS_TOKEN_TABLE.TOKEN_ID, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED," +
             " VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE FROM (SELECT ACCESS_TOKEN, CONSUMER_KEY_ID, " +
@@ -621,6 +696,17 @@ public class SQLQueries {
             "ID WHERE AUTHZ_USER=? AND IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID=? AND IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN=? " +
             "AND (TOKEN_STATE='ACTIVE' OR TOKEN_STATE='EXPIRED')";
 
+    public static final String GET_DISTINCT_APPS_AUTHORIZED_BY_USER = "SELECT DISTINCT CONSUMER_KEY FROM " +
+            "IDN_OAUTH2_ACCESS_TOKEN JOIN IDN_OAUTH_CONSUMER_APPS ON CONSUMER_KEY_ID = ID WHERE " +
+            "IDN_OAUTH_CONSUMER_APPS.TENANT_ID=? AND AUTHZ_USER=? AND IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID=? AND " +
+            "IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN=? AND (TOKEN_STATE='ACTIVE' OR TOKEN_STATE='EXPIRED')";
+
+    public static final String GET_DISTINCT_APPS_AUTHORIZED_BY_USER_IDP_NAME = "SELECT DISTINCT CONSUMER_KEY " +
+            "FROM IDN_OAUTH2_ACCESS_TOKEN JOIN IDN_OAUTH_CONSUMER_APPS ON CONSUMER_KEY_ID = ID WHERE " +
+            "IDN_OAUTH_CONSUMER_APPS.TENANT_ID=? AND AUTHZ_USER=? AND IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID=? AND " +
+            "IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN=? AND (TOKEN_STATE='ACTIVE' OR TOKEN_STATE='EXPIRED') AND " +
+            "IDP_ID=(SELECT ID FROM IDP WHERE NAME=? AND TENANT_ID=?)";
+
     public static final String RETRIEVE_ACCESS_TOKEN_VALIDATION_DATA_MYSQL = "SELECT ACCESS_TOKEN, AUTHZ_USER, " +
             "ACCESS_TOKEN_SELECTED.TENANT_ID, USER_DOMAIN, TOKEN_SCOPE, TOKEN_STATE, REFRESH_TOKEN_TIME_CREATED, " +
             "REFRESH_TOKEN_VALIDITY_PERIOD, ACCESS_TOKEN_SELECTED.TOKEN_ID, GRANT_TYPE, SUBJECT_IDENTIFIER, " +
@@ -971,6 +1057,34 @@ public class SQLQueries {
 
     public static final String DELETE_OLD_TOKEN_BY_ID = "DELETE FROM IDN_OAUTH2_ACCESS_TOKEN WHERE TOKEN_ID = ?";
 
+    public static final String RETRIEVE_AND_STORE_IN_AUDIT_BY_TOKEN_HASH =
+            "INSERT INTO IDN_OAUTH2_ACCESS_TOKEN_AUDIT (TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, CONSUMER_KEY_ID, " +
+                    "AUTHZ_USER, TENANT_ID, USER_DOMAIN, USER_TYPE, GRANT_TYPE, TIME_CREATED, " +
+                    "REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, " +
+                    "TOKEN_SCOPE_HASH, TOKEN_STATE, TOKEN_STATE_ID, SUBJECT_IDENTIFIER, ACCESS_TOKEN_HASH, " +
+                    "REFRESH_TOKEN_HASH, INVALIDATED_TIME, TOKEN_BINDING_REF, CONSENTED_TOKEN, " +
+                    "AUTHORIZED_ORGANIZATION) SELECT TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, " +
+                    "CONSUMER_KEY_ID, AUTHZ_USER, TENANT_ID, USER_DOMAIN, USER_TYPE, GRANT_TYPE, TIME_CREATED, " +
+                    "REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, TOKEN_SCOPE_HASH, " +
+                    "TOKEN_STATE, TOKEN_STATE_ID, SUBJECT_IDENTIFIER, ACCESS_TOKEN_HASH, REFRESH_TOKEN_HASH, ?, " +
+                    "TOKEN_BINDING_REF, CONSENTED_TOKEN, AUTHORIZED_ORGANIZATION " +
+                    "FROM IDN_OAUTH2_ACCESS_TOKEN WHERE ACCESS_TOKEN_HASH = ?";
+
+    public static final String RETRIEVE_AND_STORE_IN_AUDIT_BY_TOKEN_HASH_WITH_IDP_NAME = "INSERT INTO " +
+            "IDN_OAUTH2_ACCESS_TOKEN_AUDIT (TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, " +
+            "TENANT_ID, USER_DOMAIN, USER_TYPE, GRANT_TYPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, " +
+            "VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, TOKEN_SCOPE_HASH, TOKEN_STATE, TOKEN_STATE_ID, " +
+            "SUBJECT_IDENTIFIER, ACCESS_TOKEN_HASH, REFRESH_TOKEN_HASH, INVALIDATED_TIME, IDP_ID, " +
+            "TOKEN_BINDING_REF, CONSENTED_TOKEN, AUTHORIZED_ORGANIZATION) SELECT TOKEN_ID, ACCESS_TOKEN, " +
+            "REFRESH_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, TENANT_ID, USER_DOMAIN, USER_TYPE, GRANT_TYPE, " +
+            "TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, " +
+            "TOKEN_SCOPE_HASH, TOKEN_STATE, TOKEN_STATE_ID, SUBJECT_IDENTIFIER, ACCESS_TOKEN_HASH, " +
+            "REFRESH_TOKEN_HASH, ?, IDP_ID, TOKEN_BINDING_REF, CONSENTED_TOKEN, AUTHORIZED_ORGANIZATION " +
+            "FROM IDN_OAUTH2_ACCESS_TOKEN WHERE ACCESS_TOKEN_HASH = ?";
+
+    public static final String DELETE_OLD_TOKEN_BY_TOKEN_HASH = "DELETE FROM IDN_OAUTH2_ACCESS_TOKEN WHERE " +
+            "ACCESS_TOKEN_HASH = ?";
+
     public static final String DELETE_ACCESS_TOKEN = "DELETE FROM IDN_OAUTH2_ACCESS_TOKEN WHERE ACCESS_TOKEN = ? ";
 
     public static final String REVOKE_SAAS_TOKENS_OF_OTHER_TENANTS = "UPDATE IDN_OAUTH2_ACCESS_TOKEN " +
@@ -1724,6 +1838,62 @@ public class SQLQueries {
                     "TOKEN.TOKEN_ID=BINDING.TOKEN_ID WHERE TOKEN.REFRESH_TOKEN = ? " +
                     "AND BINDING.TOKEN_BINDING_TYPE = ?";
 
+    public static final String PURGE_KEYSET_PLACEHOLDER = "_PURGE_KEYSET_";
+
+    /**
+     * Keyset paginated chunks of the purge candidates of each table. The keyset placeholder is replaced with the
+     * keyset condition of the table for every chunk but the first one, and the chunk size is limited with
+     * {@link java.sql.Statement#setMaxRows(int)}. Whether a candidate has expired is decided by the purge service,
+     * since date arithmetic differs between the supported databases.
+     */
+    public static final String LIST_ACCESS_TOKEN_PURGE_CANDIDATES = "SELECT TOKEN_ID, TOKEN_STATE, TIME_CREATED, " +
+            "VALIDITY_PERIOD, REFRESH_TOKEN_TIME_CREATED, REFRESH_TOKEN_VALIDITY_PERIOD FROM IDN_OAUTH2_ACCESS_TOKEN " +
+            "WHERE TIME_CREATED < ?" + PURGE_KEYSET_PLACEHOLDER + " ORDER BY TOKEN_ID";
+
+    public static final String ACCESS_TOKEN_PURGE_KEYSET_CONDITION = " AND TOKEN_ID > ?";
+
+    public static final String LIST_AUTHORIZATION_CODE_PURGE_CANDIDATES = "SELECT CODE_ID, STATE, TIME_CREATED, " +
+            "VALIDITY_PERIOD FROM IDN_OAUTH2_AUTHORIZATION_CODE WHERE TIME_CREATED < ?" + PURGE_KEYSET_PLACEHOLDER +
+            " ORDER BY CODE_ID";
+
+    public static final String AUTHORIZATION_CODE_PURGE_KEYSET_CONDITION = " AND CODE_ID > ?";
+
+    public static final String DELETE_AUTHORIZATION_CODE_BY_CODE_ID = "DELETE FROM IDN_OAUTH2_AUTHORIZATION_CODE " +
+            "WHERE CODE_ID = ?";
+
+    public static final String LIST_DEVICE_FLOW_PURGE_CANDIDATES = "SELECT DEVICE_CODE FROM IDN_OAUTH2_DEVICE_FLOW " +
+            "WHERE EXPIRY_TIME < ?" + PURGE_KEYSET_PLACEHOLDER + " ORDER BY DEVICE_CODE";
+
+    public static final String DEVICE_FLOW_PURGE_KEYSET_CONDITION = " AND DEVICE_CODE > ?";
+
+    public static final String DELETE_DEVICE_FLOW_BY_DEVICE_CODE = "DELETE FROM IDN_OAUTH2_DEVICE_FLOW WHERE " +
+            "DEVICE_CODE = ?";
+
+    public static final String LIST_CIBA_AUTH_CODE_PURGE_CANDIDATES = "SELECT AUTH_CODE_KEY, ISSUED_TIME, " +
+            "EXPIRES_IN FROM IDN_OAUTH2_CIBA_AUTH_CODE WHERE ISSUED_TIME < ?" + PURGE_KEYSET_PLACEHOLDER +
+            " ORDER BY AUTH_CODE_KEY";
+
+    public static final String CIBA_AUTH_CODE_PURGE_KEYSET_CONDITION = " AND AUTH_CODE_KEY > ?";
+
+    public static final String DELETE_CIBA_AUTH_CODE_BY_AUTH_CODE_KEY = "DELETE FROM IDN_OAUTH2_CIBA_AUTH_CODE " +
+            "WHERE AUTH_CODE_KEY = ?";
+
+    public static final String LIST_PAR_REQUEST_PURGE_CANDIDATES = "SELECT REQ_URI_REF FROM IDN_OAUTH_PAR WHERE " +
+            "SCHEDULED_EXPIRY < ?" + PURGE_KEYSET_PLACEHOLDER + " ORDER BY REQ_URI_REF";
+
+    public static final String PAR_REQUEST_PURGE_KEYSET_CONDITION = " AND REQ_URI_REF > ?";
+
+    public static final String DELETE_PAR_REQUEST_BY_REQ_URI_REF = "DELETE FROM IDN_OAUTH_PAR WHERE REQ_URI_REF = ?";
+
+    public static final String INSERT_TOKEN_ISSUANCE_LEASE = "INSERT INTO IDN_OAUTH2_TOKEN_ISSUANCE_LEASE " +
+            "(LEASE_KEY, OWNER_ID, EXPIRY_TIME) VALUES (?, ?, ?)";
+
+    public static final String TAKE_OVER_EXPIRED_TOKEN_ISSUANCE_LEASE = "UPDATE IDN_OAUTH2_TOKEN_ISSUANCE_LEASE SET " +
+            "OWNER_ID = ?, EXPIRY_TIME = ? WHERE LEASE_KEY = ? AND EXPIRY_TIME < ?";
+
+    public static final String DELETE_TOKEN_ISSUANCE_LEASE = "DELETE FROM IDN_OAUTH2_TOKEN_ISSUANCE_LEASE WHERE " +
+            "LEASE_KEY = ? AND OWNER_ID = ?";
+
     private SQLQueries() {
 
     }
@@ -27,6 +27,7 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.RefreshTokenValidationDataDO;
 
+import java.util.HashSet;
 import java.util.Properties;
 import java.util.Set;
 
@@ -98,4 +99,27 @@ public interface TokenManagementDAO {
             IdentityOAuth2Exception;
 
     Set<String> getAllTimeAuthorizedClientIds(AuthenticatedUser authzUser) throws IdentityOAuth2Exception;
+
+    /**
+     * Get the distinct client IDs of the applications of the current tenant for which the user holds an ACTIVE or
+     * EXPIRED access token, with a single query. The default implementation checks the tokens of each client the user
+     * has ever authorized through the {@link AccessTokenDAO}, for implementations without the aggregated query.
+     *
+     * @param authzUser       Authorized user.
+     * @param userStoreDomain User store domain used to pick the token table partition.
+     * @return Client IDs of the applications authorized by the user.
+     * @throws IdentityOAuth2Exception If an error occurs while retrieving the client IDs.
+     */
+    default Set<String> getAuthorizedClientIds(AuthenticatedUser authzUser, String userStoreDomain)
+            throws IdentityOAuth2Exception {
+
+        Set<String> authorizedClientIds = new HashSet<>();
+        AccessTokenDAO accessTokenDAO = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO();
+        for (String clientId : getAllTimeAuthorizedClientIds(authzUser)) {
+            if (!accessTokenDAO.getAccessTokens(clientId, authzUser, userStoreDomain, true).isEmpty()) {
+                authorizedClientIds.add(clientId);
+            }
+        }
+        return authorizedClientIds;
+    }
 }
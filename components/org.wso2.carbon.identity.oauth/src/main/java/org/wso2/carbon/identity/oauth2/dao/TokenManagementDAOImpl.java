@@ -929,6 +929,65 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
         return distinctConsumerKeys;
     }
 
+    @Override
+    public Set<String> getAuthorizedClientIds(AuthenticatedUser authzUser, String userStoreDomain)
+            throws IdentityOAuth2Exception {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving authorized clients of the current tenant for user: " + authzUser.toString());
+        }
+
+        String tenantDomain = getUserResidentTenantDomain(authzUser);
+        String tenantAwareUsernameWithNoUserDomain = authzUser.getUserName();
+        String userDomain = OAuth2Util.getUserStoreDomain(authzUser);
+        int tenantId = OAuth2Util.getTenantId(tenantDomain);
+        boolean isUsernameCaseSensitive = IdentityUtil.isUserStoreCaseSensitive(authzUser.getUserStoreDomain(),
+                tenantId);
+        int appTenantId = IdentityTenantUtil.getLoginTenantId();
+        if (authzUser.getUserResidentOrganization() != null) {
+            appTenantId = OAuth2Util.getTenantId(authzUser.getTenantDomain());
+        }
+        boolean isIdpIdColumnEnabled = OAuth2ServiceComponentHolder.isIDPIdColumnEnabled();
+
+        String sqlQuery = isIdpIdColumnEnabled ? SQLQueries.GET_DISTINCT_APPS_AUTHORIZED_BY_USER_IDP_NAME :
+                SQLQueries.GET_DISTINCT_APPS_AUTHORIZED_BY_USER;
+        sqlQuery = OAuth2Util.getTokenPartitionedSqlByUserStore(sqlQuery,
+                OAuth2Util.getSanitizedUserStoreDomain(userStoreDomain));
+        if (!isUsernameCaseSensitive) {
+            sqlQuery = sqlQuery.replace(AUTHZ_USER, LOWER_AUTHZ_USER);
+        }
+
+        Set<String> distinctConsumerKeys = new HashSet<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement ps = connection.prepareStatement(sqlQuery)) {
+            ps.setInt(1, appTenantId);
+            if (isUsernameCaseSensitive) {
+                ps.setString(2, tenantAwareUsernameWithNoUserDomain);
+            } else {
+                ps.setString(2, tenantAwareUsernameWithNoUserDomain.toLowerCase());
+            }
+            ps.setInt(3, tenantId);
+            ps.setString(4, userDomain);
+            if (isIdpIdColumnEnabled) {
+                ps.setString(5, OAuth2Util.getAuthenticatedIDP(authzUser));
+                // Set tenant ID of the IDP by considering it is same as appTenantID.
+                ps.setInt(6, appTenantId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    distinctConsumerKeys.add(getPersistenceProcessor().getPreprocessedClientId(rs.getString(1)));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error occurred while retrieving the Client IDs authorized by " +
+                    "User ID : " + authzUser, e);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Found " + distinctConsumerKeys.size() + " authorized clients for user: " + authzUser);
+        }
+        return distinctConsumerKeys;
+    }
+
     private String getAppTenantDomain() {
 
         return IdentityTenantUtil.getTenantDomainFromContext();
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters of the asynchronous access token persistence. A single instance can be shared between the persistence
+ * tasks draining the same queue, and is exposed over JMX by the {@link TokenPersistencePipeline}.
+ */
+public class TokenPersistenceMetrics implements TokenPersistenceMetricsMBean {
+
+    static final String OBJECT_NAME = "org.wso2.carbon.identity.oauth:type=TokenPersistence";
+
+    private static final Log log = LogFactory.getLog(TokenPersistenceMetrics.class);
+
+    private final IntSupplier queueDepth;
+    private final LongAdder persistedTokenCount = new LongAdder();
+    private final LongAdder failedTokenCount = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder totalFlushTimeNanos = new LongAdder();
+    private final LongAccumulator maxFlushTimeNanos = new LongAccumulator(Long::max, 0L);
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Long::max, 0L);
+    private final AtomicInteger lastBatchSize = new AtomicInteger();
+    private final LongAdder queuedTokenCount = new LongAdder();
+    private final LongAdder totalQueueTimeMillis = new LongAdder();
+    private final LongAccumulator maxQueueTimeMillis = new LongAccumulator(Long::max, 0L);
+    private final LongAdder synchronousFallbackCount = new LongAdder();
+    private final LongAdder shedCount = new LongAdder();
+
+    public TokenPersistenceMetrics() {
+
+        this(() -> 0);
+    }
+
+    /**
+     * Create the metrics of a pipeline.
+     *
+     * @param queueDepth Supplier of the number of tokens waiting in the queues of the pipeline.
+     */
+    public TokenPersistenceMetrics(IntSupplier queueDepth) {
+
+        this.queueDepth = queueDepth;
+    }
+
+    /**
+     * Record a flush of a batch of access tokens.
+     *
+     * @param batchSize       Number of tokens in the batch.
+     * @param failedTokens    Number of tokens in the batch which could not be persisted.
+     * @param flushTimeNanos  Time taken to flush the batch in nanoseconds.
+     */
+    public void recordFlush(int batchSize, int failedTokens, long flushTimeNanos) {
+
+        persistedTokenCount.add(batchSize - failedTokens);
+        failedTokenCount.add(failedTokens);
+        flushCount.increment();
+        totalFlushTimeNanos.add(flushTimeNanos);
+        maxFlushTimeNanos.accumulate(flushTimeNanos);
+        maxBatchSize.accumulate(batchSize);
+        lastBatchSize.set(batchSize);
+    }
+
+    /**
+     * Record the time a token waited in the queue before being taken into a batch.
+     *
+     * @param queueTimeMillis Time between queueing the token and taking it, in milliseconds.
+     */
+    public void recordQueueTime(long queueTimeMillis) {
+
+        queuedTokenCount.increment();
+        totalQueueTimeMillis.add(queueTimeMillis);
+        maxQueueTimeMillis.accumulate(queueTimeMillis);
+    }
+
+    public void recordSynchronousFallback() {
+
+        synchronousFallbackCount.increment();
+    }
+
+    public void recordShed() {
+
+        shedCount.increment();
+    }
+
+    @Override
+    public int getQueueDepth() {
+
+        return queueDepth.getAsInt();
+    }
+
+    @Override
+    public long getPersistedTokenCount() {
+
+        return persistedTokenCount.sum();
+    }
+
+    @Override
+    public long getFailedTokenCount() {
+
+        return failedTokenCount.sum();
+    }
+
+    @Override
+    public long getSynchronousFallbackCount() {
+
+        return synchronousFallbackCount.sum();
+    }
+
+    @Override
+    public long getShedCount() {
+
+        return shedCount.sum();
+    }
+
+    @Override
+    public long getFlushCount() {
+
+        return flushCount.sum();
+    }
+
+    @Override
+    public int getLastBatchSize() {
+
+        return lastBatchSize.get();
+    }
+
+    @Override
+    public long getMaxBatchSize() {
+
+        return maxBatchSize.get();
+    }
+
+    /**
+     * Get the average number of tokens written per flush.
+     *
+     * @return Average batch size, or 0 if nothing has been flushed yet.
+     */
+    @Override
+    public double getAverageBatchSize() {
+
+        long flushes = flushCount.sum();
+        return flushes == 0 ? 0 : (double) (persistedTokenCount.sum() + failedTokenCount.sum()) / flushes;
+    }
+
+    /**
+     * Get the average flush latency.
+     *
+     * @return Average flush latency in milliseconds, or 0 if nothing has been flushed yet.
+     */
+    @Override
+    public double getAverageFlushTimeMillis() {
+
+        long flushes = flushCount.sum();
+        return flushes == 0 ? 0 : totalFlushTimeNanos.sum() / (flushes * 1_000_000d);
+    }
+
+    @Override
+    public double getMaxFlushTimeMillis() {
+
+        return maxFlushTimeNanos.get() / 1_000_000d;
+    }
+
+    @Override
+    public double getAverageQueueTimeMillis() {
+
+        long queuedTokens = queuedTokenCount.sum();
+        return queuedTokens == 0 ? 0 : (double) totalQueueTimeMillis.sum() / queuedTokens;
+    }
+
+    @Override
+    public long getMaxQueueTimeMillis() {
+
+        return maxQueueTimeMillis.get();
+    }
+
+    /**
+     * Register these metrics in the platform MBean server, replacing a registration left by a previous activation.
+     */
+    void registerMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(this, objectName);
+        } catch (JMException e) {
+            log.warn("Error while registering the token persistence metrics MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Remove these metrics from the platform MBean server.
+     */
+    void unregisterMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Error while unregistering the token persistence metrics MBean: " + OBJECT_NAME, e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+/**
+ * JMX view of the asynchronous access token persistence recorded by {@link TokenPersistenceMetrics}.
+ */
+public interface TokenPersistenceMetricsMBean {
+
+    /**
+     * Get the number of tokens waiting in the queues to be persisted.
+     *
+     * @return Queue depth.
+     */
+    int getQueueDepth();
+
+    long getPersistedTokenCount();
+
+    long getFailedTokenCount();
+
+    /**
+     * Get the number of tokens persisted synchronously since the queue of their partition was full.
+     *
+     * @return Synchronous fallback count.
+     */
+    long getSynchronousFallbackCount();
+
+    /**
+     * Get the number of tokens rejected since the queue of their partition was full.
+     *
+     * @return Shed token count.
+     */
+    long getShedCount();
+
+    long getFlushCount();
+
+    int getLastBatchSize();
+
+    long getMaxBatchSize();
+
+    double getAverageBatchSize();
+
+    double getAverageFlushTimeMillis();
+
+    double getMaxFlushTimeMillis();
+
+    /**
+     * Get the average time the tokens waited in the queue before their batch was flushed.
+     *
+     * @return Average queue time in milliseconds, or 0 if nothing has been flushed yet.
+     */
+    double getAverageQueueTimeMillis();
+
+    long getMaxQueueTimeMillis();
+}
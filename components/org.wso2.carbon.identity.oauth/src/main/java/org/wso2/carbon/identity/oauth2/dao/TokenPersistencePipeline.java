@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
+import org.wso2.carbon.identity.oauth2.util.ConfigurationUtil;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Asynchronous access token persistence pipeline.
+ * <p>
+ * Tokens are partitioned by the consumer key and the authorized user, and each partition is drained by its own
+ * {@link TokenPersistenceTask}, so that the tokens issued for the same grant are persisted in the order they were
+ * issued. Partition queues are bounded and the behaviour when a queue is full is decided by the configured
+ * {@link OverflowPolicy}. The pipeline is disabled unless enabled in identity.xml.
+ * <p>
+ * A queued token is only visible to token lookups once its batch is flushed. Within this node, the issuance flow waits
+ * for the queued tokens of the client and user through {@link #awaitQueuedTokens(String, AuthenticatedUser)} while
+ * holding the token issuance lock, so that the next token issued for the same grant is based on the persisted state.
+ */
+public class TokenPersistencePipeline {
+
+    private static final Log log = LogFactory.getLog(TokenPersistencePipeline.class);
+
+    /*
+    These config properties are defined in identity.xml. When asynchronous persistence is enabled, an issued token is
+    written to the database up to a flush interval after the token response is sent. Until then other nodes neither
+    find the token when validating it nor when looking up the active token of the grant, and may issue another token
+    for the same client, user and scope, unless requests of a user are routed to the same node.
+    */
+    private static final String ASYNC_PERSISTENCE_ENABLE = "OAuth.TokenPersistence.Async.Enable";
+    private static final String ASYNC_PERSISTENCE_POOL_SIZE = "OAuth.TokenPersistence.Async.PoolSize";
+    private static final String ASYNC_PERSISTENCE_QUEUE_SIZE = "OAuth.TokenPersistence.Async.QueueSize";
+    private static final String ASYNC_PERSISTENCE_BATCH_SIZE = "OAuth.TokenPersistence.Async.BatchSize";
+    private static final String ASYNC_PERSISTENCE_FLUSH_INTERVAL = "OAuth.TokenPersistence.Async.FlushInterval";
+    private static final String ASYNC_PERSISTENCE_OVERFLOW_POLICY = "OAuth.TokenPersistence.Async.OverflowPolicy";
+    private static final String ASYNC_PERSISTENCE_SHUTDOWN_TIMEOUT = "OAuth.TokenPersistence.Async.ShutdownTimeout";
+
+    private static final int DEFAULT_POOL_SIZE = 4;
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_FLUSH_INTERVAL_MILLIS = 50;
+    private static final int DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 30000;
+
+    private static final TokenPersistencePipeline instance = new TokenPersistencePipeline();
+
+    private final TokenPersistenceMetrics metrics = new TokenPersistenceMetrics(this::getQueueDepth);
+    // Last queued token of each client and user which is not flushed yet.
+    private final Map<String, AccessContextTokenDO> queuedTokens = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private volatile boolean started;
+    private List<BlockingDeque<AccessContextTokenDO>> partitions;
+    private List<TokenPersistenceTask> tasks;
+    private ExecutorService executorService;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.SYNC;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private long shutdownTimeoutMillis = DEFAULT_SHUTDOWN_TIMEOUT_MILLIS;
+
+    /**
+     * Behaviour of the pipeline when the queue of a partition is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Block the issuing thread until the queue has room.
+         */
+        BLOCK,
+
+        /**
+         * Persist the token synchronously in the issuing thread.
+         */
+        SYNC,
+
+        /**
+         * Reject the token, failing the token request.
+         */
+        SHED
+    }
+
+    public static TokenPersistencePipeline getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Start the consumers of the pipeline if asynchronous token persistence is enabled.
+     */
+    public synchronized void start() {
+
+        if (started || !Boolean.parseBoolean(IdentityUtil.getProperty(ASYNC_PERSISTENCE_ENABLE))) {
+            return;
+        }
+
+        int poolSize = ConfigurationUtil.getIntProperty(ASYNC_PERSISTENCE_POOL_SIZE, DEFAULT_POOL_SIZE, 1);
+        int queueSize = ConfigurationUtil.getIntProperty(ASYNC_PERSISTENCE_QUEUE_SIZE, DEFAULT_QUEUE_SIZE, 1);
+        batchSize = ConfigurationUtil.getIntProperty(ASYNC_PERSISTENCE_BATCH_SIZE, DEFAULT_BATCH_SIZE, 1);
+        // A flush interval of zero flushes whatever is available in the queue without waiting for a batch to fill.
+        long flushIntervalMillis = ConfigurationUtil.getIntProperty(ASYNC_PERSISTENCE_FLUSH_INTERVAL,
+                DEFAULT_FLUSH_INTERVAL_MILLIS, 0);
+        shutdownTimeoutMillis = ConfigurationUtil.getIntProperty(ASYNC_PERSISTENCE_SHUTDOWN_TIMEOUT,
+                DEFAULT_SHUTDOWN_TIMEOUT_MILLIS, 1);
+        String overflowPolicyProperty = IdentityUtil.getProperty(ASYNC_PERSISTENCE_OVERFLOW_POLICY);
+        if (StringUtils.isNotBlank(overflowPolicyProperty)) {
+            try {
+                overflowPolicy = OverflowPolicy.valueOf(overflowPolicyProperty.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid token persistence overflow policy: " + overflowPolicyProperty + ". Using " +
+                        overflowPolicy + " instead.");
+            }
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executorService = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "OAuthTokenPersistence-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        partitions = new ArrayList<>(poolSize);
+        tasks = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            BlockingDeque<AccessContextTokenDO> queue = new LinkedBlockingDeque<>(queueSize);
+            TokenPersistenceTask task = new TokenPersistenceTask(queue, batchSize, flushIntervalMillis, metrics);
+            partitions.add(queue);
+            tasks.add(task);
+            executorService.execute(task);
+        }
+        started = true;
+        metrics.registerMBean();
+
+        if (log.isDebugEnabled()) {
+            log.debug("Asynchronous token persistence started with pool size: " + poolSize + ", queue size: " +
+                    queueSize + ", batch size: " + batchSize + ", flush interval: " + flushIntervalMillis +
+                    "ms, overflow policy: " + overflowPolicy);
+        }
+    }
+
+    /**
+     * Stop the consumers of the pipeline and persist the tokens remaining in the queues, so that no issued token is
+     * lost on shutdown.
+     */
+    public synchronized void shutdown() {
+
+        if (!started) {
+            return;
+        }
+        // Tokens issued from here onwards are persisted synchronously.
+        lifecycleLock.writeLock().lock();
+        try {
+            started = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+        metrics.unregisterMBean();
+        executorService.shutdownNow();
+        try {
+            if (!executorService.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Token persistence consumers did not stop within " + shutdownTimeoutMillis + "ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int remainingTokens = 0;
+        AccessTokenDAO accessTokenDAO = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO();
+        for (BlockingDeque<AccessContextTokenDO> queue : partitions) {
+            List<AccessContextTokenDO> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                remainingTokens += batch.size();
+                try {
+                    int failedTokens = accessTokenDAO.insertAccessTokens(batch).size();
+                    if (failedTokens > 0) {
+                        log.error(failedTokens + " out of " + batch.size() + " access tokens could not be " +
+                                "persisted while shutting down the token persistence pipeline");
+                    }
+                } finally {
+                    TokenPersistenceTask.markFlushed(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Asynchronous token persistence stopped. Persisted " + remainingTokens +
+                    " queued tokens while shutting down.");
+        }
+    }
+
+    public boolean isEnabled() {
+
+        return started;
+    }
+
+    /**
+     * Queue an access token to be persisted. The token is persisted synchronously if the pipeline is not running.
+     *
+     * @param accessToken           Access token.
+     * @param consumerKey           Consumer key of the application.
+     * @param newAccessTokenDO      Access token data object to be persisted.
+     * @param existingAccessTokenDO Active access token replaced by the new token, if any.
+     * @param userStoreDomain       User store domain of the authorized user.
+     * @throws IdentityOAuth2Exception If the token could not be queued nor persisted.
+     */
+    public void persist(String accessToken, String consumerKey, AccessTokenDO newAccessTokenDO,
+                        AccessTokenDO existingAccessTokenDO, String userStoreDomain)
+            throws IdentityOAuth2Exception {
+
+        if (!started) {
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().insertAccessToken(accessToken,
+                    consumerKey, newAccessTokenDO, existingAccessTokenDO, userStoreDomain);
+            return;
+        }
+
+        // The tenant and the token issuer of the application are resolved here since the carbon context is not
+        // available to the consumers.
+        OauthTokenIssuer oauthTokenIssuer;
+        try {
+            oauthTokenIssuer = OAuth2Util.getOAuthTokenIssuerForOAuthApp(consumerKey);
+        } catch (InvalidOAuthClientException e) {
+            throw new IdentityOAuth2Exception("Error while retrieving oauth issuer for the app with clientId: " +
+                    consumerKey, e);
+        }
+        AccessContextTokenDO accessContextTokenDO = new AccessContextTokenDO(accessToken, consumerKey,
+                newAccessTokenDO, existingAccessTokenDO, userStoreDomain, AccessTokenDAOImpl.resolveAppTenantId(),
+                oauthTokenIssuer);
+        boolean queued;
+        lifecycleLock.readLock().lock();
+        try {
+            queued = started && enqueue(accessContextTokenDO);
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+        if (!queued) {
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().insertAccessToken(accessToken,
+                    consumerKey, newAccessTokenDO, existingAccessTokenDO, userStoreDomain);
+            return;
+        }
+        String clientAndUserKey = getClientAndUserKey(accessContextTokenDO);
+        queuedTokens.put(clientAndUserKey, accessContextTokenDO);
+        accessContextTokenDO.getFlushed().thenRun(() -> queuedTokens.remove(clientAndUserKey, accessContextTokenDO));
+    }
+
+    /**
+     * Wait until the tokens queued for the given client and user are flushed. Tokens of a client and user are
+     * flushed in the order they were queued, hence it is enough to wait for the last queued one.
+     *
+     * @param consumerKey    Consumer key of the application.
+     * @param authorizedUser Authorized user.
+     * @throws IdentityOAuth2Exception If the tokens are not flushed within the shutdown timeout of the pipeline.
+     */
+    public void awaitQueuedTokens(String consumerKey, AuthenticatedUser authorizedUser)
+            throws IdentityOAuth2Exception {
+
+        AccessContextTokenDO queuedToken = queuedTokens.get(getClientAndUserKey(consumerKey, authorizedUser));
+        if (queuedToken == null) {
+            return;
+        }
+        try {
+            queuedToken.getFlushed().get(shutdownTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdentityOAuth2Exception("Interrupted while waiting for the queued access tokens of client: " +
+                    consumerKey + " to be persisted.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IdentityOAuth2Exception("Queued access tokens of client: " + consumerKey + " were not " +
+                    "persisted within " + shutdownTimeoutMillis + "ms.", e);
+        }
+    }
+
+    private boolean enqueue(AccessContextTokenDO accessContextTokenDO) throws IdentityOAuth2Exception {
+
+        BlockingDeque<AccessContextTokenDO> queue = getPartition(accessContextTokenDO);
+        if (queue.offer(accessContextTokenDO)) {
+            return true;
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    queue.put(accessContextTokenDO);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IdentityOAuth2Exception("Interrupted while waiting to queue the access token for " +
+                            "persistence.", e);
+                }
+            case SHED:
+                metrics.recordShed();
+                throw new IdentityOAuth2Exception("Access token persistence queue is full. Rejecting the access " +
+                        "token issued for client: " + accessContextTokenDO.getConsumerKey());
+            default:
+                metrics.recordSynchronousFallback();
+                return false;
+        }
+    }
+
+    /**
+     * Get the number of tokens waiting in all partitions to be persisted.
+     *
+     * @return Total queue depth.
+     */
+    public int getQueueDepth() {
+
+        int queueDepth = 0;
+        if (tasks != null) {
+            for (TokenPersistenceTask task : tasks) {
+                queueDepth += task.getQueueDepth();
+            }
+        }
+        return queueDepth;
+    }
+
+    public TokenPersistenceMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    public long getSynchronousFallbackCount() {
+
+        return metrics.getSynchronousFallbackCount();
+    }
+
+    public long getShedCount() {
+
+        return metrics.getShedCount();
+    }
+
+    private BlockingDeque<AccessContextTokenDO> getPartition(AccessContextTokenDO accessContextTokenDO) {
+
+        int hash = getClientAndUserKey(accessContextTokenDO).hashCode();
+        return partitions.get(Math.floorMod(hash, partitions.size()));
+    }
+
+    private static String getClientAndUserKey(AccessContextTokenDO accessContextTokenDO) {
+
+        AuthenticatedUser authorizedUser = accessContextTokenDO.getNewAccessTokenDO() != null ?
+                accessContextTokenDO.getNewAccessTokenDO().getAuthzUser() : null;
+        return getClientAndUserKey(accessContextTokenDO.getConsumerKey(), authorizedUser);
+    }
+
+    private static String getClientAndUserKey(String consumerKey, AuthenticatedUser authorizedUser) {
+
+        String authorizedSubject = authorizedUser != null ? authorizedUser.getAuthenticatedSubjectIdentifier() : null;
+        return consumerKey + ":" + authorizedSubject;
+    }
+}
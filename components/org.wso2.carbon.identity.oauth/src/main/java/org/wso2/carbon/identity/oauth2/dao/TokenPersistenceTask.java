@@ -19,20 +19,45 @@ package org.wso2.carbon.identity.oauth2.dao;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.wso2.carbon.identity.base.IdentityException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.TimeUnit;
 
 /**
  * OAuth token persistence task.
+ * <p>
+ * The task drains the queue into batches which are flushed to the database in a single transaction once either the
+ * batch size is reached or the flush interval has elapsed since the first token of the batch was taken. A batch size
+ * of one persists every token as soon as it is taken.
  */
 public class TokenPersistenceTask implements Runnable {
 
     private static final Log log = LogFactory.getLog(TokenPersistenceTask.class);
     private BlockingDeque<AccessContextTokenDO> accessContextTokenQueue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final TokenPersistenceMetrics metrics;
 
     public TokenPersistenceTask(BlockingDeque<AccessContextTokenDO> accessContextTokenQueue) {
+        this(accessContextTokenQueue, 1, 0, new TokenPersistenceMetrics());
+    }
+
+    /**
+     * Create a token persistence task which persists tokens in batches.
+     *
+     * @param accessContextTokenQueue Queue of tokens to be persisted.
+     * @param batchSize               Maximum number of tokens persisted in a single transaction.
+     * @param flushIntervalMillis     Maximum time to wait for a batch to fill up before it is flushed.
+     * @param metrics                 Metrics to record the flushes of this task.
+     */
+    public TokenPersistenceTask(BlockingDeque<AccessContextTokenDO> accessContextTokenQueue, int batchSize,
+                                long flushIntervalMillis, TokenPersistenceMetrics metrics) {
         this.accessContextTokenQueue = accessContextTokenQueue;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(0, flushIntervalMillis);
+        this.metrics = metrics;
     }
 
     @Override
@@ -40,25 +65,97 @@ public class TokenPersistenceTask implements Runnable {
 
         log.debug("Access Token context persist consumer is started");
 
-        while (true) {
-            AccessContextTokenDO accessContextTokenDO = null;
-            String accessToken = null;
+        List<AccessContextTokenDO> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
             try {
-                accessContextTokenDO =  accessContextTokenQueue.take();
-                if (accessContextTokenDO != null) {
-                    accessToken = accessContextTokenDO.getAccessToken();
-                    log.debug("Access Token Data persisting Task is started to run");
-                    OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                            .insertAccessToken(accessToken, accessContextTokenDO.getConsumerKey(),
-                                    accessContextTokenDO.getNewAccessTokenDO(),
-                                    accessContextTokenDO.getExistingAccessTokenDO(),
-                                    accessContextTokenDO.getUserStoreDomain());
-                }
+                fillBatch(batch);
             } catch (InterruptedException e) {
-                log.error("Error occurred while getting AccessContextTokenDO instance from accessContextTokenQueue", e);
-            } catch (IdentityException e) {
-                log.error("Error occurred while persisting access token :" + accessToken, e);
+                log.debug("Access Token context persist consumer is interrupted. Flushing the pending tokens.");
+                Thread.currentThread().interrupt();
+            } finally {
+                flush(batch);
+            }
+        }
+    }
+
+    /**
+     * Get the number of tokens waiting in the queue to be persisted.
+     *
+     * @return Queue depth.
+     */
+    public int getQueueDepth() {
+
+        return accessContextTokenQueue.size();
+    }
+
+    public TokenPersistenceMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    private void fillBatch(List<AccessContextTokenDO> batch) throws InterruptedException {
+
+        batch.add(accessContextTokenQueue.take());
+        if (batchSize == 1) {
+            return;
+        }
+        // Take whatever is already available without waiting before waiting for the rest of the batch.
+        accessContextTokenQueue.drainTo(batch, batchSize - batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
             }
+            AccessContextTokenDO accessContextTokenDO = accessContextTokenQueue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (accessContextTokenDO == null) {
+                return;
+            }
+            batch.add(accessContextTokenDO);
+            accessContextTokenQueue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void flush(List<AccessContextTokenDO> batch) {
+
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Persisting a batch of " + batch.size() + " access tokens. Remaining queue depth: " +
+                    accessContextTokenQueue.size());
+        }
+        long startTime = System.nanoTime();
+        long currentTime = System.currentTimeMillis();
+        for (AccessContextTokenDO accessContextTokenDO : batch) {
+            metrics.recordQueueTime(currentTime - accessContextTokenDO.getEnqueuedTime());
+        }
+        int failedTokens = batch.size();
+        try {
+            List<AccessContextTokenDO> failedBatch = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                    .insertAccessTokens(batch);
+            failedTokens = failedBatch.size();
+            if (failedTokens > 0) {
+                log.error(failedTokens + " out of " + batch.size() + " access tokens could not be persisted");
+            }
+        } catch (RuntimeException e) {
+            log.error("Error occurred while persisting a batch of " + batch.size() + " access tokens", e);
+        } finally {
+            metrics.recordFlush(batch.size(), failedTokens, System.nanoTime() - startTime);
+            markFlushed(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Release the requests waiting for the given tokens to be flushed.
+     *
+     * @param batch Flushed tokens.
+     */
+    static void markFlushed(List<AccessContextTokenDO> batch) {
+
+        for (AccessContextTokenDO accessContextTokenDO : batch) {
+            accessContextTokenDO.markFlushed();
         }
     }
 }
@@ -28,6 +28,7 @@ import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceRegistration;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
@@ -52,6 +53,8 @@ import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
 import org.wso2.carbon.identity.handler.event.account.lock.service.AccountDisableService;
 import org.wso2.carbon.identity.handler.event.account.lock.service.AccountLockService;
+import org.wso2.carbon.identity.oauth.cache.AccessTokenNearCache;
+import org.wso2.carbon.identity.oauth.cache.AppInfoNearCache;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.common.token.bindings.TokenBinderInfo;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
@@ -74,8 +77,10 @@ import org.wso2.carbon.identity.oauth2.client.authentication.OAuthClientAuthenti
 import org.wso2.carbon.identity.oauth2.client.authentication.OAuthClientAuthnService;
 import org.wso2.carbon.identity.oauth2.client.authentication.PublicClientAuthenticator;
 import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
+import org.wso2.carbon.identity.oauth2.dao.ExpiredTokenPurgeService;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.dao.TokenManagementDAO;
+import org.wso2.carbon.identity.oauth2.dao.TokenPersistencePipeline;
 import org.wso2.carbon.identity.oauth2.device.api.DeviceAuthService;
 import org.wso2.carbon.identity.oauth2.device.api.DeviceAuthServiceImpl;
 import org.wso2.carbon.identity.oauth2.device.response.DeviceFlowResponseTypeRequestValidator;
@@ -110,7 +115,12 @@ import org.wso2.carbon.identity.oauth2.token.handlers.claims.ImpersonatedAccessT
 import org.wso2.carbon.identity.oauth2.token.handlers.claims.JWTAccessTokenClaimProvider;
 import org.wso2.carbon.identity.oauth2.token.handlers.response.AccessTokenResponseHandler;
 import org.wso2.carbon.identity.oauth2.token.handlers.response.FederatedTokenResponseHandler;
+import org.wso2.carbon.identity.oauth2.token.lock.TokenIssuanceLockManager;
+import org.wso2.carbon.identity.oauth2.token.lock.TokenIssuanceLockService;
+import org.wso2.carbon.identity.oauth2.token.metrics.TokenEndpointMetrics;
+import org.wso2.carbon.identity.oauth2.token.metrics.TokenEndpointMetricsPublisher;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.oauth2.validators.VerifiedJWTCache;
 import org.wso2.carbon.identity.oauth2.validators.scope.RoleBasedScopeIssuer;
 import org.wso2.carbon.identity.oauth2.validators.scope.ScopeValidator;
 import org.wso2.carbon.identity.oauth2.validators.validationhandler.ScopeValidationHandler;
@@ -128,6 +138,7 @@ import org.wso2.carbon.identity.organization.management.service.OrganizationUser
 import org.wso2.carbon.identity.role.v2.mgt.core.RoleManagementService;
 import org.wso2.carbon.identity.user.store.configuration.listener.UserStoreConfigListener;
 import org.wso2.carbon.idp.mgt.IdpManager;
+import org.wso2.carbon.idp.mgt.listener.IdentityProviderMgtListener;
 import org.wso2.carbon.registry.core.service.RegistryService;
 import org.wso2.carbon.stratos.common.listeners.TenantMgtListener;
 import org.wso2.carbon.user.core.service.RealmService;
@@ -368,6 +379,16 @@ public class OAuth2ServiceComponent {
                 log.error("OAuth - ApplicationMgtListener could not be registered.");
             }
 
+            ServiceRegistration oauthIdentityProviderMgtListenerSR = bundleContext.registerService(
+                    IdentityProviderMgtListener.class.getName(), new OAuthIdentityProviderMgtListener(), null);
+            if (oauthIdentityProviderMgtListenerSR != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("OAuth - IdentityProviderMgtListener registered.");
+                }
+            } else {
+                log.error("OAuth - IdentityProviderMgtListener could not be registered.");
+            }
+
             // PKCE enabled by default.
             OAuth2ServiceComponentHolder.setPkceEnabled(true);
 
@@ -484,6 +505,30 @@ public class OAuth2ServiceComponent {
                 || OAuthServerConfiguration.getInstance().isUseLegacyPermissionAccessForUserBasedAuth()) {
             initializeLegacyScopeToNewScopeMappings();
         }
+        // Column availability checks above decide the SQL used by the token persistence consumers.
+        TokenPersistencePipeline.getInstance().start();
+        ExpiredTokenPurgeService.getInstance().start();
+        TokenEndpointMetrics.init();
+        TokenIssuanceLockManager.init();
+        AccessTokenNearCache.getInstance().registerMBean();
+        AppInfoNearCache.getInstance().registerMBean();
+        VerifiedJWTCache.getInstance().registerMBean();
+    }
+
+    @Deactivate
+    protected void deactivate(ComponentContext context) {
+
+        TokenEndpointMetrics.shutdown();
+        TokenIssuanceLockManager.shutdown();
+        AccessTokenNearCache.getInstance().unregisterMBean();
+        AppInfoNearCache.getInstance().unregisterMBean();
+        VerifiedJWTCache.getInstance().unregisterMBean();
+        ExpiredTokenPurgeService.getInstance().shutdown();
+        // Persist the tokens waiting in the asynchronous persistence queues before the bundle goes down.
+        TokenPersistencePipeline.getInstance().shutdown();
+        if (log.isDebugEnabled()) {
+            log.debug("Identity OAuth2 bundle is deactivated");
+        }
     }
 
     /**
@@ -607,6 +652,50 @@ public class OAuth2ServiceComponent {
         }
     }
 
+    @Reference(name = "token.endpoint.metrics.publisher",
+               service = TokenEndpointMetricsPublisher.class,
+               cardinality = ReferenceCardinality.MULTIPLE,
+               policy = ReferencePolicy.DYNAMIC,
+               unbind = "unsetTokenEndpointMetricsPublisher")
+    protected void setTokenEndpointMetricsPublisher(TokenEndpointMetricsPublisher publisher) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Adding the token endpoint metrics publisher: " + publisher.getName());
+        }
+        OAuth2ServiceComponentHolder.getInstance().addTokenEndpointMetricsPublisher(publisher);
+    }
+
+    protected void unsetTokenEndpointMetricsPublisher(TokenEndpointMetricsPublisher publisher) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Removing the token endpoint metrics publisher: " + publisher.getName());
+        }
+        OAuth2ServiceComponentHolder.getInstance().removeTokenEndpointMetricsPublisher(publisher);
+    }
+
+    @Reference(name = "token.issuance.lock.service",
+               service = TokenIssuanceLockService.class,
+               cardinality = ReferenceCardinality.OPTIONAL,
+               policy = ReferencePolicy.DYNAMIC,
+               unbind = "unsetTokenIssuanceLockService")
+    protected void setTokenIssuanceLockService(TokenIssuanceLockService lockService) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Setting the token issuance lock service: " + lockService.getName());
+        }
+        OAuth2ServiceComponentHolder.getInstance().setTokenIssuanceLockService(lockService);
+    }
+
+    protected void unsetTokenIssuanceLockService(TokenIssuanceLockService lockService) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Unsetting the token issuance lock service: " + lockService.getName());
+        }
+        if (OAuth2ServiceComponentHolder.getInstance().getTokenIssuanceLockService() == lockService) {
+            OAuth2ServiceComponentHolder.getInstance().setTokenIssuanceLockService(null);
+        }
+    }
+
     @Reference(name = "response.type.request.validator",
             service = ResponseTypeRequestValidator.class,
             cardinality = ReferenceCardinality.MULTIPLE,
@@ -55,6 +55,8 @@ import org.wso2.carbon.identity.oauth2.rar.validator.DefaultAuthorizationDetails
 import org.wso2.carbon.identity.oauth2.responsemode.provider.ResponseModeProvider;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinder;
 import org.wso2.carbon.identity.oauth2.token.handlers.claims.JWTAccessTokenClaimProvider;
+import org.wso2.carbon.identity.oauth2.token.lock.TokenIssuanceLockService;
+import org.wso2.carbon.identity.oauth2.token.metrics.TokenEndpointMetricsPublisher;
 import org.wso2.carbon.identity.openidconnect.ClaimProvider;
 import org.wso2.carbon.identity.openidconnect.dao.ScopeClaimMappingDAO;
 import org.wso2.carbon.identity.organization.management.role.management.service.RoleManager;
@@ -75,6 +77,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * OAuth2 Service component data holder
@@ -129,6 +132,9 @@ public class OAuth2ServiceComponentHolder {
     private ImpersonationMgtService impersonationMgtService;
 
     private List<ImpersonationValidator> impersonationValidators = new ArrayList<>();
+    private final List<TokenEndpointMetricsPublisher> tokenEndpointMetricsPublishers =
+            new CopyOnWriteArrayList<>();
+    private volatile TokenIssuanceLockService tokenIssuanceLockService;
     private ConfigurationManager configurationManager;
     private static AccountLockService accountLockService;
     private static AccountDisableService accountDisableService;
@@ -1050,4 +1056,54 @@ public class OAuth2ServiceComponentHolder {
 
         this.authorizationDetailsSchemaValidator = schemaValidator;
     }
+
+    /**
+     * Get the token endpoint metrics publishers registered in addition to the default publisher.
+     *
+     * @return Registered token endpoint metrics publishers.
+     */
+    public List<TokenEndpointMetricsPublisher> getTokenEndpointMetricsPublishers() {
+
+        return tokenEndpointMetricsPublishers;
+    }
+
+    /**
+     * Add a token endpoint metrics publisher.
+     *
+     * @param publisher Token endpoint metrics publisher.
+     */
+    public void addTokenEndpointMetricsPublisher(TokenEndpointMetricsPublisher publisher) {
+
+        tokenEndpointMetricsPublishers.add(publisher);
+    }
+
+    /**
+     * Remove a token endpoint metrics publisher.
+     *
+     * @param publisher Token endpoint metrics publisher.
+     */
+    public void removeTokenEndpointMetricsPublisher(TokenEndpointMetricsPublisher publisher) {
+
+        tokenEndpointMetricsPublishers.remove(publisher);
+    }
+
+    /**
+     * Get the token issuance lock service registered to replace the default one.
+     *
+     * @return Registered token issuance lock service, or null if the default one is used.
+     */
+    public TokenIssuanceLockService getTokenIssuanceLockService() {
+
+        return tokenIssuanceLockService;
+    }
+
+    /**
+     * Set the token issuance lock service registered to replace the default one.
+     *
+     * @param tokenIssuanceLockService Token issuance lock service, or null to use the default one.
+     */
+    public void setTokenIssuanceLockService(TokenIssuanceLockService tokenIssuanceLockService) {
+
+        this.tokenIssuanceLockService = tokenIssuanceLockService;
+    }
 }
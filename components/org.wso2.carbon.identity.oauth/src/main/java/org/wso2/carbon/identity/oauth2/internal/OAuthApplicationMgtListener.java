@@ -33,6 +33,7 @@ import org.wso2.carbon.identity.application.common.model.InboundAuthenticationCo
 import org.wso2.carbon.identity.application.common.model.InboundAuthenticationRequestConfig;
 import org.wso2.carbon.identity.application.common.model.Property;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.common.model.ServiceProviderProperty;
 import org.wso2.carbon.identity.application.common.model.User;
 import org.wso2.carbon.identity.application.common.util.IdentityApplicationConstants;
 import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
@@ -63,6 +64,8 @@ import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.AuthzCodeDO;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.oauth2.validators.jwt.JWKSourceDataProvider;
+import org.wso2.carbon.identity.openidconnect.model.Constants;
 
 import java.io.ByteArrayInputStream;
 import java.io.StringWriter;
@@ -107,6 +110,7 @@ public class OAuthApplicationMgtListener extends AbstractApplicationMgtListener
 
         ServiceProvider existingSP = OAuth2ServiceComponentHolder.getApplicationMgtService()
                 .getServiceProvider(serviceProvider.getApplicationID());
+        invalidateJWKSources(existingSP);
         String newClaimConfigString = new Gson().toJson(serviceProvider.getClaimConfig());
         String existingClaimConfigString = new Gson().toJson(existingSP.getClaimConfig());
         if (StringUtils.equals(newClaimConfigString, existingClaimConfigString)) {
@@ -151,6 +155,7 @@ public class OAuthApplicationMgtListener extends AbstractApplicationMgtListener
         }
 
         removeEntriesFromCache(serviceProvider, tenantDomain);
+        invalidateJWKSources(serviceProvider);
         threadLocalForClaimConfigUpdates.remove();
         return true;
     }
@@ -179,6 +184,7 @@ public class OAuthApplicationMgtListener extends AbstractApplicationMgtListener
                             + " in tenantDomain: " + tenantDomain + " during application delete.");
                 }
                 deleteAssociatedOAuthApps(serviceProvider, tenantDomain);
+                invalidateJWKSources(serviceProvider);
             } catch (IdentityOAuthAdminException | IdentityOAuth2Exception e) {
                 throw new IdentityApplicationManagementException("Error while cleaning up oauth application data " +
                         "associated with service provider: " + applicationName + " of tenantDomain: " + tenantDomain,
@@ -192,6 +198,27 @@ public class OAuthApplicationMgtListener extends AbstractApplicationMgtListener
         return true;
     }
 
+    /**
+     * Drop the JWK sources of the jwks_uris of the service provider, so that the keys of the application are
+     * retrieved again after it is updated or deleted.
+     *
+     * @param serviceProvider Service provider.
+     */
+    private void invalidateJWKSources(ServiceProvider serviceProvider) {
+
+        JWKSourceDataProvider jwkSourceDataProvider = JWKSourceDataProvider.getInstance();
+        jwkSourceDataProvider.invalidate(serviceProvider.getJwksUri());
+        ServiceProviderProperty[] spProperties = serviceProvider.getSpProperties();
+        if (spProperties != null) {
+            for (ServiceProviderProperty spProperty : spProperties) {
+                // Request objects are validated with the jwks_uri in the service provider properties.
+                if (Constants.JWKS_URI.equals(spProperty.getName())) {
+                    jwkSourceDataProvider.invalidate(spProperty.getValue());
+                }
+            }
+        }
+    }
+
     private Set<String> getOAuthAppsAssociatedWithApplication(ServiceProvider serviceProvider) {
 
         Set<String> oauthKeys = new HashSet<>();
@@ -494,48 +521,40 @@ public class OAuthApplicationMgtListener extends AbstractApplicationMgtListener
     }
 
     /**
-     * Clear the cache entries against the token.
+     * Clear the cache entries against the given tokens of an application.
      *
-     * @param accessTokenDOSet Set of access token DO.
-     * @param consumerKey      Consumer key of the application.
-     * @param tenantDomain     Tenant domain of the application.
+     * @param accessTokenDOs Chunk of access tokens of the application.
+     * @param tenantDomain   Tenant domain of the application.
      *
      * @throws IdentityOAuth2Exception IdentityOAuth2Exception.
      */
-    private void clearCacheEntriesAgainstTokenByConsumerKey(Set<AccessTokenDO> accessTokenDOSet, String consumerKey,
-                                                            String tenantDomain) throws IdentityOAuth2Exception {
-
-        AppInfoCache appInfoCache = AppInfoCache.getInstance();
-        appInfoCache.clearCacheEntry(consumerKey, tenantDomain);
-        OAuthCache.getInstance().clearCacheEntry(new OAuthCacheKey(consumerKey));
-        if (isNotEmpty(accessTokenDOSet)) {
-            for (AccessTokenDO accessTokenDo : accessTokenDOSet) {
-                String tokenBindingReference = "NONE";
-                if (accessTokenDo.getTokenBinding() != null && StringUtils
-                        .isNotBlank(accessTokenDo.getTokenBinding().getBindingReference())) {
-                    tokenBindingReference = accessTokenDo.getTokenBinding().getBindingReference();
-                }
-                // Remove access token from OAuthCache.
-                OAuthUtil.clearOAuthCache(accessTokenDo.getConsumerKey(), accessTokenDo.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDo.getScope()), tokenBindingReference);
-                OAuthUtil.clearOAuthCache(accessTokenDo.getConsumerKey(), accessTokenDo.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDo.getScope()));
-                OAuthUtil.clearOAuthCache(accessTokenDo.getConsumerKey(), accessTokenDo.getAuthzUser());
-                OAuthUtil.clearOAuthCache(accessTokenDo);
-            }
+    private void clearCacheEntriesAgainstTokens(List<AccessTokenDO> accessTokenDOs, String tenantDomain)
+            throws IdentityOAuth2Exception {
 
-            Set<String> accessTokens = OAuthTokenPersistenceFactory.getInstance()
-                    .getAccessTokenDAO().getActiveTokensByConsumerKey(consumerKey);
-            for (String accessToken : accessTokens) {
-                // Remove access token from AuthorizationGrantCache
-                AuthorizationGrantCacheKey grantCacheKey = new AuthorizationGrantCacheKey(accessToken);
-                AuthorizationGrantCache.getInstance().clearCacheEntryByToken(grantCacheKey);
-                OAuthCacheKey oauthCacheKey = new OAuthCacheKey(accessToken);
-                CacheEntry oauthCacheEntry = OAuthCache.getInstance().getValueFromCache(oauthCacheKey);
-                if (oauthCacheEntry != null) {
-                    OAuthCache.getInstance().clearCacheEntry(oauthCacheKey);
-                    OAuthCache.getInstance().clearCacheEntry(oauthCacheKey, tenantDomain);
-                }
+        for (AccessTokenDO accessTokenDo : accessTokenDOs) {
+            String tokenBindingReference = "NONE";
+            if (accessTokenDo.getTokenBinding() != null && StringUtils
+                    .isNotBlank(accessTokenDo.getTokenBinding().getBindingReference())) {
+                tokenBindingReference = accessTokenDo.getTokenBinding().getBindingReference();
+            }
+            // Remove access token from OAuthCache.
+            OAuthUtil.clearOAuthCache(accessTokenDo.getConsumerKey(), accessTokenDo.getAuthzUser(),
+                    OAuth2Util.buildScopeString(accessTokenDo.getScope()), tokenBindingReference);
+            OAuthUtil.clearOAuthCache(accessTokenDo.getConsumerKey(), accessTokenDo.getAuthzUser(),
+                    OAuth2Util.buildScopeString(accessTokenDo.getScope()));
+            OAuthUtil.clearOAuthCache(accessTokenDo.getConsumerKey(), accessTokenDo.getAuthzUser());
+            OAuthUtil.clearOAuthCache(accessTokenDo);
+
+            String accessToken = OAuth2Util.getPersistenceProcessor()
+                    .getPreprocessedAccessTokenIdentifier(accessTokenDo.getAccessToken());
+            // Remove access token from AuthorizationGrantCache
+            AuthorizationGrantCacheKey grantCacheKey = new AuthorizationGrantCacheKey(accessToken);
+            AuthorizationGrantCache.getInstance().clearCacheEntryByToken(grantCacheKey);
+            OAuthCacheKey oauthCacheKey = new OAuthCacheKey(accessToken);
+            CacheEntry oauthCacheEntry = OAuthCache.getInstance().getValueFromCache(oauthCacheKey);
+            if (oauthCacheEntry != null) {
+                OAuthCache.getInstance().clearCacheEntry(oauthCacheKey);
+                OAuthCache.getInstance().clearCacheEntry(oauthCacheKey, tenantDomain);
             }
         }
     }
@@ -741,21 +760,15 @@ public class OAuthApplicationMgtListener extends AbstractApplicationMgtListener
                     .equalsIgnoreCase(config.getInboundAuthType()) &&
                     config.getInboundAuthKey() != null) {
                 String oauthKey = config.getInboundAuthKey();
-                int countToken = 0;
-                Set<AccessTokenDO> activeDetailedTokens;
                 try {
-                    activeDetailedTokens = OAuthTokenPersistenceFactory
-                            .getInstance().getAccessTokenDAO().getActiveAcessTokenDataByConsumerKey(oauthKey);
-                    String[] accessTokens = new String[activeDetailedTokens.size()];
-                    for (AccessTokenDO detailToken : activeDetailedTokens) {
-                        String token = detailToken.getAccessToken();
-                        accessTokens[countToken] = token;
-                        countToken++;
-                    }
-                    clearCacheEntriesAgainstTokenByConsumerKey(activeDetailedTokens, oauthKey, tenantDomain);
-                    OAuthTokenPersistenceFactory.getInstance().getTokenManagementDAO()
-                            .revokeTokens(oauthKey, accessTokens);
-                } catch (IdentityOAuth2Exception | IdentityApplicationManagementException e) {
+                    AppInfoCache.getInstance().clearCacheEntry(oauthKey, tenantDomain);
+                    OAuthCache.getInstance().clearCacheEntry(new OAuthCacheKey(oauthKey));
+                    // Tokens are revoked chunk by chunk, and the cache entries of each chunk are cleared once it is
+                    // committed.
+                    OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                            .revokeActiveAccessTokensByConsumerKey(oauthKey,
+                                    revokedTokens -> clearCacheEntriesAgainstTokens(revokedTokens, tenantDomain));
+                } catch (IdentityOAuth2Exception e) {
                     throw new IdentityApplicationManagementException("Error occurred while revoking tokens and " +
                             "authz code for client ID: " + config.getInboundAuthKey() + " and tenant domain: " +
                             tenantDomain, e);
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.internal;
+
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.oauth2.util.JWTSignatureValidationUtils;
+import org.wso2.carbon.identity.oauth2.validators.jwt.JWKSourceDataProvider;
+import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
+import org.wso2.carbon.idp.mgt.listener.AbstractIdentityProviderMgtListener;
+
+/**
+ * Identity provider management listener for OAuth related functionality. Drops the JWK source of the jwks_uri of an
+ * updated identity provider, so that its keys are retrieved again on the next validation.
+ */
+public class OAuthIdentityProviderMgtListener extends AbstractIdentityProviderMgtListener {
+
+    private static final int DEFAULT_ORDER_ID = 200;
+
+    @Override
+    public int getDefaultOrderId() {
+
+        return DEFAULT_ORDER_ID;
+    }
+
+    @Override
+    public boolean doPostUpdateIdP(String oldIdPName, IdentityProvider identityProvider, String tenantDomain)
+            throws IdentityProviderManagementException {
+
+        invalidateJWKSource(identityProvider);
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateIdPByResourceId(String resourceId, IdentityProvider oldIdentityProvider,
+                                               IdentityProvider newIdentityProvider, String tenantDomain)
+            throws IdentityProviderManagementException {
+
+        invalidateJWKSource(oldIdentityProvider);
+        invalidateJWKSource(newIdentityProvider);
+        return true;
+    }
+
+    private void invalidateJWKSource(IdentityProvider identityProvider) {
+
+        if (identityProvider != null) {
+            JWKSourceDataProvider.getInstance().invalidate(JWTSignatureValidationUtils.getJWKSUri(identityProvider));
+        }
+    }
+}
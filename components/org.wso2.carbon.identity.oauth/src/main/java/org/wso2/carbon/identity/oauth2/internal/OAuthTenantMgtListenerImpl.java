@@ -24,11 +24,16 @@ import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.oauth.OAuthUtil;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenChunkHandler;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.AuthzCodeDO;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
+import org.wso2.carbon.identity.oauth2.util.JWKSDocumentCache;
+import org.wso2.carbon.identity.oauth2.util.JWSSigningMaterialCache;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.oauth2.validators.VerifiedJWTCache;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 import org.wso2.carbon.stratos.common.exception.StratosException;
 
@@ -36,7 +41,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.TokenBindings.NONE;
 
@@ -49,55 +53,65 @@ public class OAuthTenantMgtListenerImpl extends AbstractIdentityTenantMgtListene
     public void onPreDelete(int tenantId) throws StratosException {
 
         clearTokenData(tenantId);
+        clearSigningKeyData(tenantId);
     }
 
     @Override
     public void onTenantDeactivation(int tenantId) throws StratosException {
 
         clearTokenData(tenantId);
+        clearSigningKeyData(tenantId);
+    }
+
+    private void clearSigningKeyData(int tenantId) {
+
+        String tenantDomain = IdentityTenantUtil.getTenantDomain(tenantId);
+        JWSSigningMaterialCache.getInstance().invalidate(tenantDomain);
+        JWKSDocumentCache.getInstance().invalidate(tenantDomain);
+        VerifiedJWTCache.getInstance().invalidate(tenantDomain);
     }
 
     private void clearTokenData(int tenantId) throws StratosException {
 
         try {
-            Set<AccessTokenDO> accessTokenDOs = OAuthTokenPersistenceFactory.getInstance()
-                    .getAccessTokenDAO().getAccessTokensByTenant(tenantId);
-            String organizationId =
-                    OAuth2ServiceComponentHolder.getInstance().getOrganizationManager().resolveOrganizationId(
-                            IdentityTenantUtil.getTenantDomain(tenantId));
-            Set<AccessTokenDO> accessTokensByAuthorizedOrg =
-                    OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                            .getAccessTokensByAuthorizedOrg(organizationId);
-            accessTokenDOs.addAll(accessTokensByAuthorizedOrg);
-
             Map<String, AccessTokenDO> latestAccessTokens = new HashMap<>();
-            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                String keyString = accessTokenDO.getConsumerKey() + ":" + accessTokenDO.getAuthzUser() + ":" +
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()) + ":"
-                        + accessTokenDO.getAuthzUser().getFederatedIdPName();
-                AccessTokenDO accessTokenDOFromMap = latestAccessTokens.get(keyString);
-                if (accessTokenDOFromMap != null) {
-                    if (accessTokenDOFromMap.getIssuedTime().before(accessTokenDO.getIssuedTime())) {
+            // Tokens are read chunk by chunk, and only the latest token of each client, user and scope is kept.
+            AccessTokenChunkHandler handler = accessTokenDOs -> {
+                for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+                    String keyString = accessTokenDO.getConsumerKey() + ":" + accessTokenDO.getAuthzUser() + ":" +
+                            OAuth2Util.buildScopeString(accessTokenDO.getScope()) + ":"
+                            + accessTokenDO.getAuthzUser().getFederatedIdPName();
+                    AccessTokenDO accessTokenDOFromMap = latestAccessTokens.get(keyString);
+                    if (accessTokenDOFromMap != null) {
+                        if (accessTokenDOFromMap.getIssuedTime().before(accessTokenDO.getIssuedTime())) {
+                            latestAccessTokens.put(keyString, accessTokenDO);
+                        }
+                    } else {
                         latestAccessTokens.put(keyString, accessTokenDO);
                     }
-                } else {
-                    latestAccessTokens.put(keyString, accessTokenDO);
-                }
 
-                //Clear cache
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()));
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
-                OAuthUtil.clearOAuthCache(accessTokenDO);
-                TokenBinding tokenBinding = accessTokenDO.getTokenBinding();
-                String tokenBindingReference = (tokenBinding != null &&
-                        StringUtils.isNotBlank(tokenBinding.getBindingReference())) ?
-                        tokenBinding.getBindingReference() : NONE;
-                String authorizedOrgId = StringUtils.isNotEmpty(accessTokenDO.getAuthorizedOrganizationId()) ?
-                        accessTokenDO.getAuthorizedOrganizationId() : OAuthConstants.AuthorizedOrganization.NONE;
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()), tokenBindingReference, authorizedOrgId);
-            }
+                    //Clear cache
+                    OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
+                            OAuth2Util.buildScopeString(accessTokenDO.getScope()));
+                    OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
+                    OAuthUtil.clearOAuthCache(accessTokenDO);
+                    TokenBinding tokenBinding = accessTokenDO.getTokenBinding();
+                    String tokenBindingReference = (tokenBinding != null &&
+                            StringUtils.isNotBlank(tokenBinding.getBindingReference())) ?
+                            tokenBinding.getBindingReference() : NONE;
+                    String authorizedOrgId = StringUtils.isNotEmpty(accessTokenDO.getAuthorizedOrganizationId()) ?
+                            accessTokenDO.getAuthorizedOrganizationId() : OAuthConstants.AuthorizedOrganization.NONE;
+                    OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
+                            OAuth2Util.buildScopeString(accessTokenDO.getScope()), tokenBindingReference,
+                            authorizedOrgId);
+                }
+            };
+            AccessTokenDAO accessTokenDAO = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO();
+            accessTokenDAO.getAccessTokensByTenant(tenantId, handler);
+            String organizationId =
+                    OAuth2ServiceComponentHolder.getInstance().getOrganizationManager().resolveOrganizationId(
+                            IdentityTenantUtil.getTenantDomain(tenantId));
+            accessTokenDAO.getAccessTokensByAuthorizedOrg(organizationId, handler);
             ArrayList<String> tokensToRevoke = new ArrayList<>();
             for (Map.Entry entry : latestAccessTokens.entrySet()) {
                 tokensToRevoke.add(((AccessTokenDO) entry.getValue()).getAccessToken());
@@ -32,7 +32,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Userstore config listener for OAuth related functionality.
@@ -43,15 +42,16 @@ public class OAuthUserStoreConfigListenerImpl extends AbstractUserStoreConfigLis
     public void onUserStoreNamePreUpdate(int tenantId, String currentUserStoreName, String newUserStoreName) throws
             UserStoreException {
         try {
-            Set<AccessTokenDO> accessTokenDOs = OAuthTokenPersistenceFactory.getInstance()
-                    .getAccessTokenDAO().getAccessTokensOfUserStore(tenantId, currentUserStoreName);
-            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                //Clear cache
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()));
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
-                OAuthUtil.clearOAuthCache(accessTokenDO);
-            }
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().getAccessTokensOfUserStore(tenantId,
+                    currentUserStoreName, accessTokenDOs -> {
+                        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+                            //Clear cache
+                            OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
+                                    OAuth2Util.buildScopeString(accessTokenDO.getScope()));
+                            OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
+                            OAuthUtil.clearOAuthCache(accessTokenDO);
+                        }
+                    });
             OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
                     .updateUserStoreDomain(tenantId, currentUserStoreName, newUserStoreName);
             OAuthTokenPersistenceFactory.getInstance().getAuthorizationCodeDAO()
@@ -80,28 +80,30 @@ public class OAuthUserStoreConfigListenerImpl extends AbstractUserStoreConfigLis
     private void revokeTokens(int tenantId, String userStoreName) throws UserStoreException {
 
         try {
-            Set<AccessTokenDO> accessTokenDOs = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                    .getAccessTokensOfUserStore(tenantId, userStoreName);
             Map<String, AccessTokenDO> latestAccessTokens = new HashMap<>();
-            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                String keyString = accessTokenDO.getConsumerKey() + ":" + accessTokenDO.getAuthzUser() + ":" +
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()) + ":"
-                        + accessTokenDO.getAuthzUser().getFederatedIdPName();
-                AccessTokenDO accessTokenDOFromMap = latestAccessTokens.get(keyString);
-                if (accessTokenDOFromMap != null) {
-                    if (accessTokenDOFromMap.getIssuedTime().before(accessTokenDO.getIssuedTime())) {
-                        latestAccessTokens.put(keyString, accessTokenDO);
-                    }
-                } else {
-                    latestAccessTokens.put(keyString, accessTokenDO);
-                }
+            // Tokens are read chunk by chunk, and only the latest token of each client, user and scope is kept.
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().getAccessTokensOfUserStore(tenantId,
+                    userStoreName, accessTokenDOs -> {
+                        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+                            String keyString = accessTokenDO.getConsumerKey() + ":" + accessTokenDO.getAuthzUser() +
+                                    ":" + OAuth2Util.buildScopeString(accessTokenDO.getScope()) + ":"
+                                    + accessTokenDO.getAuthzUser().getFederatedIdPName();
+                            AccessTokenDO accessTokenDOFromMap = latestAccessTokens.get(keyString);
+                            if (accessTokenDOFromMap != null) {
+                                if (accessTokenDOFromMap.getIssuedTime().before(accessTokenDO.getIssuedTime())) {
+                                    latestAccessTokens.put(keyString, accessTokenDO);
+                                }
+                            } else {
+                                latestAccessTokens.put(keyString, accessTokenDO);
+                            }
 
-                //Clear cache
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()));
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
-                OAuthUtil.clearOAuthCache(accessTokenDO);
-            }
+                            //Clear cache
+                            OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
+                                    OAuth2Util.buildScopeString(accessTokenDO.getScope()));
+                            OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
+                            OAuthUtil.clearOAuthCache(accessTokenDO);
+                        }
+                    });
             ArrayList<String> tokensToRevoke = new ArrayList<>();
             for (Map.Entry entry : latestAccessTokens.entrySet()) {
                 tokensToRevoke.add(((AccessTokenDO) entry.getValue()).getAccessToken());
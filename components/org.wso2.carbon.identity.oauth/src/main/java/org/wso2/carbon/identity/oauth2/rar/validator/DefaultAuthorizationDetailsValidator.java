@@ -254,7 +254,7 @@ public class DefaultAuthorizationDetailsValidator implements AuthorizationDetail
             final String clientId, final String tenantDomain, final AuthorizationDetails authorizationDetails)
             throws AuthorizationDetailsProcessingException, IdentityOAuth2ServerException {
 
-        return this.getSchemaCompliantAuthorizationDetails(authorizationDetails,
+        return this.getSchemaCompliantAuthorizationDetails(tenantDomain, authorizationDetails,
                 this.getAuthorizedAuthorizationDetailsTypes(clientId, tenantDomain));
     }
 
@@ -277,8 +277,8 @@ public class DefaultAuthorizationDetailsValidator implements AuthorizationDetail
                 this.getAuthorizedAuthorizationDetailsTypes(clientId, tenantDomain);
 
         final Set<AuthorizationDetail> validatedAuthorizationDetails = new HashSet<>();
-        for (final AuthorizationDetail authorizationDetail :
-                this.getSchemaCompliantAuthorizationDetails(authorizationDetails, authorizedDetailsTypes)) {
+        for (final AuthorizationDetail authorizationDetail : this.getSchemaCompliantAuthorizationDetails(
+                tenantDomain, authorizationDetails, authorizedDetailsTypes)) {
 
             final AuthorizationDetailsContext authorizationDetailsContext = contextProvider
                     .apply(authorizationDetail, authorizedDetailsTypes.get(authorizationDetail.getType()));
@@ -318,7 +318,7 @@ public class DefaultAuthorizationDetailsValidator implements AuthorizationDetail
     }
 
     private Set<AuthorizationDetail> getSchemaCompliantAuthorizationDetails(
-            final AuthorizationDetails authorizationDetails,
+            final String tenantDomain, final AuthorizationDetails authorizationDetails,
             final Map<String, AuthorizationDetailsType> authorizedDetailsTypes)
             throws AuthorizationDetailsProcessingException {
 
@@ -331,7 +331,8 @@ public class DefaultAuthorizationDetailsValidator implements AuthorizationDetail
 
             this.assertAuthorizationDetailTypeSupported(authorizationDetail.getType());
 
-            if (this.isSchemaCompliant(authorizationDetail.getType(), authorizationDetail, authorizedDetailsTypes)) {
+            if (this.isSchemaCompliant(tenantDomain, authorizationDetail.getType(), authorizationDetail,
+                    authorizedDetailsTypes)) {
                 schemaCompliantAuthorizationDetails.add(authorizationDetail);
             }
         }
@@ -393,7 +394,8 @@ public class DefaultAuthorizationDetailsValidator implements AuthorizationDetail
         }
     }
 
-    private boolean isSchemaCompliant(final String type, final AuthorizationDetail authorizationDetail,
+    private boolean isSchemaCompliant(final String tenantDomain, final String type,
+                                      final AuthorizationDetail authorizationDetail,
                                       final Map<String, AuthorizationDetailsType> authorizedDetailsTypes)
             throws AuthorizationDetailsProcessingException {
 
@@ -405,7 +407,7 @@ public class DefaultAuthorizationDetailsValidator implements AuthorizationDetail
         }
 
         if (this.authorizationDetailsSchemaValidator
-                .isSchemaCompliant(authorizedDetailsTypes.get(type).getSchema(), authorizationDetail)) {
+                .isSchemaCompliant(tenantDomain, authorizedDetailsTypes.get(type).getSchema(), authorizationDetail)) {
             return true;
         }
 
@@ -83,6 +83,8 @@ import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinder;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
 import org.wso2.carbon.identity.oauth2.token.handlers.grant.AuthorizationGrantHandler;
 import org.wso2.carbon.identity.oauth2.token.handlers.response.AccessTokenResponseHandler;
+import org.wso2.carbon.identity.oauth2.token.metrics.TokenEndpointMetrics;
+import org.wso2.carbon.identity.oauth2.token.metrics.TokenEndpointStage;
 import org.wso2.carbon.identity.oauth2.util.AuthzUtil;
 import org.wso2.carbon.identity.oauth2.util.OAuth2TokenUtil;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
@@ -190,6 +192,21 @@ public class AccessTokenIssuer {
     public OAuth2AccessTokenRespDTO issue(OAuth2AccessTokenReqDTO tokenReqDTO)
             throws IdentityException {
 
+        if (!TokenEndpointMetrics.startRequest(tokenReqDTO.getGrantType(), tokenReqDTO.getoAuthClientAuthnContext())) {
+            return issueToken(tokenReqDTO);
+        }
+        OAuth2AccessTokenRespDTO tokenRespDTO = null;
+        try {
+            tokenRespDTO = issueToken(tokenReqDTO);
+            return tokenRespDTO;
+        } finally {
+            TokenEndpointMetrics.endRequest(tokenReqDTO.getTenantDomain(),
+                    tokenRespDTO != null && !tokenRespDTO.isError());
+        }
+    }
+
+    private OAuth2AccessTokenRespDTO issueToken(OAuth2AccessTokenReqDTO tokenReqDTO) throws IdentityException {
+
         String grantType = tokenReqDTO.getGrantType();
         OAuth2AccessTokenRespDTO tokenRespDTO = null;
 
@@ -341,6 +358,8 @@ public class AccessTokenIssuer {
         tokenReqDTO.setTenantDomain(tenantDomainOfApp);
 
         tokReqMsgCtx.addProperty(OAUTH_APP_DO, oAuthAppDO);
+        TokenEndpointMetrics.setTokenType(StringUtils.defaultIfBlank(oAuthAppDO.getTokenType(),
+                OAuth2Util.DEFAULT_TOKEN_TYPE));
 
         boolean isOfTypeApplicationUser = authzGrantHandler.isOfTypeApplicationUser(tokReqMsgCtx);
 
@@ -454,6 +473,7 @@ public class AccessTokenIssuer {
         boolean isValidGrant = false;
         String error = "Provided Authorization Grant is invalid";
         String errorCode = OAuthError.TokenResponse.INVALID_GRANT;
+        long grantValidationStart = TokenEndpointMetrics.startStage();
         try {
             isValidGrant = authzGrantHandler.validateGrant(tokReqMsgCtx);
         } catch (IdentityOAuth2Exception e) {
@@ -467,6 +487,8 @@ public class AccessTokenIssuer {
             if (e.getErrorCode() != null) {
                 errorCode = e.getErrorCode();
             }
+        } finally {
+            TokenEndpointMetrics.endStage(TokenEndpointStage.GRANT_VALIDATION, grantValidationStart);
         }
 
         AuthenticatedUser authenticatedUser = tokReqMsgCtx.getAuthorizedUser();
@@ -491,7 +513,13 @@ public class AccessTokenIssuer {
             return tokenRespDTO;
         }
 
-        boolean isAuthorized = authzGrantHandler.authorizeAccessDelegation(tokReqMsgCtx);
+        long accessDelegationStart = TokenEndpointMetrics.startStage();
+        boolean isAuthorized;
+        try {
+            isAuthorized = authzGrantHandler.authorizeAccessDelegation(tokReqMsgCtx);
+        } finally {
+            TokenEndpointMetrics.endStage(TokenEndpointStage.ACCESS_DELEGATION, accessDelegationStart);
+        }
         if (!isAuthorized) {
             if (log.isDebugEnabled()) {
                 log.debug("Invalid authorization for client Id : " + tokenReqDTO.getClientId());
@@ -503,7 +531,13 @@ public class AccessTokenIssuer {
             return tokenRespDTO;
         }
 
-        boolean isValidScope = validateScope(tokReqMsgCtx);
+        long scopeValidationStart = TokenEndpointMetrics.startStage();
+        boolean isValidScope;
+        try {
+            isValidScope = validateScope(tokReqMsgCtx);
+        } finally {
+            TokenEndpointMetrics.endStage(TokenEndpointStage.SCOPE_VALIDATION, scopeValidationStart);
+        }
         if (!isValidScope) {
             if (log.isDebugEnabled()) {
                 log.debug("Invalid scope provided by client Id: " + tokenReqDTO.getClientId());
@@ -578,7 +612,12 @@ public class AccessTokenIssuer {
                 }
             }
 
-            tokenRespDTO = authzGrantHandler.issue(tokReqMsgCtx);
+            long tokenIssuanceStart = TokenEndpointMetrics.startStage();
+            try {
+                tokenRespDTO = authzGrantHandler.issue(tokReqMsgCtx);
+            } finally {
+                TokenEndpointMetrics.endStage(TokenEndpointStage.TOKEN_ISSUANCE, tokenIssuanceStart);
+            }
             if (tokenRespDTO.isError()) {
                 setResponseHeaders(tokReqMsgCtx, tokenRespDTO);
                 return tokenRespDTO;
@@ -647,6 +686,7 @@ public class AccessTokenIssuer {
                 log.debug("Issuing ID token for client: " + tokenReqDTO.getClientId());
             }
             IDTokenBuilder builder = OAuthServerConfiguration.getInstance().getOpenIDConnectIDTokenBuilder();
+            long idTokenStart = TokenEndpointMetrics.startStage();
             try {
                 String idToken = builder.buildIDToken(tokReqMsgCtx, tokenRespDTO);
                 if (LoggerUtils.isDiagnosticLogsEnabled()) {
@@ -676,6 +716,8 @@ public class AccessTokenIssuer {
                 }
                 tokenRespDTO = handleError(OAuth2ErrorCodes.SERVER_ERROR, "Server Error", tokenReqDTO);
                 return tokenRespDTO;
+            } finally {
+                TokenEndpointMetrics.endStage(TokenEndpointStage.ID_TOKEN_GENERATION, idTokenStart);
             }
         }
 
@@ -22,9 +22,6 @@ import com.nimbusds.jose.Algorithm;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JOSEObjectType;
 import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.JWSSigner;
-import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.JWTParser;
@@ -52,15 +49,16 @@ import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
 import org.wso2.carbon.identity.oauth2.token.handlers.claims.JWTAccessTokenClaimProvider;
 import org.wso2.carbon.identity.oauth2.token.handlers.grant.AuthorizationGrantHandler;
+import org.wso2.carbon.identity.oauth2.token.metrics.TokenEndpointMetrics;
+import org.wso2.carbon.identity.oauth2.token.metrics.TokenEndpointStage;
+import org.wso2.carbon.identity.oauth2.util.JWSSigningMaterial;
+import org.wso2.carbon.identity.oauth2.util.JWSSigningMaterialCache;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.openidconnect.CustomClaimsCallbackHandler;
 import org.wso2.carbon.identity.openidconnect.OIDCClaimUtil;
 import org.wso2.carbon.identity.openidconnect.util.ClaimHandlerUtil;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 
-import java.security.Key;
-import java.security.cert.Certificate;
-import java.security.interfaces.RSAPrivateKey;
 import java.text.ParseException;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -75,7 +73,6 @@ import java.util.concurrent.TimeUnit;
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OIDCConfigProperties.SUBJECT_TOKEN_EXPIRY_TIME_VALUE;
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.RENEW_TOKEN_WITHOUT_REVOKING_EXISTING_ENABLE_CONFIG;
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.REQUEST_BINDING_TYPE;
-import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.getPrivateKey;
 
 /**
  * Self contained access token builder.
@@ -108,6 +105,8 @@ public class JWTTokenIssuer extends OauthTokenIssuerImpl {
     private Algorithm signatureAlgorithm = null;
     private static final String ENABLE_PPID_FOR_ACCESS_TOKENS = "OAuth.OpenIDConnect.EnablePairwiseSubForAccessToken";
     private static final String JWT_TYP_HEADER_VALUE = "jwt";
+    private static final JOSEObjectType DEFAULT_TYP_HEADER = new JOSEObjectType(DEFAULT_TYP_HEADER_VALUE);
+    private static final JOSEObjectType JWT_TYP_HEADER = new JOSEObjectType(JWT_TYP_HEADER_VALUE);
     private static final String MAY_ACT = "may_act";
     private static final String SUB = "sub";
     private static final String ACR = "acr";
@@ -366,17 +365,22 @@ public class JWTTokenIssuer extends OauthTokenIssuerImpl {
                              OAuthTokenReqMessageContext tokenContext,
                              OAuthAuthzReqMessageContext authorizationContext) throws IdentityOAuth2Exception {
 
-        if (JWSAlgorithm.RS256.equals(signatureAlgorithm) || JWSAlgorithm.RS384.equals(signatureAlgorithm) ||
-                JWSAlgorithm.RS512.equals(signatureAlgorithm) || JWSAlgorithm.PS256.equals(signatureAlgorithm)) {
-            return signJWTWithRSA(jwtClaimsSet, tokenContext, authorizationContext);
-        } else if (JWSAlgorithm.HS256.equals(signatureAlgorithm) || JWSAlgorithm.HS384.equals(signatureAlgorithm) ||
-                JWSAlgorithm.HS512.equals(signatureAlgorithm)) {
-            return signJWTWithHMAC(jwtClaimsSet, tokenContext, authorizationContext);
-        } else if (JWSAlgorithm.ES256.equals(signatureAlgorithm) || JWSAlgorithm.ES384.equals(signatureAlgorithm) ||
-                JWSAlgorithm.ES512.equals(signatureAlgorithm)) {
-            return signJWTWithECDSA(jwtClaimsSet, tokenContext, authorizationContext);
-        } else {
-            throw new IdentityOAuth2Exception("Invalid signature algorithm provided. " + signatureAlgorithm);
+        long signingStart = TokenEndpointMetrics.startStage();
+        try {
+            if (JWSAlgorithm.RS256.equals(signatureAlgorithm) || JWSAlgorithm.RS384.equals(signatureAlgorithm) ||
+                    JWSAlgorithm.RS512.equals(signatureAlgorithm) || JWSAlgorithm.PS256.equals(signatureAlgorithm)) {
+                return signJWTWithRSA(jwtClaimsSet, tokenContext, authorizationContext);
+            } else if (JWSAlgorithm.HS256.equals(signatureAlgorithm) ||
+                    JWSAlgorithm.HS384.equals(signatureAlgorithm) || JWSAlgorithm.HS512.equals(signatureAlgorithm)) {
+                return signJWTWithHMAC(jwtClaimsSet, tokenContext, authorizationContext);
+            } else if (JWSAlgorithm.ES256.equals(signatureAlgorithm) ||
+                    JWSAlgorithm.ES384.equals(signatureAlgorithm) || JWSAlgorithm.ES512.equals(signatureAlgorithm)) {
+                return signJWTWithECDSA(jwtClaimsSet, tokenContext, authorizationContext);
+            } else {
+                throw new IdentityOAuth2Exception("Invalid signature algorithm provided. " + signatureAlgorithm);
+            }
+        } finally {
+            TokenEndpointMetrics.endStage(TokenEndpointStage.JWT_SIGNING, signingStart);
         }
     }
 
@@ -477,34 +481,7 @@ public class JWTTokenIssuer extends OauthTokenIssuerImpl {
     protected String signJWTWithRSA(JWTClaimsSet jwtClaimsSet, OAuthTokenReqMessageContext tokenContext,
                                     OAuthAuthzReqMessageContext authorizationContext) throws IdentityOAuth2Exception {
 
-        try {
-            String tenantDomain = resolveSigningTenantDomain(tokenContext, authorizationContext);
-            int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
-
-            // Add claim with signer tenant to jwt claims set.
-            jwtClaimsSet = setSignerRealm(tenantDomain, jwtClaimsSet);
-
-            Key privateKey = getPrivateKey(tenantDomain, tenantId);
-            JWSSigner signer = OAuth2Util.createJWSSigner((RSAPrivateKey) privateKey);
-            JWSHeader.Builder headerBuilder = new JWSHeader.Builder((JWSAlgorithm) signatureAlgorithm);
-            Certificate certificate = OAuth2Util.getCertificate(tenantDomain, tenantId);
-            String certThumbPrint = OAuth2Util.getThumbPrintWithPrevAlgorithm(certificate, false);
-            headerBuilder.keyID(OAuth2Util.getKID(OAuth2Util.getCertificate(tenantDomain, tenantId),
-                    (JWSAlgorithm) signatureAlgorithm, tenantDomain));
-
-            if (authorizationContext != null && authorizationContext.isSubjectTokenFlow()) {
-                headerBuilder.type(new JOSEObjectType(JWT_TYP_HEADER_VALUE));
-            } else {
-                // Set the required "typ" header "at+jwt" for access tokens issued by the issuer
-                headerBuilder.type(new JOSEObjectType(DEFAULT_TYP_HEADER_VALUE));
-            }
-            headerBuilder.x509CertThumbprint(new Base64URL(certThumbPrint));
-            SignedJWT signedJWT = new SignedJWT(headerBuilder.build(), jwtClaimsSet);
-            signedJWT.sign(signer);
-            return signedJWT.serialize();
-        } catch (JOSEException e) {
-            throw new IdentityOAuth2Exception("Error occurred while signing JWT", e);
-        }
+        return signJWTWithTenantKey(jwtClaimsSet, tokenContext, authorizationContext);
     }
 
     // TODO: Implement JWT signing with HMAC SHA (SHA-256, SHA-384, SHA-512).
@@ -516,13 +493,58 @@ public class JWTTokenIssuer extends OauthTokenIssuerImpl {
                 "by the current implementation.");
     }
 
-    // TODO: Implement JWT signing with ECDSA (SHA-256, SHA-384, SHA-512).
+    /**
+     * Sign the JWT token with ECDSA (SHA-256, SHA-384, SHA-512) algorithm.
+     *
+     * @param jwtClaimsSet         JWT claim set to be signed.
+     * @param tokenContext         Token context if available.
+     * @param authorizationContext Authorization context if available.
+     * @return Signed JWT token.
+     * @throws IdentityOAuth2Exception If the signing key of the tenant is not an EC key of a matching curve.
+     */
     protected String signJWTWithECDSA(JWTClaimsSet jwtClaimsSet,
                                       OAuthTokenReqMessageContext tokenContext,
                                       OAuthAuthzReqMessageContext authorizationContext) throws IdentityOAuth2Exception {
 
-        throw new IdentityOAuth2Exception("Given signature algorithm " + signatureAlgorithm + " is not supported " +
-                "by the current implementation.");
+        return signJWTWithTenantKey(jwtClaimsSet, tokenContext, authorizationContext);
+    }
+
+    /**
+     * Sign the JWT token with the key of the signing tenant, using the signer matching the configured signature
+     * algorithm.
+     *
+     * @param jwtClaimsSet         JWT claim set to be signed.
+     * @param tokenContext         Token context if available.
+     * @param authorizationContext Authorization context if available.
+     * @return Signed JWT token.
+     * @throws IdentityOAuth2Exception If the signing key cannot be resolved or used with the signature algorithm.
+     */
+    private String signJWTWithTenantKey(JWTClaimsSet jwtClaimsSet, OAuthTokenReqMessageContext tokenContext,
+                                        OAuthAuthzReqMessageContext authorizationContext)
+            throws IdentityOAuth2Exception {
+
+        try {
+            String tenantDomain = resolveSigningTenantDomain(tokenContext, authorizationContext);
+            int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+
+            // Add claim with signer tenant to jwt claims set.
+            jwtClaimsSet = setSignerRealm(tenantDomain, jwtClaimsSet);
+
+            JWSSigningMaterial signingMaterial = JWSSigningMaterialCache.getInstance()
+                    .getSigningMaterial(tenantDomain, tenantId, (JWSAlgorithm) signatureAlgorithm);
+            JOSEObjectType type;
+            if (authorizationContext != null && authorizationContext.isSubjectTokenFlow()) {
+                type = JWT_TYP_HEADER;
+            } else {
+                // Set the required "typ" header "at+jwt" for access tokens issued by the issuer
+                type = DEFAULT_TYP_HEADER;
+            }
+            SignedJWT signedJWT = new SignedJWT(signingMaterial.getHeader(type), jwtClaimsSet);
+            signedJWT.sign(signingMaterial.getSigner());
+            return signedJWT.serialize();
+        } catch (JOSEException e) {
+            throw new IdentityOAuth2Exception("Error occurred while signing JWT", e);
+        }
     }
 
     /**
@@ -684,10 +706,15 @@ public class JWTTokenIssuer extends OauthTokenIssuerImpl {
         JWTClaimsSet jwtClaimsSet;
 
         // Handle custom claims
-        if (authAuthzReqMessageContext != null) {
-            jwtClaimsSet = handleCustomClaims(jwtClaimsSetBuilder, authAuthzReqMessageContext, oAuthAppDO);
-        } else {
-            jwtClaimsSet = handleCustomClaims(jwtClaimsSetBuilder, tokenReqMessageContext, oAuthAppDO);
+        long claimCallbackStart = TokenEndpointMetrics.startStage();
+        try {
+            if (authAuthzReqMessageContext != null) {
+                jwtClaimsSet = handleCustomClaims(jwtClaimsSetBuilder, authAuthzReqMessageContext, oAuthAppDO);
+            } else {
+                jwtClaimsSet = handleCustomClaims(jwtClaimsSetBuilder, tokenReqMessageContext, oAuthAppDO);
+            }
+        } finally {
+            TokenEndpointMetrics.endStage(TokenEndpointStage.CLAIM_CALLBACK, claimCallbackStart);
         }
 
         // todo: deprecate when pre issue access token action is ready
@@ -56,6 +56,7 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2ClientException;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.OAuth2Service;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
+import org.wso2.carbon.identity.oauth2.dao.TokenPersistencePipeline;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenReqDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenRespDTO;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
@@ -65,6 +66,10 @@ import org.wso2.carbon.identity.oauth2.rar.AuthorizationDetailsService;
 import org.wso2.carbon.identity.oauth2.rar.util.AuthorizationDetailsUtils;
 import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
+import org.wso2.carbon.identity.oauth2.token.lock.TokenIssuanceLock;
+import org.wso2.carbon.identity.oauth2.token.lock.TokenIssuanceLockManager;
+import org.wso2.carbon.identity.oauth2.token.metrics.TokenEndpointMetrics;
+import org.wso2.carbon.identity.oauth2.token.metrics.TokenEndpointStage;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.oauth2.util.Oauth2ScopeUtils;
 import org.wso2.carbon.identity.oauth2.validators.OAuth2ScopeHandler;
@@ -178,7 +183,10 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                     "Error while retrieving oauth issuer for the app with clientId: " + consumerKey, e);
         }
 
-        synchronized ((consumerKey + ":" + authorizedUserId + ":" + scope + ":" + tokenBindingReference).intern()) {
+        try (TokenIssuanceLock issuanceLock = TokenIssuanceLockManager.lock(consumerKey, authorizedUserId, scope,
+                tokenBindingReference)) {
+            // A token issued by the previous holder of the lock may still be queued for persistence.
+            TokenPersistencePipeline.getInstance().awaitQueuedTokens(consumerKey, tokReqMsgCtx.getAuthorizedUser());
             AccessTokenDO existingTokenBean = null;
 
             OAuthAppDO oAuthAppDO = (OAuthAppDO) tokReqMsgCtx.getProperty(OAUTH_APP);
@@ -398,9 +406,8 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                                     AccessTokenDO newTokenBean, String newAccessToken, AccessTokenDO
                                             existingTokenBean) throws IdentityOAuth2Exception {
         try {
-            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                    .insertAccessToken(newAccessToken, oAuth2AccessTokenReqDTO.getClientId(),
-                            newTokenBean, existingTokenBean, userStoreDomain);
+            TokenPersistencePipeline.getInstance().persist(newAccessToken, oAuth2AccessTokenReqDTO.getClientId(),
+                    newTokenBean, existingTokenBean, userStoreDomain);
         } catch (IdentityException e) {
             String maskedToken = LoggerUtils.isLogMaskingEnable ? LoggerUtils.getMaskedContent(newAccessToken) :
                     newAccessToken;
@@ -528,6 +535,7 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
 
             FlowContext flowContext = FlowContext.create().add("tokenMessageContext", tokenReqMessageContext);
 
+            long preIssueActionStart = TokenEndpointMetrics.startStage();
             try {
                 executionStatus = OAuthComponentServiceHolder.getInstance().getActionExecutorService()
                         .execute(ActionType.PRE_ISSUE_ACCESS_TOKEN, flowContext,
@@ -542,6 +550,8 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                 }
             } catch (ActionExecutionException e) {
                 throw new IdentityOAuth2Exception("Error occurred while executing pre issue access token actions.", e);
+            } finally {
+                TokenEndpointMetrics.endStage(TokenEndpointStage.PRE_ISSUE_ACTION, preIssueActionStart);
             }
         }
         return executionStatus;
@@ -711,10 +721,15 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                     " and bindingRef: " + getTokenBindingReference(tokReqMsgCtx) +
                     " and authorized organization: " + getAuthorizedOrganization(tokReqMsgCtx));
         }
-        storeAccessToken(tokenReq, getUserStoreDomain(tokReqMsgCtx.getAuthorizedUser()), newTokenBean, newAccessToken,
-                existingTokenBean);
-        this.authorizationDetailsService
-                .storeOrReplaceAccessTokenAuthorizationDetails(newTokenBean, existingTokenBean, tokReqMsgCtx);
+        long tokenPersistenceStart = TokenEndpointMetrics.startStage();
+        try {
+            storeAccessToken(tokenReq, getUserStoreDomain(tokReqMsgCtx.getAuthorizedUser()), newTokenBean,
+                    newAccessToken, existingTokenBean);
+            this.authorizationDetailsService
+                    .storeOrReplaceAccessTokenAuthorizationDetails(newTokenBean, existingTokenBean, tokReqMsgCtx);
+        } finally {
+            TokenEndpointMetrics.endStage(TokenEndpointStage.TOKEN_PERSISTENCE, tokenPersistenceStart);
+        }
     }
 
     private void updateCacheIfEnabled(AccessTokenDO newTokenBean, String scope, OauthTokenIssuer oauthTokenIssuer)
@@ -784,6 +799,7 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
 
     private String getNewAccessToken(OAuthTokenReqMessageContext tokReqMsgCtx, OauthTokenIssuer oauthTokenIssuer)
             throws IdentityOAuth2Exception {
+        long tokenGenerationStart = TokenEndpointMetrics.startStage();
         try {
             String newAccessToken = oauthTokenIssuer.accessToken(tokReqMsgCtx);
             if (OAuth2Util.checkUserNameAssertionEnabled()) {
@@ -797,6 +813,8 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                 throw (IdentityOAuth2ClientException) e.getCause();
             }
             throw new IdentityOAuth2Exception("Error while generating access token", e);
+        } finally {
+            TokenEndpointMetrics.endStage(TokenEndpointStage.TOKEN_GENERATION, tokenGenerationStart);
         }
     }
 
@@ -69,6 +69,10 @@ import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinder;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
+import org.wso2.carbon.identity.oauth2.token.lock.TokenIssuanceLock;
+import org.wso2.carbon.identity.oauth2.token.lock.TokenIssuanceLockManager;
+import org.wso2.carbon.identity.oauth2.token.metrics.TokenEndpointMetrics;
+import org.wso2.carbon.identity.oauth2.token.metrics.TokenEndpointStage;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.FederatedAssociationManager;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.exception.FederatedAssociationManagerClientException;
@@ -168,7 +172,8 @@ public class RefreshGrantHandler extends AbstractAuthorizationGrantHandler {
                     + tokReqMsgCtx.getAuthorizedUser().getLoggableMaskedUserId(), e);
         }
         String tokenBindingReference = getTokenBindingReference(tokReqMsgCtx);
-        synchronized ((consumerKey + ":" + authorizedUserId + ":" + scope + ":" + tokenBindingReference).intern()) {
+        try (TokenIssuanceLock issuanceLock = TokenIssuanceLockManager.lock(consumerKey, authorizedUserId, scope,
+                tokenBindingReference)) {
             // sets accessToken, refreshToken and validity data
             setTokenData(accessTokenBean, tokReqMsgCtx, validationBean, tokenReq, accessTokenBean.getIssuedTime());
             persistNewToken(tokReqMsgCtx, accessTokenBean, tokenReq.getClientId());
@@ -492,8 +497,13 @@ public class RefreshGrantHandler extends AbstractAuthorizationGrantHandler {
                 log.debug("Previous access token (hashed): " + DigestUtils.sha256Hex(oldAccessToken.getAccessToken()));
             }
         }
-        getRefreshTokenGrantProcessor().persistNewToken(tokReqMsgCtx,
-                accessTokenBean, userStoreDomain, clientId);
+        long tokenPersistenceStart = TokenEndpointMetrics.startStage();
+        try {
+            getRefreshTokenGrantProcessor().persistNewToken(tokReqMsgCtx,
+                    accessTokenBean, userStoreDomain, clientId);
+        } finally {
+            TokenEndpointMetrics.endStage(TokenEndpointStage.TOKEN_PERSISTENCE, tokenPersistenceStart);
+        }
         updateCacheIfEnabled(tokReqMsgCtx, accessTokenBean, clientId, oldAccessToken);
     }
 
@@ -709,6 +719,7 @@ public class RefreshGrantHandler extends AbstractAuthorizationGrantHandler {
     private void createTokens(AccessTokenDO accessTokenDO, OAuthTokenReqMessageContext tokReqMsgCtx)
             throws IdentityOAuth2Exception {
 
+        long tokenGenerationStart = TokenEndpointMetrics.startStage();
         try {
             OauthTokenIssuer oauthTokenIssuer = OAuth2Util
                     .getOAuthTokenIssuerForOAuthApp(accessTokenDO.getConsumerKey());
@@ -735,6 +746,8 @@ public class RefreshGrantHandler extends AbstractAuthorizationGrantHandler {
         } catch (InvalidOAuthClientException e) {
             throw new IdentityOAuth2Exception("Error while retrieving oauth issuer for the app with clientId: " +
                     accessTokenDO.getConsumerKey(), e);
+        } finally {
+            TokenEndpointMetrics.endStage(TokenEndpointStage.TOKEN_GENERATION, tokenGenerationStart);
         }
     }
 
@@ -892,6 +905,7 @@ public class RefreshGrantHandler extends AbstractAuthorizationGrantHandler {
 
             FlowContext flowContext = FlowContext.create().add("tokenMessageContext", tokenReqMessageContext);
 
+            long preIssueActionStart = TokenEndpointMetrics.startStage();
             try {
                 executionStatus = OAuthComponentServiceHolder.getInstance().getActionExecutorService()
                         .execute(ActionType.PRE_ISSUE_ACCESS_TOKEN, flowContext,
@@ -905,6 +919,8 @@ public class RefreshGrantHandler extends AbstractAuthorizationGrantHandler {
                 }
             } catch (ActionExecutionException e) {
                 throw new IdentityOAuth2Exception("Error occurred while executing pre issue access token actions.", e);
+            } finally {
+                TokenEndpointMetrics.endStage(TokenEndpointStage.PRE_ISSUE_ACTION, preIssueActionStart);
             }
         }
         return executionStatus;
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.lock;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.dao.SQLQueries;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link TokenIssuanceLockService} which serializes token issuance across the nodes of a cluster with leases in the
+ * IDN_OAUTH2_TOKEN_ISSUANCE_LEASE table, on top of the node-local locks of {@link LocalTokenIssuanceLockService}.
+ * <p>
+ * A lease is a row keyed by a hash of the lock key. It is created by the node that acquires the lock and deleted on
+ * release. A lease left behind by a failed node is taken over once it expires, so the clocks of the nodes must agree
+ * within a small fraction of the lease time. If a lease cannot be acquired within the configured wait time, the
+ * request continues holding only the node-local lock, so that a slow or stuck holder on another node does not stop
+ * token issuance.
+ * <pre>
+ * CREATE TABLE IDN_OAUTH2_TOKEN_ISSUANCE_LEASE (
+ *     LEASE_KEY VARCHAR(64) NOT NULL,
+ *     OWNER_ID VARCHAR(64) NOT NULL,
+ *     EXPIRY_TIME BIGINT NOT NULL,
+ *     PRIMARY KEY (LEASE_KEY)
+ * );
+ * </pre>
+ */
+public class ClusterLeaseTokenIssuanceLockService implements TokenIssuanceLockService {
+
+    private static final Log log = LogFactory.getLog(ClusterLeaseTokenIssuanceLockService.class);
+    private static final String NAME = "cluster-lease";
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION_SQL_STATE_CLASS = "23";
+    private static final long MIN_RETRY_INTERVAL_MILLIS = 10;
+    private static final long MAX_RETRY_INTERVAL_MILLIS = 200;
+
+    private final LocalTokenIssuanceLockService localLockService;
+    private final long leaseTimeMillis;
+    private final long waitTimeMillis;
+    private final ThreadLocal<Map<String, Integer>> heldLeases = ThreadLocal.withInitial(HashMap::new);
+    private final LongAdder leaseTimeoutCount = new LongAdder();
+
+    ClusterLeaseTokenIssuanceLockService(LocalTokenIssuanceLockService localLockService, long leaseTimeMillis,
+                                         long waitTimeMillis) {
+
+        this.localLockService = localLockService;
+        this.leaseTimeMillis = leaseTimeMillis;
+        this.waitTimeMillis = waitTimeMillis;
+    }
+
+    @Override
+    public String getName() {
+
+        return NAME;
+    }
+
+    @Override
+    public TokenIssuanceLock lock(TokenIssuanceLockKey lockKey) throws IdentityOAuth2Exception {
+
+        TokenIssuanceLock localLock = localLockService.lock(lockKey);
+        String leaseKey = DigestUtils.sha256Hex(lockKey.toString());
+        Map<String, Integer> leases = heldLeases.get();
+        Integer holdCount = leases.get(leaseKey);
+        if (holdCount != null) {
+            // The lease is already held by this thread.
+            leases.put(leaseKey, holdCount + 1);
+            return () -> releaseReentrant(leaseKey, localLock);
+        }
+
+        String ownerId;
+        try {
+            ownerId = acquireLease(leaseKey);
+        } catch (IdentityOAuth2Exception | RuntimeException e) {
+            localLock.close();
+            throw e;
+        }
+        if (ownerId == null) {
+            leaseTimeoutCount.increment();
+            log.warn("Could not acquire the cluster token issuance lease within " + waitTimeMillis + " ms for " +
+                    "client: " + lockKey.getConsumerKey() + ". Continuing with the node-local lock.");
+            return localLock;
+        }
+        leases.put(leaseKey, 1);
+        return () -> {
+            try {
+                heldLeases.get().remove(leaseKey);
+                releaseLease(leaseKey, ownerId);
+            } finally {
+                localLock.close();
+            }
+        };
+    }
+
+    /**
+     * Get the number of acquisitions that continued with only the node-local lock.
+     *
+     * @return Lease timeout count.
+     */
+    public long getLeaseTimeoutCount() {
+
+        return leaseTimeoutCount.sum();
+    }
+
+    private void releaseReentrant(String leaseKey, TokenIssuanceLock localLock) {
+
+        try {
+            heldLeases.get().computeIfPresent(leaseKey, (key, count) -> count - 1);
+        } finally {
+            localLock.close();
+        }
+    }
+
+    private String acquireLease(String leaseKey) throws IdentityOAuth2Exception {
+
+        String ownerId = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + waitTimeMillis;
+        long retryInterval = MIN_RETRY_INTERVAL_MILLIS;
+        while (true) {
+            if (tryAcquireLease(leaseKey, ownerId)) {
+                return ownerId;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            try {
+                Thread.sleep(Math.min(retryInterval, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdentityOAuth2Exception("Interrupted while waiting for the token issuance lease.", e);
+            }
+            retryInterval = Math.min(retryInterval * 2, MAX_RETRY_INTERVAL_MILLIS);
+        }
+    }
+
+    private boolean tryAcquireLease(String leaseKey, String ownerId) throws IdentityOAuth2Exception {
+
+        long now = System.currentTimeMillis();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(SQLQueries.INSERT_TOKEN_ISSUANCE_LEASE)) {
+                prepStmt.setString(1, leaseKey);
+                prepStmt.setString(2, ownerId);
+                prepStmt.setLong(3, now + leaseTimeMillis);
+                prepStmt.executeUpdate();
+                IdentityDatabaseUtil.commitTransaction(connection);
+                return true;
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                if (!isDuplicateKey(e)) {
+                    throw e;
+                }
+            }
+            try (PreparedStatement prepStmt = connection.prepareStatement(
+                    SQLQueries.TAKE_OVER_EXPIRED_TOKEN_ISSUANCE_LEASE)) {
+                prepStmt.setString(1, ownerId);
+                prepStmt.setLong(2, now + leaseTimeMillis);
+                prepStmt.setString(3, leaseKey);
+                prepStmt.setLong(4, now);
+                boolean tookOver = prepStmt.executeUpdate() > 0;
+                IdentityDatabaseUtil.commitTransaction(connection);
+                if (tookOver && log.isDebugEnabled()) {
+                    log.debug("Took over the expired token issuance lease: " + leaseKey);
+                }
+                return tookOver;
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error while acquiring the token issuance lease: " + leaseKey, e);
+        }
+    }
+
+    private void releaseLease(String leaseKey, String ownerId) {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(SQLQueries.DELETE_TOKEN_ISSUANCE_LEASE)) {
+                prepStmt.setString(1, leaseKey);
+                prepStmt.setString(2, ownerId);
+                prepStmt.executeUpdate();
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        } catch (SQLException e) {
+            // The lease expires by itself, so only later requests of the same key are delayed.
+            log.warn("Error while releasing the token issuance lease: " + leaseKey, e);
+        }
+    }
+
+    static boolean isDuplicateKey(SQLException e) {
+
+        return e instanceof SQLIntegrityConstraintViolationException || (e.getSQLState() != null &&
+                e.getSQLState().startsWith(INTEGRITY_CONSTRAINT_VIOLATION_SQL_STATE_CLASS));
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.lock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Default {@link TokenIssuanceLockService}, which serializes token issuance within this node.
+ * <p>
+ * A lock exists only while it is held or waited on, so the number of locks is bounded by the number of in-flight
+ * requests. Unrelated keys never share a lock: issuance flows acquire a second key while holding the first one, for
+ * example when revoking the token they renew, and locks shared between keys could deadlock those flows. Contended
+ * acquisitions are counted per client and user, for a bounded number of combinations, to surface hot keys.
+ */
+public class LocalTokenIssuanceLockService implements TokenIssuanceLockService, LocalTokenIssuanceLockServiceMBean {
+
+    static final String OBJECT_NAME = "org.wso2.carbon.identity.oauth:type=TokenIssuanceLock";
+
+    private static final Log log = LogFactory.getLog(LocalTokenIssuanceLockService.class);
+    private static final String NAME = "local";
+    private static final int HOT_KEY_REPORT_SIZE = 10;
+
+    private final Map<TokenIssuanceLockKey, KeyLock> locks = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> contentionByClientAndUser = new ConcurrentHashMap<>();
+    private final int maxTrackedKeys;
+    private final LongAdder acquisitionCount = new LongAdder();
+    private final LongAdder contendedAcquisitionCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    LocalTokenIssuanceLockService(int maxTrackedKeys) {
+
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    @Override
+    public String getName() {
+
+        return NAME;
+    }
+
+    @Override
+    public TokenIssuanceLock lock(TokenIssuanceLockKey lockKey) {
+
+        KeyLock keyLock = locks.compute(lockKey, (key, existing) -> {
+            KeyLock value = existing != null ? existing : new KeyLock();
+            value.references++;
+            return value;
+        });
+        acquisitionCount.increment();
+        if (!keyLock.lock.tryLock()) {
+            long waitStart = System.nanoTime();
+            keyLock.lock.lock();
+            recordContention(lockKey, System.nanoTime() - waitStart);
+        }
+        return () -> {
+            keyLock.lock.unlock();
+            locks.computeIfPresent(lockKey, (key, existing) -> --existing.references == 0 ? null : existing);
+        };
+    }
+
+    @Override
+    public long getAcquisitionCount() {
+
+        return acquisitionCount.sum();
+    }
+
+    @Override
+    public long getContendedAcquisitionCount() {
+
+        return contendedAcquisitionCount.sum();
+    }
+
+    @Override
+    public long getTotalWaitTimeMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum());
+    }
+
+    @Override
+    public long getMaxWaitTimeMillis() {
+
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    @Override
+    public int getActiveLockCount() {
+
+        return locks.size();
+    }
+
+    @Override
+    public String[] getHotKeys() {
+
+        Map<String, Long> contention = new HashMap<>();
+        contentionByClientAndUser.forEach((clientAndUser, count) -> contention.put(clientAndUser, count.sum()));
+        return contention.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(HOT_KEY_REPORT_SIZE)
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public void reset() {
+
+        acquisitionCount.reset();
+        contendedAcquisitionCount.reset();
+        totalWaitNanos.reset();
+        maxWaitNanos.reset();
+        contentionByClientAndUser.clear();
+    }
+
+    /**
+     * Register this service in the platform MBean server, replacing a registration left by a previous activation.
+     */
+    void registerMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(this, objectName);
+        } catch (JMException e) {
+            log.warn("Error while registering the token issuance lock MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Remove this service from the platform MBean server.
+     */
+    void unregisterMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Error while unregistering the token issuance lock MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    private void recordContention(TokenIssuanceLockKey lockKey, long waitNanos) {
+
+        contendedAcquisitionCount.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulate(waitNanos);
+
+        String clientAndUser = lockKey.getConsumerKey() + ":" + lockKey.getAuthorizedUserId();
+        LongAdder contention = contentionByClientAndUser.get(clientAndUser);
+        if (contention == null) {
+            if (contentionByClientAndUser.size() >= maxTrackedKeys) {
+                return;
+            }
+            contention = contentionByClientAndUser.computeIfAbsent(clientAndUser, key -> new LongAdder());
+        }
+        contention.increment();
+        if (log.isDebugEnabled()) {
+            log.debug("Waited " + TimeUnit.NANOSECONDS.toMillis(waitNanos) + " ms for the token issuance lock of " +
+                    "client: " + lockKey.getConsumerKey());
+        }
+    }
+
+    /**
+     * Lock of a key, with the number of threads holding or waiting for it. The count is only updated within the
+     * atomic map operations on the key.
+     */
+    private static final class KeyLock {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private int references;
+    }
+}
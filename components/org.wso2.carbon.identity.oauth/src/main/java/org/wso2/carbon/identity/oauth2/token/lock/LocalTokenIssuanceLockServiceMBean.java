@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.lock;
+
+/**
+ * JMX view of the contention on the token issuance locks of {@link LocalTokenIssuanceLockService}.
+ */
+public interface LocalTokenIssuanceLockServiceMBean {
+
+    /**
+     * Get the number of lock acquisitions since the server started or the statistics were reset.
+     *
+     * @return Lock acquisition count.
+     */
+    long getAcquisitionCount();
+
+    /**
+     * Get the number of lock acquisitions that had to wait for another request holding the lock.
+     *
+     * @return Contended lock acquisition count.
+     */
+    long getContendedAcquisitionCount();
+
+    /**
+     * Get the total time spent waiting for held locks.
+     *
+     * @return Total wait time in milliseconds.
+     */
+    long getTotalWaitTimeMillis();
+
+    /**
+     * Get the longest time spent waiting for a held lock.
+     *
+     * @return Maximum wait time in milliseconds.
+     */
+    long getMaxWaitTimeMillis();
+
+    /**
+     * Get the number of keys currently locked or waited on.
+     *
+     * @return Active lock count.
+     */
+    int getActiveLockCount();
+
+    /**
+     * Get the client and user combinations with the most contended acquisitions.
+     *
+     * @return Entries of the form {@code <client id>:<user id>=<contended acquisitions>}, most contended first.
+     */
+    String[] getHotKeys();
+
+    /**
+     * Discard the recorded statistics.
+     */
+    void reset();
+}
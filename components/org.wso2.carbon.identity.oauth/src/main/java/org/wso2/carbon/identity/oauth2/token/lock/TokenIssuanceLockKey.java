@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.lock;
+
+import java.util.Objects;
+
+/**
+ * Identifies the tokens that must not be issued, renewed or revoked concurrently: the tokens of a client, for a
+ * user, with a scope and a token binding.
+ */
+public final class TokenIssuanceLockKey {
+
+    private final String consumerKey;
+    private final String authorizedUserId;
+    private final String scope;
+    private final String tokenBindingReference;
+    private final int hashCode;
+
+    /**
+     * Create a lock key.
+     *
+     * @param consumerKey           Client id.
+     * @param authorizedUserId      Id of the authorized user.
+     * @param scope                 Scope string.
+     * @param tokenBindingReference Token binding reference, or null if the tokens are not bound.
+     */
+    public TokenIssuanceLockKey(String consumerKey, String authorizedUserId, String scope,
+                                String tokenBindingReference) {
+
+        this.consumerKey = consumerKey;
+        this.authorizedUserId = authorizedUserId;
+        this.scope = scope;
+        this.tokenBindingReference = tokenBindingReference;
+        this.hashCode = Objects.hash(consumerKey, authorizedUserId, scope, tokenBindingReference);
+    }
+
+    public String getConsumerKey() {
+
+        return consumerKey;
+    }
+
+    public String getAuthorizedUserId() {
+
+        return authorizedUserId;
+    }
+
+    public String getScope() {
+
+        return scope;
+    }
+
+    public String getTokenBindingReference() {
+
+        return tokenBindingReference;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TokenIssuanceLockKey that = (TokenIssuanceLockKey) o;
+        return hashCode == that.hashCode && Objects.equals(consumerKey, that.consumerKey) &&
+                Objects.equals(authorizedUserId, that.authorizedUserId) && Objects.equals(scope, that.scope) &&
+                Objects.equals(tokenBindingReference, that.tokenBindingReference);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+
+        return consumerKey + ":" + authorizedUserId + ":" + scope + ":" + tokenBindingReference;
+    }
+}
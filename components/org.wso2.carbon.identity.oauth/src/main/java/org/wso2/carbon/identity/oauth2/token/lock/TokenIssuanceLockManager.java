@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.lock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+import org.wso2.carbon.identity.oauth2.util.ConfigurationUtil;
+
+/**
+ * Entry point to the token issuance locks. Locks are acquired from the {@link TokenIssuanceLockService} registered as
+ * an OSGi service if there is one, and from the configured default implementation otherwise.
+ */
+public final class TokenIssuanceLockManager {
+
+    private static final Log log = LogFactory.getLog(TokenIssuanceLockManager.class);
+
+    private static final String MAX_TRACKED_KEYS = "OAuth.TokenIssuanceLock.MaxTrackedKeys";
+    private static final String CLUSTER_LEASE_ENABLE = "OAuth.TokenIssuanceLock.ClusterLease.Enable";
+    private static final String CLUSTER_LEASE_TIME = "OAuth.TokenIssuanceLock.ClusterLease.LeaseTime";
+    private static final String CLUSTER_LEASE_WAIT_TIME = "OAuth.TokenIssuanceLock.ClusterLease.WaitTime";
+    private static final int DEFAULT_MAX_TRACKED_KEYS = 1000;
+    private static final int DEFAULT_CLUSTER_LEASE_TIME_MILLIS = 30000;
+    private static final int DEFAULT_CLUSTER_LEASE_WAIT_TIME_MILLIS = 10000;
+
+    private static volatile LocalTokenIssuanceLockService localLockService;
+    private static volatile TokenIssuanceLockService defaultLockService;
+
+    private TokenIssuanceLockManager() {
+
+    }
+
+    /**
+     * Create the default lock service from the configuration and register its statistics in the platform MBean
+     * server.
+     */
+    public static synchronized void init() {
+
+        LocalTokenIssuanceLockService localService =
+                new LocalTokenIssuanceLockService(ConfigurationUtil.getIntProperty(MAX_TRACKED_KEYS,
+                        DEFAULT_MAX_TRACKED_KEYS, 1));
+        TokenIssuanceLockService defaultService = localService;
+        if (Boolean.parseBoolean(IdentityUtil.getProperty(CLUSTER_LEASE_ENABLE))) {
+            defaultService = new ClusterLeaseTokenIssuanceLockService(localService,
+                    ConfigurationUtil.getIntProperty(CLUSTER_LEASE_TIME, DEFAULT_CLUSTER_LEASE_TIME_MILLIS, 1),
+                    ConfigurationUtil.getIntProperty(CLUSTER_LEASE_WAIT_TIME,
+                            DEFAULT_CLUSTER_LEASE_WAIT_TIME_MILLIS, 0));
+        }
+        localService.registerMBean();
+        localLockService = localService;
+        defaultLockService = defaultService;
+        if (log.isDebugEnabled()) {
+            log.debug("Token issuance locks are served by: " + defaultService.getName());
+        }
+    }
+
+    /**
+     * Remove the statistics of the default lock service from the platform MBean server.
+     */
+    public static synchronized void shutdown() {
+
+        LocalTokenIssuanceLockService localService = localLockService;
+        if (localService != null) {
+            localService.unregisterMBean();
+        }
+    }
+
+    /**
+     * Acquire the token issuance lock of a client, user, scope and token binding.
+     *
+     * @param consumerKey           Client id.
+     * @param authorizedUserId      Id of the authorized user.
+     * @param scope                 Scope string.
+     * @param tokenBindingReference Token binding reference, or null if the tokens are not bound.
+     * @return Held lock, to be closed once the tokens are issued.
+     * @throws IdentityOAuth2Exception If the lock could not be acquired.
+     */
+    public static TokenIssuanceLock lock(String consumerKey, String authorizedUserId, String scope,
+                                         String tokenBindingReference) throws IdentityOAuth2Exception {
+
+        TokenIssuanceLockKey lockKey =
+                new TokenIssuanceLockKey(consumerKey, authorizedUserId, scope, tokenBindingReference);
+        TokenIssuanceLockService lockService =
+                OAuth2ServiceComponentHolder.getInstance().getTokenIssuanceLockService();
+        if (lockService == null) {
+            lockService = getDefaultLockService();
+        }
+        return lockService.lock(lockKey);
+    }
+
+    /**
+     * Get the default lock service, creating a node-local one if the manager is not initialized.
+     *
+     * @return Default lock service.
+     */
+    static TokenIssuanceLockService getDefaultLockService() {
+
+        TokenIssuanceLockService lockService = defaultLockService;
+        if (lockService == null) {
+            synchronized (TokenIssuanceLockManager.class) {
+                lockService = defaultLockService;
+                if (lockService == null) {
+                    LocalTokenIssuanceLockService localService =
+                            new LocalTokenIssuanceLockService(DEFAULT_MAX_TRACKED_KEYS);
+                    localLockService = localService;
+                    defaultLockService = localService;
+                    lockService = localService;
+                }
+            }
+        }
+        return lockService;
+    }
+}
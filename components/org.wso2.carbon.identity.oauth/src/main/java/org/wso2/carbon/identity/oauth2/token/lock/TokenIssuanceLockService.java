@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.lock;
+
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+
+/**
+ * Serializes the issuance, renewal and revocation of the tokens identified by a {@link TokenIssuanceLockKey}, so that
+ * concurrent requests for the same client, user and scope do not create duplicate active tokens.
+ * <p>
+ * Implementations can be registered as OSGi services to replace the default, node-local implementation. Locks must
+ * be reentrant for the acquiring thread, since issuance flows can acquire the lock of a key they already hold.
+ */
+public interface TokenIssuanceLockService {
+
+    /**
+     * Get the name of the implementation, used in logs.
+     *
+     * @return Name of the implementation.
+     */
+    String getName();
+
+    /**
+     * Acquire the lock of the given key, waiting until it is available.
+     *
+     * @param lockKey Key to lock.
+     * @return Held lock, to be closed once the tokens are issued.
+     * @throws IdentityOAuth2Exception If the lock could not be acquired.
+     */
+    TokenIssuanceLock lock(TokenIssuanceLockKey lockKey) throws IdentityOAuth2Exception;
+}
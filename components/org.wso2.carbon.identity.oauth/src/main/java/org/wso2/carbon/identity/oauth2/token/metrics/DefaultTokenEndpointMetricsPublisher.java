@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.metrics;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Default {@link TokenEndpointMetricsPublisher}, which aggregates the token request and stage timings per grant type,
+ * tenant and token type in memory, and exposes them over JMX in the Prometheus text format. The number of series is
+ * bounded; once the limit is reached, the requests of new tenants are aggregated under a shared tenant label.
+ */
+public class DefaultTokenEndpointMetricsPublisher implements TokenEndpointMetricsPublisher,
+        DefaultTokenEndpointMetricsPublisherMBean {
+
+    static final String OBJECT_NAME = "org.wso2.carbon.identity.oauth:type=TokenEndpointMetrics";
+    static final String OVERFLOW_TENANT = "_other";
+
+    private static final Log log = LogFactory.getLog(DefaultTokenEndpointMetricsPublisher.class);
+    private static final String NAME = "JMX";
+    private static final String REQUEST_COUNT_METRIC = "wso2_oauth2_token_requests_total";
+    private static final String REQUEST_DURATION_METRIC = "wso2_oauth2_token_request_duration_seconds";
+    private static final String STAGE_DURATION_METRIC = "wso2_oauth2_token_stage_duration_seconds";
+    private static final String MAX_SUFFIX = "_max";
+    private static final TokenEndpointStage[] STAGES = TokenEndpointStage.values();
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxSeries;
+    private final Map<SeriesKey, RequestSeries> series = new ConcurrentHashMap<>();
+
+    DefaultTokenEndpointMetricsPublisher(int maxSeries) {
+
+        this.maxSeries = maxSeries;
+    }
+
+    @Override
+    public String getName() {
+
+        return NAME;
+    }
+
+    @Override
+    public void publish(TokenRequestMetrics requestMetrics) {
+
+        SeriesKey key = new SeriesKey(requestMetrics.getGrantType(), requestMetrics.getTenantDomain(),
+                requestMetrics.getTokenType());
+        RequestSeries requestSeries = series.get(key);
+        if (requestSeries == null) {
+            if (series.size() >= maxSeries) {
+                key = new SeriesKey(key.grantType, OVERFLOW_TENANT, key.tokenType);
+            }
+            requestSeries = series.computeIfAbsent(key, k -> new RequestSeries());
+        }
+        requestSeries.record(requestMetrics);
+    }
+
+    @Override
+    public long getRequestCount() {
+
+        return sum(requestSeries -> requestSeries.successCount.sum() + requestSeries.failureCount.sum());
+    }
+
+    @Override
+    public long getFailedRequestCount() {
+
+        return sum(requestSeries -> requestSeries.failureCount.sum());
+    }
+
+    @Override
+    public String getPrometheusText() {
+
+        StringBuilder text = new StringBuilder();
+        appendHeader(text, REQUEST_COUNT_METRIC, "Token requests served by the token endpoint.", "counter");
+        for (Map.Entry<SeriesKey, RequestSeries> entry : series.entrySet()) {
+            String labels = entry.getKey().toLabels();
+            appendSample(text, REQUEST_COUNT_METRIC, labels + ",outcome=\"success\"",
+                    Long.toString(entry.getValue().successCount.sum()));
+            appendSample(text, REQUEST_COUNT_METRIC, labels + ",outcome=\"failure\"",
+                    Long.toString(entry.getValue().failureCount.sum()));
+        }
+        appendHeader(text, REQUEST_DURATION_METRIC, "Time taken to serve token requests.", "summary");
+        for (Map.Entry<SeriesKey, RequestSeries> entry : series.entrySet()) {
+            entry.getValue().total.appendSummary(text, REQUEST_DURATION_METRIC, entry.getKey().toLabels());
+        }
+        appendHeader(text, REQUEST_DURATION_METRIC + MAX_SUFFIX, "Longest token request.", "gauge");
+        for (Map.Entry<SeriesKey, RequestSeries> entry : series.entrySet()) {
+            entry.getValue().total.appendMax(text, REQUEST_DURATION_METRIC, entry.getKey().toLabels());
+        }
+        appendHeader(text, STAGE_DURATION_METRIC, "Time spent in each stage of token requests.", "summary");
+        for (Map.Entry<SeriesKey, RequestSeries> entry : series.entrySet()) {
+            for (TokenEndpointStage stage : STAGES) {
+                entry.getValue().stages[stage.ordinal()].appendSummary(text, STAGE_DURATION_METRIC,
+                        toStageLabels(entry.getKey(), stage));
+            }
+        }
+        appendHeader(text, STAGE_DURATION_METRIC + MAX_SUFFIX, "Longest execution of each stage.", "gauge");
+        for (Map.Entry<SeriesKey, RequestSeries> entry : series.entrySet()) {
+            for (TokenEndpointStage stage : STAGES) {
+                entry.getValue().stages[stage.ordinal()].appendMax(text, STAGE_DURATION_METRIC,
+                        toStageLabels(entry.getKey(), stage));
+            }
+        }
+        return text.toString();
+    }
+
+    @Override
+    public void reset() {
+
+        series.clear();
+    }
+
+    /**
+     * Register this publisher in the platform MBean server, replacing a registration left by a previous activation.
+     */
+    void registerMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(this, objectName);
+        } catch (JMException e) {
+            log.warn("Error while registering the token endpoint metrics MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Remove this publisher from the platform MBean server.
+     */
+    void unregisterMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Error while unregistering the token endpoint metrics MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    private long sum(ToLongFunction<RequestSeries> counter) {
+
+        long total = 0;
+        for (RequestSeries requestSeries : series.values()) {
+            total += counter.applyAsLong(requestSeries);
+        }
+        return total;
+    }
+
+    private static void appendHeader(StringBuilder text, String metric, String help, String type) {
+
+        text.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+    }
+
+    private static void appendSample(StringBuilder text, String metric, String labels, String value) {
+
+        text.append(metric).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static String toStageLabels(SeriesKey key, TokenEndpointStage stage) {
+
+        return key.toLabels() + ",stage=\"" + stage.getName() + "\"";
+    }
+
+    private static String toSeconds(long nanos) {
+
+        return String.format(Locale.ROOT, "%.9f", nanos / NANOS_PER_SECOND);
+    }
+
+    private static String escape(String labelValue) {
+
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Labels of a series.
+     */
+    private static final class SeriesKey {
+
+        private final String grantType;
+        private final String tenantDomain;
+        private final String tokenType;
+        private final int hash;
+
+        private SeriesKey(String grantType, String tenantDomain, String tokenType) {
+
+            this.grantType = grantType;
+            this.tenantDomain = tenantDomain;
+            this.tokenType = tokenType;
+            this.hash = Objects.hash(grantType, tenantDomain, tokenType);
+        }
+
+        private String toLabels() {
+
+            return "grant_type=\"" + escape(grantType) + "\",tenant=\"" + escape(tenantDomain) +
+                    "\",token_type=\"" + escape(tokenType) + "\"";
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SeriesKey)) {
+                return false;
+            }
+            SeriesKey that = (SeriesKey) o;
+            return grantType.equals(that.grantType) && tenantDomain.equals(that.tenantDomain) &&
+                    tokenType.equals(that.tokenType);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return hash;
+        }
+    }
+
+    /**
+     * Request counters and timers of a series.
+     */
+    private static final class RequestSeries {
+
+        private final LongAdder successCount = new LongAdder();
+        private final LongAdder failureCount = new LongAdder();
+        private final Timer total = new Timer();
+        private final Timer[] stages = new Timer[STAGES.length];
+
+        private RequestSeries() {
+
+            for (int i = 0; i < stages.length; i++) {
+                stages[i] = new Timer();
+            }
+        }
+
+        private void record(TokenRequestMetrics requestMetrics) {
+
+            if (requestMetrics.isSuccess()) {
+                successCount.increment();
+            } else {
+                failureCount.increment();
+            }
+            total.record(requestMetrics.getDurationNanos());
+            for (TokenEndpointStage stage : STAGES) {
+                if (requestMetrics.isStageRecorded(stage)) {
+                    stages[stage.ordinal()].record(requestMetrics.getStageDurationNanos(stage));
+                }
+            }
+        }
+    }
+
+    /**
+     * Count, sum and maximum of a duration.
+     */
+    private static final class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+
+        private void record(long durationNanos) {
+
+            count.increment();
+            totalNanos.add(durationNanos);
+            maxNanos.accumulate(durationNanos);
+        }
+
+        private void appendSummary(StringBuilder text, String metric, String labels) {
+
+            long samples = count.sum();
+            if (samples > 0) {
+                appendSample(text, metric + "_count", labels, Long.toString(samples));
+                appendSample(text, metric + "_sum", labels, toSeconds(totalNanos.sum()));
+            }
+        }
+
+        private void appendMax(StringBuilder text, String metric, String labels) {
+
+            if (count.sum() > 0) {
+                appendSample(text, metric + MAX_SUFFIX, labels, toSeconds(maxNanos.get()));
+            }
+        }
+    }
+}
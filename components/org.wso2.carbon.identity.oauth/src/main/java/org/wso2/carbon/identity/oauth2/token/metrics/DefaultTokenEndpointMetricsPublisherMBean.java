@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.metrics;
+
+/**
+ * JMX view of the token endpoint metrics aggregated by {@link DefaultTokenEndpointMetricsPublisher}.
+ */
+public interface DefaultTokenEndpointMetricsPublisherMBean {
+
+    /**
+     * Get the number of token requests recorded since the server started or the metrics were reset.
+     *
+     * @return Token request count.
+     */
+    long getRequestCount();
+
+    /**
+     * Get the number of token requests that did not issue a token.
+     *
+     * @return Failed token request count.
+     */
+    long getFailedRequestCount();
+
+    /**
+     * Get the metrics in the Prometheus text exposition format, for a JMX exporter or a scrape endpoint.
+     *
+     * @return Metrics in the Prometheus text format.
+     */
+    String getPrometheusText();
+
+    /**
+     * Discard all the recorded metrics.
+     */
+    void reset();
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.metrics;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.bean.OAuthClientAuthnContext;
+import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+import org.wso2.carbon.identity.oauth2.util.ConfigurationUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the time spent in each {@link TokenEndpointStage} of the token requests served by the current thread, and
+ * hands the timings of each completed request to the {@link TokenEndpointMetricsPublisher}s.
+ * <p>
+ * Recording is disabled unless enabled in the identity configuration. While disabled, the stage hooks only read a
+ * volatile flag. Requests slower than the configured threshold are logged with their stage breakdown.
+ */
+public final class TokenEndpointMetrics {
+
+    /**
+     * Returned by {@link #startStage()} when no token request is being recorded on the current thread.
+     */
+    public static final long NOT_RECORDING = Long.MIN_VALUE;
+
+    private static final Log log = LogFactory.getLog(TokenEndpointMetrics.class);
+
+    private static final String ENABLE = "OAuth.TokenEndpointMetrics.Enable";
+    private static final String MAX_SERIES = "OAuth.TokenEndpointMetrics.MaxSeries";
+    private static final String SLOW_REQUEST_THRESHOLD = "OAuth.TokenEndpointMetrics.SlowRequestThreshold";
+    private static final int DEFAULT_MAX_SERIES = 1000;
+    private static final int DEFAULT_SLOW_REQUEST_THRESHOLD_MILLIS = 0;
+
+    private static final ThreadLocal<TokenRequestMetrics> currentRequest = new ThreadLocal<>();
+
+    private static volatile boolean enabled;
+    private static volatile long slowRequestThresholdNanos;
+    private static volatile DefaultTokenEndpointMetricsPublisher defaultPublisher;
+
+    private TokenEndpointMetrics() {
+
+    }
+
+    /**
+     * Enable the recording if configured, and register the default publisher in the platform MBean server.
+     */
+    public static void init() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(ENABLE))) {
+            if (log.isDebugEnabled()) {
+                log.debug("Token endpoint metrics are disabled.");
+            }
+            return;
+        }
+        DefaultTokenEndpointMetricsPublisher publisher =
+                new DefaultTokenEndpointMetricsPublisher(ConfigurationUtil.getIntProperty(MAX_SERIES,
+                        DEFAULT_MAX_SERIES, 1));
+        publisher.registerMBean();
+        configure(publisher, TimeUnit.MILLISECONDS.toNanos(ConfigurationUtil.getIntProperty(
+                SLOW_REQUEST_THRESHOLD, DEFAULT_SLOW_REQUEST_THRESHOLD_MILLIS, 0)));
+    }
+
+    /**
+     * Disable the recording and unregister the default publisher from the platform MBean server.
+     */
+    public static void shutdown() {
+
+        DefaultTokenEndpointMetricsPublisher publisher = defaultPublisher;
+        configure(null, 0);
+        if (publisher != null) {
+            publisher.unregisterMBean();
+        }
+    }
+
+    static void configure(DefaultTokenEndpointMetricsPublisher publisher, long slowRequestThreshold) {
+
+        defaultPublisher = publisher;
+        slowRequestThresholdNanos = slowRequestThreshold;
+        enabled = publisher != null;
+    }
+
+    public static boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Get the default publisher, which aggregates the metrics exposed over JMX.
+     *
+     * @return Default publisher, or null if the metrics are disabled.
+     */
+    public static DefaultTokenEndpointMetricsPublisher getDefaultPublisher() {
+
+        return defaultPublisher;
+    }
+
+    /**
+     * Start recording a token request on the current thread. A request started while another one is being recorded
+     * on the thread is not recorded separately.
+     *
+     * @param grantType          Grant type of the request.
+     * @param clientAuthnContext Client authentication context of the request, carrying the client authentication time.
+     * @return True if the recording was started, in which case {@link #endRequest(String, boolean)} must be called.
+     */
+    public static boolean startRequest(String grantType, OAuthClientAuthnContext clientAuthnContext) {
+
+        if (!enabled || currentRequest.get() != null) {
+            return false;
+        }
+        TokenRequestMetrics requestMetrics = new TokenRequestMetrics(grantType, System.nanoTime());
+        if (clientAuthnContext != null && clientAuthnContext.getAuthenticationTimeNanos() > 0) {
+            requestMetrics.recordStage(TokenEndpointStage.CLIENT_AUTHENTICATION,
+                    clientAuthnContext.getAuthenticationTimeNanos());
+        }
+        currentRequest.set(requestMetrics);
+        return true;
+    }
+
+    /**
+     * Mark the start of a stage of the token request recorded on the current thread.
+     *
+     * @return Start time to pass to {@link #endStage(TokenEndpointStage, long)}, or {@link #NOT_RECORDING}.
+     */
+    public static long startStage() {
+
+        if (!enabled || currentRequest.get() == null) {
+            return NOT_RECORDING;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the time spent in a stage of the token request recorded on the current thread.
+     *
+     * @param stage     Token endpoint stage.
+     * @param startTime Value returned by {@link #startStage()} when the stage started.
+     */
+    public static void endStage(TokenEndpointStage stage, long startTime) {
+
+        if (startTime == NOT_RECORDING) {
+            return;
+        }
+        TokenRequestMetrics requestMetrics = currentRequest.get();
+        if (requestMetrics != null) {
+            requestMetrics.recordStage(stage, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Set the access token type of the application the token request recorded on the current thread is made for.
+     *
+     * @param tokenType Token type of the application.
+     */
+    public static void setTokenType(String tokenType) {
+
+        if (!enabled) {
+            return;
+        }
+        TokenRequestMetrics requestMetrics = currentRequest.get();
+        if (requestMetrics != null) {
+            requestMetrics.setTokenType(tokenType);
+        }
+    }
+
+    /**
+     * Complete the token request recorded on the current thread and publish its metrics.
+     *
+     * @param tenantDomain Tenant domain of the application.
+     * @param success      Whether a token was issued.
+     */
+    public static void endRequest(String tenantDomain, boolean success) {
+
+        TokenRequestMetrics requestMetrics = currentRequest.get();
+        if (requestMetrics == null) {
+            return;
+        }
+        currentRequest.remove();
+        requestMetrics.complete(tenantDomain, success, System.nanoTime());
+
+        DefaultTokenEndpointMetricsPublisher publisher = defaultPublisher;
+        if (publisher != null) {
+            publisher.publish(requestMetrics);
+        }
+        for (TokenEndpointMetricsPublisher metricsPublisher :
+                OAuth2ServiceComponentHolder.getInstance().getTokenEndpointMetricsPublishers()) {
+            try {
+                metricsPublisher.publish(requestMetrics);
+            } catch (RuntimeException e) {
+                log.warn("Error while publishing token endpoint metrics with the publisher: " +
+                        metricsPublisher.getName());
+                if (log.isDebugEnabled()) {
+                    log.debug("Error while publishing token endpoint metrics.", e);
+                }
+            }
+        }
+
+        long threshold = slowRequestThresholdNanos;
+        if (threshold > 0 && requestMetrics.getDurationNanos() >= threshold) {
+            log.warn("Slow token request: " + requestMetrics.toTrace());
+        }
+    }
+}
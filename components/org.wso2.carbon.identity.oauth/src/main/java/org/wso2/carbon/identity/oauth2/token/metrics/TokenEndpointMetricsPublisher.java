@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.metrics;
+
+/**
+ * Extension point to publish the stage timings of token requests to a metrics backend. Implementations registered as
+ * OSGi services are called in addition to the default publisher, which exposes the metrics over JMX.
+ */
+public interface TokenEndpointMetricsPublisher {
+
+    /**
+     * Get the name of the publisher.
+     *
+     * @return Publisher name.
+     */
+    String getName();
+
+    /**
+     * Publish the metrics of a completed token request. This is called on the thread serving the token request, hence
+     * implementations should only record the values and must not block.
+     *
+     * @param requestMetrics Metrics of the completed token request.
+     */
+    void publish(TokenRequestMetrics requestMetrics);
+}
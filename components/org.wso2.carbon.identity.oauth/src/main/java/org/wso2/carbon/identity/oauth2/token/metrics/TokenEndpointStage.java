@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.metrics;
+
+/**
+ * Timed stages of a token request. Stages may nest: {@link #TOKEN_ISSUANCE} covers the pre issue access token action,
+ * the token generation and the token persistence, and {@link #TOKEN_GENERATION} covers the claim callbacks and the
+ * signing of JWT access tokens.
+ */
+public enum TokenEndpointStage {
+
+    CLIENT_AUTHENTICATION("client_authentication"),
+    GRANT_VALIDATION("grant_validation"),
+    ACCESS_DELEGATION("access_delegation"),
+    SCOPE_VALIDATION("scope_validation"),
+    TOKEN_ISSUANCE("token_issuance"),
+    PRE_ISSUE_ACTION("pre_issue_action"),
+    TOKEN_GENERATION("token_generation"),
+    CLAIM_CALLBACK("claim_callback"),
+    JWT_SIGNING("jwt_signing"),
+    TOKEN_PERSISTENCE("token_persistence"),
+    ID_TOKEN_GENERATION("id_token_generation");
+
+    private final String name;
+
+    TokenEndpointStage(String name) {
+
+        this.name = name;
+    }
+
+    /**
+     * Get the name of the stage used in metric labels and logs.
+     *
+     * @return Stage name.
+     */
+    public String getName() {
+
+        return name;
+    }
+}
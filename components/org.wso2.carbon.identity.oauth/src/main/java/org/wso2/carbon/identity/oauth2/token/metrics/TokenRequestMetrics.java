@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.metrics;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stage timings of a single token request, collected on the thread serving the request.
+ */
+public class TokenRequestMetrics {
+
+    static final String UNKNOWN = "unknown";
+
+    private static final TokenEndpointStage[] STAGES = TokenEndpointStage.values();
+
+    private final String grantType;
+    private final long startTime;
+    private final long[] stageDurations = new long[STAGES.length];
+    private final int[] stageInvocations = new int[STAGES.length];
+    private String tenantDomain;
+    private String tokenType;
+    private boolean success;
+    private long duration;
+
+    TokenRequestMetrics(String grantType, long startTime) {
+
+        this.grantType = StringUtils.isNotBlank(grantType) ? grantType : UNKNOWN;
+        this.startTime = startTime;
+    }
+
+    void recordStage(TokenEndpointStage stage, long durationNanos) {
+
+        stageDurations[stage.ordinal()] += durationNanos;
+        stageInvocations[stage.ordinal()]++;
+    }
+
+    void setTokenType(String tokenType) {
+
+        this.tokenType = tokenType;
+    }
+
+    void complete(String tenantDomain, boolean success, long endTime) {
+
+        this.tenantDomain = tenantDomain;
+        this.success = success;
+        this.duration = endTime - startTime + stageDurations[TokenEndpointStage.CLIENT_AUTHENTICATION.ordinal()];
+    }
+
+    public String getGrantType() {
+
+        return grantType;
+    }
+
+    public String getTenantDomain() {
+
+        return StringUtils.isNotBlank(tenantDomain) ? tenantDomain : UNKNOWN;
+    }
+
+    /**
+     * Get the access token type of the application, e.g. Default or JWT.
+     *
+     * @return Token type, or {@value #UNKNOWN} if the request failed before the application was resolved.
+     */
+    public String getTokenType() {
+
+        return StringUtils.isNotBlank(tokenType) ? tokenType : UNKNOWN;
+    }
+
+    /**
+     * Check whether a token was issued for the request.
+     *
+     * @return True if the token response is not an error.
+     */
+    public boolean isSuccess() {
+
+        return success;
+    }
+
+    /**
+     * Get the time taken to serve the request, including the client authentication.
+     *
+     * @return Duration in nanoseconds.
+     */
+    public long getDurationNanos() {
+
+        return duration;
+    }
+
+    /**
+     * Get the time spent in a stage. A stage executed more than once in a request reports the sum of its executions.
+     *
+     * @param stage Token endpoint stage.
+     * @return Duration in nanoseconds, or 0 if the stage was not executed.
+     */
+    public long getStageDurationNanos(TokenEndpointStage stage) {
+
+        return stageDurations[stage.ordinal()];
+    }
+
+    /**
+     * Check whether a stage was executed in the request.
+     *
+     * @param stage Token endpoint stage.
+     * @return True if the stage was executed.
+     */
+    public boolean isStageRecorded(TokenEndpointStage stage) {
+
+        return stageInvocations[stage.ordinal()] > 0;
+    }
+
+    /**
+     * Build a breakdown of the request for the slow request log.
+     *
+     * @return Request summary with the time spent in each executed stage.
+     */
+    String toTrace() {
+
+        StringBuilder trace = new StringBuilder("grant_type=").append(getGrantType())
+                .append(", tenant=").append(getTenantDomain())
+                .append(", token_type=").append(getTokenType())
+                .append(", success=").append(success)
+                .append(", total=").append(toMillis(duration)).append("ms, stages=[");
+        boolean first = true;
+        for (TokenEndpointStage stage : STAGES) {
+            if (!isStageRecorded(stage)) {
+                continue;
+            }
+            if (!first) {
+                trace.append(", ");
+            }
+            trace.append(stage.getName()).append('=').append(toMillis(stageDurations[stage.ordinal()])).append("ms");
+            first = false;
+        }
+        return trace.append(']').toString();
+    }
+
+    private static String toMillis(long nanos) {
+
+        return String.format(Locale.ROOT, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+/**
+ * Utility methods to read the configurations of identity.xml.
+ */
+public class ConfigurationUtil {
+
+    private static final Log log = LogFactory.getLog(ConfigurationUtil.class);
+
+    private ConfigurationUtil() {
+
+    }
+
+    /**
+     * Read an integer configuration. The default value is used when the configuration is not set, is not a number,
+     * or is less than the given minimum value.
+     *
+     * @param propertyName Name of the configuration in identity.xml.
+     * @param defaultValue Default value of the configuration.
+     * @param minValue     Minimum accepted value of the configuration.
+     * @return Configured value or the default value.
+     */
+    public static int getIntProperty(String propertyName, int defaultValue, int minValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue >= minValue) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            // Fall back to the default value below.
+        }
+        log.warn("Invalid value: " + value + " configured for " + propertyName + ". Using the default value: " +
+                defaultValue);
+        return defaultValue;
+    }
+}
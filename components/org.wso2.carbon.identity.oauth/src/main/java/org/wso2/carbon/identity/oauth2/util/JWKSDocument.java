@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Serialized JWKS document of a tenant along with its entity tag and the time until which it can be served without
+ * being rebuilt from the keystore.
+ */
+public class JWKSDocument {
+
+    private static final String SHA_256 = "SHA-256";
+
+    private final String json;
+    private final String entityTag;
+    private final long expiryTimeMillis;
+
+    public JWKSDocument(String json, long expiryTimeMillis) {
+
+        this.json = json;
+        this.entityTag = computeEntityTag(json);
+        this.expiryTimeMillis = expiryTimeMillis;
+    }
+
+    public String getJson() {
+
+        return json;
+    }
+
+    /**
+     * Get the strong entity tag of the document. The tag is derived from the content, so documents rebuilt with the
+     * same keys, on this node or any other, have the same tag.
+     *
+     * @return Entity tag value without the surrounding quotes.
+     */
+    public String getEntityTag() {
+
+        return entityTag;
+    }
+
+    public long getExpiryTimeMillis() {
+
+        return expiryTimeMillis;
+    }
+
+    public boolean isExpired(long currentTimeMillis) {
+
+        return currentTimeMillis >= expiryTimeMillis;
+    }
+
+    private static String computeEntityTag(String json) {
+
+        try {
+            byte[] digest = MessageDigest.getInstance(SHA_256).digest(json.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is a mandatory algorithm of every Java platform.
+            throw new IllegalStateException(SHA_256 + " is not available.", e);
+        }
+    }
+}
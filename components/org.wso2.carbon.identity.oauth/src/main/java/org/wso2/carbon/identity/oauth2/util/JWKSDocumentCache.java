@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Node local cache of the serialized JWKS document of each tenant, so that the JWKS endpoint only walks the keystore
+ * and rebuilds the keys once per max-age period.
+ * <p>
+ * The document of a tenant is dropped when the signing key of the tenant is found to have changed, and when the
+ * tenant is deactivated or deleted.
+ */
+public class JWKSDocumentCache {
+
+    private static final Log log = LogFactory.getLog(JWKSDocumentCache.class);
+    private static final String JWKS_MAX_AGE = "JWTValidatorConfigs.JWKSEndpoint.CacheMaxAge";
+    private static final int DEFAULT_JWKS_MAX_AGE_SECONDS = 60;
+    private static final JWKSDocumentCache instance = new JWKSDocumentCache();
+
+    private final ConcurrentMap<String, JWKSDocument> documents = new ConcurrentHashMap<>();
+    private volatile Integer maxAgeSeconds;
+
+    private JWKSDocumentCache() {
+
+    }
+
+    public static JWKSDocumentCache getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Get the cached JWKS document of the tenant if it has not expired.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Cached document or null.
+     */
+    public JWKSDocument get(String tenantDomain) {
+
+        JWKSDocument document = documents.get(tenantDomain);
+        if (document == null || document.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return document;
+    }
+
+    /**
+     * Cache the serialized JWKS document of the tenant for the configured max-age.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param json         Serialized JWKS document.
+     * @return Cached document.
+     */
+    public JWKSDocument put(String tenantDomain, String json) {
+
+        JWKSDocument document = new JWKSDocument(json,
+                System.currentTimeMillis() + getMaxAgeSeconds() * 1000L);
+        if (isEnabled()) {
+            documents.put(tenantDomain, document);
+        }
+        return document;
+    }
+
+    /**
+     * Get the number of seconds a JWKS document is cached by the server and may be cached by clients. Caching is
+     * disabled when the configured value is zero or negative.
+     *
+     * @return Max-age in seconds.
+     */
+    public int getMaxAgeSeconds() {
+
+        if (maxAgeSeconds == null) {
+            int maxAge = DEFAULT_JWKS_MAX_AGE_SECONDS;
+            String configuredMaxAge = IdentityUtil.getProperty(JWKS_MAX_AGE);
+            if (configuredMaxAge != null) {
+                try {
+                    maxAge = Integer.parseInt(configuredMaxAge.trim());
+                } catch (NumberFormatException e) {
+                    log.warn("Invalid value: " + configuredMaxAge + " configured for " + JWKS_MAX_AGE +
+                            ". Using the default value: " + DEFAULT_JWKS_MAX_AGE_SECONDS);
+                }
+            }
+            maxAgeSeconds = maxAge;
+        }
+        return maxAgeSeconds;
+    }
+
+    public boolean isEnabled() {
+
+        return getMaxAgeSeconds() > 0;
+    }
+
+    /**
+     * Remove the JWKS document of a tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        documents.remove(tenantDomain);
+    }
+
+    /**
+     * Remove the JWKS documents of all tenants.
+     */
+    public void clear() {
+
+        documents.clear();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.util;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.util.Base64URL;
+
+import java.security.Key;
+import java.security.cert.Certificate;
+import java.text.ParseException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Material required to sign JWTs with the key of a tenant for a given algorithm. The signer, key id and
+ * certificate thumbprint are computed once, and the JWS headers are kept in their serialized form so that signing a
+ * JWT only needs to serialize the claims and compute the signature.
+ */
+public class JWSSigningMaterial {
+
+    private static final String NO_TYPE = "";
+
+    private final JWSAlgorithm algorithm;
+    private final Key privateKey;
+    private final Certificate certificate;
+    private final JWSSigner signer;
+    private final String keyId;
+    private final Base64URL x509CertThumbprint;
+    private final ConcurrentMap<String, JWSHeader> headers = new ConcurrentHashMap<>();
+
+    public JWSSigningMaterial(JWSAlgorithm algorithm, Key privateKey, Certificate certificate, JWSSigner signer,
+                              String keyId, Base64URL x509CertThumbprint) {
+
+        this.algorithm = algorithm;
+        this.privateKey = privateKey;
+        this.certificate = certificate;
+        this.signer = signer;
+        this.keyId = keyId;
+        this.x509CertThumbprint = x509CertThumbprint;
+    }
+
+    public JWSSigner getSigner() {
+
+        return signer;
+    }
+
+    public String getKeyId() {
+
+        return keyId;
+    }
+
+    public Base64URL getX509CertThumbprint() {
+
+        return x509CertThumbprint;
+    }
+
+    /**
+     * Get the JWS header for the given type. The returned header holds its serialized form, hence it is not
+     * serialized again when the JWT is signed.
+     *
+     * @param type Value of the "typ" header, or null if the header should not be included.
+     * @return JWS header.
+     */
+    public JWSHeader getHeader(JOSEObjectType type) {
+
+        return headers.computeIfAbsent(type == null ? NO_TYPE : type.getType(), key -> buildHeader(type));
+    }
+
+    /**
+     * Check whether this material was built for the given key and certificate.
+     *
+     * @param privateKey  Current private key of the tenant.
+     * @param certificate Current certificate of the tenant.
+     * @return True if the material is still valid for the key and certificate.
+     */
+    public boolean isBuiltFor(Key privateKey, Certificate certificate) {
+
+        return Objects.equals(this.privateKey, privateKey) && Objects.equals(this.certificate, certificate);
+    }
+
+    private JWSHeader buildHeader(JOSEObjectType type) {
+
+        JWSHeader.Builder headerBuilder = new JWSHeader.Builder(algorithm);
+        headerBuilder.keyID(keyId);
+        headerBuilder.x509CertThumbprint(x509CertThumbprint);
+        if (type != null) {
+            headerBuilder.type(type);
+        }
+        JWSHeader header = headerBuilder.build();
+        try {
+            // A parsed header keeps its base64url form, which is then reused for every JWT signed with it.
+            return JWSHeader.parse(header.toBase64URL());
+        } catch (ParseException e) {
+            return header;
+        }
+    }
+}
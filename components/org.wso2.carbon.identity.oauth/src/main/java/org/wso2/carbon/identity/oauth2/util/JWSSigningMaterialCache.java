@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.util;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.util.Base64URL;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.validators.VerifiedJWTCache;
+
+import java.security.Key;
+import java.security.cert.Certificate;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Node local cache of the {@link JWSSigningMaterial} of each tenant and signature algorithm.
+ * <p>
+ * The private key and the certificate of the tenant are resolved on every lookup and compared with the ones the
+ * cached material was built with, so that a change in the keystore of the tenant rebuilds the material on the next
+ * signing request.
+ */
+public class JWSSigningMaterialCache {
+
+    private static final Log log = LogFactory.getLog(JWSSigningMaterialCache.class);
+    private static final String KEY_SEPARATOR = ":";
+    private static final JWSSigningMaterialCache instance = new JWSSigningMaterialCache();
+
+    private final ConcurrentMap<String, JWSSigningMaterial> signingMaterials = new ConcurrentHashMap<>();
+
+    private JWSSigningMaterialCache() {
+
+    }
+
+    public static JWSSigningMaterialCache getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Get the signing material of the tenant for the given algorithm.
+     *
+     * @param tenantDomain       Tenant domain of the signing key.
+     * @param signatureAlgorithm Signature algorithm.
+     * @return Signing material.
+     * @throws IdentityOAuth2Exception If the key or the certificate of the tenant cannot be resolved.
+     */
+    public JWSSigningMaterial getSigningMaterial(String tenantDomain, JWSAlgorithm signatureAlgorithm)
+            throws IdentityOAuth2Exception {
+
+        return getSigningMaterial(tenantDomain, signatureAlgorithm, OAuth2Util.getPrivateKey(tenantDomain),
+                OAuth2Util.getCertificate(tenantDomain));
+    }
+
+    /**
+     * Get the signing material of the tenant for the given algorithm.
+     *
+     * @param tenantDomain       Tenant domain of the signing key.
+     * @param tenantId           Tenant id of the signing key.
+     * @param signatureAlgorithm Signature algorithm.
+     * @return Signing material.
+     * @throws IdentityOAuth2Exception If the key or the certificate of the tenant cannot be resolved.
+     */
+    public JWSSigningMaterial getSigningMaterial(String tenantDomain, int tenantId, JWSAlgorithm signatureAlgorithm)
+            throws IdentityOAuth2Exception {
+
+        return getSigningMaterial(tenantDomain, signatureAlgorithm, OAuth2Util.getPrivateKey(tenantDomain, tenantId),
+                OAuth2Util.getCertificate(tenantDomain, tenantId));
+    }
+
+    private JWSSigningMaterial getSigningMaterial(String tenantDomain, JWSAlgorithm signatureAlgorithm,
+                                                  Key privateKey, Certificate certificate)
+            throws IdentityOAuth2Exception {
+
+        String cacheKey = tenantDomain + KEY_SEPARATOR + signatureAlgorithm.getName();
+        JWSSigningMaterial signingMaterial = signingMaterials.get(cacheKey);
+        if (signingMaterial != null && signingMaterial.isBuiltFor(privateKey, certificate)) {
+            return signingMaterial;
+        }
+
+        if (signingMaterial != null) {
+            // The signing key of the tenant has changed, hence the published key set and the tokens verified with
+            // the previous key are no longer valid.
+            JWKSDocumentCache.getInstance().invalidate(tenantDomain);
+            VerifiedJWTCache.getInstance().invalidate(tenantDomain);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Building JWS signing material for tenant: " + tenantDomain + " and algorithm: " +
+                    signatureAlgorithm);
+        }
+        JWSSigner signer = createJWSSigner(tenantDomain, signatureAlgorithm, privateKey);
+        String keyId = OAuth2Util.getKID(certificate, signatureAlgorithm, tenantDomain);
+        Base64URL x509CertThumbprint = new Base64URL(OAuth2Util.getThumbPrintWithPrevAlgorithm(certificate, false));
+        signingMaterial = new JWSSigningMaterial(signatureAlgorithm, privateKey, certificate, signer, keyId,
+                x509CertThumbprint);
+        signingMaterials.put(cacheKey, signingMaterial);
+        return signingMaterial;
+    }
+
+    private JWSSigner createJWSSigner(String tenantDomain, JWSAlgorithm signatureAlgorithm, Key privateKey)
+            throws IdentityOAuth2Exception {
+
+        if (JWSAlgorithm.Family.RSA.contains(signatureAlgorithm) && privateKey instanceof RSAPrivateKey) {
+            return OAuth2Util.createJWSSigner((RSAPrivateKey) privateKey);
+        }
+        if (JWSAlgorithm.Family.EC.contains(signatureAlgorithm) && privateKey instanceof ECPrivateKey) {
+            try {
+                ECDSASigner signer = new ECDSASigner((ECPrivateKey) privateKey);
+                if (!signer.supportedJWSAlgorithms().contains(signatureAlgorithm)) {
+                    throw new IdentityOAuth2Exception("The curve of the EC signing key of tenant: " + tenantDomain +
+                            " does not support the signature algorithm: " + signatureAlgorithm);
+                }
+                return signer;
+            } catch (JOSEException e) {
+                throw new IdentityOAuth2Exception("Error while creating the EC signer for tenant: " + tenantDomain, e);
+            }
+        }
+        throw new IdentityOAuth2Exception("The signing key of tenant: " + tenantDomain + " of type: " +
+                (privateKey == null ? null : privateKey.getAlgorithm()) + " cannot be used with the signature " +
+                "algorithm: " + signatureAlgorithm);
+    }
+
+    /**
+     * Remove the signing material of a tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        signingMaterials.keySet().removeIf(cacheKey -> cacheKey.startsWith(tenantDomain + KEY_SEPARATOR));
+    }
+
+    /**
+     * Remove the signing material of all tenants.
+     */
+    public void clear() {
+
+        signingMaterials.clear();
+    }
+}
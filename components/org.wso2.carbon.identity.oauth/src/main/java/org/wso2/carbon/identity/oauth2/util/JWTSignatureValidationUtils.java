@@ -98,7 +98,7 @@ public class JWTSignatureValidationUtils {
      * @param idp Identity provider to get the JWKS Uri.
      * @return JWKS Uri of the identity provider.
      */
-    private static String getJWKSUri(IdentityProvider idp) {
+    public static String getJWKSUri(IdentityProvider idp) {
 
         String jwksUri = null;
 
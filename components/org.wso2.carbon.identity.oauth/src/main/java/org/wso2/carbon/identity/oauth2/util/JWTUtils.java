@@ -20,6 +20,7 @@ package org.wso2.carbon.identity.oauth2.util;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
 import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
@@ -52,6 +53,7 @@ import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.security.PublicKey;
 import java.security.cert.X509Certificate;
+import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPublicKey;
 import java.text.ParseException;
 import java.util.Arrays;
@@ -77,6 +79,7 @@ public class JWTUtils {
     private static final String OIDC_IDP_ENTITY_ID = "IdPEntityId";
     private static final String ALGO_PREFIX = "RS";
     private static final String ALGO_PREFIX_PS = "PS";
+    private static final String ALGO_PREFIX_ES = "ES";
     private static final String MUTUAL_TLS_ALIASES_ENABLED = "OAuth.MutualTLSAliases.Enabled";
 
     /**
@@ -444,6 +447,13 @@ public class JWTUtils {
             } else {
                 throw new IdentityOAuth2Exception("Public key is not an RSA public key.");
             }
+        } else if (alg.indexOf(ALGO_PREFIX_ES) == 0) {
+            PublicKey publicKey = x509Certificate.getPublicKey();
+            if (publicKey instanceof ECPublicKey) {
+                verifier = new ECDSAVerifier((ECPublicKey) publicKey);
+            } else {
+                throw new IdentityOAuth2Exception("Public key is not an EC public key.");
+            }
         } else {
             if (log.isDebugEnabled()) {
                 log.debug("Signature Algorithm not supported yet: " + alg);
@@ -26,7 +26,6 @@ import com.nimbusds.jose.JWEEncrypter;
 import com.nimbusds.jose.JWEHeader;
 import com.nimbusds.jose.JWEObject;
 import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSSigner;
 import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jose.Payload;
@@ -101,6 +100,7 @@ import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.IdentityOAuthAdminException;
 import org.wso2.carbon.identity.oauth.OAuthUtil;
 import org.wso2.carbon.identity.oauth.cache.AppInfoCache;
+import org.wso2.carbon.identity.oauth.cache.AppInfoNearCache;
 import org.wso2.carbon.identity.oauth.cache.AuthorizationGrantCache;
 import org.wso2.carbon.identity.oauth.cache.AuthorizationGrantCacheEntry;
 import org.wso2.carbon.identity.oauth.cache.AuthorizationGrantCacheKey;
@@ -202,7 +202,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -363,6 +365,8 @@ public class OAuth2Util {
 
     private static Map<Integer, Certificate> publicCerts = new ConcurrentHashMap<Integer, Certificate>();
     private static Map<Integer, Key> privateKeys = new ConcurrentHashMap<Integer, Key>();
+    // In-flight application loads keyed by tenant ID and client ID, so that concurrent cache misses share one load.
+    private static final Map<String, CompletableFuture<OAuthAppDO>> appInformationLoads = new ConcurrentHashMap<>();
 
     // Supported Signature Algorithms
     private static final String NONE = "NONE";
@@ -380,6 +384,7 @@ public class OAuth2Util {
     private static final String ES256 = "ES256";
     private static final String RS384 = "RS384";
     private static final String ES384 = "ES384";
+    private static final String ES512 = "ES512";
     private static final String SHA256 = "SHA-256";
     private static final String SHA384 = "SHA-384";
     private static final String SHA512 = "SHA-512";
@@ -2523,11 +2528,17 @@ public class OAuth2Util {
         if (oAuthAppDO != null) {
             return oAuthAppDO;
         } else {
-            oAuthAppDO = new OAuthAppDAO().getAppInformation(clientId, IdentityTenantUtil.getLoginTenantId());
-            if (oAuthAppDO != null) {
-                AppInfoCache.getInstance().addToCache(clientId, oAuthAppDO);
-            }
-            return oAuthAppDO;
+            int tenantId = IdentityTenantUtil.getLoginTenantId();
+            // The near-cache entries added through the AppInfoCache are scoped to the tenant of the carbon context.
+            String tenantDomain = AppInfoNearCache.getInstance().isEnabled() ?
+                    PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain() : null;
+            return loadAppInformation(clientId, tenantId, tenantDomain, () -> {
+                OAuthAppDO appDO = new OAuthAppDAO().getAppInformation(clientId, tenantId);
+                if (appDO != null) {
+                    AppInfoCache.getInstance().addToCache(clientId, appDO);
+                }
+                return appDO;
+            });
         }
     }
 
@@ -2545,20 +2556,109 @@ public class OAuth2Util {
 
         OAuthAppDO oAuthAppDO = AppInfoCache.getInstance().getValueFromCache(clientId, tenantDomain);
         if (oAuthAppDO == null) {
-            oAuthAppDO = new OAuthAppDAO().getAppInformation(clientId, IdentityTenantUtil.getTenantId(tenantDomain));
-            if (oAuthAppDO != null) {
-                if (!AuthzUtil.isLegacyAuthzRuntime() && oAuthAppDO.getAppOwner() != null &&
-                        StringUtils.isNotEmpty(oAuthAppDO.getAppOwner().getTenantDomain())) {
-                    AppInfoCache.getInstance().addToCache(clientId, oAuthAppDO,
-                            oAuthAppDO.getAppOwner().getTenantDomain());
-                } else {
-                    AppInfoCache.getInstance().addToCache(clientId, oAuthAppDO, tenantDomain);
+            int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+            oAuthAppDO = loadAppInformation(clientId, tenantId, tenantDomain, () -> {
+                OAuthAppDO appDO = new OAuthAppDAO().getAppInformation(clientId, tenantId);
+                if (appDO != null) {
+                    if (!AuthzUtil.isLegacyAuthzRuntime() && appDO.getAppOwner() != null &&
+                            StringUtils.isNotEmpty(appDO.getAppOwner().getTenantDomain())) {
+                        AppInfoCache.getInstance().addToCache(clientId, appDO,
+                                appDO.getAppOwner().getTenantDomain());
+                        /*
+                         The application is cached under the tenant of its owner, which differs from the tenant of
+                         the lookup for shared applications. The near-cache entry of the lookup tenant lets the next
+                         lookups of the shared application skip the database.
+                        */
+                        AppInfoNearCache.getInstance().put(clientId, tenantDomain, appDO);
+                    } else {
+                        AppInfoCache.getInstance().addToCache(clientId, appDO, tenantDomain);
+                    }
                 }
-            }
+                return appDO;
+            });
         }
         return oAuthAppDO;
     }
 
+    /**
+     * Load the application of the given client ID on a cache miss. Concurrent misses for the same client ID in the
+     * same tenant wait for a single load instead of querying the database each, and client IDs that are not
+     * associated with an application are remembered in the {@link AppInfoNearCache} for a short time.
+     *
+     * @param clientId     Client id of the application.
+     * @param tenantId     Tenant id of the lookup.
+     * @param tenantDomain Tenant domain of the lookup.
+     * @param loader       Loads the application from the database and adds it to the cache.
+     * @return Oauth app information.
+     * @throws IdentityOAuth2Exception     Error while retrieving the application.
+     * @throws InvalidOAuthClientException If an application not found for the given client ID.
+     */
+    private static OAuthAppDO loadAppInformation(String clientId, int tenantId, String tenantDomain,
+                                                 AppInformationLoader loader)
+            throws IdentityOAuth2Exception, InvalidOAuthClientException {
+
+        AppInfoNearCache appInfoNearCache = AppInfoNearCache.getInstance();
+        if (appInfoNearCache.isKnownMissing(clientId, tenantDomain)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cannot find an application associated with the given consumer key: " + clientId);
+            }
+            throw new InvalidOAuthClientException(
+                    OAuthConstants.OAuthError.AuthorizationResponsei18nKey.APPLICATION_NOT_FOUND);
+        }
+
+        String loadKey = tenantId + ":" + clientId;
+        CompletableFuture<OAuthAppDO> load = new CompletableFuture<>();
+        CompletableFuture<OAuthAppDO> inFlightLoad = appInformationLoads.putIfAbsent(loadKey, load);
+        if (inFlightLoad != null) {
+            return awaitAppInformation(clientId, inFlightLoad);
+        }
+        try {
+            OAuthAppDO oAuthAppDO = loader.load();
+            load.complete(oAuthAppDO);
+            return oAuthAppDO;
+        } catch (InvalidOAuthClientException e) {
+            appInfoNearCache.putMissing(clientId, tenantDomain);
+            load.completeExceptionally(e);
+            throw e;
+        } catch (IdentityOAuth2Exception | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            appInformationLoads.remove(loadKey, load);
+        }
+    }
+
+    private static OAuthAppDO awaitAppInformation(String clientId, CompletableFuture<OAuthAppDO> inFlightLoad)
+            throws IdentityOAuth2Exception, InvalidOAuthClientException {
+
+        try {
+            return inFlightLoad.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdentityOAuth2Exception("Interrupted while waiting for the app information of client ID: " +
+                    clientId, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InvalidOAuthClientException) {
+                throw (InvalidOAuthClientException) cause;
+            } else if (cause instanceof IdentityOAuth2Exception) {
+                throw (IdentityOAuth2Exception) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IdentityOAuth2Exception("Error while retrieving the app information", cause);
+        }
+    }
+
+    /**
+     * Loads an application from the database on a cache miss.
+     */
+    @FunctionalInterface
+    private interface AppInformationLoader {
+
+        OAuthAppDO load() throws IdentityOAuth2Exception, InvalidOAuthClientException;
+    }
+
     /**
      * Get Oauth application information for a given client id. This method doesn't utilize the tenant and
      * treats the client ID as unique across the server.
@@ -2817,7 +2917,7 @@ public class OAuth2Util {
             return JWSAlgorithm.ES256;
         } else if (SHA384_WITH_EC.equals(signatureAlgorithm) || ES384.equals(signatureAlgorithm)) {
             return JWSAlgorithm.ES384;
-        } else if (SHA512_WITH_EC.equals(signatureAlgorithm)) {
+        } else if (SHA512_WITH_EC.equals(signatureAlgorithm) || ES512.equals(signatureAlgorithm)) {
             return JWSAlgorithm.ES512;
         } else if (SHA256_WITH_PS.equals(signatureAlgorithm) || PS256.equals(signatureAlgorithm)) {
             return JWSAlgorithm.PS256;
@@ -3370,13 +3470,30 @@ public class OAuth2Util {
             // return signWithHMAC(jwtClaimsSet,jwsAlgorithm,request); implementation need to be done
             throw new RuntimeException("Provided signature algorithm: " + signatureAlgorithm +
                     " is not supported");
+        } else if (JWSAlgorithm.ES256.equals(signatureAlgorithm) || JWSAlgorithm.ES384.equals(signatureAlgorithm) ||
+                JWSAlgorithm.ES512.equals(signatureAlgorithm)) {
+            return signJWTWithECDSA(jwtClaimsSet, signatureAlgorithm, tenantDomain);
         } else {
-            // return signWithEC(jwtClaimsSet,jwsAlgorithm,request); implementation need to be done
             throw new RuntimeException("Provided signature algorithm: " + signatureAlgorithm +
                     " is not supported");
         }
     }
 
+    /**
+     * sign JWT token from ECDSA algorithm
+     *
+     * @param jwtClaimsSet       contains JWT body
+     * @param signatureAlgorithm JWT signing algorithm
+     * @param tenantDomain       tenant domain
+     * @return signed JWT token
+     * @throws IdentityOAuth2Exception If the signing key of the tenant is not an EC key of a matching curve.
+     */
+    public static JWT signJWTWithECDSA(JWTClaimsSet jwtClaimsSet, JWSAlgorithm signatureAlgorithm,
+                                       String tenantDomain) throws IdentityOAuth2Exception {
+
+        return signJWTWithTenantKey(jwtClaimsSet, signatureAlgorithm, tenantDomain);
+    }
+
     /**
      * sign JWT token from RSA algorithm
      *
@@ -3390,6 +3507,12 @@ public class OAuth2Util {
     public static JWT signJWTWithRSA(JWTClaimsSet jwtClaimsSet, JWSAlgorithm signatureAlgorithm, String tenantDomain)
             throws IdentityOAuth2Exception {
 
+        return signJWTWithTenantKey(jwtClaimsSet, signatureAlgorithm, tenantDomain);
+    }
+
+    private static JWT signJWTWithTenantKey(JWTClaimsSet jwtClaimsSet, JWSAlgorithm signatureAlgorithm,
+                                            String tenantDomain) throws IdentityOAuth2Exception {
+
         try {
             if (StringUtils.isBlank(tenantDomain)) {
                 tenantDomain = MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
@@ -3403,14 +3526,10 @@ public class OAuth2Util {
                         tenantDomain);
             }
 
-            Key privateKey = getPrivateKey(tenantDomain);
-            JWSSigner signer = OAuth2Util.createJWSSigner((RSAPrivateKey) privateKey);
-            JWSHeader.Builder headerBuilder = new JWSHeader.Builder((JWSAlgorithm) signatureAlgorithm);
-            headerBuilder.keyID(getKID(getCertificate(tenantDomain), signatureAlgorithm, tenantDomain));
-            Certificate certificate = getCertificate(tenantDomain);
-            headerBuilder.x509CertThumbprint(new Base64URL(getThumbPrintWithPrevAlgorithm(certificate, false)));
-            SignedJWT signedJWT = new SignedJWT(headerBuilder.build(), jwtClaimsSet);
-            signedJWT.sign(signer);
+            JWSSigningMaterial signingMaterial = JWSSigningMaterialCache.getInstance()
+                    .getSigningMaterial(tenantDomain, signatureAlgorithm);
+            SignedJWT signedJWT = new SignedJWT(signingMaterial.getHeader(null), jwtClaimsSet);
+            signedJWT.sign(signingMaterial.getSigner());
             return signedJWT;
         } catch (JOSEException e) {
             throw new IdentityOAuth2Exception("Error occurred while signing JWT", e);
@@ -3493,8 +3612,6 @@ public class OAuth2Util {
         try {
 
             Certificate certificate = getCertificate(tenantDomain, tenantId);
-
-            // TODO: maintain a hashmap with tenants' pubkey thumbprints after first initialization
             return getThumbPrint(certificate);
 
         } catch (Exception e) {
@@ -24,6 +24,7 @@ import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.application.common.model.IdentityProvider;
 import org.wso2.carbon.identity.central.log.mgt.utils.LogConstants;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
@@ -63,48 +64,60 @@ public class OAuth2JWTTokenValidator extends DefaultOAuth2TokenValidator {
                     .logDetailLevel(DiagnosticLog.LogDetailLevel.APPLICATION)
                     .resultStatus(DiagnosticLog.ResultStatus.FAILED);
         }
+        String accessToken = validationReqDTO.getRequestDTO().getAccessToken().getIdentifier();
+        String organizationId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getOrganizationId();
         try {
-            SignedJWT signedJWT = getSignedJWT(validationReqDTO);
-            Optional<JWTClaimsSet> claimsSet = JWTUtils.getJWTClaimSet(signedJWT);
-            if (!claimsSet.isPresent()) {
-                // diagnosticLogBuilder will be null if diagnostic logs are disabled.
-                if (diagnosticLogBuilder != null) {
-                    diagnosticLogBuilder.resultMessage("Claim values are empty in the provided token.");
-                    LoggerUtils.triggerDiagnosticLogEvent(diagnosticLogBuilder);
+            // The signature of a cached token has been verified already, hence only its validity period is checked.
+            JWTClaimsSet claimsSet = VerifiedJWTCache.getInstance().get(accessToken, organizationId);
+            String tenantDomain = null;
+            if (claimsSet == null) {
+                SignedJWT signedJWT = getSignedJWT(validationReqDTO);
+                Optional<JWTClaimsSet> parsedClaimsSet = JWTUtils.getJWTClaimSet(signedJWT);
+                if (!parsedClaimsSet.isPresent()) {
+                    // diagnosticLogBuilder will be null if diagnostic logs are disabled.
+                    if (diagnosticLogBuilder != null) {
+                        diagnosticLogBuilder.resultMessage("Claim values are empty in the provided token.");
+                        LoggerUtils.triggerDiagnosticLogEvent(diagnosticLogBuilder);
+                    }
+                    throw new IdentityOAuth2Exception("Claim values are empty in the given Token.");
                 }
-                throw new IdentityOAuth2Exception("Claim values are empty in the given Token.");
-            }
-            if (!JWTUtils.validateRequiredFields(claimsSet.get())) {
-                if (LoggerUtils.isDiagnosticLogsEnabled()) {
-                    LoggerUtils.triggerDiagnosticLogEvent(new DiagnosticLog.DiagnosticLogBuilder(
-                            OAuthConstants.LogConstants.OAUTH_INBOUND_SERVICE,
-                            OAuthConstants.LogConstants.ActionIDs.VALIDATE_JWT_ACCESS_TOKEN)
-                            .resultMessage("Mandatory fields (iss, sub, exp, jtl, aud) are empty in the provided "
-                                    + "token.")
-                            .logDetailLevel(DiagnosticLog.LogDetailLevel.APPLICATION)
-                            .resultStatus(DiagnosticLog.ResultStatus.FAILED));
+                claimsSet = parsedClaimsSet.get();
+                if (!JWTUtils.validateRequiredFields(claimsSet)) {
+                    if (LoggerUtils.isDiagnosticLogsEnabled()) {
+                        LoggerUtils.triggerDiagnosticLogEvent(new DiagnosticLog.DiagnosticLogBuilder(
+                                OAuthConstants.LogConstants.OAUTH_INBOUND_SERVICE,
+                                OAuthConstants.LogConstants.ActionIDs.VALIDATE_JWT_ACCESS_TOKEN)
+                                .resultMessage("Mandatory fields (iss, sub, exp, jtl, aud) are empty in the " +
+                                        "provided token.")
+                                .logDetailLevel(DiagnosticLog.LogDetailLevel.APPLICATION)
+                                .resultStatus(DiagnosticLog.ResultStatus.FAILED));
+                    }
+                    return false;
                 }
-                return false;
-            }
 
-            // Derive signing tenant domain for identity provider
-            AccessTokenDO accessTokenDO = (AccessTokenDO) validationReqDTO.getProperty(OAuthConstants.ACCESS_TOKEN_DO);
-            String tenantDomain = JWTUtils.getSigningTenantDomain(claimsSet.get(), accessTokenDO);
-            if (log.isDebugEnabled()) {
-                log.debug("Resolved tenant domain: " + tenantDomain + " to validate the JWT access token.");
-            }
+                // Derive signing tenant domain for identity provider
+                AccessTokenDO accessTokenDO =
+                        (AccessTokenDO) validationReqDTO.getProperty(OAuthConstants.ACCESS_TOKEN_DO);
+                tenantDomain = JWTUtils.getSigningTenantDomain(claimsSet, accessTokenDO);
+                if (log.isDebugEnabled()) {
+                    log.debug("Resolved tenant domain: " + tenantDomain + " to validate the JWT access token.");
+                }
 
-            IdentityProvider identityProvider = JWTUtils.getResidentIDPForIssuer(claimsSet.get(), tenantDomain);
+                IdentityProvider identityProvider = JWTUtils.getResidentIDPForIssuer(claimsSet, tenantDomain);
 
-            if (!validateSignature(signedJWT, identityProvider)) {
-                // diagnosticLogBuilder will be null if diagnostic logs are disabled.
-                if (diagnosticLogBuilder != null) {
-                    diagnosticLogBuilder.resultMessage("Signature validation failed.");
-                    LoggerUtils.triggerDiagnosticLogEvent(diagnosticLogBuilder);
+                if (!validateSignature(signedJWT, identityProvider)) {
+                    // diagnosticLogBuilder will be null if diagnostic logs are disabled.
+                    if (diagnosticLogBuilder != null) {
+                        diagnosticLogBuilder.resultMessage("Signature validation failed.");
+                        LoggerUtils.triggerDiagnosticLogEvent(diagnosticLogBuilder);
+                    }
+                    return false;
                 }
-                return false;
+            } else if (log.isDebugEnabled()) {
+                log.debug("Signature of the JWT access token has been verified already. Skipping the signature " +
+                        "validation.");
             }
-            if (!JWTUtils.checkExpirationTime(claimsSet.get().getExpirationTime())) {
+            if (!JWTUtils.checkExpirationTime(claimsSet.getExpirationTime())) {
                 // diagnosticLogBuilder will be null if diagnostic logs are disabled.
                 if (diagnosticLogBuilder != null) {
                     diagnosticLogBuilder.resultMessage("Token is expired.");
@@ -112,8 +125,11 @@ public class OAuth2JWTTokenValidator extends DefaultOAuth2TokenValidator {
                 }
                 return false;
             }
-            JWTUtils.checkNotBeforeTime(claimsSet.get().getNotBeforeTime());
-            setJWTMessageContext(validationReqDTO, claimsSet.get());
+            JWTUtils.checkNotBeforeTime(claimsSet.getNotBeforeTime());
+            if (tenantDomain != null) {
+                VerifiedJWTCache.getInstance().put(accessToken, claimsSet, tenantDomain, organizationId);
+            }
+            setJWTMessageContext(validationReqDTO, claimsSet);
         } catch (JOSEException | ParseException e) {
             // diagnosticLogBuilder will be null if diagnostic logs are disabled.
             if (diagnosticLogBuilder != null) {
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.cache.BoundedTTLCache;
+import org.wso2.carbon.identity.oauth2.util.ConfigurationUtil;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Bounded, node local cache of the claims of JWT access tokens whose signature has been verified by the
+ * {@link OAuth2JWTTokenValidator}, keyed by a SHA-256 hash of the token and the organization the issuer of the
+ * token was validated against. A cached token is validated again by checking its expiry and not before times only,
+ * skipping the resolution of the identity provider and the signature verification.
+ * <p>
+ * An entry never outlives the token nor the configured time to live. Entries verified with the keys of a tenant are
+ * removed when the signing key of the tenant changes on this node, or when the tenant is deactivated or deleted.
+ * Entries are evicted as described in {@link BoundedTTLCache}.
+ */
+public class VerifiedJWTCache implements VerifiedJWTCacheMBean {
+
+    static final String OBJECT_NAME = "org.wso2.carbon.identity.oauth:type=VerifiedJWTCache";
+
+    private static final Log log = LogFactory.getLog(VerifiedJWTCache.class);
+
+    private static final String ENABLE = "OAuth.VerifiedJWTCache.Enable";
+    private static final String MAX_ENTRIES = "OAuth.VerifiedJWTCache.MaxEntries";
+    private static final String TIME_TO_LIVE = "OAuth.VerifiedJWTCache.TimeToLive";
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+    private static final int DEFAULT_TIME_TO_LIVE_SECONDS = 300;
+    private static final String KEY_SEPARATOR = ":";
+
+    private static volatile VerifiedJWTCache instance;
+
+    private final boolean enabled;
+    private final long timeToLiveMillis;
+    private final BoundedTTLCache<String, Entry> entries;
+
+    VerifiedJWTCache(boolean enabled, int maxEntries, long timeToLiveMillis) {
+
+        this.enabled = enabled && maxEntries > 0 && timeToLiveMillis > 0;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.entries = new BoundedTTLCache<>(maxEntries);
+    }
+
+    public static VerifiedJWTCache getInstance() {
+
+        if (instance == null) {
+            synchronized (VerifiedJWTCache.class) {
+                if (instance == null) {
+                    instance = new VerifiedJWTCache(Boolean.parseBoolean(IdentityUtil.getProperty(ENABLE)),
+                            ConfigurationUtil.getIntProperty(MAX_ENTRIES, DEFAULT_MAX_ENTRIES, 1),
+                            TimeUnit.SECONDS.toMillis(ConfigurationUtil.getIntProperty(TIME_TO_LIVE,
+                                    DEFAULT_TIME_TO_LIVE_SECONDS, 1)));
+                }
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Get the verified claims of the given token.
+     *
+     * @param jwt            Serialized JWT access token.
+     * @param organizationId Organization of the resource being accessed, which the issuer of the token was
+     *                       validated against.
+     * @return Verified claims of the token, or null if the token has not been verified within the time to live, or
+     * was verified for another organization.
+     */
+    public JWTClaimsSet get(String jwt, String organizationId) {
+
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(getKey(jwt, organizationId));
+        return entry == null ? null : entry.claimsSet;
+    }
+
+    /**
+     * Cache the claims of a token whose signature has been verified.
+     *
+     * @param jwt            Serialized JWT access token.
+     * @param claimsSet      Verified claims of the token.
+     * @param tenantDomain   Tenant whose keys verified the signature of the token.
+     * @param organizationId Organization of the resource being accessed, which the issuer of the token was
+     *                       validated against.
+     */
+    public void put(String jwt, JWTClaimsSet claimsSet, String tenantDomain, String organizationId) {
+
+        if (!enabled) {
+            return;
+        }
+        long expiryTime = System.currentTimeMillis() + timeToLiveMillis;
+        Date tokenExpiryTime = claimsSet.getExpirationTime();
+        if (tokenExpiryTime != null) {
+            expiryTime = Math.min(expiryTime, tokenExpiryTime.getTime());
+        }
+        entries.put(getKey(jwt, organizationId), new Entry(claimsSet, tenantDomain), expiryTime);
+    }
+
+    /**
+     * Remove the entries of the tokens verified with the keys of the given tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        if (!enabled) {
+            return;
+        }
+        entries.removeIf((key, entry) -> StringUtils.equals(entry.tenantDomain, tenantDomain));
+        if (log.isDebugEnabled()) {
+            log.debug("Cleared verified JWT cache entries of tenant: " + tenantDomain);
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+
+        entries.clear();
+    }
+
+    @Override
+    public long getHitCount() {
+
+        return entries.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+
+        return entries.getMissCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+
+        return entries.getEvictionCount();
+    }
+
+    @Override
+    public int getSize() {
+
+        return entries.size();
+    }
+
+    /**
+     * Register the statistics of this cache in the platform MBean server, replacing a registration left by a previous
+     * activation.
+     */
+    public void registerMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(this, objectName);
+        } catch (JMException e) {
+            log.warn("Error while registering the verified JWT cache MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Remove the statistics of this cache from the platform MBean server.
+     */
+    public void unregisterMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Error while unregistering the verified JWT cache MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    private String getKey(String jwt, String organizationId) {
+
+        // The token is hashed so that the cache does not hold bearer tokens.
+        String tokenHash = DigestUtils.sha256Hex(jwt.getBytes(StandardCharsets.UTF_8));
+        return organizationId == null ? tokenHash : tokenHash + KEY_SEPARATOR + organizationId;
+    }
+
+    private static final class Entry {
+
+        private final JWTClaimsSet claimsSet;
+        private final String tenantDomain;
+
+        private Entry(JWTClaimsSet claimsSet, String tenantDomain) {
+
+            this.claimsSet = claimsSet;
+            this.tenantDomain = tenantDomain;
+        }
+    }
+}
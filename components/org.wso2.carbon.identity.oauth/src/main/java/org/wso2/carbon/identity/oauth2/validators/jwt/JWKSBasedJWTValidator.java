@@ -27,10 +27,7 @@ import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKMatcher;
 import com.nimbusds.jose.jwk.JWKSelector;
 import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.jwk.source.RemoteJWKSet;
 import com.nimbusds.jose.proc.BadJOSEException;
-import com.nimbusds.jose.proc.JWSKeySelector;
-import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
 import com.nimbusds.jose.proc.SimpleSecurityContext;
 import com.nimbusds.jose.util.X509CertUtils;
@@ -40,7 +37,6 @@ import com.nimbusds.jwt.JWTParser;
 import com.nimbusds.jwt.PlainJWT;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
-import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang.StringUtils;
@@ -69,16 +65,9 @@ import static org.wso2.carbon.identity.openidconnect.model.Constants.RS;
 public class JWKSBasedJWTValidator implements JWTValidator {
 
     private static final Log log = LogFactory.getLog(JWKSBasedJWTValidator.class);
-    private ConfigurableJWTProcessor<SecurityContext> jwtProcessor;
     private static final String ENFORCE_CERTIFICATE_VALIDITY
             = "JWTValidatorConfigs.EnforceCertificateExpiryTimeValidity";
 
-    public JWKSBasedJWTValidator() {
-        /* Set up a JWT processor to parse the tokens and then check their signature and validity time window
-        (bounded by the "iat", "nbf" and "exp" claims). */
-        this.jwtProcessor = new DefaultJWTProcessor<>();
-    }
-
     @Override
     public boolean validateSignature(String jwtString, String jwksUri, String algorithm, Map<String, Object> opts)
             throws IdentityOAuth2Exception {
@@ -134,7 +123,8 @@ public class JWKSBasedJWTValidator implements JWTValidator {
 
         X509Certificate x509Certificate = null;
         List<JWK> matchingJWKs;
-        RemoteJWKSet<SecurityContext> remoteJWKSet = JWKSourceDataProvider.getInstance().getJWKSource(jwksUri);
+        JWKSource<SecurityContext> remoteJWKSet =
+                JWKSourceDataProvider.getInstance().getRefreshAheadJWKSource(jwksUri);
         String kid = Optional.ofNullable(jwt.getHeader()).map(JWSHeader::getKeyID).orElse(null);
 
         if (kid == null) {
@@ -192,8 +182,7 @@ public class JWKSBasedJWTValidator implements JWTValidator {
                     algorithm);
         }
         try {
-            // set the Key Selector for the jwks_uri.
-            setJWKeySelector(jwksUri, algorithm);
+            ConfigurableJWTProcessor<SecurityContext> processor = getJWTProcessor(jwksUri, algorithm);
 
             // Process the token, set optional context parameters.
             SecurityContext securityContext = null;
@@ -203,13 +192,13 @@ public class JWKSBasedJWTValidator implements JWTValidator {
             }
 
             if (jwt instanceof PlainJWT) {
-                jwtProcessor.process((PlainJWT) jwt, securityContext);
+                processor.process((PlainJWT) jwt, securityContext);
             } else if (jwt instanceof SignedJWT) {
-                jwtProcessor.process((SignedJWT) jwt, securityContext);
+                processor.process((SignedJWT) jwt, securityContext);
             } else if (jwt instanceof EncryptedJWT) {
-                jwtProcessor.process((EncryptedJWT) jwt, securityContext);
+                processor.process((EncryptedJWT) jwt, securityContext);
             } else {
-                jwtProcessor.process(jwt, securityContext);
+                processor.process(jwt, securityContext);
             }
             return true;
 
@@ -222,20 +211,18 @@ public class JWKSBasedJWTValidator implements JWTValidator {
         }
     }
 
-    private void setJWKeySelector(String jwksUri, String algorithm) throws MalformedURLException {
+    private ConfigurableJWTProcessor<SecurityContext> getJWTProcessor(String jwksUri, String algorithm)
+            throws MalformedURLException {
 
         /* The public RSA keys to validate the signatures will be sourced from the OAuth 2.0 server's JWK set,
-        published at a well-known URL. The RemoteJWKSet object caches the retrieved keys to speed up subsequent
-        look-ups and can also gracefully handle key-rollover. */
-        JWKSource<SecurityContext> keySource = JWKSourceDataProvider.getInstance().getJWKSource(jwksUri);
-
-        // The expected JWS algorithm of the access tokens (agreed out-of-band).
-        JWSAlgorithm expectedJWSAlg = JWSAlgorithm.parse(algorithm);
-
-        /* Configure the JWT processor with a key selector to feed matching public RSA keys sourced from the JWK set
-        URL. */
-        JWSKeySelector<SecurityContext> keySelector = new JWSVerificationKeySelector<>(expectedJWSAlg, keySource);
-        jwtProcessor.setJWSKeySelector(keySelector);
+        published at a well-known URL. The JWK source caches the retrieved keys to speed up subsequent
+        look-ups, refreshes them ahead of expiry and can also gracefully handle key-rollover. */
+        RefreshAheadJWKSource keySource = JWKSourceDataProvider.getInstance().getRefreshAheadJWKSource(jwksUri);
+
+        /* The expected JWS algorithm of the access tokens (agreed out-of-band). A processor checking the signature
+        and the validity time window (bounded by the "iat", "nbf" and "exp" claims) is shared per jwks_uri and
+        algorithm instead of being built per validation. */
+        return keySource.getJWTProcessor(JWSAlgorithm.parse(algorithm));
     }
 
     private boolean isSupportedAlgorithm(String alg) {
@@ -18,13 +18,16 @@
 
 package org.wso2.carbon.identity.oauth2.validators.jwt;
 
+import com.nimbusds.jose.RemoteKeySourceException;
 import com.nimbusds.jose.jwk.source.RemoteJWKSet;
 import com.nimbusds.jose.proc.SecurityContext;
 import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jose.util.ResourceRetriever;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.cache.BoundedTTLCache;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.cache.JWKSCache;
 import org.wso2.carbon.identity.oauth2.cache.JWKSCacheEntry;
@@ -33,6 +36,10 @@ import org.wso2.carbon.identity.oauth2.device.constants.Constants;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Provides JWK sources for JWT validation.
@@ -47,12 +54,34 @@ public class JWKSourceDataProvider {
             ".HTTPReadTimeout";
     private static final String HTTP_SIZE_LIMIT_XPATH = "JWTValidatorConfigs.JWKSEndpoint" +
             ".HTTPSizeLimit";
+    private static final String KEY_SET_LIFESPAN_XPATH = "JWTValidatorConfigs.JWKSEndpoint.KeySetLifespan";
+    private static final String REFRESH_AHEAD_TIME_XPATH = "JWTValidatorConfigs.JWKSEndpoint.RefreshAheadTime";
+    private static final String MIN_REFETCH_INTERVAL_XPATH = "JWTValidatorConfigs.JWKSEndpoint.MinRefetchInterval";
+    private static final String MAX_JWK_SOURCES_XPATH = "JWTValidatorConfigs.JWKSEndpoint.MaxJWKSources";
+    private static final int DEFAULT_KEY_SET_LIFESPAN = 900000;
+    private static final int DEFAULT_REFRESH_AHEAD_TIME = 60000;
+    private static final int DEFAULT_MIN_REFETCH_INTERVAL = 30000;
+    private static final int DEFAULT_MAX_JWK_SOURCES = 1000;
+    private static final int REFRESH_POOL_SIZE = 2;
+    private static final int REFRESH_QUEUE_SIZE = 100;
     private static final Log log = LogFactory.getLog(JWKSourceDataProvider.class);
 
     private static JWKSourceDataProvider jwkSourceDataProvider = new JWKSourceDataProvider();
 
+    private final BoundedTTLCache<String, RefreshAheadJWKSource> jwkSources;
+    private final ThreadPoolExecutor refreshExecutor;
+
     private JWKSourceDataProvider() {
 
+        jwkSources = new BoundedTTLCache<>(readConfigValue(MAX_JWK_SOURCES_XPATH, DEFAULT_MAX_JWK_SOURCES));
+        AtomicInteger threadCount = new AtomicInteger();
+        refreshExecutor = new ThreadPoolExecutor(REFRESH_POOL_SIZE, REFRESH_POOL_SIZE, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_SIZE), runnable -> {
+            Thread thread = new Thread(runnable, "JWKSRefresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        refreshExecutor.allowCoreThreadTimeOut(true);
     }
 
     /**
@@ -65,13 +94,41 @@ public class JWKSourceDataProvider {
         return jwkSourceDataProvider;
     }
 
+    /**
+     * Get the JWK source of the jwks_uri. One source is kept per jwks_uri, which retrieves the JWKS on first use and
+     * refreshes it ahead of expiry. The number of kept sources is bounded, and a source dropped to make space is
+     * created again on its next use.
+     *
+     * @param jwksUri Identity provider's JWKS endpoint.
+     * @return JWK source of the jwks_uri.
+     * @throws MalformedURLException for invalid URL.
+     */
+    public RefreshAheadJWKSource getRefreshAheadJWKSource(String jwksUri) throws MalformedURLException {
+
+        RefreshAheadJWKSource jwkSource = jwkSources.get(jwksUri);
+        if (jwkSource == null) {
+            URL jwksUrl = new URL(jwksUri);
+            // Sources are created under the lock so that concurrent first uses share the fetch of the JWKS.
+            synchronized (jwkSources) {
+                jwkSource = jwkSources.get(jwksUri);
+                if (jwkSource == null) {
+                    jwkSource = createJWKSource(jwksUrl);
+                    jwkSources.put(jwksUri, jwkSource, Long.MAX_VALUE);
+                }
+            }
+        }
+        return jwkSource;
+    }
+
     /**
      * Get cached JWKSet for the jwks_uri.
      *
      * @param jwksUri Identity provider's JWKS endpoint.
      * @return RemoteJWKSet.
      * @throws MalformedURLException for invalid URL.
+     * @deprecated Use {@link #getRefreshAheadJWKSource(String)}, which refreshes the JWKS ahead of expiry.
      */
+    @Deprecated
     public RemoteJWKSet<SecurityContext> getJWKSource(String jwksUri) throws MalformedURLException {
 
         JWKSCacheKey jwksCacheKey = new JWKSCacheKey(jwksUri);
@@ -84,7 +141,7 @@ public class JWKSourceDataProvider {
             }
         }
         if (jwkSet == null) {
-            jwkSet = retrieveJWKSFromJWKSEndpoint(jwksUri);
+            jwkSet = new RemoteJWKSet<>(new URL(jwksUri), createResourceRetriever());
             JWKSCache.getInstance().addToCache(jwksCacheKey, new JWKSCacheEntry(jwkSet));
             if (log.isDebugEnabled()) {
                 log.debug("Fetching JWKS from remote endpoint.");
@@ -93,61 +150,81 @@ public class JWKSourceDataProvider {
         return jwkSet;
     }
 
+    /**
+     * Drop the JWK source of the jwks_uri, so that the JWKS is retrieved again on the next use of the jwks_uri.
+     *
+     * @param jwksUri JWKS endpoint.
+     */
+    public void invalidate(String jwksUri) {
+
+        if (StringUtils.isBlank(jwksUri)) {
+            return;
+        }
+        jwkSources.remove(jwksUri);
+        JWKSCache.getInstance().clearCacheEntry(new JWKSCacheKey(jwksUri));
+        if (log.isDebugEnabled()) {
+            log.debug("Invalidated the JWK source of jwks_uri: " + jwksUri);
+        }
+    }
+
     /**
      * Retrieve the new-keyset from the JWKS endpoint in case of signature validation failure.
      *
      * @param jwksUri Identity providers jwks_uri.
-     * @throws IdentityOAuth2Exception for invalid/malformed URL.
+     * @throws IdentityOAuth2Exception for invalid/malformed URL, or if the JWKS could not be retrieved.
      */
     public void refreshJWKSResource(String jwksUri) throws IdentityOAuth2Exception {
 
         try {
-            JWKSCacheKey jwksCacheKey = new JWKSCacheKey(jwksUri);
-            JWKSCache.getInstance().clearCacheEntry(jwksCacheKey);
-            RemoteJWKSet<SecurityContext> jwkSet = retrieveJWKSFromJWKSEndpoint(jwksUri);
-            JWKSCache.getInstance().addToCache(jwksCacheKey, new JWKSCacheEntry(jwkSet));
+            getRefreshAheadJWKSource(jwksUri).fetch();
         } catch (MalformedURLException e) {
             throw new IdentityOAuth2Exception("Provided URI is malformed. jwks_uri: " + jwksUri, e);
+        } catch (RemoteKeySourceException e) {
+            throw new IdentityOAuth2Exception("Error occurred while retrieving JWKS from jwks_uri: " + jwksUri, e);
+        }
+    }
+
+    private RefreshAheadJWKSource createJWKSource(URL jwksUrl) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Creating JWK source for jwks_uri: " + jwksUrl);
         }
+        return new RefreshAheadJWKSource(jwksUrl, createResourceRetriever(),
+                readConfigValue(KEY_SET_LIFESPAN_XPATH, DEFAULT_KEY_SET_LIFESPAN),
+                readConfigValue(REFRESH_AHEAD_TIME_XPATH, DEFAULT_REFRESH_AHEAD_TIME),
+                readConfigValue(MIN_REFETCH_INTERVAL_XPATH, DEFAULT_MIN_REFETCH_INTERVAL), refreshExecutor);
     }
 
     /**
-     * Retrieve JWKS from jwks_uri.
+     * Create the resource retriever used to fetch JWKS from jwks_uris.
      *
-     * @param jwksUri Identity provider's jwks_uri.
-     * @return RemoteJWKSet
-     * @throws MalformedURLException for invalid URL.
+     * @return Resource retriever.
      */
-    private RemoteJWKSet<SecurityContext> retrieveJWKSFromJWKSEndpoint(String jwksUri) throws MalformedURLException {
+    private ResourceRetriever createResourceRetriever() {
 
         // Retrieve HTTP endpoint configurations.
-        int connectionTimeout = readHTTPConnectionConfigValue(HTTP_CONNECTION_TIMEOUT_XPATH);
-        int readTimeout = readHTTPConnectionConfigValue(HTTP_READ_TIMEOUT_XPATH);
-        int sizeLimit = readHTTPConnectionConfigValue(HTTP_SIZE_LIMIT_XPATH);
+        int connectionTimeout = readConfigValue(HTTP_CONNECTION_TIMEOUT_XPATH, DEFAULT_HTTP_CONNECTION_TIMEOUT);
+        int readTimeout = readConfigValue(HTTP_READ_TIMEOUT_XPATH, DEFAULT_HTTP_READ_TIMEOUT);
+        int sizeLimit = readConfigValue(HTTP_SIZE_LIMIT_XPATH, RemoteJWKSet.DEFAULT_HTTP_SIZE_LIMIT);
         String proxyEnabled = IdentityUtil.getProperty(Constants.PROXY_ENABLE);
 
-        if (connectionTimeout <= 0) {
-            connectionTimeout = DEFAULT_HTTP_CONNECTION_TIMEOUT;
-        }
-        if (readTimeout <= 0) {
-            readTimeout = DEFAULT_HTTP_READ_TIMEOUT;
-        }
-        if (sizeLimit <= 0) {
-            sizeLimit = RemoteJWKSet.DEFAULT_HTTP_SIZE_LIMIT;
-        }
-
         if (Boolean.parseBoolean(proxyEnabled)) {
-            ExtendedDefaultResourceRetriever resourceRetriever = new ExtendedDefaultResourceRetriever(
-                    connectionTimeout,
-                    readTimeout,
-                    sizeLimit);
-            return new RemoteJWKSet<>(new URL(jwksUri), resourceRetriever);
+            return new ExtendedDefaultResourceRetriever(connectionTimeout, readTimeout, sizeLimit);
         }
-        DefaultResourceRetriever resourceRetriever = new DefaultResourceRetriever(
-                connectionTimeout,
-                readTimeout,
-                sizeLimit);
-        return new RemoteJWKSet<>(new URL(jwksUri), resourceRetriever);
+        return new DefaultResourceRetriever(connectionTimeout, readTimeout, sizeLimit);
+    }
+
+    /**
+     * Read a positive integer configuration from identity.xml file.
+     *
+     * @param xPath        xpath of the config property.
+     * @param defaultValue Value used if the property is not configured or is not positive.
+     * @return Config property value.
+     */
+    private int readConfigValue(String xPath, int defaultValue) {
+
+        int configValue = readHTTPConnectionConfigValue(xPath);
+        return configValue > 0 ? configValue : defaultValue;
     }
 
     /**
@@ -164,7 +241,7 @@ public class JWKSourceDataProvider {
             try {
                 configValue = Integer.parseInt(config);
             } catch (NumberFormatException e) {
-                log.error("Provided HTTP connection config value in " + xPath + " should be an integer type. Value : "
+                log.error("Provided JWKS endpoint config value in " + xPath + " should be an integer type. Value : "
                         + config);
             }
         }
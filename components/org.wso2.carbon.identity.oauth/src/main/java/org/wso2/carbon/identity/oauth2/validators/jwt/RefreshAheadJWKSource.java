@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.RemoteKeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.ResourceRetriever;
+import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * JWK source of a remote JWKS endpoint, which refreshes the key set in the background before it expires.
+ * <p>
+ * Concurrent fetches of the key set are coalesced into one request to the endpoint. If the endpoint cannot be
+ * reached, the last retrieved key set is served until a fetch succeeds. An unknown key ID triggers a fetch of the key
+ * set, at most once per minimum refetch interval, so that tokens with made up key IDs cannot flood the endpoint.
+ */
+public class RefreshAheadJWKSource implements JWKSource<SecurityContext> {
+
+    private static final Log log = LogFactory.getLog(RefreshAheadJWKSource.class);
+
+    private final URL jwksUrl;
+    private final ResourceRetriever resourceRetriever;
+    private final long lifespanMillis;
+    private final long refreshAheadMillis;
+    private final long minRefetchIntervalMillis;
+    private final Executor refreshExecutor;
+
+    private final AtomicReference<CompletableFuture<JWKSet>> inFlightFetch = new AtomicReference<>();
+    private final Map<JWSAlgorithm, ConfigurableJWTProcessor<SecurityContext>> jwtProcessors =
+            new ConcurrentHashMap<>();
+    private volatile JWKSet jwkSet;
+    private volatile long retrievedTime;
+    private volatile long lastFetchTime;
+
+    /**
+     * Create a JWK source of a remote JWKS endpoint. The key set is retrieved on first use.
+     *
+     * @param jwksUrl                  URL of the JWKS endpoint.
+     * @param resourceRetriever        Retriever used to fetch the key set.
+     * @param lifespanMillis           Time after which a retrieved key set is refetched before it is served.
+     * @param refreshAheadMillis       Time before the end of the lifespan from which the key set is refreshed in
+     *                                 the background.
+     * @param minRefetchIntervalMillis Minimum time between two fetches triggered by an unknown key ID or by an
+     *                                 unreachable endpoint.
+     * @param refreshExecutor          Executor of the background refreshes.
+     */
+    public RefreshAheadJWKSource(URL jwksUrl, ResourceRetriever resourceRetriever, long lifespanMillis,
+                                 long refreshAheadMillis, long minRefetchIntervalMillis, Executor refreshExecutor) {
+
+        this.jwksUrl = jwksUrl;
+        this.resourceRetriever = resourceRetriever;
+        this.lifespanMillis = lifespanMillis;
+        this.refreshAheadMillis = Math.min(refreshAheadMillis, lifespanMillis);
+        this.minRefetchIntervalMillis = minRefetchIntervalMillis;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+
+        JWKSet currentJWKSet = jwkSet;
+        long now = System.currentTimeMillis();
+        long age = now - retrievedTime;
+        if (currentJWKSet == null) {
+            currentJWKSet = fetch();
+        } else if (age >= lifespanMillis && isRefetchAllowed(now)) {
+            try {
+                currentJWKSet = fetch();
+            } catch (RemoteKeySourceException e) {
+                log.warn("Error while refreshing the expired JWKS of " + jwksUrl + ". Serving the last retrieved " +
+                        "JWKS.", e);
+            }
+        } else if (age >= lifespanMillis - refreshAheadMillis && isRefetchAllowed(now)) {
+            refreshInBackground();
+        }
+
+        List<JWK> matchingJWKs = jwkSelector.select(currentJWKSet);
+        if (matchingJWKs.isEmpty() && CollectionUtils.isNotEmpty(jwkSelector.getMatcher().getKeyIDs()) &&
+                isRefetchAllowed(now)) {
+            // The keys of the endpoint may have been rotated.
+            if (log.isDebugEnabled()) {
+                log.debug("No matching key found in the cached JWKS of " + jwksUrl + ". Refetching the JWKS.");
+            }
+            matchingJWKs = jwkSelector.select(fetch());
+        }
+        return matchingJWKs;
+    }
+
+    /**
+     * Fetch the key set from the endpoint, waiting for a fetch which is already in progress instead of starting
+     * another one.
+     *
+     * @return Retrieved key set.
+     * @throws RemoteKeySourceException If the key set could not be retrieved.
+     */
+    public JWKSet fetch() throws RemoteKeySourceException {
+
+        try {
+            return startFetch(false).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemoteKeySourceException("Interrupted while retrieving the JWKS of " + jwksUrl, e);
+        } catch (ExecutionException e) {
+            throw new RemoteKeySourceException("Error while retrieving the JWKS of " + jwksUrl, e.getCause());
+        }
+    }
+
+    /**
+     * Get a JWT processor which verifies signatures of the given algorithm with the keys of this source. Processors
+     * are thread-safe once configured, hence one processor is shared per algorithm.
+     *
+     * @param algorithm Expected JWS algorithm.
+     * @return JWT processor.
+     */
+    public ConfigurableJWTProcessor<SecurityContext> getJWTProcessor(JWSAlgorithm algorithm) {
+
+        return jwtProcessors.computeIfAbsent(algorithm, alg -> {
+            ConfigurableJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+            jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(alg, this));
+            return jwtProcessor;
+        });
+    }
+
+    private void refreshInBackground() {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Refreshing the JWKS of " + jwksUrl + " ahead of its expiry.");
+        }
+        startFetch(true);
+    }
+
+    private CompletableFuture<JWKSet> startFetch(boolean async) {
+
+        while (true) {
+            CompletableFuture<JWKSet> existingFetch = inFlightFetch.get();
+            if (existingFetch != null) {
+                return existingFetch;
+            }
+            CompletableFuture<JWKSet> newFetch = new CompletableFuture<>();
+            if (!inFlightFetch.compareAndSet(null, newFetch)) {
+                continue;
+            }
+            if (!async) {
+                retrieve(newFetch);
+                return newFetch;
+            }
+            try {
+                refreshExecutor.execute(() -> retrieve(newFetch));
+            } catch (RejectedExecutionException e) {
+                // The key set is refreshed by a later request.
+                inFlightFetch.compareAndSet(newFetch, null);
+                newFetch.completeExceptionally(e);
+            }
+            return newFetch;
+        }
+    }
+
+    private void retrieve(CompletableFuture<JWKSet> fetch) {
+
+        lastFetchTime = System.currentTimeMillis();
+        try {
+            JWKSet retrievedJWKSet = JWKSet.parse(resourceRetriever.retrieveResource(jwksUrl).getContent());
+            jwkSet = retrievedJWKSet;
+            retrievedTime = System.currentTimeMillis();
+            fetch.complete(retrievedJWKSet);
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while retrieving the JWKS of " + jwksUrl, e);
+            }
+            fetch.completeExceptionally(e);
+        } finally {
+            inFlightFetch.compareAndSet(fetch, null);
+        }
+    }
+
+    private boolean isRefetchAllowed(long now) {
+
+        return now - lastFetchTime >= minRefetchIntervalMillis;
+    }
+}
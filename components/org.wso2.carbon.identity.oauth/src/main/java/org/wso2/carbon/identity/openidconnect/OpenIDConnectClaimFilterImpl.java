@@ -35,11 +35,11 @@ import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
-import org.wso2.carbon.identity.oauth.dto.ScopeDTO;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.openidconnect.internal.OpenIDConnectServiceComponentHolder;
+import org.wso2.carbon.identity.openidconnect.model.OIDCScopeClaimIndex;
 import org.wso2.carbon.identity.openidconnect.model.RequestedClaim;
 import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
@@ -79,8 +79,6 @@ import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OIDCClaims.UP
  */
 public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
 
-    private static final String ADDRESS_PREFIX = "address.";
-    private static final String ADDRESS_SCOPE = "address";
     private static final String OIDC_DIALECT = "http://wso2.org/oidc/claim";
 
     private static final Log log = LogFactory.getLog(OpenIDConnectClaimFilterImpl.class);
@@ -101,23 +99,21 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
         Map<String, Object> claimsToBeReturned = new HashMap<>();
         Map<String, Object> addressScopeClaims = new HashMap<>();
 
-        Map<String, List<String>> scopeClaimsMap = getOIDCScopeClaimMap(spTenantDomain);
+        OIDCScopeClaimIndex scopeClaimIndex = getOIDCScopeClaimIndex(spTenantDomain);
 
-        if (MapUtils.isNotEmpty(scopeClaimsMap)) {
-            List<String> addressScopeClaimUris = getAddressScopeClaimUris(scopeClaimsMap);
+        if (!scopeClaimIndex.isEmpty()) {
             // Iterate through scopes requested in the OAuth2/OIDC request to filter claims
             for (String requestedScope : requestedScopes) {
                 // Check if requested scope is a supported OIDC scope value
 
-                if (scopeClaimsMap.containsKey(requestedScope)) {
+                if (scopeClaimIndex.containsScope(requestedScope)) {
                     if (log.isDebugEnabled()) {
                         log.debug("Requested scope: " + requestedScope + " is a defined OIDC Scope in tenantDomain: " +
                                 spTenantDomain + ". Filtering claims based on the permitted claims in the scope.");
                     }
                     // Requested scope is an registered OIDC scope. Filter and return the claims belonging to the scope.
                     Map<String, Object> filteredClaims =
-                            handleRequestedOIDCScope(userClaims, addressScopeClaims, scopeClaimsMap,
-                                    addressScopeClaimUris, requestedScope);
+                            handleRequestedOIDCScope(userClaims, addressScopeClaims, scopeClaimIndex, requestedScope);
                     claimsToBeReturned.putAll(filteredClaims);
                 } else {
                     if (log.isDebugEnabled()) {
@@ -150,19 +146,19 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
     public List<String> getClaimsFilteredByOIDCScopes(Set<String> requestedScopes, String spTenantDomain) {
 
         List<String> filteredClaims = new ArrayList<>();
-        Map<String, List<String>> scopeClaimsMap = getOIDCScopeClaimMap(spTenantDomain);
+        OIDCScopeClaimIndex scopeClaimIndex = getOIDCScopeClaimIndex(spTenantDomain);
 
-        if (MapUtils.isNotEmpty(scopeClaimsMap)) {
+        if (!scopeClaimIndex.isEmpty()) {
             // Iterate through scopes requested in the OAuth2/OIDC request to filter claims
             for (String requestedScope : requestedScopes) {
                 // Check if requested scope is a supported OIDC scope value
-                if (scopeClaimsMap.containsKey(requestedScope)) {
+                if (scopeClaimIndex.containsScope(requestedScope)) {
                     if (log.isDebugEnabled()) {
                         log.debug("Requested scope: " + requestedScope + " is a defined OIDC Scope in tenantDomain: " +
                                 spTenantDomain + ". Filtering claims based on the permitted claims in the scope.");
                     }
                     // Requested scope is an registered OIDC scope. Filter and return the claims belonging to the scope.
-                    filteredClaims.addAll(getClaimUrisInSupportedOIDCScope(scopeClaimsMap, requestedScope));
+                    filteredClaims.addAll(scopeClaimIndex.getClaims(requestedScope));
                 } else {
                     if (log.isDebugEnabled()) {
                         log.debug("Requested scope: " + requestedScope + " is not a defined OIDC Scope in " +
@@ -244,10 +240,10 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
 
         boolean hasAddressClaims = false;
         JSONObject consentedAddressClaims = new JSONObject();
-        Map<String, List<String>> scopeClaimsMap = getOIDCScopeClaimMap(spTenantDomain);
+        OIDCScopeClaimIndex scopeClaimIndex = getOIDCScopeClaimIndex(spTenantDomain);
 
-        if (userClaims.containsKey(ADDRESS) && MapUtils.isNotEmpty(scopeClaimsMap)) {
-            List<String> addressScopeClaimUris = getAddressScopeClaimUris(scopeClaimsMap);
+        if (userClaims.containsKey(ADDRESS) && !scopeClaimIndex.isEmpty()) {
+            List<String> addressScopeClaimUris = scopeClaimIndex.getAddressClaims();
             consentedAddressClaims = (JSONObject) userClaims.get(ADDRESS);
             for (String addressScopeClaimEntry : addressScopeClaimUris) {
                 if (userConsentClaimUrisInOIDCDialect.contains(addressScopeClaimEntry)) {
@@ -275,23 +271,23 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
     }
 
     /**
-     * Retrieve the OIDC scope claim map for the given SP tenant domain.
+     * Retrieve the OIDC scope claim index for the given SP tenant domain.
      *
      * @param spTenantDomain Tenant domain of the SP.
-     * @return OIDC scope claim map for the tenant.
+     * @return OIDC scope claim index for the tenant.
      */
-    private Map<String, List<String>> getOIDCScopeClaimMap(String spTenantDomain) {
+    private OIDCScopeClaimIndex getOIDCScopeClaimIndex(String spTenantDomain) {
 
-        // Map<"openid", "first_name,last_name,username">
-        Map<String, List<String>> scopeClaimsMap = new HashMap<>();
         int tenantId = IdentityTenantUtil.getTenantId(spTenantDomain);
-
-        // Load OIDC scopes and mapped claims from the cache or db.
-        List<ScopeDTO> oidcScopesList = getOIDCScopes(tenantId);
-        for (ScopeDTO scope : oidcScopesList) {
-            scopeClaimsMap.put(scope.getName(), Arrays.asList(scope.getClaim()));
+        OIDCScopeClaimIndex scopeClaimIndex = null;
+        try {
+            // Load OIDC scopes and mapped claims from the cache or db.
+            scopeClaimIndex = OAuthTokenPersistenceFactory.getInstance().getScopeClaimMappingDAO()
+                    .getScopeClaimIndex(tenantId);
+        } catch (IdentityOAuth2Exception e) {
+            log.error("Error while loading oidc scopes and claims for the tenant: " + tenantId);
         }
-        return scopeClaimsMap;
+        return scopeClaimIndex != null ? scopeClaimIndex : OIDCScopeClaimIndex.EMPTY;
     }
 
     private boolean isConsentManagementServiceDisabled(ServiceProvider serviceProvider) {
@@ -348,35 +344,19 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
         return essentialClaims;
     }
 
-    private List<ScopeDTO> getOIDCScopes(int tenantId) {
-
-        List<ScopeDTO> oidcScopesList = new ArrayList<>();
-        try {
-            oidcScopesList = OAuthTokenPersistenceFactory.getInstance().getScopeClaimMappingDAO().getScopes(tenantId);
-        } catch (IdentityOAuth2Exception e) {
-            log.error("Error while loading oidc scopes and claims for the tenant: " + tenantId);
-        }
-        return oidcScopesList;
-    }
-
     private Map<String, Object> handleRequestedOIDCScope(Map<String, Object> userClaimsInOIDCDialect,
                                                          Map<String, Object> addressScopeClaims,
-                                                         Map<String, List<String>> scopeClaimsMap,
-                                                         List<String> addressScopeClaimUris,
+                                                         OIDCScopeClaimIndex scopeClaimIndex,
                                                          String oidcScope) {
 
         Map<String, Object> filteredClaims = new HashMap<>();
-        List<String> claimUrisInRequestedScope = getClaimUrisInSupportedOIDCScope(scopeClaimsMap, oidcScope);
-        for (String scopeClaim : claimUrisInRequestedScope) {
-            String oidcClaimUri = scopeClaim;
-            boolean isAddressClaim = false;
-            if (isAddressClaim(scopeClaim, addressScopeClaimUris)) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Identified an address claim: " + scopeClaim + ". Removing \"address.\" prefix from " +
-                            "the claimUri");
-                }
-                oidcClaimUri = removeAddressPrefix(scopeClaim);
-                isAddressClaim = true;
+        for (OIDCScopeClaimIndex.ScopeClaim scopeClaim : scopeClaimIndex.getScopeClaims(oidcScope)) {
+            // Address claims are resolved by the index, with the "address." prefix removed from the claimUri.
+            String oidcClaimUri = scopeClaim.getOidcClaimUri();
+            boolean isAddressClaim = scopeClaim.isAddressClaim();
+            if (isAddressClaim && log.isDebugEnabled()) {
+                log.debug("Identified an address claim: " + scopeClaim.getClaimUri() + ". Using the claimUri: " +
+                        oidcClaimUri);
             }
             // Check whether the user claims contain the permitted claim uri
             if (userClaimsInOIDCDialect.containsKey(oidcClaimUri)) {
@@ -399,21 +379,6 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
         return filteredClaims;
     }
 
-    /**
-     * There can be situations where we have added a scope prefix to identify special claims.
-     * <p>
-     * For example, claims belonging to address can be prefixed as address.country, address.street. But when
-     * returning we need to remove the prefix.
-     *
-     * @param scopeClaim claim uri defined in the OIDC Scope
-     * @return Scope prefix removed claim URI
-     */
-    private String removeAddressPrefix(String scopeClaim) {
-
-        return StringUtils.startsWith(scopeClaim, ADDRESS_PREFIX) ?
-                StringUtils.substringAfterLast(scopeClaim, ADDRESS_PREFIX) : scopeClaim;
-    }
-
     private void handleAddressClaim(Map<String, Object> returnedClaims,
                                     Map<String, Object> claimsforAddressScope) {
 
@@ -426,26 +391,6 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
         }
     }
 
-    private List<String> getAddressScopeClaimUris(Map<String, List<String>> scopeClaimsMap) {
-
-        return getClaimUrisInSupportedOIDCScope(scopeClaimsMap, ADDRESS_SCOPE);
-    }
-
-    private boolean isAddressClaim(String scopeClaim, List<String> addressScopeClaims) {
-
-        return StringUtils.startsWith(scopeClaim, ADDRESS_PREFIX) || addressScopeClaims.contains(scopeClaim);
-    }
-
-    private List<String> getClaimUrisInSupportedOIDCScope(Map<String, List<String>> scopeClaimsMap,
-                                                          String requestedScope) {
-
-        List<String> requestedScopeClaimsList = new ArrayList<>();
-        if (scopeClaimsMap.containsKey(requestedScope)) {
-            requestedScopeClaimsList = scopeClaimsMap.get(requestedScope);
-        }
-        return requestedScopeClaimsList;
-    }
-
     private void handleUpdateAtClaim(Map<String, Object> returnClaims) {
 
         if (returnClaims.containsKey(UPDATED_AT) && returnClaims.get(UPDATED_AT) != null &&
@@ -20,7 +20,9 @@ package org.wso2.carbon.identity.openidconnect.cache;
 
 import org.wso2.carbon.identity.core.cache.CacheEntry;
 import org.wso2.carbon.identity.oauth.dto.ScopeDTO;
+import org.wso2.carbon.identity.openidconnect.model.OIDCScopeClaimIndex;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -29,6 +31,10 @@ import java.util.List;
 public class OIDCScopeClaimCacheEntry extends CacheEntry {
 
     private List<ScopeDTO> scopeList;
+    // Whether the entry was loaded with every OIDC scope of the tenant, so a scope missing in it does not exist.
+    private boolean complete;
+    // Built on first use from the scope list, so a new entry put on a scope update brings a new index.
+    private transient volatile OIDCScopeClaimIndex scopeClaimIndex;
 
     public List<ScopeDTO> getScopeClaimMapping() {
 
@@ -38,5 +44,31 @@ public class OIDCScopeClaimCacheEntry extends CacheEntry {
     public void setScopeClaimMapping(List<ScopeDTO> scopeList) {
 
         this.scopeList = scopeList;
+        this.scopeClaimIndex = null;
+    }
+
+    public boolean isComplete() {
+
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+
+        this.complete = complete;
+    }
+
+    /**
+     * Get the index of the scopes and claims of this entry.
+     *
+     * @return Scope claim index.
+     */
+    public OIDCScopeClaimIndex getScopeClaimIndex() {
+
+        OIDCScopeClaimIndex index = scopeClaimIndex;
+        if (index == null) {
+            index = new OIDCScopeClaimIndex(scopeList != null ? scopeList : Collections.emptyList());
+            scopeClaimIndex = index;
+        }
+        return index;
     }
 }
@@ -27,9 +27,12 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.openidconnect.cache.OIDCScopeClaimCache;
 import org.wso2.carbon.identity.openidconnect.cache.OIDCScopeClaimCacheEntry;
+import org.wso2.carbon.identity.openidconnect.model.OIDCScopeClaimIndex;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default cache backed implementation of {@link ScopeClaimMappingDAO}. This handles {@link OIDCScopeClaimCache}
@@ -41,6 +44,8 @@ public class CacheBackedScopeClaimMappingDAOImpl implements ScopeClaimMappingDAO
     private final OIDCScopeClaimCache oidcScopeClaimCache = OIDCScopeClaimCache.getInstance();
     private final ScopeClaimMappingDAO scopeClaimMappingDAOImpl = OAuth2ServiceComponentHolder
             .getInstance().getScopeClaimMappingDAO();
+    // One lock per tenant, so that a cache miss of a tenant is loaded from the database once.
+    private final Map<Integer, Object> tenantLoadLocks = new ConcurrentHashMap<>();
 
     @Override
     public void initScopeClaimMapping(int tenantId, List<ScopeDTO> scopeClaims) throws IdentityOAuth2Exception {
@@ -130,11 +135,7 @@ public class CacheBackedScopeClaimMappingDAOImpl implements ScopeClaimMappingDAO
 
         OIDCScopeClaimCacheEntry oidcScopeClaimCacheEntry = oidcScopeClaimCache.getScopeClaimMap(tenantId);
         oidcScopeClaimCacheEntry = loadOIDCScopeClaims(tenantId, oidcScopeClaimCacheEntry);
-        List<String> scopes = new ArrayList<>();
-        for (ScopeDTO scopeDTO : oidcScopeClaimCacheEntry.getScopeClaimMapping()) {
-            scopes.add(scopeDTO.getName());
-        }
-        return scopes;
+        return new ArrayList<>(oidcScopeClaimCacheEntry.getScopeClaimIndex().getScopeNames());
     }
 
     @Override
@@ -142,11 +143,9 @@ public class CacheBackedScopeClaimMappingDAOImpl implements ScopeClaimMappingDAO
 
         OIDCScopeClaimCacheEntry oidcScopeClaimCacheEntry = oidcScopeClaimCache.getScopeClaimMap(tenantId);
         oidcScopeClaimCacheEntry = loadOIDCScopeClaims(tenantId, oidcScopeClaimCacheEntry);
-        ScopeDTO scopeDTO = new ScopeDTO();
-        for (ScopeDTO scopeObj : oidcScopeClaimCacheEntry.getScopeClaimMapping()) {
-            if (scope.equals(scopeObj.getName()) && scopeObj.getClaim() != null) {
-                scopeDTO = scopeObj;
-            }
+        ScopeDTO scopeDTO = oidcScopeClaimCacheEntry.getScopeClaimIndex().getScope(scope);
+        if (scopeDTO == null || scopeDTO.getClaim() == null) {
+            return new ScopeDTO();
         }
         return scopeDTO;
     }
@@ -154,26 +153,47 @@ public class CacheBackedScopeClaimMappingDAOImpl implements ScopeClaimMappingDAO
     @Override
     public boolean hasScopesPopulated(int tenantId) throws IdentityOAuth2Exception {
 
-        return scopeClaimMappingDAOImpl.hasScopesPopulated(tenantId);
+        OIDCScopeClaimCacheEntry oidcScopeClaimCacheEntry = oidcScopeClaimCache.getScopeClaimMap(tenantId);
+        oidcScopeClaimCacheEntry = loadOIDCScopeClaims(tenantId, oidcScopeClaimCacheEntry);
+        return !oidcScopeClaimCacheEntry.getScopeClaimIndex().isEmpty();
     }
 
     @Override
     public boolean isScopeExist(String scope, int tenantId) throws IdentityOAuth2Exception {
 
-        return scopeClaimMappingDAOImpl.isScopeExist(scope, tenantId);
+        OIDCScopeClaimCacheEntry oidcScopeClaimCacheEntry = oidcScopeClaimCache.getScopeClaimMap(tenantId);
+        oidcScopeClaimCacheEntry = loadOIDCScopeClaims(tenantId, oidcScopeClaimCacheEntry);
+        return oidcScopeClaimCacheEntry.getScopeClaimIndex().containsScope(scope);
     }
 
+    /**
+     * Return the given cache entry if it holds every OIDC scope of the tenant. Otherwise load the scopes of the
+     * tenant from the database and cache them. Concurrent cache misses of a tenant are served by a single load.
+     *
+     * @param tenantId                 Tenant ID.
+     * @param oidcScopeClaimCacheEntry Cache entry of the tenant, if any.
+     * @return Cache entry with every OIDC scope of the tenant.
+     * @throws IdentityOAuth2Exception If the scopes could not be loaded.
+     */
     private OIDCScopeClaimCacheEntry loadOIDCScopeClaims(int tenantId, OIDCScopeClaimCacheEntry
             oidcScopeClaimCacheEntry) throws IdentityOAuth2Exception {
 
-        if (oidcScopeClaimCacheEntry == null || oidcScopeClaimCacheEntry.getScopeClaimMapping().size() == 0) {
+        if (isCompleteEntry(oidcScopeClaimCacheEntry)) {
+            return oidcScopeClaimCacheEntry;
+        }
+        synchronized (tenantLoadLocks.computeIfAbsent(tenantId, key -> new Object())) {
+            oidcScopeClaimCacheEntry = oidcScopeClaimCache.getScopeClaimMap(tenantId);
+            if (isCompleteEntry(oidcScopeClaimCacheEntry)) {
+                return oidcScopeClaimCacheEntry;
+            }
             if (log.isDebugEnabled()) {
                 log.debug("Cache miss for OIDC scopes claims mapping for tenant: " + tenantId);
             }
             oidcScopeClaimCacheEntry = new OIDCScopeClaimCacheEntry();
             List<ScopeDTO> scopeClaims = scopeClaimMappingDAOImpl.getScopes(tenantId);
 
-            oidcScopeClaimCacheEntry.setScopeClaimMapping(scopeClaims);
+            oidcScopeClaimCacheEntry.setScopeClaimMapping(scopeClaims != null ? scopeClaims : new ArrayList<>());
+            oidcScopeClaimCacheEntry.setComplete(true);
             oidcScopeClaimCache.addScopeClaimMap(tenantId, oidcScopeClaimCacheEntry);
             if (log.isDebugEnabled()) {
                 log.debug("OIDC scopes and mapped claims are loaded from the database and inserted to the cache for " +
@@ -183,20 +203,25 @@ public class CacheBackedScopeClaimMappingDAOImpl implements ScopeClaimMappingDAO
         return oidcScopeClaimCacheEntry;
     }
 
+    private boolean isCompleteEntry(OIDCScopeClaimCacheEntry oidcScopeClaimCacheEntry) {
+
+        return oidcScopeClaimCacheEntry != null && oidcScopeClaimCacheEntry.isComplete() &&
+                oidcScopeClaimCacheEntry.getScopeClaimMapping() != null;
+    }
+
     @Override
     public ScopeDTO getScope(String scopeName, int tenantId) throws IdentityOAuth2Exception {
 
         OIDCScopeClaimCacheEntry oidcScopeClaimCacheEntry = oidcScopeClaimCache.getScopeClaimMap(tenantId);
+        oidcScopeClaimCacheEntry = loadOIDCScopeClaims(tenantId, oidcScopeClaimCacheEntry);
+        return oidcScopeClaimCacheEntry.getScopeClaimIndex().getScope(scopeName);
+    }
 
-        if (oidcScopeClaimCacheEntry != null) {
-            if (oidcScopeClaimCacheEntry.getScopeClaimMapping().size() != 0) {
-                for (ScopeDTO scopeObj : oidcScopeClaimCacheEntry.getScopeClaimMapping()) {
-                    if (scopeName.equals(scopeObj.getName())) {
-                        return scopeObj;
-                    }
-                }
-            }
-        }
-        return scopeClaimMappingDAOImpl.getScope(scopeName, tenantId);
+    @Override
+    public OIDCScopeClaimIndex getScopeClaimIndex(int tenantId) throws IdentityOAuth2Exception {
+
+        OIDCScopeClaimCacheEntry oidcScopeClaimCacheEntry = oidcScopeClaimCache.getScopeClaimMap(tenantId);
+        oidcScopeClaimCacheEntry = loadOIDCScopeClaims(tenantId, oidcScopeClaimCacheEntry);
+        return oidcScopeClaimCacheEntry.getScopeClaimIndex();
     }
 }
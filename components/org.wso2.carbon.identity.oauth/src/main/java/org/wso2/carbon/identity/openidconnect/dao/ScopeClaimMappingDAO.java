@@ -22,6 +22,7 @@ package org.wso2.carbon.identity.openidconnect.dao;
 
 import org.wso2.carbon.identity.oauth.dto.ScopeDTO;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.openidconnect.model.OIDCScopeClaimIndex;
 
 import java.util.List;
 
@@ -159,4 +160,15 @@ public interface ScopeClaimMappingDAO {
      */
     ScopeDTO getScope(String scopeName, int tenantId) throws IdentityOAuth2Exception;
 
+    /**
+     * Get the index of the OIDC scopes and claims of a tenant, used to filter claims by the requested scopes.
+     *
+     * @param tenantId Tenant ID.
+     * @return Scope claim index.
+     * @throws IdentityOAuth2Exception If an error occurs when loading the scopes and claims.
+     */
+    default OIDCScopeClaimIndex getScopeClaimIndex(int tenantId) throws IdentityOAuth2Exception {
+
+        return new OIDCScopeClaimIndex(getScopes(tenantId));
+    }
 }
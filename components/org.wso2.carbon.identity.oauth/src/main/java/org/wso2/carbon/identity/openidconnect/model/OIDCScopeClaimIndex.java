@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.openidconnect.model;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.oauth.dto.ScopeDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable index of the OIDC scopes of a tenant and their claims, built once from the scope claim mapping and used
+ * to filter the claims of ID tokens and user info responses without rescanning the mapping on each request.
+ * <p>
+ * Claims of the address scope, and claims prefixed with "address.", are resolved ahead as address sub-claims, so that
+ * they can be grouped under the address claim.
+ */
+public final class OIDCScopeClaimIndex {
+
+    /**
+     * Index without any scope.
+     */
+    public static final OIDCScopeClaimIndex EMPTY = new OIDCScopeClaimIndex(Collections.emptyList());
+
+    private static final String ADDRESS_SCOPE = "address";
+    private static final String ADDRESS_PREFIX = "address.";
+
+    private final List<String> scopeNames;
+    private final Map<String, ScopeDTO> scopesByName;
+    private final Map<String, List<String>> claimsByScope;
+    private final Map<String, List<ScopeClaim>> scopeClaimsByScope;
+    private final Map<String, Set<String>> scopesByClaim;
+    private final List<String> addressClaims;
+
+    /**
+     * Build the index of the given scopes. Later scopes replace earlier scopes of the same name.
+     *
+     * @param scopes OIDC scopes with their claims.
+     */
+    public OIDCScopeClaimIndex(List<ScopeDTO> scopes) {
+
+        Map<String, ScopeDTO> scopeMap = new HashMap<>();
+        Map<String, List<String>> claimMap = new HashMap<>();
+        for (ScopeDTO scope : scopes) {
+            scopeMap.put(scope.getName(), scope);
+            claimMap.put(scope.getName(), scope.getClaim() != null ?
+                    Collections.unmodifiableList(Arrays.asList(scope.getClaim().clone())) :
+                    Collections.emptyList());
+        }
+        List<String> addressClaimList = claimMap.getOrDefault(ADDRESS_SCOPE, Collections.emptyList());
+        Set<String> addressClaimSet = new HashSet<>(addressClaimList);
+
+        List<String> names = new ArrayList<>(scopes.size());
+        for (ScopeDTO scope : scopes) {
+            if (scopeMap.get(scope.getName()) == scope) {
+                names.add(scope.getName());
+            }
+        }
+        Map<String, List<ScopeClaim>> scopeClaimMap = new HashMap<>();
+        Map<String, Set<String>> claimScopeMap = new HashMap<>();
+        for (String name : names) {
+            List<String> claims = claimMap.get(name);
+            List<ScopeClaim> scopeClaims = new ArrayList<>(claims.size());
+            for (String claimUri : claims) {
+                scopeClaims.add(new ScopeClaim(claimUri, addressClaimSet));
+                claimScopeMap.computeIfAbsent(claimUri, key -> new LinkedHashSet<>()).add(name);
+            }
+            scopeClaimMap.put(name, Collections.unmodifiableList(scopeClaims));
+        }
+        claimScopeMap.replaceAll((claimUri, scopeSet) -> Collections.unmodifiableSet(scopeSet));
+
+        this.scopeNames = Collections.unmodifiableList(names);
+        this.scopesByName = Collections.unmodifiableMap(scopeMap);
+        this.claimsByScope = Collections.unmodifiableMap(claimMap);
+        this.scopeClaimsByScope = Collections.unmodifiableMap(scopeClaimMap);
+        this.scopesByClaim = Collections.unmodifiableMap(claimScopeMap);
+        this.addressClaims = addressClaimList;
+    }
+
+    /**
+     * Check whether the index has no scopes.
+     *
+     * @return True if there are no scopes.
+     */
+    public boolean isEmpty() {
+
+        return scopesByName.isEmpty();
+    }
+
+    /**
+     * Check whether the given scope is an OIDC scope of the tenant.
+     *
+     * @param scope Scope name.
+     * @return True if the scope is defined.
+     */
+    public boolean containsScope(String scope) {
+
+        return scopesByName.containsKey(scope);
+    }
+
+    /**
+     * Get the names of the scopes, in the order of the scope claim mapping.
+     *
+     * @return Scope names.
+     */
+    public List<String> getScopeNames() {
+
+        return scopeNames;
+    }
+
+    /**
+     * Get a scope by name.
+     *
+     * @param scope Scope name.
+     * @return Scope, or null if the scope is not defined.
+     */
+    public ScopeDTO getScope(String scope) {
+
+        return scopesByName.get(scope);
+    }
+
+    /**
+     * Get the claim URIs of a scope, as they are defined in the scope.
+     *
+     * @param scope Scope name.
+     * @return Claim URIs, or an empty list if the scope is not defined.
+     */
+    public List<String> getClaims(String scope) {
+
+        return claimsByScope.getOrDefault(scope, Collections.emptyList());
+    }
+
+    /**
+     * Get the claims of a scope, with their address sub-claims resolved.
+     *
+     * @param scope Scope name.
+     * @return Claims, or an empty list if the scope is not defined.
+     */
+    public List<ScopeClaim> getScopeClaims(String scope) {
+
+        return scopeClaimsByScope.getOrDefault(scope, Collections.emptyList());
+    }
+
+    /**
+     * Get the scopes that contain a claim.
+     *
+     * @param claimUri Claim URI, as defined in the scopes.
+     * @return Scope names, or an empty set if no scope contains the claim.
+     */
+    public Set<String> getScopesOfClaim(String claimUri) {
+
+        return scopesByClaim.getOrDefault(claimUri, Collections.emptySet());
+    }
+
+    /**
+     * Get the claim URIs of the address scope.
+     *
+     * @return Address claim URIs.
+     */
+    public List<String> getAddressClaims() {
+
+        return addressClaims;
+    }
+
+    /**
+     * Claim of a scope, with the claim URI to return it under and whether it is a sub-claim of the address claim.
+     */
+    public static final class ScopeClaim {
+
+        private final String claimUri;
+        private final String oidcClaimUri;
+        private final boolean addressClaim;
+
+        private ScopeClaim(String claimUri, Set<String> addressClaims) {
+
+            this.claimUri = claimUri;
+            this.addressClaim = StringUtils.startsWith(claimUri, ADDRESS_PREFIX) || addressClaims.contains(claimUri);
+            this.oidcClaimUri = StringUtils.startsWith(claimUri, ADDRESS_PREFIX) ?
+                    StringUtils.substringAfterLast(claimUri, ADDRESS_PREFIX) : claimUri;
+        }
+
+        /**
+         * Get the claim URI as defined in the scope.
+         *
+         * @return Claim URI.
+         */
+        public String getClaimUri() {
+
+            return claimUri;
+        }
+
+        /**
+         * Get the claim URI to return the claim under, without the "address." prefix of address sub-claims.
+         *
+         * @return OIDC claim URI.
+         */
+        public String getOidcClaimUri() {
+
+            return oidcClaimUri;
+        }
+
+        /**
+         * Check whether the claim is a sub-claim of the address claim.
+         *
+         * @return True for address sub-claims.
+         */
+        public boolean isAddressClaim() {
+
+            return addressClaim;
+        }
+    }
+}
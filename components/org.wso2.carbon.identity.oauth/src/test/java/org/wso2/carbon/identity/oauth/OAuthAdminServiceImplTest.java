@@ -55,6 +55,7 @@ import org.wso2.carbon.identity.oauth.dto.OAuthAppRevocationRequestDTO;
 import org.wso2.carbon.identity.oauth.dto.OAuthConsumerAppDTO;
 import org.wso2.carbon.identity.oauth.dto.OAuthRevocationResponseDTO;
 import org.wso2.carbon.identity.oauth.dto.ScopeDTO;
+import org.wso2.carbon.identity.oauth.event.OAuthEventInterceptor;
 import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
 import org.wso2.carbon.identity.oauth.tokenprocessor.EncryptionDecryptionPersistenceProcessor;
 import org.wso2.carbon.identity.oauth.tokenprocessor.HashingPersistenceProcessor;
@@ -62,6 +63,7 @@ import org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcess
 import org.wso2.carbon.identity.oauth.tokenprocessor.TokenPersistenceProcessor;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.TestConstants;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenChunkHandler;
 import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
 import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAOImpl;
 import org.wso2.carbon.identity.oauth2.dao.AuthorizationCodeDAO;
@@ -92,6 +94,7 @@ import java.lang.reflect.Method;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
@@ -99,9 +102,14 @@ import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
@@ -805,7 +813,12 @@ public class OAuthAdminServiceImplTest {
             when(mockTokenPersistenceFactory.getAccessTokenDAO()).thenReturn(mockAccessTokenDAO);
             when(mockTokenPersistenceFactory.getAuthorizationCodeDAO()).thenReturn(mockAuthorizationCodeDAO);
             when(mockTokenPersistenceFactory.getTokenManagementDAO()).thenReturn(mockTokenManagementDAO);
-            when(mockAccessTokenDAO.getActiveAcessTokenDataByConsumerKey(CONSUMER_KEY)).thenReturn(activeTokens);
+            doAnswer(invocation -> {
+                AccessTokenChunkHandler handler = invocation.getArgument(1);
+                handler.handle(new ArrayList<>(activeTokens));
+                return null;
+            }).when(mockAccessTokenDAO).getActiveAcessTokenDataByConsumerKey(eq(CONSUMER_KEY),
+                    any(AccessTokenChunkHandler.class));
 
             CryptoUtil mockCryptoUtilInstance = mock(CryptoUtil.class);
             mockedCryptoUtil.when(CryptoUtil::getDefaultCryptoUtil).thenReturn(mockCryptoUtilInstance);
@@ -912,8 +925,19 @@ public class OAuthAdminServiceImplTest {
             AccessTokenDAO mockAccessTokenDAO = mock(AccessTokenDAO.class);
             setPrivateField(OAuthTokenPersistenceFactory.getInstance(), "tokenDAO", mockAccessTokenDAO);
 
-            when(mockAccessTokenDAO.getActiveAcessTokenDataByConsumerKey(anyString()))
-                    .thenReturn(accessTokenDOSet);
+            // The tokens are revoked in two chunks.
+            doAnswer(invocation -> {
+                AccessTokenChunkHandler handler = invocation.getArgument(1);
+                handler.handle(new ArrayList<>(accessTokenDOSet));
+                handler.handle(new ArrayList<>(accessTokenDOSet));
+                return null;
+            }).when(mockAccessTokenDAO).revokeActiveAccessTokensByConsumerKey(eq(consumerKey),
+                    any(AccessTokenChunkHandler.class));
+            OAuthEventInterceptor previousInterceptor = OAuthComponentServiceHolder.getInstance()
+                    .getOAuthEventInterceptorProxy();
+            OAuthEventInterceptor interceptor = mock(OAuthEventInterceptor.class);
+            when(interceptor.isEnabled()).thenReturn(true);
+            OAuthComponentServiceHolder.getInstance().addOauthEventInterceptorProxy(interceptor);
             OAuthRevocationResponseDTO expectedOAuthRevocationResponseDTO = new OAuthRevocationResponseDTO();
             expectedOAuthRevocationResponseDTO.setError(false);
 
@@ -925,10 +949,21 @@ public class OAuthAdminServiceImplTest {
 
             OAuthAdminServiceImpl oAuthAdminServiceImpl = spy(new OAuthAdminServiceImpl());
 
-            OAuthRevocationResponseDTO actualOAuthRevocationResponseDTO = oAuthAdminServiceImpl
-                    .revokeIssuedTokensByApplication(oAuthAppRevocationRequestDTO);
+            OAuthRevocationResponseDTO actualOAuthRevocationResponseDTO;
+            try {
+                actualOAuthRevocationResponseDTO = oAuthAdminServiceImpl
+                        .revokeIssuedTokensByApplication(oAuthAppRevocationRequestDTO);
+            } finally {
+                OAuthComponentServiceHolder.getInstance().addOauthEventInterceptorProxy(previousInterceptor);
+            }
             Assert.assertEquals(actualOAuthRevocationResponseDTO.isError(),
                     expectedOAuthRevocationResponseDTO.isError());
+            verify(mockAccessTokenDAO, times(1)).revokeActiveAccessTokensByConsumerKey(eq(consumerKey),
+                    any(AccessTokenChunkHandler.class));
+            verify(mockAccessTokenDAO, never()).revokeAccessTokens(any(String[].class), anyBoolean());
+            // The post revocation listeners are notified with every chunk instead of the whole token set.
+            verify(interceptor, times(2)).onPostTokenRevocationByApplication(eq(oAuthAppRevocationRequestDTO),
+                    any(OAuthRevocationResponseDTO.class), eq(new ArrayList<>(accessTokenDOSet)), any());
         }
     }
 
@@ -945,6 +980,79 @@ public class OAuthAdminServiceImplTest {
         Assert.assertEquals(actualOAuthRevocationResponseDTO.getErrorCode(), OAuth2ErrorCodes.INVALID_REQUEST);
     }
 
+    @Test
+    public void testGetAppsAuthorizedByUser() throws Exception {
+
+        String consumerKey1 = UUID.randomUUID().toString();
+        String consumerKey2 = UUID.randomUUID().toString();
+        AuthenticatedUser user = buildUser("some-user-name");
+
+        try (MockedStatic<OAuth2Util> oAuth2Util = mockStatic(OAuth2Util.class)) {
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(SUPER_TENANT_DOMAIN_NAME);
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setUsername("some-user-name");
+            oAuth2Util.when(OAuth2Util::checkAccessTokenPartitioningEnabled).thenReturn(false);
+
+            Set<String> clientIds = new HashSet<>();
+            clientIds.add(consumerKey1);
+            clientIds.add(consumerKey2);
+            when(mockTokenManagementDAO.getAuthorizedClientIds(user, null)).thenReturn(clientIds);
+            setPrivateField(OAuthTokenPersistenceFactory.getInstance(), "managementDAO", mockTokenManagementDAO);
+            setPrivateField(OAuthTokenPersistenceFactory.getInstance(), "tokenDAO", mockAccessTokenDAO);
+
+            OAuthAdminServiceImpl oAuthAdminServiceImpl = spy(new OAuthAdminServiceImpl());
+            doReturn(user).when(oAuthAdminServiceImpl).buildAuthenticatedUser("some-user-name",
+                    SUPER_TENANT_DOMAIN_NAME);
+            doReturn(buildOAuthAppDO(consumerKey1, "app1", user)).when(oAuthAdminServiceImpl)
+                    .getOAuthApp(consumerKey1, SUPER_TENANT_DOMAIN_NAME);
+            doReturn(buildOAuthAppDO(consumerKey2, "app2", user)).when(oAuthAdminServiceImpl)
+                    .getOAuthApp(consumerKey2, SUPER_TENANT_DOMAIN_NAME);
+
+            OAuthConsumerAppDTO[] appDTOs = oAuthAdminServiceImpl.getAppsAuthorizedByUser();
+
+            Assert.assertEquals(appDTOs.length, 2);
+            Set<String> appNames = new HashSet<>();
+            for (OAuthConsumerAppDTO appDTO : appDTOs) {
+                appNames.add(appDTO.getApplicationName());
+            }
+            Assert.assertTrue(appNames.contains("app1"));
+            Assert.assertTrue(appNames.contains("app2"));
+            // The authorized apps are resolved with a single query, without loading the tokens of each app.
+            verify(mockTokenManagementDAO, times(1)).getAuthorizedClientIds(user, null);
+            verify(mockTokenManagementDAO, never()).getAllTimeAuthorizedClientIds(any());
+            verify(mockAccessTokenDAO, never()).getAccessTokens(anyString(), any(AuthenticatedUser.class), any(),
+                    anyBoolean());
+            verify(mockAccessTokenDAO, never()).getLatestAccessToken(anyString(), any(AuthenticatedUser.class),
+                    any(), any(), anyBoolean());
+        }
+    }
+
+    @Test
+    public void testDefaultAuthorizedClientIdsSkipRevokedClients() throws Exception {
+
+        AuthenticatedUser user = buildUser("some-user-name");
+        TokenManagementDAO tokenManagementDAO = mock(TokenManagementDAO.class, CALLS_REAL_METHODS);
+        doReturn(new HashSet<>(Arrays.asList("activeClient", "revokedClient"))).when(tokenManagementDAO)
+                .getAllTimeAuthorizedClientIds(user);
+        // Only ACTIVE and EXPIRED tokens are returned, hence none for the client whose tokens are all revoked.
+        when(mockAccessTokenDAO.getAccessTokens("activeClient", user, null, true))
+                .thenReturn(Collections.singleton(new AccessTokenDO()));
+        when(mockAccessTokenDAO.getAccessTokens("revokedClient", user, null, true))
+                .thenReturn(Collections.emptySet());
+        setPrivateField(OAuthTokenPersistenceFactory.getInstance(), "tokenDAO", mockAccessTokenDAO);
+
+        Assert.assertEquals(tokenManagementDAO.getAuthorizedClientIds(user, null),
+                Collections.singleton("activeClient"));
+    }
+
+    private OAuthAppDO buildOAuthAppDO(String consumerKey, String appName, AuthenticatedUser appOwner) {
+
+        OAuthAppDO oAuthAppDO = new OAuthAppDO();
+        oAuthAppDO.setOauthConsumerKey(consumerKey);
+        oAuthAppDO.setApplicationName(appName);
+        oAuthAppDO.setUser(appOwner);
+        return oAuthAppDO;
+    }
+
     @DataProvider(name = "invalidAudienceDataProvider")
     public Object[][] getInvalidAudiences() {
 
@@ -996,6 +1104,64 @@ public class OAuthAdminServiceImplTest {
         invokePrivateMethod(oAuthAdminService, "validateAudiences", appDTO);
     }
 
+    @DataProvider(name = "invalidCibaTokenDeliveryDataProvider")
+    public Object[][] getInvalidCibaTokenDeliveryData() {
+
+        return new Object[][]{
+                // Token delivery mode, client notification endpoint.
+                {"push", "https://client.example.com/cb"},
+                {"unknown", "https://client.example.com/cb"},
+                {"ping", null},
+                {"ping", "http://client.example.com/cb"},
+                {"ping", "file:///etc/passwd"},
+                {"ping", "https:///cb"},
+                {"ping", "https://client.example.com/cb#fragment"},
+                {"ping", "https://client example.com/cb"}
+        };
+    }
+
+    @Test(description = "Test validating invalid CIBA token delivery configurations",
+            dataProvider = "invalidCibaTokenDeliveryDataProvider")
+    public void testValidateCibaTokenDeliveryWithInvalidConfigurations(String tokenDeliveryMode,
+                                                                       String clientNotificationEndpoint)
+            throws Exception {
+
+        OAuthAdminServiceImpl oAuthAdminService = new OAuthAdminServiceImpl();
+        try {
+            invokePrivateMethod(oAuthAdminService, "validateCibaTokenDelivery",
+                    new Class[]{String.class, String.class}, tokenDeliveryMode, clientNotificationEndpoint);
+            Assert.fail("Invalid CIBA token delivery configuration should be rejected.");
+        } catch (InvocationTargetException ex) {
+            Assert.assertTrue(ex.getTargetException() instanceof IdentityOAuthClientException);
+            Assert.assertEquals(((IdentityOAuthClientException) ex.getTargetException()).getErrorCode(),
+                    Error.INVALID_REQUEST.getErrorCode());
+        }
+    }
+
+    @DataProvider(name = "validCibaTokenDeliveryDataProvider")
+    public Object[][] getValidCibaTokenDeliveryData() {
+
+        return new Object[][]{
+                // Token delivery mode, client notification endpoint.
+                {null, null},
+                {"poll", null},
+                {"poll", "http://client.example.com/cb"},
+                {"ping", "https://client.example.com/cb"},
+                {"ping", "HTTPS://client.example.com:8443/cb?tenant=abc"}
+        };
+    }
+
+    @Test(description = "Test validating valid CIBA token delivery configurations",
+            dataProvider = "validCibaTokenDeliveryDataProvider")
+    public void testValidateCibaTokenDeliveryWithValidConfigurations(String tokenDeliveryMode,
+                                                                     String clientNotificationEndpoint)
+            throws Exception {
+
+        OAuthAdminServiceImpl oAuthAdminService = new OAuthAdminServiceImpl();
+        invokePrivateMethod(oAuthAdminService, "validateCibaTokenDelivery",
+                new Class[]{String.class, String.class}, tokenDeliveryMode, clientNotificationEndpoint);
+    }
+
     private void mockUserstore(MockedStatic<IdentityUtil> identityUtil,
                                MockedStatic<OAuthComponentServiceHolder> oAuthComponentServiceHolder) throws Exception {
 
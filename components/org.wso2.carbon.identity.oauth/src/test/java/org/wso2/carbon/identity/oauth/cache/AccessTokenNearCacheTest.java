@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Unit tests for AccessTokenNearCache.
+ */
+public class AccessTokenNearCacheTest {
+
+    private static final long ONE_HOUR = 3600000L;
+
+    @Test
+    public void testGetAndInvalidate() {
+
+        AccessTokenNearCache nearCache = new AccessTokenNearCache(true, 10, ONE_HOUR);
+        AccessTokenDO accessTokenDO = buildAccessTokenDO("token1", ONE_HOUR);
+        OAuthCacheKey key = new OAuthCacheKey("token1");
+
+        assertNull(nearCache.get(key));
+        nearCache.put(key, accessTokenDO);
+        assertSame(nearCache.get(key), accessTokenDO);
+        nearCache.invalidate(key);
+        assertNull(nearCache.get(key));
+
+        assertEquals(nearCache.getHitCount(), 1);
+        assertEquals(nearCache.getMissCount(), 2);
+    }
+
+    @Test
+    public void testEntriesNotCachedUnderOtherKeys() {
+
+        AccessTokenNearCache nearCache = new AccessTokenNearCache(true, 10, ONE_HOUR);
+        OAuthCacheKey key = new OAuthCacheKey("clientId:userId:scope:LOCAL");
+        nearCache.put(key, buildAccessTokenDO("token1", ONE_HOUR));
+
+        assertNull(nearCache.get(key));
+        assertEquals(nearCache.getSize(), 0);
+    }
+
+    @Test
+    public void testEntryDoesNotOutliveToken() {
+
+        AccessTokenNearCache nearCache = new AccessTokenNearCache(true, 10, ONE_HOUR);
+        OAuthCacheKey expiredKey = new OAuthCacheKey("expiredToken");
+        nearCache.put(expiredKey, buildAccessTokenDO("expiredToken", 0));
+
+        assertNull(nearCache.get(expiredKey));
+        assertEquals(nearCache.getSize(), 0);
+    }
+
+    @Test
+    public void testEvictionWhenFull() {
+
+        AccessTokenNearCache nearCache = new AccessTokenNearCache(true, 2, ONE_HOUR);
+        for (int i = 0; i < 3; i++) {
+            nearCache.put(new OAuthCacheKey("token" + i), buildAccessTokenDO("token" + i, ONE_HOUR));
+        }
+
+        assertEquals(nearCache.getSize(), 2);
+        assertEquals(nearCache.getEvictionCount(), 1);
+    }
+
+    @Test
+    public void testDisabledCache() {
+
+        AccessTokenNearCache nearCache = new AccessTokenNearCache(false, 10, ONE_HOUR);
+        OAuthCacheKey key = new OAuthCacheKey("token1");
+        nearCache.put(key, buildAccessTokenDO("token1", ONE_HOUR));
+
+        assertNull(nearCache.get(key));
+        assertEquals(nearCache.getSize(), 0);
+    }
+
+    @Test
+    public void testStatisticsExposedOverJmx() throws Exception {
+
+        AccessTokenNearCache nearCache = new AccessTokenNearCache(true, 10, ONE_HOUR);
+        OAuthCacheKey key = new OAuthCacheKey("token1");
+        nearCache.put(key, buildAccessTokenDO("token1", ONE_HOUR));
+        nearCache.get(key);
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(AccessTokenNearCache.OBJECT_NAME);
+        nearCache.registerMBean();
+        try {
+            assertEquals(mBeanServer.getAttribute(objectName, "HitCount"), 1L);
+            assertEquals(mBeanServer.getAttribute(objectName, "Size"), 1);
+        } finally {
+            nearCache.unregisterMBean();
+        }
+        assertFalse(mBeanServer.isRegistered(objectName));
+    }
+
+    private AccessTokenDO buildAccessTokenDO(String accessToken, long validityPeriodInMillis) {
+
+        AccessTokenDO accessTokenDO = new AccessTokenDO();
+        accessTokenDO.setAccessToken(accessToken);
+        accessTokenDO.setIssuedTime(new Timestamp(System.currentTimeMillis()));
+        accessTokenDO.setValidityPeriodInMillis(validityPeriodInMillis);
+        return accessTokenDO;
+    }
+}
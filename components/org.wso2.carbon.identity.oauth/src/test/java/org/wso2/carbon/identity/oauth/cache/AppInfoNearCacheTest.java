@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for AppInfoNearCache.
+ */
+public class AppInfoNearCacheTest {
+
+    private static final long ONE_HOUR = 3600000L;
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String OTHER_TENANT_DOMAIN = "wso2.com";
+
+    @Test
+    public void testGetAndInvalidate() {
+
+        AppInfoNearCache nearCache = new AppInfoNearCache(true, 10, ONE_HOUR, ONE_HOUR);
+        OAuthAppDO appDO = buildAppDO("client1");
+
+        assertNull(nearCache.get("client1", TENANT_DOMAIN));
+        nearCache.put("client1", TENANT_DOMAIN, appDO);
+        assertSame(nearCache.get("client1", TENANT_DOMAIN), appDO);
+        nearCache.invalidate("client1");
+        assertNull(nearCache.get("client1", TENANT_DOMAIN));
+
+        assertEquals(nearCache.getHitCount(), 1);
+        assertEquals(nearCache.getMissCount(), 2);
+    }
+
+    @Test
+    public void testEntryOfOtherTenantIsMiss() {
+
+        AppInfoNearCache nearCache = new AppInfoNearCache(true, 10, ONE_HOUR, ONE_HOUR);
+        nearCache.put("client1", TENANT_DOMAIN, buildAppDO("client1"));
+
+        assertNull(nearCache.get("client1", OTHER_TENANT_DOMAIN));
+        nearCache.putMissing("client1", OTHER_TENANT_DOMAIN);
+        assertFalse(nearCache.isKnownMissing("client1", TENANT_DOMAIN));
+        assertTrue(nearCache.isKnownMissing("client1", OTHER_TENANT_DOMAIN));
+    }
+
+    @Test
+    public void testEntriesOfClientInMultipleTenants() {
+
+        AppInfoNearCache nearCache = new AppInfoNearCache(true, 10, ONE_HOUR, ONE_HOUR);
+        OAuthAppDO appDO = buildAppDO("client1");
+        // A shared application is looked up in the tenant of its owner and in the tenants it is shared with.
+        nearCache.put("client1", TENANT_DOMAIN, appDO);
+        nearCache.put("client1", OTHER_TENANT_DOMAIN, appDO);
+        nearCache.put("client10", TENANT_DOMAIN, buildAppDO("client10"));
+
+        assertSame(nearCache.get("client1", TENANT_DOMAIN), appDO);
+        assertSame(nearCache.get("client1", OTHER_TENANT_DOMAIN), appDO);
+
+        // Invalidation drops the entries of the client in all tenants, but not the ones of other clients.
+        nearCache.invalidate("client1");
+        assertNull(nearCache.get("client1", TENANT_DOMAIN));
+        assertNull(nearCache.get("client1", OTHER_TENANT_DOMAIN));
+        assertNotNull(nearCache.get("client10", TENANT_DOMAIN));
+        assertEquals(nearCache.getSize(), 1);
+    }
+
+    @Test
+    public void testNegativeEntry() {
+
+        AppInfoNearCache nearCache = new AppInfoNearCache(true, 10, ONE_HOUR, ONE_HOUR);
+        nearCache.putMissing("unknownClient", TENANT_DOMAIN);
+
+        assertTrue(nearCache.isKnownMissing("unknownClient", TENANT_DOMAIN));
+        assertNull(nearCache.get("unknownClient", TENANT_DOMAIN));
+        assertEquals(nearCache.getNegativeHitCount(), 1);
+
+        // Registering the client replaces the negative entry.
+        OAuthAppDO appDO = buildAppDO("unknownClient");
+        nearCache.put("unknownClient", TENANT_DOMAIN, appDO);
+        assertFalse(nearCache.isKnownMissing("unknownClient", TENANT_DOMAIN));
+        assertSame(nearCache.get("unknownClient", TENANT_DOMAIN), appDO);
+    }
+
+    @Test
+    public void testNegativeEntryExpires() {
+
+        AppInfoNearCache nearCache = new AppInfoNearCache(true, 10, ONE_HOUR, 1);
+        nearCache.putMissing("unknownClient", TENANT_DOMAIN);
+        sleep(5);
+
+        assertFalse(nearCache.isKnownMissing("unknownClient", TENANT_DOMAIN));
+        assertEquals(nearCache.getSize(), 0);
+        assertEquals(nearCache.getEvictionCount(), 1);
+    }
+
+    @Test
+    public void testNegativeCachingDisabled() {
+
+        AppInfoNearCache nearCache = new AppInfoNearCache(true, 10, ONE_HOUR, 0);
+        nearCache.putMissing("unknownClient", TENANT_DOMAIN);
+
+        assertFalse(nearCache.isKnownMissing("unknownClient", TENANT_DOMAIN));
+        assertEquals(nearCache.getSize(), 0);
+    }
+
+    @Test
+    public void testEvictionWhenFull() {
+
+        AppInfoNearCache nearCache = new AppInfoNearCache(true, 2, ONE_HOUR, ONE_HOUR);
+        for (int i = 0; i < 3; i++) {
+            nearCache.put("client" + i, TENANT_DOMAIN, buildAppDO("client" + i));
+        }
+
+        assertEquals(nearCache.getSize(), 2);
+        assertEquals(nearCache.getEvictionCount(), 1);
+    }
+
+    @Test
+    public void testDisabledCache() {
+
+        AppInfoNearCache nearCache = new AppInfoNearCache(false, 10, ONE_HOUR, ONE_HOUR);
+        nearCache.put("client1", TENANT_DOMAIN, buildAppDO("client1"));
+        nearCache.putMissing("client2", TENANT_DOMAIN);
+
+        assertNull(nearCache.get("client1", TENANT_DOMAIN));
+        assertFalse(nearCache.isKnownMissing("client2", TENANT_DOMAIN));
+        assertEquals(nearCache.getSize(), 0);
+    }
+
+    private static OAuthAppDO buildAppDO(String clientId) {
+
+        OAuthAppDO appDO = new OAuthAppDO();
+        appDO.setOauthConsumerKey(clientId);
+        return appDO;
+    }
+
+    private static void sleep(long millis) {
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Unit tests for BoundedTTLCache.
+ */
+public class BoundedTTLCacheTest {
+
+    private static final long ONE_HOUR = 3600000L;
+
+    @Test
+    public void testGetAndRemove() {
+
+        BoundedTTLCache<String, String> cache = new BoundedTTLCache<>(10);
+        long expiryTime = System.currentTimeMillis() + ONE_HOUR;
+
+        assertNull(cache.get("key1"));
+        cache.put("key1", "value1", expiryTime);
+        assertEquals(cache.get("key1"), "value1");
+        cache.remove("key1");
+        assertNull(cache.get("key1"));
+
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 2);
+        assertEquals(cache.getEvictionCount(), 0);
+    }
+
+    @Test
+    public void testExpiredEntryIsNotCached() {
+
+        BoundedTTLCache<String, String> cache = new BoundedTTLCache<>(10);
+        cache.put("key1", "value1", System.currentTimeMillis() - 1);
+
+        assertNull(cache.get("key1"));
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testEntryExpires() {
+
+        BoundedTTLCache<String, String> cache = new BoundedTTLCache<>(10);
+        cache.put("key1", "value1", System.currentTimeMillis() + 1);
+        sleep(5);
+
+        assertNull(cache.get("key1"));
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.getEvictionCount(), 1);
+    }
+
+    @Test
+    public void testEvictionIsDoneInBatches() {
+
+        BoundedTTLCache<String, String> cache = new BoundedTTLCache<>(100);
+        long expiryTime = System.currentTimeMillis() + ONE_HOUR;
+        for (int i = 0; i <= 100; i++) {
+            cache.put("key" + i, "value" + i, expiryTime);
+        }
+
+        // Adding to the full cache frees a tenth of the capacity.
+        assertEquals(cache.size(), 91);
+        assertEquals(cache.getEvictionCount(), 10);
+
+        // The freed space is filled without further evictions.
+        for (int i = 101; i < 110; i++) {
+            cache.put("key" + i, "value" + i, expiryTime);
+        }
+        assertEquals(cache.size(), 100);
+        assertEquals(cache.getEvictionCount(), 10);
+    }
+
+    @Test
+    public void testExpiredEntriesAreEvictedFirst() {
+
+        BoundedTTLCache<String, String> cache = new BoundedTTLCache<>(3);
+        long expiryTime = System.currentTimeMillis() + ONE_HOUR;
+        cache.put("key1", "value1", expiryTime);
+        cache.put("key2", "value2", System.currentTimeMillis() + 1);
+        cache.put("key3", "value3", expiryTime);
+        sleep(5);
+
+        cache.put("key4", "value4", expiryTime);
+        assertEquals(cache.size(), 3);
+        assertEquals(cache.getEvictionCount(), 1);
+        assertEquals(cache.get("key1"), "value1");
+        assertEquals(cache.get("key3"), "value3");
+        assertEquals(cache.get("key4"), "value4");
+    }
+
+    @Test
+    public void testUpdateOfFullCacheDoesNotEvict() {
+
+        BoundedTTLCache<String, String> cache = new BoundedTTLCache<>(2);
+        long expiryTime = System.currentTimeMillis() + ONE_HOUR;
+        cache.put("key1", "value1", expiryTime);
+        cache.put("key2", "value2", expiryTime);
+        cache.put("key1", "newValue1", expiryTime);
+
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.getEvictionCount(), 0);
+        assertEquals(cache.get("key1"), "newValue1");
+    }
+
+    @Test
+    public void testRemoveIf() {
+
+        BoundedTTLCache<String, String> cache = new BoundedTTLCache<>(10);
+        long expiryTime = System.currentTimeMillis() + ONE_HOUR;
+        cache.put("client1@tenant1", "value1", expiryTime);
+        cache.put("client1@tenant2", "value2", expiryTime);
+        cache.put("client10@tenant1", "value3", expiryTime);
+
+        cache.removeIf((key, value) -> key.startsWith("client1@"));
+        assertEquals(cache.size(), 1);
+        assertEquals(cache.get("client10@tenant1"), "value3");
+        assertEquals(cache.getEvictionCount(), 0);
+
+        cache.clear();
+        assertEquals(cache.size(), 0);
+    }
+
+    private static void sleep(long millis) {
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -433,6 +433,27 @@ public class OAuthServerConfigurationTest {
                 .getSupportedResponseTypes().size() == 4, "Expected value not returned from getter");
     }
 
+    @Test
+    public void testDispatchTable() throws Exception {
+
+        OAuthDispatchTable dispatchTable = OAuthServerConfiguration.getInstance().getDispatchTable();
+        Assert.assertSame(OAuthServerConfiguration.getInstance().getDispatchTable(), dispatchTable);
+        Assert.assertSame(OAuthServerConfiguration.getInstance().getSupportedGrantTypeValidators(),
+                dispatchTable.getGrantTypeValidators());
+        Assert.assertSame(OAuthServerConfiguration.getInstance().getSupportedResponseTypes(),
+                dispatchTable.getResponseTypeHandlers());
+        Assert.assertThrows(UnsupportedOperationException.class,
+                () -> dispatchTable.getResponseTypeValidators().remove("code"));
+
+        OAuthServerConfiguration.getInstance().refreshDispatchTable();
+        OAuthDispatchTable refreshedDispatchTable = OAuthServerConfiguration.getInstance().getDispatchTable();
+        Assert.assertNotSame(refreshedDispatchTable, dispatchTable);
+        Assert.assertEquals(refreshedDispatchTable.getResponseTypeValidators().keySet(),
+                dispatchTable.getResponseTypeValidators().keySet());
+        Assert.assertEquals(refreshedDispatchTable.getResponseTypeHandlers().keySet(),
+                dispatchTable.getResponseTypeHandlers().keySet());
+    }
+
     @Test
     public void testGetSupportedResponseTypeNames() throws Exception {
 
@@ -19,6 +19,7 @@
 package org.wso2.carbon.identity.oauth.tokenprocessor;
 
 import org.apache.commons.lang.StringUtils;
+import org.json.JSONObject;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.testng.annotations.BeforeClass;
@@ -120,7 +121,29 @@ public class HashingPersistenceProcessorTest {
         }
     }
 
-    @Test(expectedExceptions = IllegalArgumentException.class)
+    @Test
+    public void testHashMatchesJSONDocumentForDifferentInputs() throws IdentityOAuth2Exception {
+
+        try (MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration = mockStatic(
+                OAuthServerConfiguration.class)) {
+            setupMocksForTest(oAuthServerConfiguration);
+            String longValue = StringUtils.repeat("a1b2c3d4", 1024);
+            for (String plainText : new String[]{CLIENT_ID, "tökén-välüe", longValue, CLIENT_ID}) {
+                assertEquals(hashingPersistenceProcessor.getProcessedAccessTokenIdentifier(plainText),
+                        hash(plainText));
+            }
+
+            // The algorithm is read once per processor, while the per thread digest follows the processor in use.
+            String sha256Hash = hash(CLIENT_ID);
+            oAuthServerConfiguration.when(() -> OAuthServerConfiguration.getInstance().getHashAlgorithm())
+                    .thenReturn("SHA-512");
+            HashingPersistenceProcessor sha512Processor = new HashingPersistenceProcessor();
+            assertEquals(sha512Processor.getProcessedRefreshToken(CLIENT_ID), hash(CLIENT_ID));
+            assertEquals(hashingPersistenceProcessor.getProcessedRefreshToken(CLIENT_ID), sha256Hash);
+        }
+    }
+
+    @Test(expectedExceptions = IdentityOAuth2Exception.class)
     public void testHashWithNullValue() throws IdentityOAuth2Exception {
 
         try (MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration = mockStatic(
@@ -178,7 +201,10 @@ public class HashingPersistenceProcessorTest {
             throw new IdentityOAuth2Exception(
                     "Error while retrieving MessageDigest for the provided hash algorithm: " + hashAlgorithm, e);
         }
-        return bytesToHex(hash);
+        JSONObject object = new JSONObject();
+        object.put(HashingPersistenceProcessor.ALGORITHM, hashAlgorithm);
+        object.put(HashingPersistenceProcessor.HASH, bytesToHex(hash));
+        return object.toString();
     }
 
     private static String bytesToHex(byte[] bytes) {
@@ -27,24 +27,43 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.common.testng.WithCarbonHome;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcessor;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.dao.util.DAOUtils;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 @WithCarbonHome
 @Listeners(MockitoTestNGListener.class)
@@ -156,4 +175,186 @@ public class AccessTokenDAOImplTest {
 
         accessTokenDAO.revokeAccessTokensInBatch(tokens, isHashedToken);
     }
+
+    @Test
+    public void testRevokeAccessTokensInBatchInChunks() throws Exception {
+
+        String[] tokens = {"token1", "token2", "token3", "token4", "token5"};
+
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(preparedStatement);
+
+        DatabaseMetaData mockDatabaseMetaData = mock(DatabaseMetaData.class);
+        when(mockConnection.getMetaData()).thenReturn(mockDatabaseMetaData);
+        when(mockDatabaseMetaData.getDriverName()).thenReturn("H2 JDBC Driver");
+        identityDatabaseUtil.when(IdentityDatabaseUtil::getDBConnection).thenReturn(mockConnection);
+
+        OAuthServerConfiguration mockOAuthServerConfiguration = mock(OAuthServerConfiguration.class);
+        oAuthServerConfiguration.when(OAuthServerConfiguration::getInstance)
+                .thenReturn(mockOAuthServerConfiguration);
+        when(mockOAuthServerConfiguration.getHashAlgorithm()).thenReturn("SHA-256");
+
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class)) {
+            identityUtil.when(() -> IdentityUtil.getProperty("OAuth.TokenRevocation.ChunkSize")).thenReturn("2");
+            accessTokenDAO.revokeAccessTokensInBatch(tokens, true);
+        }
+
+        // Three revocation chunks of at most two tokens, each followed by a batched cleanup of the same tokens.
+        verify(preparedStatement, times(10)).addBatch();
+        verify(preparedStatement, times(6)).executeBatch();
+        verify(preparedStatement, never()).executeQuery();
+        identityDatabaseUtil.verify(() -> IdentityDatabaseUtil.commitTransaction(mockConnection), times(3));
+    }
+
+    @Test
+    public void testGetAccessTokensOfUserStoreInChunks() throws Exception {
+
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement tokenStatement = mock(PreparedStatement.class);
+        PreparedStatement scopeStatement = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(contains("ORDER BY"))).thenReturn(tokenStatement);
+        when(mockConnection.prepareStatement(contains("IDN_OAUTH2_ACCESS_TOKEN_SCOPE"))).thenReturn(scopeStatement);
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(false)).thenReturn(mockConnection);
+
+        // Two chunks of at most two tokens, the second one being the last since it is not full.
+        ResultSet tokenResultSet = mock(ResultSet.class);
+        when(tokenStatement.executeQuery()).thenReturn(tokenResultSet);
+        when(tokenResultSet.next()).thenReturn(true, true, false, true, false);
+        when(tokenResultSet.getString(1)).thenReturn("tokenId1", "tokenId2", "tokenId3");
+        when(tokenResultSet.getString(2)).thenReturn("token1", "token2", "token3");
+        when(tokenResultSet.getString(11)).thenReturn("PRIMARY");
+        ResultSet scopeResultSet = mock(ResultSet.class);
+        when(scopeStatement.executeQuery()).thenReturn(scopeResultSet);
+        when(scopeResultSet.next()).thenReturn(true, false, false);
+        when(scopeResultSet.getString(1)).thenReturn("tokenId1");
+        when(scopeResultSet.getString(2)).thenReturn("openid");
+
+        OAuthServerConfiguration mockOAuthServerConfiguration = mock(OAuthServerConfiguration.class);
+        oAuthServerConfiguration.when(OAuthServerConfiguration::getInstance)
+                .thenReturn(mockOAuthServerConfiguration);
+        when(mockOAuthServerConfiguration.getPersistenceProcessor()).thenReturn(new PlainTextPersistenceProcessor());
+        AccessTokenDAOImpl accessTokenDAOImpl = new AccessTokenDAOImpl();
+
+        List<List<AccessTokenDO>> chunks = new ArrayList<>();
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<OAuth2Util> oAuth2Util = mockStatic(OAuth2Util.class, CALLS_REAL_METHODS)) {
+            identityUtil.when(() -> IdentityUtil.getProperty("OAuth.TokenRevocation.ChunkSize")).thenReturn("2");
+            oAuth2Util.when(() -> OAuth2Util.getTenantDomain(anyInt())).thenReturn("carbon.super");
+            accessTokenDAOImpl.getAccessTokensOfUserStore(-1234, "PRIMARY", chunks::add);
+        }
+
+        assertEquals(chunks.size(), 2);
+        assertEquals(chunks.get(0).size(), 2);
+        assertEquals(chunks.get(1).size(), 1);
+        assertEquals(chunks.get(0).get(0).getScope(), new String[]{"openid"});
+        assertEquals(chunks.get(1).get(0).getAccessToken(), "token3");
+        // The keyset condition is only bound for the chunk following the first one.
+        verify(tokenStatement, times(2)).setMaxRows(2);
+        verify(tokenStatement).setString(3, "tokenId2");
+    }
+
+    @Test
+    public void testFailedBatchIsRetriedIndividually() throws Exception {
+
+        Connection mockConnection = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        // The batched insert fails, while the tokens inserted one by one are persisted.
+        when(preparedStatement.executeBatch()).thenThrow(new SQLException("Batch insert failed"))
+                .thenReturn(new int[0]);
+        identityDatabaseUtil.when(IdentityDatabaseUtil::getDBConnection).thenReturn(mockConnection);
+
+        OAuthServerConfiguration mockOAuthServerConfiguration = mock(OAuthServerConfiguration.class);
+        oAuthServerConfiguration.when(OAuthServerConfiguration::getInstance)
+                .thenReturn(mockOAuthServerConfiguration);
+        when(mockOAuthServerConfiguration.getPersistenceProcessor()).thenReturn(new PlainTextPersistenceProcessor());
+        when(mockOAuthServerConfiguration.getHashAlgorithm()).thenReturn("SHA-256");
+        AccessTokenDAOImpl accessTokenDAOImpl = new AccessTokenDAOImpl();
+
+        OauthTokenIssuer oauthTokenIssuer = mock(OauthTokenIssuer.class);
+        List<AccessContextTokenDO> accessContextTokens = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            AuthenticatedUser authzUser = new AuthenticatedUser();
+            authzUser.setUserName("user" + i);
+            authzUser.setTenantDomain("carbon.super");
+            authzUser.setUserStoreDomain("PRIMARY");
+            authzUser.setAuthenticatedSubjectIdentifier("user" + i);
+            AccessTokenDO accessTokenDO = new AccessTokenDO("consumerKey", authzUser, new String[0], null, null,
+                    3600000L, 86400000L, "Bearer");
+            accessTokenDO.setTokenId("tokenId" + i);
+            accessTokenDO.setTokenState("ACTIVE");
+            // The app tenant is captured while issuing the token, so it differs from the tenant of the user.
+            accessContextTokens.add(new AccessContextTokenDO("token" + i, "consumerKey", accessTokenDO, null,
+                    "PRIMARY", 3, oauthTokenIssuer));
+        }
+
+        List<AccessContextTokenDO> failedTokens;
+        try (MockedStatic<OAuth2Util> oAuth2Util = mockStatic(OAuth2Util.class, CALLS_REAL_METHODS)) {
+            oAuth2Util.when(() -> OAuth2Util.getTenantId(anyString())).thenReturn(-1234);
+            failedTokens = accessTokenDAOImpl.insertAccessTokens(accessContextTokens);
+        }
+
+        assertTrue(failedTokens.isEmpty());
+        identityDatabaseUtil.verify(() -> IdentityDatabaseUtil.rollbackTransaction(mockConnection));
+        verify(preparedStatement, times(2)).executeUpdate();
+        identityDatabaseUtil.verify(() -> IdentityDatabaseUtil.commitTransaction(mockConnection), times(2));
+        // Both the batch and the individual inserts use the issuer and the app tenant captured with the tokens.
+        verify(oauthTokenIssuer, times(4)).usePersistedAccessTokenAlias();
+        verify(preparedStatement, atLeast(4)).setInt(anyInt(), eq(3));
+    }
+
+    @Test
+    public void testTokenReplacingTokenOfSameBatchStartsNewBatch() throws Exception {
+
+        Connection mockConnection = mock(Connection.class);
+        List<String> executedBatches = new ArrayList<>();
+        when(mockConnection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            PreparedStatement preparedStatement = mock(PreparedStatement.class);
+            when(preparedStatement.executeBatch()).thenAnswer(execution -> {
+                executedBatches.add(sql.substring(0, sql.indexOf(' ')));
+                return new int[0];
+            });
+            return preparedStatement;
+        });
+        identityDatabaseUtil.when(IdentityDatabaseUtil::getDBConnection).thenReturn(mockConnection);
+
+        OAuthServerConfiguration mockOAuthServerConfiguration = mock(OAuthServerConfiguration.class);
+        oAuthServerConfiguration.when(OAuthServerConfiguration::getInstance)
+                .thenReturn(mockOAuthServerConfiguration);
+        when(mockOAuthServerConfiguration.getPersistenceProcessor()).thenReturn(new PlainTextPersistenceProcessor());
+        when(mockOAuthServerConfiguration.getHashAlgorithm()).thenReturn("SHA-256");
+        AccessTokenDAOImpl accessTokenDAOImpl = new AccessTokenDAOImpl();
+
+        AuthenticatedUser authzUser = new AuthenticatedUser();
+        authzUser.setUserName("user");
+        authzUser.setTenantDomain("carbon.super");
+        authzUser.setUserStoreDomain("PRIMARY");
+        authzUser.setAuthenticatedSubjectIdentifier("user");
+        List<AccessContextTokenDO> accessContextTokens = new ArrayList<>();
+        AccessTokenDO replacedAccessTokenDO = null;
+        for (int i = 0; i < 2; i++) {
+            AccessTokenDO accessTokenDO = new AccessTokenDO("consumerKey", authzUser, new String[0], null, null,
+                    3600000L, 86400000L, "Bearer");
+            accessTokenDO.setTokenId("tokenId" + i);
+            accessTokenDO.setTokenState("ACTIVE");
+            // The second token replaces the first one, which is only written by this batch.
+            accessContextTokens.add(new AccessContextTokenDO("token" + i, "consumerKey", accessTokenDO,
+                    replacedAccessTokenDO, "PRIMARY", -1234, mock(OauthTokenIssuer.class)));
+            replacedAccessTokenDO = accessTokenDO;
+        }
+
+        List<AccessContextTokenDO> failedTokens;
+        try (MockedStatic<OAuth2Util> oAuth2Util = mockStatic(OAuth2Util.class, CALLS_REAL_METHODS)) {
+            oAuth2Util.when(() -> OAuth2Util.getTenantId(anyString())).thenReturn(-1234);
+            failedTokens = accessTokenDAOImpl.insertAccessTokens(accessContextTokens);
+        }
+
+        assertTrue(failedTokens.isEmpty());
+        identityDatabaseUtil.verify(() -> IdentityDatabaseUtil.rollbackTransaction(mockConnection), never());
+        // The first token is written before its state is updated, and the state is updated before the second token
+        // is written.
+        assertEquals(executedBatches, Arrays.asList("INSERT", "UPDATE", "INSERT"));
+    }
 }
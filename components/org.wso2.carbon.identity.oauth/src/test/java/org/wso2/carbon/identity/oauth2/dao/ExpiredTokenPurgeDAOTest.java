@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth2.dao.ExpiredTokenPurgeDAO.PurgeChunk;
+import org.wso2.carbon.identity.oauth2.dao.ExpiredTokenPurgeDAO.PurgeTable;
+import org.wso2.carbon.identity.oauth2.dao.util.DAOUtils;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Unit tests for ExpiredTokenPurgeDAO.
+ */
+public class ExpiredTokenPurgeDAOTest {
+
+    private static final String DB_NAME = "EXPIRED_TOKEN_PURGE_DB";
+    private static final String USER_STORE_DOMAIN = "PRIMARY";
+    private static final long ONE_HOUR = 3600000L;
+    private static final long ONE_DAY = 24 * ONE_HOUR;
+    private static final int CHUNK_SIZE = 100;
+
+    private final ExpiredTokenPurgeDAO purgeDAO = new ExpiredTokenPurgeDAO();
+    private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil;
+    private MockedStatic<OAuth2Util> oAuth2Util;
+    private MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration;
+    private long currentTime;
+    private long cutoffTime;
+
+    @BeforeClass
+    public void initTest() throws Exception {
+
+        DAOUtils.initializeDataSource(DB_NAME, DAOUtils.getFilePath("identity.sql"));
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        for (String table : Arrays.asList("IDN_OAUTH2_ACCESS_TOKEN", "IDN_OAUTH2_AUTHORIZATION_CODE",
+                "IDN_OAUTH2_CIBA_AUTH_CODE", "IDN_OAUTH_PAR")) {
+            executeUpdate("DELETE FROM " + table);
+        }
+        identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class);
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> DAOUtils.getConnection(DB_NAME));
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.closeConnection(any())).thenCallRealMethod();
+        oAuth2Util = mockStatic(OAuth2Util.class);
+        oAuth2Util.when(() -> OAuth2Util.getTokenPartitionedSqlByUserStore(anyString(), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        OAuthServerConfiguration serverConfiguration = mock(OAuthServerConfiguration.class);
+        when(serverConfiguration.useRetainOldAccessTokens()).thenReturn(false);
+        oAuthServerConfiguration = mockStatic(OAuthServerConfiguration.class);
+        oAuthServerConfiguration.when(OAuthServerConfiguration::getInstance).thenReturn(serverConfiguration);
+
+        currentTime = System.currentTimeMillis();
+        // Rows are purged once they have been expired for an hour.
+        cutoffTime = currentTime - ONE_HOUR;
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        identityDatabaseUtil.close();
+        oAuth2Util.close();
+        oAuthServerConfiguration.close();
+    }
+
+    @Test
+    public void testExpiredAccessTokensArePurged() throws Exception {
+
+        long issuedTime = currentTime - 3 * ONE_HOUR;
+        // The access token has expired but the refresh token is still valid.
+        insertAccessToken("token01", OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE, issuedTime, ONE_HOUR,
+                issuedTime, ONE_DAY);
+        insertAccessToken("token02", OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE, issuedTime, ONE_HOUR,
+                issuedTime, ONE_HOUR);
+        // Tokens with a negative validity period never expire.
+        insertAccessToken("token03", OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE, issuedTime, -1,
+                issuedTime, ONE_HOUR);
+        insertAccessToken("token04", OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE, issuedTime, ONE_HOUR,
+                issuedTime, -1);
+        // Revoked tokens are purged regardless of their validity.
+        insertAccessToken("token05", OAuthConstants.TokenStates.TOKEN_STATE_REVOKED, issuedTime, ONE_DAY,
+                issuedTime, ONE_DAY);
+        // The refresh token has expired, but within the safe period.
+        insertAccessToken("token06", OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE, issuedTime, ONE_HOUR,
+                issuedTime, 5 * ONE_HOUR / 2);
+        // Tokens issued within the safe period are not candidates.
+        insertAccessToken("token07", OAuthConstants.TokenStates.TOKEN_STATE_REVOKED, currentTime - ONE_HOUR / 2,
+                1, currentTime - ONE_HOUR / 2, 1);
+        // Expired tokens are kept while the refresh token is valid, since they can still be refreshed.
+        insertAccessToken("token08", OAuthConstants.TokenStates.TOKEN_STATE_EXPIRED, issuedTime, ONE_HOUR,
+                issuedTime, ONE_DAY);
+        insertAccessToken("token09", OAuthConstants.TokenStates.TOKEN_STATE_EXPIRED, issuedTime, ONE_HOUR,
+                issuedTime, ONE_HOUR);
+
+        PurgeChunk purgeChunk = purgeDAO.getPurgeChunk(PurgeTable.ACCESS_TOKEN, USER_STORE_DOMAIN, cutoffTime,
+                null, CHUNK_SIZE);
+        assertEquals(purgeChunk.getCandidateCount(), 8);
+        assertEquals(purgeChunk.getLastKey(), "token09");
+        assertEquals(purgeChunk.getExpiredKeys(), Arrays.asList("token02", "token05", "token09"));
+
+        purgeDAO.deletePurgeChunk(PurgeTable.ACCESS_TOKEN, USER_STORE_DOMAIN, purgeChunk.getExpiredKeys());
+        assertEquals(getKeys("SELECT TOKEN_ID FROM IDN_OAUTH2_ACCESS_TOKEN ORDER BY TOKEN_ID"),
+                Arrays.asList("token01", "token03", "token04", "token06", "token07", "token08"));
+    }
+
+    @Test
+    public void testCandidatesAreReadInKeysetChunks() throws Exception {
+
+        long issuedTime = currentTime - 3 * ONE_HOUR;
+        for (String tokenId : Arrays.asList("token03", "token01", "token02")) {
+            insertAccessToken(tokenId, OAuthConstants.TokenStates.TOKEN_STATE_REVOKED, issuedTime, ONE_HOUR,
+                    issuedTime, ONE_HOUR);
+        }
+
+        PurgeChunk firstChunk = purgeDAO.getPurgeChunk(PurgeTable.ACCESS_TOKEN, USER_STORE_DOMAIN, cutoffTime,
+                null, 2);
+        assertEquals(firstChunk.getExpiredKeys(), Arrays.asList("token01", "token02"));
+        assertEquals(firstChunk.getLastKey(), "token02");
+
+        PurgeChunk secondChunk = purgeDAO.getPurgeChunk(PurgeTable.ACCESS_TOKEN, USER_STORE_DOMAIN, cutoffTime,
+                firstChunk.getLastKey(), 2);
+        assertEquals(secondChunk.getExpiredKeys(), Collections.singletonList("token03"));
+
+        PurgeChunk lastChunk = purgeDAO.getPurgeChunk(PurgeTable.ACCESS_TOKEN, USER_STORE_DOMAIN, cutoffTime,
+                secondChunk.getLastKey(), 2);
+        assertEquals(lastChunk.getCandidateCount(), 0);
+        assertNull(lastChunk.getLastKey());
+    }
+
+    @Test
+    public void testExpiredAuthorizationCodesArePurged() throws Exception {
+
+        long issuedTime = currentTime - 3 * ONE_HOUR;
+        insertAuthorizationCode("code1", OAuthConstants.AuthorizationCodeState.ACTIVE, issuedTime, ONE_HOUR);
+        insertAuthorizationCode("code2", OAuthConstants.AuthorizationCodeState.ACTIVE, issuedTime, -1);
+        insertAuthorizationCode("code3", OAuthConstants.AuthorizationCodeState.INACTIVE, issuedTime, ONE_DAY);
+        insertAuthorizationCode("code4", OAuthConstants.AuthorizationCodeState.ACTIVE, issuedTime,
+                5 * ONE_HOUR / 2);
+        insertAuthorizationCode("code5", OAuthConstants.AuthorizationCodeState.INACTIVE, currentTime, 1);
+
+        PurgeChunk purgeChunk = purgeDAO.getPurgeChunk(PurgeTable.AUTHORIZATION_CODE, USER_STORE_DOMAIN,
+                cutoffTime, null, CHUNK_SIZE);
+        assertEquals(purgeChunk.getCandidateCount(), 4);
+        assertEquals(purgeChunk.getExpiredKeys(), Arrays.asList("code1", "code3"));
+
+        purgeDAO.deletePurgeChunk(PurgeTable.AUTHORIZATION_CODE, USER_STORE_DOMAIN, purgeChunk.getExpiredKeys());
+        assertEquals(getKeys("SELECT CODE_ID FROM IDN_OAUTH2_AUTHORIZATION_CODE ORDER BY CODE_ID"),
+                Arrays.asList("code2", "code4", "code5"));
+    }
+
+    @Test
+    public void testExpiredCibaAuthCodesArePurged() throws Exception {
+
+        long issuedTime = currentTime - 3 * ONE_HOUR;
+        // The expiry of CIBA requests is stored in seconds.
+        insertCibaAuthCode("cibaCode1", issuedTime, 3600);
+        insertCibaAuthCode("cibaCode2", issuedTime, 3 * 3600);
+
+        PurgeChunk purgeChunk = purgeDAO.getPurgeChunk(PurgeTable.CIBA_AUTH_CODE, USER_STORE_DOMAIN, cutoffTime,
+                null, CHUNK_SIZE);
+        assertEquals(purgeChunk.getCandidateCount(), 2);
+        assertEquals(purgeChunk.getExpiredKeys(), Collections.singletonList("cibaCode1"));
+    }
+
+    @Test
+    public void testExpiredParRequestsArePurged() throws Exception {
+
+        insertParRequest("parRequest1", currentTime - 2 * ONE_HOUR);
+        insertParRequest("parRequest2", currentTime - ONE_HOUR / 2);
+        insertParRequest("parRequest3", currentTime + ONE_HOUR);
+
+        PurgeChunk purgeChunk = purgeDAO.getPurgeChunk(PurgeTable.PAR_REQUEST, USER_STORE_DOMAIN, cutoffTime, null,
+                CHUNK_SIZE);
+        assertEquals(purgeChunk.getExpiredKeys(), Collections.singletonList("parRequest1"));
+
+        purgeDAO.deletePurgeChunk(PurgeTable.PAR_REQUEST, USER_STORE_DOMAIN, purgeChunk.getExpiredKeys());
+        assertEquals(getKeys("SELECT REQ_URI_REF FROM IDN_OAUTH_PAR ORDER BY REQ_URI_REF"),
+                Arrays.asList("parRequest2", "parRequest3"));
+    }
+
+    private static void insertAccessToken(String tokenId, String tokenState, long issuedTime, long validityPeriod,
+                                          long refreshTokenIssuedTime, long refreshTokenValidityPeriod)
+            throws SQLException {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement ps = connection.prepareStatement("INSERT INTO IDN_OAUTH2_ACCESS_TOKEN (TOKEN_ID, " +
+                     "AUTHZ_USER, TOKEN_STATE, TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_TIME_CREATED, " +
+                     "REFRESH_TOKEN_VALIDITY_PERIOD) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            ps.setString(1, tokenId);
+            ps.setString(2, tokenId + "User");
+            ps.setString(3, tokenState);
+            ps.setTimestamp(4, new Timestamp(issuedTime), getUTCCalendar());
+            ps.setLong(5, validityPeriod);
+            ps.setTimestamp(6, new Timestamp(refreshTokenIssuedTime), getUTCCalendar());
+            ps.setLong(7, refreshTokenValidityPeriod);
+            ps.executeUpdate();
+        }
+    }
+
+    private static void insertAuthorizationCode(String codeId, String state, long issuedTime, long validityPeriod)
+            throws SQLException {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement ps = connection.prepareStatement("INSERT INTO IDN_OAUTH2_AUTHORIZATION_CODE " +
+                     "(CODE_ID, STATE, TIME_CREATED, VALIDITY_PERIOD) VALUES (?, ?, ?, ?)")) {
+            ps.setString(1, codeId);
+            ps.setString(2, state);
+            ps.setTimestamp(3, new Timestamp(issuedTime), getUTCCalendar());
+            ps.setLong(4, validityPeriod);
+            ps.executeUpdate();
+        }
+    }
+
+    private static void insertCibaAuthCode(String authCodeKey, long issuedTime, int expiresInSeconds)
+            throws SQLException {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement ps = connection.prepareStatement("INSERT INTO IDN_OAUTH2_CIBA_AUTH_CODE " +
+                     "(AUTH_CODE_KEY, AUTH_REQ_ID, ISSUED_TIME, LAST_POLLED_TIME, EXPIRES_IN) VALUES " +
+                     "(?, ?, ?, ?, ?)")) {
+            ps.setString(1, authCodeKey);
+            ps.setString(2, authCodeKey);
+            ps.setTimestamp(3, new Timestamp(issuedTime), getUTCCalendar());
+            ps.setTimestamp(4, new Timestamp(issuedTime), getUTCCalendar());
+            ps.setInt(5, expiresInSeconds);
+            ps.executeUpdate();
+        }
+    }
+
+    private static void insertParRequest(String requestUriReference, long scheduledExpiry) throws SQLException {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement ps = connection.prepareStatement("INSERT INTO IDN_OAUTH_PAR (REQ_URI_REF, " +
+                     "CLIENT_ID, SCHEDULED_EXPIRY) VALUES (?, ?, ?)")) {
+            ps.setString(1, requestUriReference);
+            ps.setString(2, "clientId");
+            ps.setLong(3, scheduledExpiry);
+            ps.executeUpdate();
+        }
+    }
+
+    private static void executeUpdate(String sql) throws SQLException {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.executeUpdate();
+        }
+    }
+
+    private static List<String> getKeys(String sql) throws SQLException {
+
+        List<String> keys = new ArrayList<>();
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet resultSet = ps.executeQuery()) {
+            while (resultSet.next()) {
+                keys.add(resultSet.getString(1));
+            }
+        }
+        return keys;
+    }
+
+    private static Calendar getUTCCalendar() {
+
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
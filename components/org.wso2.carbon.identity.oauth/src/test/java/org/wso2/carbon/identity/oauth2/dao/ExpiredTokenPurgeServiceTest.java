@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.dao.ExpiredTokenPurgeDAO.PurgeChunk;
+import org.wso2.carbon.identity.oauth2.dao.ExpiredTokenPurgeDAO.PurgeTable;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Unit tests for ExpiredTokenPurgeService.
+ */
+public class ExpiredTokenPurgeServiceTest {
+
+    @Test
+    public void testPurgeWalksTablesInChunks() throws Exception {
+
+        ExpiredTokenPurgeDAO purgeDAO = mock(ExpiredTokenPurgeDAO.class);
+        PurgeChunk firstChunk = new PurgeChunk();
+        firstChunk.addCandidate("tokenId1", true);
+        firstChunk.addCandidate("tokenId2", false);
+        PurgeChunk lastChunk = new PurgeChunk();
+        lastChunk.addCandidate("tokenId3", true);
+        when(purgeDAO.getPurgeChunk(eq(PurgeTable.ACCESS_TOKEN), eq("PRIMARY"), anyLong(), isNull(), eq(2)))
+                .thenReturn(firstChunk);
+        when(purgeDAO.getPurgeChunk(eq(PurgeTable.ACCESS_TOKEN), eq("PRIMARY"), anyLong(), eq("tokenId2"), eq(2)))
+                .thenReturn(lastChunk);
+        when(purgeDAO.getPurgeChunk(eq(PurgeTable.AUTHORIZATION_CODE), eq("PRIMARY"), anyLong(), isNull(),
+                eq(2))).thenThrow(new IdentityOAuth2Exception("Database error"));
+        for (PurgeTable purgeTable : Arrays.asList(PurgeTable.DEVICE_FLOW, PurgeTable.CIBA_AUTH_CODE,
+                PurgeTable.PAR_REQUEST)) {
+            when(purgeDAO.getPurgeChunk(eq(purgeTable), eq("PRIMARY"), anyLong(), isNull(), eq(2)))
+                    .thenReturn(new PurgeChunk());
+        }
+
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<OAuth2Util> oAuth2Util = mockStatic(OAuth2Util.class)) {
+            identityUtil.when(() -> IdentityUtil.getProperty(anyString())).thenAnswer(invocation ->
+                    "OAuth.TokenPurge.ChunkSize".equals(invocation.getArgument(0)) ? "2" : null);
+            identityUtil.when(IdentityUtil::getPrimaryDomainName).thenReturn("PRIMARY");
+            oAuth2Util.when(OAuth2Util::checkAccessTokenPartitioningEnabled).thenReturn(false);
+
+            ExpiredTokenPurgeService purgeService = ExpiredTokenPurgeService.getInstance();
+            purgeService.start();
+            assertFalse(purgeService.isEnabled());
+            purgeService.setPurgeDAO(purgeDAO);
+            ExpiredTokenPurgeMetrics metrics = purgeService.getMetrics();
+            long purgedAccessTokens = metrics.getPurgedRowCount(PurgeTable.ACCESS_TOKEN);
+            long failedChunks = metrics.getFailedChunkCount();
+            long runs = metrics.getRunCount();
+
+            purgeService.purge();
+
+            verify(purgeDAO).deletePurgeChunk(PurgeTable.ACCESS_TOKEN, "PRIMARY",
+                    Collections.singletonList("tokenId1"));
+            verify(purgeDAO).deletePurgeChunk(PurgeTable.ACCESS_TOKEN, "PRIMARY",
+                    Collections.singletonList("tokenId3"));
+            // A failure in one table should not stop the purge of the other tables.
+            verify(purgeDAO).getPurgeChunk(eq(PurgeTable.PAR_REQUEST), eq("PRIMARY"), anyLong(), isNull(), eq(2));
+            verify(purgeDAO, never()).deletePurgeChunk(eq(PurgeTable.PAR_REQUEST), anyString(), any());
+            assertEquals(metrics.getPurgedRowCount(PurgeTable.ACCESS_TOKEN), purgedAccessTokens + 2);
+            assertEquals(metrics.getFailedChunkCount(), failedChunks + 1);
+            assertEquals(metrics.getRunCount(), runs + 1);
+            assertEquals(metrics.getLastRunPurgedRowCount(), 2);
+            assertNull(metrics.getCurrentTable());
+        } finally {
+            ExpiredTokenPurgeService.getInstance().setPurgeDAO(new ExpiredTokenPurgeDAO());
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ObjectName;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Unit tests for TokenPersistencePipeline.
+ */
+@WithCarbonHome
+public class TokenPersistencePipelineTest {
+
+    private static final String ENABLE = "OAuth.TokenPersistence.Async.Enable";
+    private static final String POOL_SIZE = "OAuth.TokenPersistence.Async.PoolSize";
+    private static final String QUEUE_SIZE = "OAuth.TokenPersistence.Async.QueueSize";
+    private static final String BATCH_SIZE = "OAuth.TokenPersistence.Async.BatchSize";
+    private static final String FLUSH_INTERVAL = "OAuth.TokenPersistence.Async.FlushInterval";
+    private static final String OVERFLOW_POLICY = "OAuth.TokenPersistence.Async.OverflowPolicy";
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private AccessTokenDAO accessTokenDAO;
+    private List<Integer> batchSizes;
+    private List<String> persistedTokens;
+    private MockedStatic<OAuth2Util> oAuth2Util;
+    private MockedStatic<AccessTokenDAOImpl> accessTokenDAOImpl;
+
+    @BeforeMethod
+    public void setUp() {
+
+        batchSizes = Collections.synchronizedList(new ArrayList<>());
+        persistedTokens = Collections.synchronizedList(new ArrayList<>());
+        accessTokenDAO = mock(AccessTokenDAO.class);
+        // The consumers run in their own threads, hence the DAO is registered as a service instead of being mocked
+        // statically, which only applies to the thread the mock was created in.
+        OAuthComponentServiceHolder.getInstance().setAccessTokenDAOService(accessTokenDAO);
+
+        oAuth2Util = mockStatic(OAuth2Util.class);
+        oAuth2Util.when(() -> OAuth2Util.getOAuthTokenIssuerForOAuthApp(anyString()))
+                .thenReturn(mock(OauthTokenIssuer.class));
+        accessTokenDAOImpl = mockStatic(AccessTokenDAOImpl.class);
+        accessTokenDAOImpl.when(AccessTokenDAOImpl::resolveAppTenantId).thenReturn(-1234);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        TokenPersistencePipeline.getInstance().shutdown();
+        OAuthComponentServiceHolder.getInstance().setAccessTokenDAOService(null);
+        oAuth2Util.close();
+        accessTokenDAOImpl.close();
+    }
+
+    @Test
+    public void testTokensArePersistedSynchronouslyWhenDisabled() throws Exception {
+
+        AccessTokenDO newAccessTokenDO = new AccessTokenDO();
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class)) {
+            identityUtil.when(() -> IdentityUtil.getProperty(anyString())).thenReturn(null);
+
+            TokenPersistencePipeline pipeline = TokenPersistencePipeline.getInstance();
+            pipeline.start();
+            assertFalse(pipeline.isEnabled());
+
+            pipeline.persist("token", "consumerKey", newAccessTokenDO, null, "PRIMARY");
+            verify(accessTokenDAO).insertAccessToken("token", "consumerKey", newAccessTokenDO, null, "PRIMARY");
+            assertEquals(pipeline.getQueueDepth(), 0);
+
+            // Shutting down a pipeline which was never started should be a no-op.
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    public void testTokensArePersistedInBatches() throws Exception {
+
+        CountDownLatch persisted = recordPersistedTokens(6);
+        TokenPersistencePipeline pipeline = startPipeline(1, 10, 3, 10000, "SYNC");
+
+        for (int i = 0; i < 6; i++) {
+            persist(pipeline, "token" + i);
+        }
+
+        // The flush interval is long enough for the batches to be flushed only once they are full.
+        assertTrue(persisted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(batchSizes.size(), 2);
+        assertEquals(batchSizes.get(0).intValue(), 3);
+        assertEquals(batchSizes.get(1).intValue(), 3);
+        assertEquals(persistedTokens, buildTokens(6));
+        verify(accessTokenDAO, never()).insertAccessToken(anyString(), anyString(), any(), any(), anyString());
+        // The metrics are exposed over JMX while the pipeline is running.
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                new ObjectName(TokenPersistenceMetrics.OBJECT_NAME)));
+    }
+
+    @Test
+    public void testPartialBatchIsFlushedOnInterval() throws Exception {
+
+        CountDownLatch persisted = recordPersistedTokens(2);
+        TokenPersistencePipeline pipeline = startPipeline(1, 10, 100, 20, "SYNC");
+
+        persist(pipeline, "token0");
+        persist(pipeline, "token1");
+
+        // The batch never fills up, so the tokens are only persisted once the flush interval elapses.
+        assertTrue(persisted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        for (Integer batchSize : batchSizes) {
+            assertTrue(batchSize < 100);
+        }
+        assertEquals(persistedTokens, buildTokens(2));
+        assertEquals(pipeline.getQueueDepth(), 0);
+    }
+
+    @Test
+    public void testQueueFullFallsBackToSynchronousInsert() throws Exception {
+
+        CountDownLatch consumerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseConsumer = new CountDownLatch(1);
+        blockFirstBatch(consumerBlocked, releaseConsumer);
+        TokenPersistencePipeline pipeline = startPipeline(1, 1, 1, 0, "SYNC");
+        long synchronousFallbackCount = pipeline.getSynchronousFallbackCount();
+
+        try {
+            persist(pipeline, "token0");
+            assertTrue(consumerBlocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            // The consumer is busy with the first token, so the second token fills the queue.
+            persist(pipeline, "token1");
+            AccessTokenDO overflowedAccessTokenDO = new AccessTokenDO();
+            pipeline.persist("token2", "consumerKey", overflowedAccessTokenDO, null, "PRIMARY");
+
+            verify(accessTokenDAO).insertAccessToken("token2", "consumerKey", overflowedAccessTokenDO, null,
+                    "PRIMARY");
+            assertEquals(pipeline.getSynchronousFallbackCount(), synchronousFallbackCount + 1);
+            assertEquals(pipeline.getQueueDepth(), 1);
+        } finally {
+            releaseConsumer.countDown();
+        }
+    }
+
+    @Test
+    public void testQueueFullShedsToken() throws Exception {
+
+        CountDownLatch consumerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseConsumer = new CountDownLatch(1);
+        blockFirstBatch(consumerBlocked, releaseConsumer);
+        TokenPersistencePipeline pipeline = startPipeline(1, 1, 1, 0, "SHED");
+        long shedCount = pipeline.getShedCount();
+
+        try {
+            persist(pipeline, "token0");
+            assertTrue(consumerBlocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            persist(pipeline, "token1");
+            try {
+                persist(pipeline, "token2");
+                fail("The token should have been rejected since the queue is full.");
+            } catch (IdentityOAuth2Exception e) {
+                assertEquals(pipeline.getShedCount(), shedCount + 1);
+            }
+            verify(accessTokenDAO, never()).insertAccessToken(anyString(), anyString(), any(), any(), anyString());
+        } finally {
+            releaseConsumer.countDown();
+        }
+    }
+
+    @Test
+    public void testIssuanceWaitsForQueuedTokensOfClientAndUser() throws Exception {
+
+        CountDownLatch consumerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseConsumer = new CountDownLatch(1);
+        blockFirstBatch(consumerBlocked, releaseConsumer);
+        TokenPersistencePipeline pipeline = startPipeline(1, 10, 1, 0, "SYNC");
+
+        persist(pipeline, "token0");
+        assertTrue(consumerBlocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        // Tokens queued for other clients are not waited for.
+        pipeline.awaitQueuedTokens("otherConsumerKey", null);
+
+        CountDownLatch awaited = new CountDownLatch(1);
+        Thread issuer = new Thread(() -> {
+            try {
+                pipeline.awaitQueuedTokens("consumerKey", null);
+                awaited.countDown();
+            } catch (IdentityOAuth2Exception e) {
+                // The latch is never released, failing the test.
+            }
+        });
+        issuer.start();
+        try {
+            // The token is still being persisted, hence the next issuance for the client and user waits for it.
+            assertFalse(awaited.await(100, TimeUnit.MILLISECONDS));
+        } finally {
+            releaseConsumer.countDown();
+        }
+        assertTrue(awaited.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailedBatchDoesNotStopConsumer() throws Exception {
+
+        CountDownLatch persisted = new CountDownLatch(2);
+        when(accessTokenDAO.insertAccessTokens(anyList())).thenAnswer(invocation -> {
+            List<AccessContextTokenDO> batch = invocation.getArgument(0);
+            persisted.countDown();
+            // Tokens of the first batch could not be persisted even when retried individually.
+            if (persisted.getCount() == 1) {
+                return new ArrayList<>(batch);
+            }
+            recordBatch(batch);
+            return Collections.emptyList();
+        });
+        TokenPersistencePipeline pipeline = startPipeline(1, 10, 1, 0, "SYNC");
+        TokenPersistenceMetrics metrics = pipeline.getMetrics();
+        long failedTokenCount = metrics.getFailedTokenCount();
+        long persistedTokenCount = metrics.getPersistedTokenCount();
+
+        persist(pipeline, "token0");
+        persist(pipeline, "token1");
+
+        assertTrue(persisted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(persistedTokens, Collections.singletonList("token1"));
+        waitForMetrics(metrics, failedTokenCount + 1, persistedTokenCount + 1);
+    }
+
+    @Test
+    public void testShutdownDrainsQueuedTokens() throws Exception {
+
+        CountDownLatch consumerBlocked = new CountDownLatch(1);
+        // The consumer is only released by the interrupt of the shutdown.
+        blockFirstBatch(consumerBlocked, new CountDownLatch(1));
+        TokenPersistencePipeline pipeline = startPipeline(1, 10, 1, 0, "SYNC");
+
+        persist(pipeline, "token0");
+        assertTrue(consumerBlocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        persist(pipeline, "token1");
+        persist(pipeline, "token2");
+        persist(pipeline, "token3");
+        assertEquals(pipeline.getQueueDepth(), 3);
+
+        pipeline.shutdown();
+
+        assertFalse(pipeline.isEnabled());
+        assertEquals(pipeline.getQueueDepth(), 0);
+        assertEquals(persistedTokens, buildTokens(4));
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                new ObjectName(TokenPersistenceMetrics.OBJECT_NAME)));
+
+        // Tokens issued after the shutdown are persisted synchronously.
+        AccessTokenDO newAccessTokenDO = new AccessTokenDO();
+        pipeline.persist("token4", "consumerKey", newAccessTokenDO, null, "PRIMARY");
+        verify(accessTokenDAO).insertAccessToken("token4", "consumerKey", newAccessTokenDO, null, "PRIMARY");
+    }
+
+    private TokenPersistencePipeline startPipeline(int poolSize, int queueSize, int batchSize, int flushInterval,
+                                                   String overflowPolicy) {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(ENABLE, "true");
+        properties.put(POOL_SIZE, String.valueOf(poolSize));
+        properties.put(QUEUE_SIZE, String.valueOf(queueSize));
+        properties.put(BATCH_SIZE, String.valueOf(batchSize));
+        properties.put(FLUSH_INTERVAL, String.valueOf(flushInterval));
+        properties.put(OVERFLOW_POLICY, overflowPolicy);
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class)) {
+            identityUtil.when(() -> IdentityUtil.getProperty(anyString()))
+                    .thenAnswer(invocation -> properties.get(invocation.<String>getArgument(0)));
+            TokenPersistencePipeline pipeline = TokenPersistencePipeline.getInstance();
+            pipeline.start();
+            assertTrue(pipeline.isEnabled());
+            return pipeline;
+        }
+    }
+
+    private void persist(TokenPersistencePipeline pipeline, String accessToken) throws IdentityOAuth2Exception {
+
+        pipeline.persist(accessToken, "consumerKey", new AccessTokenDO(), null, "PRIMARY");
+    }
+
+    private CountDownLatch recordPersistedTokens(int tokenCount) {
+
+        CountDownLatch persisted = new CountDownLatch(tokenCount);
+        when(accessTokenDAO.insertAccessTokens(anyList())).thenAnswer(invocation -> {
+            List<AccessContextTokenDO> batch = invocation.getArgument(0);
+            recordBatch(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                persisted.countDown();
+            }
+            return Collections.emptyList();
+        });
+        return persisted;
+    }
+
+    /**
+     * Keep the consumer busy with the first batch until the given latch is released or the consumer is interrupted.
+     */
+    private void blockFirstBatch(CountDownLatch consumerBlocked, CountDownLatch releaseConsumer) {
+
+        when(accessTokenDAO.insertAccessTokens(anyList())).thenAnswer(invocation -> {
+            List<AccessContextTokenDO> batch = invocation.getArgument(0);
+            recordBatch(batch);
+            if (consumerBlocked.getCount() > 0) {
+                consumerBlocked.countDown();
+                try {
+                    releaseConsumer.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Collections.emptyList();
+        });
+    }
+
+    private void recordBatch(List<AccessContextTokenDO> batch) {
+
+        batchSizes.add(batch.size());
+        for (AccessContextTokenDO accessContextTokenDO : batch) {
+            persistedTokens.add(accessContextTokenDO.getAccessToken());
+            // The issuer and the tenant of the application are captured on the issuing thread.
+            assertTrue(accessContextTokenDO.getOauthTokenIssuer() != null);
+            assertEquals(accessContextTokenDO.getAppTenantId(), -1234);
+        }
+    }
+
+    private void waitForMetrics(TokenPersistenceMetrics metrics, long failedTokenCount, long persistedTokenCount)
+            throws InterruptedException {
+
+        // Metrics are recorded after the DAO returns, hence wait for the consumer to record them.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (System.nanoTime() < deadline && (metrics.getFailedTokenCount() < failedTokenCount ||
+                metrics.getPersistedTokenCount() < persistedTokenCount)) {
+            Thread.sleep(10);
+        }
+        assertEquals(metrics.getFailedTokenCount(), failedTokenCount);
+        assertEquals(metrics.getPersistedTokenCount(), persistedTokenCount);
+    }
+
+    private static List<String> buildTokens(int tokenCount) {
+
+        List<String> tokens = new ArrayList<>(tokenCount);
+        for (int i = 0; i < tokenCount; i++) {
+            tokens.add("token" + i);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for TokenPersistenceTask.
+ */
+public class TokenPersistenceTaskTest {
+
+    @AfterMethod
+    public void tearDown() {
+
+        // Clear the interrupt used to stop the task.
+        Thread.interrupted();
+    }
+
+    @Test
+    public void testTokensArePersistedInBatches() {
+
+        BlockingDeque<AccessContextTokenDO> queue = new LinkedBlockingDeque<>();
+        List<AccessContextTokenDO> tokens = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tokens.add(new AccessContextTokenDO("token" + i, "consumerKey", new AccessTokenDO(), null, "PRIMARY"));
+        }
+        queue.addAll(tokens);
+        List<Integer> batchSizes = new ArrayList<>();
+        AccessTokenDAO accessTokenDAO = mock(AccessTokenDAO.class);
+        when(accessTokenDAO.insertAccessTokens(anyList())).thenAnswer(invocation -> {
+            List<AccessContextTokenDO> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            if (batch.size() < 3) {
+                Thread.currentThread().interrupt();
+                return Collections.singletonList(batch.get(0));
+            }
+            return Collections.emptyList();
+        });
+
+        try (MockedStatic<OAuthTokenPersistenceFactory> persistenceFactory =
+                     mockStatic(OAuthTokenPersistenceFactory.class)) {
+            OAuthTokenPersistenceFactory mockedFactory = mock(OAuthTokenPersistenceFactory.class);
+            persistenceFactory.when(OAuthTokenPersistenceFactory::getInstance).thenReturn(mockedFactory);
+            when(mockedFactory.getAccessTokenDAO()).thenReturn(accessTokenDAO);
+
+            TokenPersistenceTask task = new TokenPersistenceTask(queue, 3, 0, new TokenPersistenceMetrics());
+            task.run();
+
+            TokenPersistenceMetrics metrics = task.getMetrics();
+            assertEquals(batchSizes.size(), 2);
+            assertEquals(batchSizes.get(0).intValue(), 3);
+            assertEquals(batchSizes.get(1).intValue(), 2);
+            assertEquals(metrics.getFlushCount(), 2);
+            assertEquals(metrics.getPersistedTokenCount(), 4);
+            assertEquals(metrics.getFailedTokenCount(), 1);
+            assertEquals(metrics.getMaxBatchSize(), 3);
+            assertEquals(metrics.getLastBatchSize(), 2);
+            assertEquals(task.getQueueDepth(), 0);
+            // The time the tokens waited in the queue is recorded when they are taken into a batch.
+            assertTrue(metrics.getMaxQueueTimeMillis() >= 0);
+            assertTrue(metrics.getAverageQueueTimeMillis() <= metrics.getMaxQueueTimeMillis());
+            // The requests waiting for the tokens are released whether or not the tokens could be persisted.
+            for (AccessContextTokenDO accessContextTokenDO : tokens) {
+                assertTrue(accessContextTokenDO.getFlushed().isDone());
+            }
+        }
+    }
+}
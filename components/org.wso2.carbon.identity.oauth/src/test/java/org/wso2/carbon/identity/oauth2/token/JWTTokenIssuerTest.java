@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.oauth2.token;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
 import com.nimbusds.jose.crypto.RSASSASigner;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.PlainJWT;
@@ -61,6 +62,7 @@ import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
 import org.wso2.carbon.identity.oauth2.token.handlers.claims.JWTAccessTokenClaimProvider;
 import org.wso2.carbon.identity.oauth2.token.handlers.grant.AuthorizationGrantHandler;
+import org.wso2.carbon.identity.oauth2.util.JWSSigningMaterialCache;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.openidconnect.CustomClaimsCallbackHandler;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
@@ -68,10 +70,14 @@ import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
 import java.security.KeyStore;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
+import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPrivateKey;
+import java.security.spec.ECGenParameterSpec;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
@@ -162,6 +168,7 @@ public class JWTTokenIssuerTest {
 
     @AfterMethod
     public void tearDown() throws Exception {
+        JWSSigningMaterialCache.getInstance().clear();
         reset(mockOAuthServerConfiguration);
         oAuthServerConfiguration.close();
     }
@@ -570,13 +577,36 @@ public class JWTTokenIssuerTest {
 
     @Test
     public void testSignJWTWithECDSA() throws Exception {
+
         when(mockOAuthServerConfiguration.getSignatureAlgorithm()).thenReturn(SHA256_WITH_EC);
-        try {
-            new JWTTokenIssuer().signJWTWithECDSA(null, null, null);
-            fail("Looks like someone has implemented this method. Need to modify this testcase");
-        } catch (IdentityOAuth2Exception ex) {
-            assertTrue(ex.getMessage() != null && ex.getMessage().contains("is not supported"),
-                    "Looks like someone has implemented this method. Need to modify this testcase");
+        try (MockedStatic<OAuth2Util> oAuth2Util = mockStatic(OAuth2Util.class);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class)) {
+            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+            keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = keyPairGenerator.generateKeyPair();
+            oAuth2Util.when(() -> OAuth2Util.getPrivateKey(anyString(), anyInt())).thenReturn(keyPair.getPrivate());
+            oAuth2Util.when(() -> OAuth2Util.getCertificate(anyString(), anyInt())).thenReturn(mock(Certificate.class));
+            oAuth2Util.when(() -> OAuth2Util.getKID(any(Certificate.class), any(JWSAlgorithm.class), anyString()))
+                    .thenReturn(DUMMY_CLIENT_ID);
+            oAuth2Util.when(() -> OAuth2Util.getThumbPrintWithPrevAlgorithm(any(), anyBoolean()))
+                    .thenReturn("dummyThumbprint");
+            identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(anyString())).thenReturn(-1234);
+
+            OAuth2AccessTokenReqDTO accessTokenReqDTO = new OAuth2AccessTokenReqDTO();
+            accessTokenReqDTO.setClientId(DUMMY_CLIENT_ID);
+            OAuthTokenReqMessageContext tokenReqMessageContext = new OAuthTokenReqMessageContext(accessTokenReqDTO);
+            AuthenticatedUser authenticatedUser = new AuthenticatedUser();
+            authenticatedUser.setUserName("admin");
+            authenticatedUser.setTenantDomain(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+            tokenReqMessageContext.setAuthorizedUser(authenticatedUser);
+            JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder().subject("admin").build();
+
+            String jwtToken = new JWTTokenIssuer().signJWT(jwtClaimsSet, tokenReqMessageContext, null);
+            SignedJWT signedJWT = SignedJWT.parse(jwtToken);
+            assertEquals(signedJWT.getHeader().getAlgorithm(), JWSAlgorithm.ES256);
+            assertEquals(signedJWT.getHeader().getKeyID(), DUMMY_CLIENT_ID);
+            assertEquals(signedJWT.getHeader().getType().toString(), DEFAULT_TYP_HEADER_VALUE);
+            assertTrue(signedJWT.verify(new ECDSAVerifier((ECPublicKey) keyPair.getPublic())));
         }
     }
 
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.lock;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.oauth2.dao.util.DAOUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for ClusterLeaseTokenIssuanceLockService.
+ */
+public class ClusterLeaseTokenIssuanceLockServiceTest {
+
+    private static final String DB_NAME = "TOKEN_ISSUANCE_LEASE_DB";
+    private static final String OTHER_NODE_OWNER_ID = "otherNode";
+    private static final long LEASE_TIME_MILLIS = 60000L;
+    private static final long WAIT_TIME_MILLIS = 50L;
+    private static final TokenIssuanceLockKey LOCK_KEY =
+            new TokenIssuanceLockKey("clientId", "userId", "openid", "NONE");
+    private static final String LEASE_KEY = DigestUtils.sha256Hex(LOCK_KEY.toString());
+
+    private LocalTokenIssuanceLockService localLockService;
+    private ClusterLeaseTokenIssuanceLockService lockService;
+    private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil;
+
+    @BeforeClass
+    public void initTest() throws Exception {
+
+        DAOUtils.initializeDataSource(DB_NAME, DAOUtils.getFilePath("identity.sql"));
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement(
+                     "DELETE FROM IDN_OAUTH2_TOKEN_ISSUANCE_LEASE")) {
+            prepStmt.executeUpdate();
+        }
+        identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class);
+        // The service closes the connections it gets, hence a new one is handed out for each call.
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> DAOUtils.getConnection(DB_NAME));
+
+        localLockService = new LocalTokenIssuanceLockService(2);
+        lockService = new ClusterLeaseTokenIssuanceLockService(localLockService, LEASE_TIME_MILLIS,
+                WAIT_TIME_MILLIS);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        identityDatabaseUtil.close();
+    }
+
+    @Test
+    public void testLeaseIsAcquiredAndReleased() throws Exception {
+
+        long startTime = System.currentTimeMillis();
+        try (TokenIssuanceLock lock = lockService.lock(LOCK_KEY)) {
+            Lease lease = getLease();
+            assertNotNull(lease);
+            assertNotEquals(lease.ownerId, OTHER_NODE_OWNER_ID);
+            assertTrue(lease.expiryTime >= startTime + LEASE_TIME_MILLIS);
+            assertEquals(localLockService.getActiveLockCount(), 1);
+        }
+        assertNull(getLease());
+        assertEquals(localLockService.getActiveLockCount(), 0);
+        assertEquals(lockService.getLeaseTimeoutCount(), 0L);
+    }
+
+    @Test
+    public void testExpiredLeaseIsTakenOver() throws Exception {
+
+        insertLease(OTHER_NODE_OWNER_ID, System.currentTimeMillis() - 1000);
+
+        try (TokenIssuanceLock lock = lockService.lock(LOCK_KEY)) {
+            Lease lease = getLease();
+            assertNotNull(lease);
+            assertNotEquals(lease.ownerId, OTHER_NODE_OWNER_ID);
+            assertTrue(lease.expiryTime > System.currentTimeMillis());
+        }
+        assertNull(getLease());
+        assertEquals(lockService.getLeaseTimeoutCount(), 0L);
+    }
+
+    @Test
+    public void testLeaseIsHeldUntilOutermostRelease() throws Exception {
+
+        try (TokenIssuanceLock outerLock = lockService.lock(LOCK_KEY)) {
+            String ownerId = getLease().ownerId;
+            try (TokenIssuanceLock innerLock = lockService.lock(LOCK_KEY)) {
+                assertEquals(getLease().ownerId, ownerId);
+            }
+            // Releasing the inner lock keeps the lease of the outer lock.
+            assertNotNull(getLease());
+            assertEquals(getLease().ownerId, ownerId);
+            assertEquals(localLockService.getActiveLockCount(), 1);
+        }
+        assertNull(getLease());
+        assertEquals(localLockService.getActiveLockCount(), 0);
+
+        // A new acquisition after the release creates a new lease.
+        try (TokenIssuanceLock lock = lockService.lock(LOCK_KEY)) {
+            assertNotNull(getLease());
+        }
+        assertNull(getLease());
+    }
+
+    @Test
+    public void testLocalLockIsUsedWhenLeaseIsHeldByOtherNode() throws Exception {
+
+        long expiryTime = System.currentTimeMillis() + LEASE_TIME_MILLIS;
+        insertLease(OTHER_NODE_OWNER_ID, expiryTime);
+
+        long startTime = System.currentTimeMillis();
+        try (TokenIssuanceLock lock = lockService.lock(LOCK_KEY)) {
+            assertTrue(System.currentTimeMillis() - startTime >= WAIT_TIME_MILLIS);
+            assertEquals(localLockService.getActiveLockCount(), 1);
+        }
+        assertEquals(lockService.getLeaseTimeoutCount(), 1L);
+        assertEquals(localLockService.getActiveLockCount(), 0);
+
+        // The lease of the other node is not released by this node.
+        Lease lease = getLease();
+        assertNotNull(lease);
+        assertEquals(lease.ownerId, OTHER_NODE_OWNER_ID);
+        assertEquals(lease.expiryTime, expiryTime);
+    }
+
+    @Test
+    public void testZeroWaitTimeFallsBackWithoutRetry() throws Exception {
+
+        insertLease(OTHER_NODE_OWNER_ID, System.currentTimeMillis() + LEASE_TIME_MILLIS);
+        ClusterLeaseTokenIssuanceLockService noWaitLockService =
+                new ClusterLeaseTokenIssuanceLockService(localLockService, LEASE_TIME_MILLIS, 0);
+
+        try (TokenIssuanceLock lock = noWaitLockService.lock(LOCK_KEY)) {
+            assertEquals(localLockService.getActiveLockCount(), 1);
+        }
+        assertEquals(noWaitLockService.getLeaseTimeoutCount(), 1L);
+        assertEquals(getLease().ownerId, OTHER_NODE_OWNER_ID);
+    }
+
+    @DataProvider(name = "duplicateKeyDataProvider")
+    public Object[][] duplicateKeyData() {
+
+        return new Object[][]{
+                {new SQLIntegrityConstraintViolationException("Duplicate key"), true},
+                {new SQLException("Unique index or primary key violation", "23505"), true},
+                {new SQLException("Duplicate entry", "23000"), true},
+                {new SQLException("Table not found", "42S02"), false},
+                {new SQLException("Connection failure"), false}
+        };
+    }
+
+    @Test(dataProvider = "duplicateKeyDataProvider")
+    public void testIsDuplicateKey(SQLException exception, boolean expected) {
+
+        assertEquals(ClusterLeaseTokenIssuanceLockService.isDuplicateKey(exception), expected);
+    }
+
+    @Test
+    public void testDuplicateLeaseIsDetectedOnDatabase() throws Exception {
+
+        insertLease(OTHER_NODE_OWNER_ID, System.currentTimeMillis() + LEASE_TIME_MILLIS);
+        try {
+            insertLease("thisNode", System.currentTimeMillis() + LEASE_TIME_MILLIS);
+            throw new AssertionError("Inserting a second lease of the same key should fail.");
+        } catch (SQLException e) {
+            assertTrue(ClusterLeaseTokenIssuanceLockService.isDuplicateKey(e));
+        }
+    }
+
+    private static void insertLease(String ownerId, long expiryTime) throws SQLException {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement(
+                     "INSERT INTO IDN_OAUTH2_TOKEN_ISSUANCE_LEASE (LEASE_KEY, OWNER_ID, EXPIRY_TIME) " +
+                             "VALUES (?, ?, ?)")) {
+            prepStmt.setString(1, LEASE_KEY);
+            prepStmt.setString(2, ownerId);
+            prepStmt.setLong(3, expiryTime);
+            prepStmt.executeUpdate();
+        }
+    }
+
+    private static Lease getLease() throws SQLException {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement(
+                     "SELECT OWNER_ID, EXPIRY_TIME FROM IDN_OAUTH2_TOKEN_ISSUANCE_LEASE WHERE LEASE_KEY = ?")) {
+            prepStmt.setString(1, LEASE_KEY);
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                if (resultSet.next()) {
+                    return new Lease(resultSet.getString(1), resultSet.getLong(2));
+                }
+                return null;
+            }
+        }
+    }
+
+    private static final class Lease {
+
+        private final String ownerId;
+        private final long expiryTime;
+
+        private Lease(String ownerId, long expiryTime) {
+
+            this.ownerId = ownerId;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
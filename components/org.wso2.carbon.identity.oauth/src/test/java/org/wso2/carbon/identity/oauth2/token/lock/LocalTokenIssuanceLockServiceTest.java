@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.lock;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for LocalTokenIssuanceLockService and TokenIssuanceLockManager.
+ */
+public class LocalTokenIssuanceLockServiceTest {
+
+    private static final TokenIssuanceLockKey LOCK_KEY =
+            new TokenIssuanceLockKey("clientId", "userId", "openid", "NONE");
+
+    private LocalTokenIssuanceLockService lockService;
+
+    @BeforeMethod
+    public void setUp() {
+
+        lockService = new LocalTokenIssuanceLockService(2);
+    }
+
+    @Test
+    public void testLockKeyEquality() {
+
+        assertEquals(new TokenIssuanceLockKey("clientId", "userId", "openid", "NONE"), LOCK_KEY);
+        assertEquals(new TokenIssuanceLockKey("clientId", "userId", "openid", "NONE").hashCode(),
+                LOCK_KEY.hashCode());
+        assertNotEquals(new TokenIssuanceLockKey("clientId", "userId", "openid", null), LOCK_KEY);
+        assertNotEquals(new TokenIssuanceLockKey("clientId", "userId", "openid email", "NONE"), LOCK_KEY);
+    }
+
+    @Test
+    public void testLockIsReentrantAndReleased() {
+
+        try (TokenIssuanceLock outerLock = lockService.lock(LOCK_KEY)) {
+            try (TokenIssuanceLock innerLock = lockService.lock(LOCK_KEY)) {
+                assertEquals(lockService.getActiveLockCount(), 1);
+            }
+            assertEquals(lockService.getActiveLockCount(), 1);
+        }
+        assertEquals(lockService.getActiveLockCount(), 0);
+        assertEquals(lockService.getAcquisitionCount(), 2L);
+        assertEquals(lockService.getContendedAcquisitionCount(), 0L);
+    }
+
+    @Test
+    public void testUnrelatedKeysDoNotShareLocks() throws Exception {
+
+        TokenIssuanceLockKey otherKey = new TokenIssuanceLockKey("otherClientId", "userId", "openid", "NONE");
+        CountDownLatch acquired = new CountDownLatch(1);
+        try (TokenIssuanceLock lock = lockService.lock(LOCK_KEY)) {
+            Thread thread = new Thread(() -> {
+                try (TokenIssuanceLock otherLock = lockService.lock(otherKey)) {
+                    acquired.countDown();
+                }
+            });
+            thread.start();
+            assertTrue(acquired.await(10, TimeUnit.SECONDS));
+            thread.join();
+        }
+        assertEquals(lockService.getContendedAcquisitionCount(), 0L);
+    }
+
+    @Test
+    public void testContentionIsRecorded() throws Exception {
+
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread thread;
+        try (TokenIssuanceLock lock = lockService.lock(LOCK_KEY)) {
+            thread = new Thread(() -> {
+                try (TokenIssuanceLock contendedLock = lockService.lock(LOCK_KEY)) {
+                    acquired.countDown();
+                }
+            });
+            thread.start();
+            while (lockService.getAcquisitionCount() < 2) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(50);
+            assertEquals(acquired.getCount(), 1L);
+        }
+        assertTrue(acquired.await(10, TimeUnit.SECONDS));
+        thread.join();
+
+        assertEquals(lockService.getContendedAcquisitionCount(), 1L);
+        assertEquals(lockService.getHotKeys(), new String[]{"clientId:userId=1"});
+        assertEquals(lockService.getActiveLockCount(), 0);
+
+        lockService.reset();
+        assertEquals(lockService.getContendedAcquisitionCount(), 0L);
+        assertEquals(lockService.getHotKeys().length, 0);
+    }
+
+    @Test
+    public void testManagerUsesRegisteredService() throws Exception {
+
+        OAuth2ServiceComponentHolder holder = OAuth2ServiceComponentHolder.getInstance();
+        TokenIssuanceLockService registeredService = holder.getTokenIssuanceLockService();
+        holder.setTokenIssuanceLockService(lockService);
+        try {
+            try (TokenIssuanceLock lock = TokenIssuanceLockManager.lock("clientId", "userId", "openid", null)) {
+                assertEquals(lockService.getActiveLockCount(), 1);
+            }
+            assertEquals(lockService.getAcquisitionCount(), 1L);
+        } finally {
+            holder.setTokenIssuanceLockService(registeredService);
+        }
+    }
+
+    @Test
+    public void testManagerFallsBackToDefaultService() throws Exception {
+
+        OAuth2ServiceComponentHolder holder = OAuth2ServiceComponentHolder.getInstance();
+        TokenIssuanceLockService registeredService = holder.getTokenIssuanceLockService();
+        holder.setTokenIssuanceLockService(null);
+        try {
+            TokenIssuanceLockService defaultService = TokenIssuanceLockManager.getDefaultLockService();
+            assertSame(TokenIssuanceLockManager.getDefaultLockService(), defaultService);
+            try (TokenIssuanceLock lock = TokenIssuanceLockManager.lock("clientId", "userId", "openid", null)) {
+                assertEquals(((LocalTokenIssuanceLockService) defaultService).getActiveLockCount(), 1);
+            }
+        } finally {
+            holder.setTokenIssuanceLockService(registeredService);
+        }
+    }
+}
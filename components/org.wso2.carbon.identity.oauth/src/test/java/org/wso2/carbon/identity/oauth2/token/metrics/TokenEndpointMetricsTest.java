@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.metrics;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth2.bean.OAuthClientAuthnContext;
+import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for TokenEndpointMetrics.
+ */
+public class TokenEndpointMetricsTest {
+
+    private static final String GRANT_TYPE = "client_credentials";
+    private static final String TENANT_DOMAIN = "carbon.super";
+
+    private DefaultTokenEndpointMetricsPublisher publisher;
+    private RecordingPublisher recordingPublisher;
+
+    @BeforeMethod
+    public void setUp() {
+
+        publisher = new DefaultTokenEndpointMetricsPublisher(2);
+        recordingPublisher = new RecordingPublisher();
+        TokenEndpointMetrics.configure(publisher, 0);
+        OAuth2ServiceComponentHolder.getInstance().addTokenEndpointMetricsPublisher(recordingPublisher);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        OAuth2ServiceComponentHolder.getInstance().removeTokenEndpointMetricsPublisher(recordingPublisher);
+        TokenEndpointMetrics.configure(null, 0);
+    }
+
+    @Test
+    public void testDisabledMetricsAreNotRecorded() {
+
+        TokenEndpointMetrics.configure(null, 0);
+
+        assertFalse(TokenEndpointMetrics.isEnabled());
+        assertFalse(TokenEndpointMetrics.startRequest(GRANT_TYPE, null));
+        assertEquals(TokenEndpointMetrics.startStage(), TokenEndpointMetrics.NOT_RECORDING);
+        TokenEndpointMetrics.endRequest(TENANT_DOMAIN, true);
+        assertTrue(recordingPublisher.published.isEmpty());
+    }
+
+    @Test
+    public void testStagesAreRecorded() {
+
+        OAuthClientAuthnContext clientAuthnContext = new OAuthClientAuthnContext();
+        clientAuthnContext.setAuthenticationTimeNanos(1000L);
+
+        assertTrue(TokenEndpointMetrics.startRequest(GRANT_TYPE, clientAuthnContext));
+        long start = TokenEndpointMetrics.startStage();
+        assertNotEquals(start, TokenEndpointMetrics.NOT_RECORDING);
+        TokenEndpointMetrics.endStage(TokenEndpointStage.GRANT_VALIDATION, start);
+        TokenEndpointMetrics.endStage(TokenEndpointStage.JWT_SIGNING, TokenEndpointMetrics.startStage());
+        TokenEndpointMetrics.setTokenType("JWT");
+        TokenEndpointMetrics.endRequest(TENANT_DOMAIN, true);
+
+        assertEquals(recordingPublisher.published.size(), 1);
+        TokenRequestMetrics requestMetrics = recordingPublisher.published.get(0);
+        assertEquals(requestMetrics.getGrantType(), GRANT_TYPE);
+        assertEquals(requestMetrics.getTenantDomain(), TENANT_DOMAIN);
+        assertEquals(requestMetrics.getTokenType(), "JWT");
+        assertTrue(requestMetrics.isSuccess());
+        assertEquals(requestMetrics.getStageDurationNanos(TokenEndpointStage.CLIENT_AUTHENTICATION), 1000L);
+        assertTrue(requestMetrics.isStageRecorded(TokenEndpointStage.GRANT_VALIDATION));
+        assertTrue(requestMetrics.isStageRecorded(TokenEndpointStage.JWT_SIGNING));
+        assertFalse(requestMetrics.isStageRecorded(TokenEndpointStage.TOKEN_PERSISTENCE));
+        assertTrue(requestMetrics.getDurationNanos() >= 1000L);
+
+        assertEquals(publisher.getRequestCount(), 1);
+        assertEquals(publisher.getFailedRequestCount(), 0);
+        // The thread no longer records once the request has ended.
+        assertEquals(TokenEndpointMetrics.startStage(), TokenEndpointMetrics.NOT_RECORDING);
+    }
+
+    @Test
+    public void testNestedRequestIsNotRecordedSeparately() {
+
+        assertTrue(TokenEndpointMetrics.startRequest(GRANT_TYPE, null));
+        assertFalse(TokenEndpointMetrics.startRequest("refresh_token", null));
+        TokenEndpointMetrics.endRequest(TENANT_DOMAIN, false);
+
+        assertEquals(recordingPublisher.published.size(), 1);
+        assertEquals(recordingPublisher.published.get(0).getGrantType(), GRANT_TYPE);
+        assertEquals(recordingPublisher.published.get(0).getTokenType(), TokenRequestMetrics.UNKNOWN);
+        assertEquals(publisher.getFailedRequestCount(), 1);
+    }
+
+    @Test
+    public void testFailingPublisherDoesNotAffectOthers() {
+
+        TokenEndpointMetricsPublisher failingPublisher = new TokenEndpointMetricsPublisher() {
+
+            @Override
+            public String getName() {
+
+                return "failing";
+            }
+
+            @Override
+            public void publish(TokenRequestMetrics requestMetrics) {
+
+                throw new IllegalStateException("Publisher failure.");
+            }
+        };
+        OAuth2ServiceComponentHolder.getInstance().getTokenEndpointMetricsPublishers().add(0, failingPublisher);
+        try {
+            TokenEndpointMetrics.startRequest(GRANT_TYPE, null);
+            TokenEndpointMetrics.endRequest(TENANT_DOMAIN, true);
+        } finally {
+            OAuth2ServiceComponentHolder.getInstance().removeTokenEndpointMetricsPublisher(failingPublisher);
+        }
+
+        assertEquals(recordingPublisher.published.size(), 1);
+        assertEquals(publisher.getRequestCount(), 1);
+    }
+
+    @Test
+    public void testPrometheusText() {
+
+        recordRequest("tenant1", true);
+        recordRequest("tenant2", false);
+        // Series beyond the configured maximum are aggregated under a single tenant label.
+        recordRequest("tenant3", true);
+        recordRequest("tenant4", true);
+
+        String text = publisher.getPrometheusText();
+        assertTrue(text.contains("# TYPE wso2_oauth2_token_requests_total counter"));
+        assertTrue(text.contains("wso2_oauth2_token_requests_total{grant_type=\"client_credentials\"," +
+                "tenant=\"tenant1\",token_type=\"JWT\",outcome=\"success\"} 1"));
+        assertTrue(text.contains("wso2_oauth2_token_requests_total{grant_type=\"client_credentials\"," +
+                "tenant=\"tenant2\",token_type=\"JWT\",outcome=\"failure\"} 1"));
+        assertTrue(text.contains("wso2_oauth2_token_requests_total{grant_type=\"client_credentials\"," +
+                "tenant=\"" + DefaultTokenEndpointMetricsPublisher.OVERFLOW_TENANT +
+                "\",token_type=\"JWT\",outcome=\"success\"} 2"));
+        assertFalse(text.contains("tenant3"));
+        assertTrue(text.contains("# TYPE wso2_oauth2_token_stage_duration_seconds summary"));
+        assertTrue(text.contains("stage=\"grant_validation\""));
+
+        publisher.reset();
+        assertEquals(publisher.getRequestCount(), 0);
+    }
+
+    private void recordRequest(String tenantDomain, boolean success) {
+
+        TokenEndpointMetrics.startRequest(GRANT_TYPE, null);
+        TokenEndpointMetrics.endStage(TokenEndpointStage.GRANT_VALIDATION, TokenEndpointMetrics.startStage());
+        TokenEndpointMetrics.setTokenType("JWT");
+        TokenEndpointMetrics.endRequest(tenantDomain, success);
+    }
+
+    private static class RecordingPublisher implements TokenEndpointMetricsPublisher {
+
+        private final List<TokenRequestMetrics> published = new ArrayList<>();
+
+        @Override
+        public String getName() {
+
+            return "recording";
+        }
+
+        @Override
+        public void publish(TokenRequestMetrics requestMetrics) {
+
+            published.add(requestMetrics);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.util;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.Certificate;
+import java.security.interfaces.RSAPrivateKey;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Unit tests for JWSSigningMaterialCache.
+ */
+public class JWSSigningMaterialCacheTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String KEY_ID = "dummyKeyId";
+    private static final String THUMBPRINT = "dummyThumbprint";
+
+    @AfterMethod
+    public void tearDown() {
+
+        JWSSigningMaterialCache.getInstance().clear();
+    }
+
+    @Test
+    public void testSigningMaterialIsReusedUntilKeyChanges() throws Exception {
+
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        KeyPair rotatedKeyPair = keyPairGenerator.generateKeyPair();
+        Certificate certificate = mock(Certificate.class);
+
+        try (MockedStatic<OAuth2Util> oAuth2Util = mockStatic(OAuth2Util.class)) {
+            oAuth2Util.when(() -> OAuth2Util.getPrivateKey(anyString())).thenReturn(keyPair.getPrivate());
+            oAuth2Util.when(() -> OAuth2Util.getCertificate(anyString())).thenReturn(certificate);
+            oAuth2Util.when(() -> OAuth2Util.createJWSSigner(any()))
+                    .thenAnswer(invocation -> new RSASSASigner((RSAPrivateKey) invocation.getArgument(0)));
+            oAuth2Util.when(() -> OAuth2Util.getKID(any(Certificate.class), any(JWSAlgorithm.class), anyString()))
+                    .thenReturn(KEY_ID);
+            oAuth2Util.when(() -> OAuth2Util.getThumbPrintWithPrevAlgorithm(any(Certificate.class), anyBoolean()))
+                    .thenReturn(THUMBPRINT);
+
+            JWSSigningMaterialCache cache = JWSSigningMaterialCache.getInstance();
+            JWSSigningMaterial signingMaterial = cache.getSigningMaterial(TENANT_DOMAIN, JWSAlgorithm.RS256);
+            assertSame(cache.getSigningMaterial(TENANT_DOMAIN, JWSAlgorithm.RS256), signingMaterial);
+            oAuth2Util.verify(() -> OAuth2Util.createJWSSigner(any()), times(1));
+
+            JOSEObjectType type = new JOSEObjectType("at+jwt");
+            JWSHeader header = signingMaterial.getHeader(type);
+            assertSame(signingMaterial.getHeader(type), header);
+            assertEquals(header.getKeyID(), KEY_ID);
+            assertEquals(header.getX509CertThumbprint().toString(), THUMBPRINT);
+            assertEquals(header.getType(), type);
+            assertEquals(header.getAlgorithm(), JWSAlgorithm.RS256);
+
+            oAuth2Util.when(() -> OAuth2Util.getPrivateKey(anyString())).thenReturn(rotatedKeyPair.getPrivate());
+            assertNotSame(cache.getSigningMaterial(TENANT_DOMAIN, JWSAlgorithm.RS256), signingMaterial);
+
+            cache.invalidate(TENANT_DOMAIN);
+            cache.getSigningMaterial(TENANT_DOMAIN, JWSAlgorithm.RS256);
+            oAuth2Util.verify(() -> OAuth2Util.createJWSSigner(any()), times(3));
+        }
+    }
+}
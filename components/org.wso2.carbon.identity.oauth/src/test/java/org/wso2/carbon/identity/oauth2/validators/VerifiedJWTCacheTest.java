@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.testng.annotations.Test;
+
+import java.util.Date;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Unit tests for VerifiedJWTCache.
+ */
+public class VerifiedJWTCacheTest {
+
+    private static final long ONE_HOUR = 3600000L;
+
+    @Test
+    public void testGetAndInvalidateByTenant() {
+
+        VerifiedJWTCache cache = new VerifiedJWTCache(true, 10, ONE_HOUR);
+        JWTClaimsSet claimsSet = buildClaimsSet(ONE_HOUR);
+
+        assertNull(cache.get("jwt1", null));
+        cache.put("jwt1", claimsSet, "carbon.super", null);
+        cache.put("jwt2", claimsSet, "wso2.com", null);
+        assertSame(cache.get("jwt1", null), claimsSet);
+
+        // Key rotation of a tenant should only evict the tokens verified with the keys of that tenant.
+        cache.invalidate("carbon.super");
+        assertNull(cache.get("jwt1", null));
+        assertSame(cache.get("jwt2", null), claimsSet);
+
+        assertEquals(cache.getHitCount(), 2);
+        assertEquals(cache.getMissCount(), 2);
+        assertEquals(cache.getSize(), 1);
+    }
+
+    @Test
+    public void testEntryIsScopedToOrganization() {
+
+        VerifiedJWTCache cache = new VerifiedJWTCache(true, 10, ONE_HOUR);
+        cache.put("jwt1", buildClaimsSet(ONE_HOUR), "carbon.super", "org1");
+
+        assertNull(cache.get("jwt1", "org2"));
+        assertNull(cache.get("jwt1", null));
+        assertNotNull(cache.get("jwt1", "org1"));
+        assertEquals(cache.getSize(), 1);
+    }
+
+    @Test
+    public void testEntryDoesNotOutliveToken() {
+
+        VerifiedJWTCache cache = new VerifiedJWTCache(true, 10, ONE_HOUR);
+        cache.put("expiredJwt", buildClaimsSet(-1000), "carbon.super", null);
+
+        assertNull(cache.get("expiredJwt", null));
+        assertEquals(cache.getSize(), 0);
+    }
+
+    @Test
+    public void testEvictionWhenFull() {
+
+        VerifiedJWTCache cache = new VerifiedJWTCache(true, 2, ONE_HOUR);
+        for (int i = 0; i < 5; i++) {
+            cache.put("jwt" + i, buildClaimsSet(ONE_HOUR), "carbon.super", null);
+        }
+
+        assertEquals(cache.getSize(), 2);
+        assertEquals(cache.getEvictionCount(), 3);
+    }
+
+    @Test
+    public void testDisabledCache() {
+
+        VerifiedJWTCache cache = new VerifiedJWTCache(false, 10, ONE_HOUR);
+        cache.put("jwt1", buildClaimsSet(ONE_HOUR), "carbon.super", null);
+
+        assertNull(cache.get("jwt1", null));
+        assertEquals(cache.getSize(), 0);
+    }
+
+    private JWTClaimsSet buildClaimsSet(long validityPeriod) {
+
+        return new JWTClaimsSet.Builder()
+                .subject("admin")
+                .expirationTime(new Date(System.currentTimeMillis() + validityPeriod))
+                .build();
+    }
+}
@@ -19,15 +19,13 @@
 package org.wso2.carbon.identity.oauth2.validators.jwt;
 
 import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.jwk.source.RemoteJWKSet;
+import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.proc.BadJOSEException;
 import com.nimbusds.jose.proc.SecurityContext;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import org.mockito.Mock;
-import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -75,7 +73,7 @@ public class JWKSBasedJWTValidatorTest {
     @Mock
     private JWKSourceDataProvider dataProvider;
     @Mock
-    private RemoteJWKSet<SecurityContext> jwkSet;
+    private RefreshAheadJWKSource jwkSource;
 
     @BeforeMethod
     public void setUp() {
@@ -97,42 +95,38 @@ public class JWKSBasedJWTValidatorTest {
 
             TestScenario testScenario = (TestScenario) test;
 
-            try (MockedConstruction<DefaultJWTProcessor> mockedConstruction = Mockito.mockConstruction(
-                    DefaultJWTProcessor.class,
-                    (mock, context) -> {
-                        if (testScenario == TestScenario.VALID_JWT) {
-                            JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder().build();
-                            when(mock.process(jwtString, null)).thenReturn(jwtClaimsSet);
-                        } else if (testScenario != TestScenario.INVALID_JWKS) {
-                            when(mock.process(anyString(), any(SecurityContext.class))).thenThrow(
-                                    testScenario.throwError());
-                        }
-                    })) {
-                validator = new JWKSBasedJWTValidator();
+            if (testScenario == TestScenario.VALID_JWT) {
+                JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder().build();
+                when(jwtProcessor.process(jwtString, null)).thenReturn(jwtClaimsSet);
+            } else if (testScenario != TestScenario.INVALID_JWKS) {
+                when(jwtProcessor.process(anyString(), any(SecurityContext.class))).thenThrow(
+                        testScenario.throwError());
+            }
+            when(jwkSource.getJWTProcessor(any(JWSAlgorithm.class))).thenReturn(jwtProcessor);
+            validator = new JWKSBasedJWTValidator();
+
+            if (testScenario == TestScenario.INVALID_JWKS) {
+                doThrow(testScenario.throwError()).when(dataProvider).getRefreshAheadJWKSource(jwksUri);
+            } else {
+                when(dataProvider.getRefreshAheadJWKSource(anyString())).thenReturn(jwkSource);
+            }
 
+            try {
+                boolean isValid = validator.validateSignature(jwt, jwksUri, algorithm, opts);
+                assertTrue(isValid, "JWT validation failed with unexpected error.");
+            } catch (IdentityOAuth2Exception e) {
+
+                if (testScenario == TestScenario.INVALID_JWT) {
+                    assertEquals("Error occurred while parsing JWT string.", e.getMessage(),
+                            "Signature validation not handled properly.");
+                }
                 if (testScenario == TestScenario.INVALID_JWKS) {
-                    doThrow(testScenario.throwError()).when(dataProvider).getJWKSource(jwksUri);
-                } else {
-                    when(dataProvider.getJWKSource(anyString())).thenReturn(jwkSet);
+                    assertEquals("Provided jwks_uri: " + jwksUri + " is malformed.", e.getMessage(),
+                            "Failed to validate jwks_uri.");
                 }
-
-                try {
-                    boolean isValid = validator.validateSignature(jwt, jwksUri, algorithm, opts);
-                    assertTrue(isValid, "JWT validation failed with unexpected error.");
-                } catch (IdentityOAuth2Exception e) {
-
-                    if (testScenario == TestScenario.INVALID_JWT) {
-                        assertEquals("Error occurred while parsing JWT string.", e.getMessage(),
-                                "Signature validation not handled properly.");
-                    }
-                    if (testScenario == TestScenario.INVALID_JWKS) {
-                        assertEquals("Provided jwks_uri: " + jwksUri + " is malformed.", e.getMessage(),
-                                "Failed to validate jwks_uri.");
-                    }
-                    if (testScenario == TestScenario.INVALID_SIGNATURE) {
-                        assertEquals("Signature validation failed for the provided JWT.", e.getMessage(),
-                                "invalid algorithm");
-                    }
+                if (testScenario == TestScenario.INVALID_SIGNATURE) {
+                    assertEquals("Signature validation failed for the provided JWT.", e.getMessage(),
+                            "invalid algorithm");
                 }
             }
         }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators.jwt;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.base.MultitenantConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+
+import java.net.MalformedURLException;
+
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Unit tests for JWKSourceDataProvider.
+ */
+@WithCarbonHome
+public class JWKSourceDataProviderTest {
+
+    private static final String JWKS_URI = "https://localhost:9444/oauth2/jwks";
+    private static final String OTHER_JWKS_URI = "https://localhost:9445/oauth2/jwks";
+
+    @BeforeMethod
+    public void setUp() {
+
+        PrivilegedCarbonContext.startTenantFlow();
+        PrivilegedCarbonContext privilegedCarbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        privilegedCarbonContext.setTenantId(MultitenantConstants.SUPER_TENANT_ID);
+        privilegedCarbonContext.setTenantDomain(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        PrivilegedCarbonContext.endTenantFlow();
+    }
+
+    @Test
+    public void testSourceIsSharedPerJwksUri() throws Exception {
+
+        JWKSourceDataProvider dataProvider = JWKSourceDataProvider.getInstance();
+        RefreshAheadJWKSource jwkSource = dataProvider.getRefreshAheadJWKSource(JWKS_URI);
+
+        assertSame(dataProvider.getRefreshAheadJWKSource(JWKS_URI), jwkSource);
+        assertNotSame(dataProvider.getRefreshAheadJWKSource(OTHER_JWKS_URI), jwkSource);
+    }
+
+    @Test
+    public void testInvalidatedSourceIsCreatedAgain() throws Exception {
+
+        JWKSourceDataProvider dataProvider = JWKSourceDataProvider.getInstance();
+        RefreshAheadJWKSource jwkSource = dataProvider.getRefreshAheadJWKSource(JWKS_URI);
+        RefreshAheadJWKSource otherJWKSource = dataProvider.getRefreshAheadJWKSource(OTHER_JWKS_URI);
+
+        dataProvider.invalidate(JWKS_URI);
+        dataProvider.invalidate(null);
+        assertNotSame(dataProvider.getRefreshAheadJWKSource(JWKS_URI), jwkSource);
+        assertSame(dataProvider.getRefreshAheadJWKSource(OTHER_JWKS_URI), otherJWKSource);
+    }
+
+    @Test(expectedExceptions = MalformedURLException.class)
+    public void testMalformedJwksUri() throws Exception {
+
+        JWKSourceDataProvider.getInstance().getRefreshAheadJWKSource("invalidUri");
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators.jwt;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for RefreshAheadJWKSource.
+ */
+public class RefreshAheadJWKSourceTest {
+
+    private static final String KEY_ID = "kid1";
+
+    private String jwksContent;
+    private URL jwksUrl;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        RSAKey rsaKey = new RSAKey.Builder((RSAPublicKey) keyPairGenerator.generateKeyPair().getPublic())
+                .keyID(KEY_ID).build();
+        jwksContent = new JWKSet(rsaKey).toString();
+        jwksUrl = new URL("https://localhost:9443/oauth2/jwks");
+    }
+
+    @Test
+    public void testConcurrentFetchesAreCoalesced() throws Exception {
+
+        AtomicInteger fetchCount = new AtomicInteger();
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        ResourceRetriever resourceRetriever = url -> {
+            fetchCount.incrementAndGet();
+            fetchStarted.countDown();
+            try {
+                releaseFetch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return new Resource(jwksContent, "application/json");
+        };
+        RefreshAheadJWKSource jwkSource = new RefreshAheadJWKSource(jwksUrl, resourceRetriever, 60000, 1000, 60000,
+                Runnable::run);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<JWK>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executorService.submit(() -> jwkSource.get(getSelector(KEY_ID), null)));
+            }
+            assertTrue(fetchStarted.await(10, TimeUnit.SECONDS));
+            // Give the other callers time to join the fetch in progress.
+            Thread.sleep(100);
+            releaseFetch.countDown();
+            for (Future<List<JWK>> result : results) {
+                assertEquals(result.get(10, TimeUnit.SECONDS).size(), 1);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(fetchCount.get(), 1);
+    }
+
+    @Test
+    public void testLastKeySetIsServedWhenEndpointIsDown() throws Exception {
+
+        AtomicBoolean endpointDown = new AtomicBoolean();
+        AtomicInteger fetchCount = new AtomicInteger();
+        ResourceRetriever resourceRetriever = url -> {
+            fetchCount.incrementAndGet();
+            if (endpointDown.get()) {
+                throw new IOException("Connection refused");
+            }
+            return new Resource(jwksContent, "application/json");
+        };
+        RefreshAheadJWKSource jwkSource = new RefreshAheadJWKSource(jwksUrl, resourceRetriever, 1, 1, 0,
+                Runnable::run);
+
+        assertEquals(jwkSource.get(getSelector(KEY_ID), null).size(), 1);
+        endpointDown.set(true);
+        Thread.sleep(5);
+        assertEquals(jwkSource.get(getSelector(KEY_ID), null).size(), 1);
+        assertEquals(fetchCount.get(), 2);
+    }
+
+    @Test
+    public void testUnknownKeyIdRefetchIsRateLimited() throws Exception {
+
+        AtomicInteger fetchCount = new AtomicInteger();
+        ResourceRetriever resourceRetriever = url -> {
+            fetchCount.incrementAndGet();
+            return new Resource(jwksContent, "application/json");
+        };
+        RefreshAheadJWKSource jwkSource = new RefreshAheadJWKSource(jwksUrl, resourceRetriever, 60000, 1000, 60000,
+                Runnable::run);
+
+        assertEquals(jwkSource.get(getSelector(KEY_ID), null).size(), 1);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(jwkSource.get(getSelector("unknownKid"), null).isEmpty());
+        }
+        assertEquals(fetchCount.get(), 1);
+
+        RefreshAheadJWKSource unlimitedJWKSource = new RefreshAheadJWKSource(jwksUrl, resourceRetriever, 60000, 1000,
+                0, Runnable::run);
+        unlimitedJWKSource.get(getSelector(KEY_ID), null);
+        assertTrue(unlimitedJWKSource.get(getSelector("unknownKid"), null).isEmpty());
+        assertEquals(fetchCount.get(), 3);
+    }
+
+    private JWKSelector getSelector(String keyId) {
+
+        return new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
+    }
+}
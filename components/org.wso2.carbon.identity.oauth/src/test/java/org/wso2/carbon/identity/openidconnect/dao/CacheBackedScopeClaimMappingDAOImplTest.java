@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.openidconnect.dao;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.dto.ScopeDTO;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+import org.wso2.carbon.identity.openidconnect.cache.OIDCScopeClaimCache;
+import org.wso2.carbon.identity.openidconnect.cache.OIDCScopeClaimCacheEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for CacheBackedScopeClaimMappingDAOImpl.
+ */
+public class CacheBackedScopeClaimMappingDAOImplTest {
+
+    private static final int TENANT_ID = 1;
+
+    private final Map<Integer, OIDCScopeClaimCacheEntry> cacheEntries = new ConcurrentHashMap<>();
+    private ScopeClaimMappingDAO scopeClaimMappingDAO;
+    private ScopeClaimMappingDAO previousScopeClaimMappingDAO;
+    private CacheBackedScopeClaimMappingDAOImpl cacheBackedScopeClaimMappingDAO;
+
+    @BeforeMethod
+    public void setUp() {
+
+        cacheEntries.clear();
+        scopeClaimMappingDAO = mock(ScopeClaimMappingDAO.class);
+        previousScopeClaimMappingDAO = OAuth2ServiceComponentHolder.getInstance().getScopeClaimMappingDAO();
+        OAuth2ServiceComponentHolder.getInstance().setScopeClaimMappingDAO(scopeClaimMappingDAO);
+
+        OIDCScopeClaimCache oidcScopeClaimCache = mock(OIDCScopeClaimCache.class);
+        when(oidcScopeClaimCache.getScopeClaimMap(anyInt()))
+                .thenAnswer(invocation -> cacheEntries.get(invocation.getArgument(0)));
+        doAnswer(invocation -> cacheEntries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(oidcScopeClaimCache).addScopeClaimMap(anyInt(), any(OIDCScopeClaimCacheEntry.class));
+        doAnswer(invocation -> cacheEntries.remove(invocation.getArgument(0)))
+                .when(oidcScopeClaimCache).clearScopeClaimMap(anyInt());
+        try (MockedStatic<OIDCScopeClaimCache> oidcScopeClaimCacheStatic = mockStatic(OIDCScopeClaimCache.class)) {
+            oidcScopeClaimCacheStatic.when(OIDCScopeClaimCache::getInstance).thenReturn(oidcScopeClaimCache);
+            cacheBackedScopeClaimMappingDAO = new CacheBackedScopeClaimMappingDAOImpl();
+        }
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        OAuth2ServiceComponentHolder.getInstance().setScopeClaimMappingDAO(previousScopeClaimMappingDAO);
+    }
+
+    @Test
+    public void testScopeLookupsAreServedFromCache() throws Exception {
+
+        when(scopeClaimMappingDAO.getScopes(TENANT_ID)).thenReturn(getScopes());
+
+        assertTrue(cacheBackedScopeClaimMappingDAO.isScopeExist("email", TENANT_ID));
+        assertFalse(cacheBackedScopeClaimMappingDAO.isScopeExist("phone", TENANT_ID));
+        assertTrue(cacheBackedScopeClaimMappingDAO.hasScopesPopulated(TENANT_ID));
+        assertEquals(cacheBackedScopeClaimMappingDAO.getScope("email", TENANT_ID).getName(), "email");
+        assertNull(cacheBackedScopeClaimMappingDAO.getScope("phone", TENANT_ID));
+
+        verify(scopeClaimMappingDAO, times(1)).getScopes(TENANT_ID);
+        verify(scopeClaimMappingDAO, never()).isScopeExist(anyString(), anyInt());
+        verify(scopeClaimMappingDAO, never()).hasScopesPopulated(anyInt());
+        verify(scopeClaimMappingDAO, never()).getScope(anyString(), anyInt());
+    }
+
+    @Test
+    public void testTenantWithoutScopesIsCached() throws Exception {
+
+        when(scopeClaimMappingDAO.getScopes(TENANT_ID)).thenReturn(new ArrayList<>());
+
+        assertFalse(cacheBackedScopeClaimMappingDAO.hasScopesPopulated(TENANT_ID));
+        assertFalse(cacheBackedScopeClaimMappingDAO.isScopeExist("openid", TENANT_ID));
+        assertTrue(cacheBackedScopeClaimMappingDAO.getScopes(TENANT_ID).isEmpty());
+
+        verify(scopeClaimMappingDAO, times(1)).getScopes(TENANT_ID);
+    }
+
+    @Test
+    public void testPartialEntryIsReloaded() throws Exception {
+
+        when(scopeClaimMappingDAO.getScopes(TENANT_ID)).thenReturn(getScopes());
+
+        cacheBackedScopeClaimMappingDAO.addScopes(TENANT_ID,
+                Collections.singletonList(new ScopeDTO("profile", "profile", "profileDescription", new String[0])));
+        assertTrue(cacheBackedScopeClaimMappingDAO.isScopeExist("email", TENANT_ID));
+
+        verify(scopeClaimMappingDAO, times(1)).getScopes(TENANT_ID);
+    }
+
+    @Test
+    public void testScopeUpdateReloadsScopes() throws Exception {
+
+        when(scopeClaimMappingDAO.getScopes(TENANT_ID)).thenReturn(getScopes());
+        assertFalse(cacheBackedScopeClaimMappingDAO.isScopeExist("phone", TENANT_ID));
+
+        List<ScopeDTO> updatedScopes = getScopes();
+        updatedScopes.add(new ScopeDTO("phone", "phone", "phoneDescription", new String[]{"phone_number"}));
+        when(scopeClaimMappingDAO.getScopes(TENANT_ID)).thenReturn(updatedScopes);
+        cacheBackedScopeClaimMappingDAO.addScope(updatedScopes.get(2), TENANT_ID);
+
+        assertTrue(cacheBackedScopeClaimMappingDAO.isScopeExist("phone", TENANT_ID));
+        verify(scopeClaimMappingDAO, times(2)).getScopes(TENANT_ID);
+    }
+
+    @Test
+    public void testConcurrentCacheMissesLoadOnce() throws Exception {
+
+        when(scopeClaimMappingDAO.getScopes(TENANT_ID)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return getScopes();
+        });
+
+        int threadCount = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Callable<Boolean>> lookups = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                lookups.add(() -> cacheBackedScopeClaimMappingDAO.isScopeExist("email", TENANT_ID));
+            }
+            for (Future<Boolean> result : executorService.invokeAll(lookups)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        verify(scopeClaimMappingDAO, times(1)).getScopes(TENANT_ID);
+    }
+
+    @Test(expectedExceptions = IdentityOAuth2Exception.class)
+    public void testLoadFailureIsPropagated() throws Exception {
+
+        when(scopeClaimMappingDAO.getScopes(TENANT_ID)).thenThrow(new IdentityOAuth2Exception("error"));
+        cacheBackedScopeClaimMappingDAO.isScopeExist("email", TENANT_ID);
+    }
+
+    private List<ScopeDTO> getScopes() {
+
+        return new ArrayList<>(Arrays.asList(
+                new ScopeDTO("openid", "openid", "openidDescription", new String[0]),
+                new ScopeDTO("email", "email", "emailDescription", new String[]{"email", "email_verified"})));
+    }
+}
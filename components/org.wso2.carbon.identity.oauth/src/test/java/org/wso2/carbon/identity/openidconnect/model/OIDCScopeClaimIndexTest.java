@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.openidconnect.model;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.dto.ScopeDTO;
+import org.wso2.carbon.identity.openidconnect.cache.OIDCScopeClaimCacheEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for OIDCScopeClaimIndex.
+ */
+public class OIDCScopeClaimIndexTest {
+
+    @Test
+    public void testScopeAndClaimLookups() {
+
+        OIDCScopeClaimIndex index = new OIDCScopeClaimIndex(getScopes());
+
+        assertFalse(index.isEmpty());
+        assertEquals(index.getScopeNames(), Arrays.asList("openid", "email", "profile", "address"));
+        assertTrue(index.containsScope("email"));
+        assertFalse(index.containsScope("phone"));
+        assertEquals(index.getScope("email").getDescription(), "emailDescription");
+        assertNull(index.getScope("phone"));
+        assertEquals(index.getClaims("profile"), Arrays.asList("given_name", "email", "address.locality"));
+        assertTrue(index.getClaims("phone").isEmpty());
+        assertTrue(index.getClaims("openid").isEmpty());
+        assertEquals(new ArrayList<>(index.getScopesOfClaim("email")), Arrays.asList("email", "profile"));
+        assertTrue(index.getScopesOfClaim("phone_number").isEmpty());
+        assertEquals(index.getAddressClaims(), Arrays.asList("street_address", "country"));
+    }
+
+    @Test
+    public void testAddressClaimsAreResolved() {
+
+        OIDCScopeClaimIndex index = new OIDCScopeClaimIndex(getScopes());
+
+        List<OIDCScopeClaimIndex.ScopeClaim> profileClaims = index.getScopeClaims("profile");
+        assertEquals(profileClaims.size(), 3);
+        assertEquals(profileClaims.get(0).getOidcClaimUri(), "given_name");
+        assertFalse(profileClaims.get(0).isAddressClaim());
+        assertEquals(profileClaims.get(2).getClaimUri(), "address.locality");
+        assertEquals(profileClaims.get(2).getOidcClaimUri(), "locality");
+        assertTrue(profileClaims.get(2).isAddressClaim());
+
+        List<OIDCScopeClaimIndex.ScopeClaim> addressClaims = index.getScopeClaims("address");
+        assertEquals(addressClaims.get(0).getOidcClaimUri(), "street_address");
+        assertTrue(addressClaims.get(0).isAddressClaim());
+    }
+
+    @Test
+    public void testLaterScopeReplacesScopeOfSameName() {
+
+        List<ScopeDTO> scopes = getScopes();
+        scopes.add(new ScopeDTO("email", "Email", "updatedDescription", new String[]{"email_verified"}));
+        OIDCScopeClaimIndex index = new OIDCScopeClaimIndex(scopes);
+
+        assertEquals(index.getScopeNames(), Arrays.asList("openid", "profile", "address", "email"));
+        assertEquals(index.getScope("email").getDescription(), "updatedDescription");
+        assertEquals(index.getClaims("email"), Collections.singletonList("email_verified"));
+        assertEquals(new ArrayList<>(index.getScopesOfClaim("email")), Collections.singletonList("profile"));
+    }
+
+    @Test
+    public void testEmptyIndex() {
+
+        assertTrue(OIDCScopeClaimIndex.EMPTY.isEmpty());
+        assertTrue(OIDCScopeClaimIndex.EMPTY.getScopeNames().isEmpty());
+        assertTrue(OIDCScopeClaimIndex.EMPTY.getAddressClaims().isEmpty());
+        assertTrue(OIDCScopeClaimIndex.EMPTY.getScopeClaims("openid").isEmpty());
+    }
+
+    @Test
+    public void testCacheEntryReusesIndexUntilScopesChange() {
+
+        OIDCScopeClaimCacheEntry cacheEntry = new OIDCScopeClaimCacheEntry();
+        cacheEntry.setScopeClaimMapping(getScopes());
+        OIDCScopeClaimIndex index = cacheEntry.getScopeClaimIndex();
+        assertSame(cacheEntry.getScopeClaimIndex(), index);
+
+        cacheEntry.setScopeClaimMapping(Collections.singletonList(
+                new ScopeDTO("phone", "Phone", "phoneDescription", new String[]{"phone_number"})));
+        OIDCScopeClaimIndex updatedIndex = cacheEntry.getScopeClaimIndex();
+        assertNotSame(updatedIndex, index);
+        assertEquals(updatedIndex.getScopeNames(), Collections.singletonList("phone"));
+    }
+
+    private List<ScopeDTO> getScopes() {
+
+        List<ScopeDTO> scopes = new ArrayList<>();
+        scopes.add(new ScopeDTO("openid", "OpenID", "openidDescription", null));
+        scopes.add(new ScopeDTO("email", "Email", "emailDescription", new String[]{"email"}));
+        scopes.add(new ScopeDTO("profile", "Profile", "profileDescription",
+                new String[]{"given_name", "email", "address.locality"}));
+        scopes.add(new ScopeDTO("address", "Address", "addressDescription",
+                new String[]{"street_address", "country"}));
+        return scopes;
+    }
+}
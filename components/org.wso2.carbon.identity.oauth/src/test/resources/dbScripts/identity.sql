@@ -1308,6 +1308,13 @@ CREATE TABLE IF NOT EXISTS IDN_OAUTH2_TOKEN_CLAIMS (
     FOREIGN KEY (APP_ID) REFERENCES IDN_OAUTH_CONSUMER_APPS(ID) ON DELETE CASCADE
 );
 
+CREATE TABLE IF NOT EXISTS IDN_OAUTH2_TOKEN_ISSUANCE_LEASE (
+    LEASE_KEY VARCHAR(64) NOT NULL,
+    OWNER_ID VARCHAR(64) NOT NULL,
+    EXPIRY_TIME BIGINT NOT NULL,
+    PRIMARY KEY (LEASE_KEY)
+);
+
 -- --------------------------- INDEX CREATION -----------------------------
 -- IDN_OAUTH2_ACCESS_TOKEN --
 CREATE INDEX IDX_TC ON IDN_OAUTH2_ACCESS_TOKEN(TIME_CREATED);
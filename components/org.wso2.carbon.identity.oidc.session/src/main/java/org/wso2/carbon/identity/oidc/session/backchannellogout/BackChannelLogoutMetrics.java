@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oidc.session.backchannellogout;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Delivery counters of the back-channel logout requests sent by {@link LogoutRequestSender}, per host of the
+ * back-channel logout endpoints of the relying parties.
+ * <p>
+ * At most the configured number of hosts is tracked. The deliveries to other hosts, and to endpoints whose URL has no
+ * host, are counted under {@link #OTHER_ENDPOINTS}, so that the totals stay complete.
+ */
+public class BackChannelLogoutMetrics implements BackChannelLogoutMetricsMBean {
+
+    static final String OBJECT_NAME = "org.wso2.carbon.identity.oauth:type=BackChannelLogout";
+    static final String OTHER_ENDPOINTS = "other";
+
+    private static final Log log = LogFactory.getLog(BackChannelLogoutMetrics.class);
+
+    private final Map<String, EndpointMetrics> endpointMetrics = new ConcurrentHashMap<>();
+    private final int maxTrackedEndpoints;
+
+    BackChannelLogoutMetrics(int maxTrackedEndpoints) {
+
+        this.maxTrackedEndpoints = maxTrackedEndpoints;
+    }
+
+    void recordSuccess(String backChannelLogoutUrl, long latencyMillis) {
+
+        EndpointMetrics metrics = getOrCreate(backChannelLogoutUrl);
+        metrics.successCount.increment();
+        metrics.totalLatencyMillis.add(latencyMillis);
+    }
+
+    void recordRetry(String backChannelLogoutUrl, long latencyMillis) {
+
+        EndpointMetrics metrics = getOrCreate(backChannelLogoutUrl);
+        metrics.retryCount.increment();
+        metrics.totalLatencyMillis.add(latencyMillis);
+    }
+
+    void recordFailure(String backChannelLogoutUrl, long latencyMillis) {
+
+        EndpointMetrics metrics = getOrCreate(backChannelLogoutUrl);
+        metrics.failureCount.increment();
+        metrics.totalLatencyMillis.add(latencyMillis);
+    }
+
+    /**
+     * Get the delivery counters of each back-channel logout endpoint host that has been called since the server
+     * started.
+     *
+     * @return Counters keyed by the host, and the port if there is one, of the back-channel logout URLs.
+     */
+    public Map<String, EndpointMetrics> getEndpointMetrics() {
+
+        return Collections.unmodifiableMap(endpointMetrics);
+    }
+
+    @Override
+    public long getSuccessCount() {
+
+        return endpointMetrics.values().stream().mapToLong(EndpointMetrics::getSuccessCount).sum();
+    }
+
+    @Override
+    public long getFailureCount() {
+
+        return endpointMetrics.values().stream().mapToLong(EndpointMetrics::getFailureCount).sum();
+    }
+
+    @Override
+    public long getRetryCount() {
+
+        return endpointMetrics.values().stream().mapToLong(EndpointMetrics::getRetryCount).sum();
+    }
+
+    @Override
+    public String[] getEndpointStatistics() {
+
+        return endpointMetrics.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getKey() + ": successes=" + entry.getValue().getSuccessCount() + ", retries=" +
+                        entry.getValue().getRetryCount() + ", failures=" + entry.getValue().getFailureCount() +
+                        ", averageLatencyMillis=" + entry.getValue().getAverageLatencyMillis())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Register these metrics in the platform MBean server, replacing a registration left by a previous activation.
+     */
+    public void registerMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(this, objectName);
+        } catch (JMException e) {
+            log.warn("Error while registering the back-channel logout metrics MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Remove these metrics from the platform MBean server.
+     */
+    public void unregisterMBean() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Error while unregistering the back-channel logout metrics MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    private EndpointMetrics getOrCreate(String backChannelLogoutUrl) {
+
+        String endpoint = getEndpoint(backChannelLogoutUrl);
+        EndpointMetrics metrics = endpointMetrics.get(endpoint);
+        if (metrics == null) {
+            if (endpointMetrics.size() >= maxTrackedEndpoints) {
+                endpoint = OTHER_ENDPOINTS;
+            }
+            metrics = endpointMetrics.computeIfAbsent(endpoint, key -> new EndpointMetrics());
+        }
+        return metrics;
+    }
+
+    private static String getEndpoint(String backChannelLogoutUrl) {
+
+        if (backChannelLogoutUrl == null) {
+            return OTHER_ENDPOINTS;
+        }
+        try {
+            // The user info of the URL is left out, so that credentials are not exposed with the metrics.
+            URI uri = new URI(backChannelLogoutUrl);
+            if (uri.getHost() == null) {
+                return OTHER_ENDPOINTS;
+            }
+            return uri.getPort() < 0 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+        } catch (URISyntaxException e) {
+            return OTHER_ENDPOINTS;
+        }
+    }
+
+    /**
+     * Delivery counters of a single back-channel logout endpoint host.
+     */
+    public static class EndpointMetrics {
+
+
+        private final LongAdder successCount = new LongAdder();
+        private final LongAdder failureCount = new LongAdder();
+        private final LongAdder retryCount = new LongAdder();
+        private final LongAdder totalLatencyMillis = new LongAdder();
+
+        public long getSuccessCount() {
+
+            return successCount.sum();
+        }
+
+        /**
+         * Get the number of logout requests that could not be delivered after all the retries.
+         *
+         * @return Number of failed deliveries.
+         */
+        public long getFailureCount() {
+
+            return failureCount.sum();
+        }
+
+        public long getRetryCount() {
+
+            return retryCount.sum();
+        }
+
+        /**
+         * Get the average time taken by the delivery attempts, including the failed ones.
+         *
+         * @return Average latency in milliseconds.
+         */
+        public long getAverageLatencyMillis() {
+
+            long attempts = successCount.sum() + failureCount.sum() + retryCount.sum();
+            return attempts == 0 ? 0 : totalLatencyMillis.sum() / attempts;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oidc.session.backchannellogout;
+
+/**
+ * JMX view of the back-channel logout deliveries recorded by {@link BackChannelLogoutMetrics}.
+ */
+public interface BackChannelLogoutMetricsMBean {
+
+    long getSuccessCount();
+
+    /**
+     * Get the number of logout requests that could not be delivered after all the retries.
+     *
+     * @return Number of failed deliveries.
+     */
+    long getFailureCount();
+
+    long getRetryCount();
+
+    /**
+     * Get the delivery counters of each tracked back-channel logout endpoint host.
+     *
+     * @return Entries of the form
+     * {@code <host>: successes=<count>, retries=<count>, failures=<count>, averageLatencyMillis=<latency>}.
+     */
+    String[] getEndpointStatistics();
+}
@@ -91,6 +91,8 @@ public class DefaultLogoutTokenBuilder implements LogoutTokenBuilder {
             throws IdentityOAuth2Exception, InvalidOAuthClientException {
 
         Map<String, String> logoutTokenList = new HashMap<>();
+        // Participants of the same tenant share the issuer, which is resolved once per logout.
+        Map<String, String> issuers = new HashMap<>();
         // Send logout token to all RPs.
         Cookie opbsCookie = OIDCSessionManagementUtil.getOPBrowserStateCookie(request);
         // For backward compatibility, SUPER_TENANT_DOMAIN was added as the cache maintained tenant.
@@ -116,7 +118,7 @@ public class DefaultLogoutTokenBuilder implements LogoutTokenBuilder {
                         // No need to send logout token if the client id of the RP initiated logout is known.
                         continue;
                     }
-                    addToLogoutTokenList(logoutTokenList, sessionState, clientID);
+                    addToLogoutTokenList(logoutTokenList, sessionState, clientID, issuers);
                 }
             }
         }
@@ -136,21 +138,23 @@ public class DefaultLogoutTokenBuilder implements LogoutTokenBuilder {
             InvalidOAuthClientException {
 
         Map<String, String> logoutTokenList = new HashMap<>();
+        // Participants of the same tenant share the issuer, which is resolved once per logout.
+        Map<String, String> issuers = new HashMap<>();
         // Send logout token to all RPs.
         OIDCSessionState sessionState = getSessionState(opbscookie, tenantDomain);
         if (sessionState != null) {
             Set<String> sessionParticipants = getSessionParticipants(sessionState);
             if (!sessionParticipants.isEmpty()) {
                 for (String clientID : sessionParticipants) {
-                    addToLogoutTokenList(logoutTokenList, sessionState, clientID);
+                    addToLogoutTokenList(logoutTokenList, sessionState, clientID, issuers);
                 }
             }
         }
         return logoutTokenList;
     }
 
-    private void addToLogoutTokenList(Map<String, String> logoutTokenList,
-                                      OIDCSessionState sessionState, String clientID) throws IdentityOAuth2Exception {
+    private void addToLogoutTokenList(Map<String, String> logoutTokenList, OIDCSessionState sessionState,
+                                      String clientID, Map<String, String> issuers) throws IdentityOAuth2Exception {
 
         OAuthAppDO oAuthAppDO;
         try {
@@ -166,7 +170,14 @@ public class DefaultLogoutTokenBuilder implements LogoutTokenBuilder {
         String backChannelLogoutUrl = oAuthAppDO.getBackChannelLogoutUrl();
         if (StringUtils.isNotBlank(backChannelLogoutUrl)) {
             // Send back-channel logout request to all RPs those registered their back-channel logout uri.
-            JWTClaimsSet jwtClaimsSet = buildJwtToken(sessionState, getTenanatDomain(oAuthAppDO), clientID);
+            // The aud claim has to identify the RP, so each participant gets its own signed token.
+            String tenantDomain = getTenanatDomain(oAuthAppDO);
+            String issuer = issuers.get(tenantDomain);
+            if (issuer == null) {
+                issuer = getIssuer(tenantDomain);
+                issuers.put(tenantDomain, issuer);
+            }
+            JWTClaimsSet jwtClaimsSet = buildJwtToken(sessionState, issuer, clientID);
             String logoutToken = OAuth2Util.signJWT(jwtClaimsSet, signatureAlgorithm,
                     getSigningTenantDomain(oAuthAppDO)).serialize();
             logoutTokenList.put(logoutToken, backChannelLogoutUrl);
@@ -181,17 +192,14 @@ public class DefaultLogoutTokenBuilder implements LogoutTokenBuilder {
      * Builds jwtClaimSet.
      *
      * @param sessionState
-     * @param tenantDomain
+     * @param iss
      * @param clientID
      * @return
-     * @throws IdentityOAuth2Exception
      */
-    private JWTClaimsSet buildJwtToken(OIDCSessionState sessionState, String tenantDomain, String clientID)
-            throws IdentityOAuth2Exception {
+    private JWTClaimsSet buildJwtToken(OIDCSessionState sessionState, String iss, String clientID) {
 
         String sub = sessionState.getAuthenticatedUser();
         String jti = UUID.randomUUID().toString();
-        String iss = getIssuer(tenantDomain);
         List<String> audience = getAudience(clientID);
         long logoutTokenValidityInMillis = getLogoutTokenExpiryInMillis();
         long currentTimeInMillis = Calendar.getInstance().getTimeInMillis();
@@ -21,20 +21,29 @@ import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.ssl.SSLContexts;
+import org.apache.http.util.EntityUtils;
 import org.wso2.carbon.base.MultitenantConstants;
 import org.wso2.carbon.identity.base.IdentityConstants;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.util.ConfigurationUtil;
 import org.wso2.carbon.identity.oidc.session.OIDCSessionConstants;
 import org.wso2.carbon.identity.oidc.session.util.OIDCSessionManagementUtil;
 
@@ -47,7 +56,10 @@ import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -55,7 +67,8 @@ import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 
 /**
- * Used to send logout request.
+ * Used to send logout request. The requests of a logout are sent in parallel through a shared pool of HTTP
+ * connections, and transient delivery failures are retried with a backoff until the delivery deadline of the logout.
  */
 public class LogoutRequestSender {
 
@@ -67,6 +80,15 @@ public class LogoutRequestSender {
     private static int httpConnectTimeout = 0;
     private static int httpSocketTimeout = 0;
     private static final String LOGOUT_TOKEN = "logout_token";
+    private static final int MAX_BACKOFF_EXPONENT = 10;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private CloseableHttpClient httpClient;
+    private ScheduledExecutorService retryScheduler;
+    private final BackChannelLogoutMetrics metrics;
+    private int maxRetryCount;
+    private long retryBackoff;
+    private long deliveryDeadline;
 
     private LogoutRequestSender() {
 
@@ -127,12 +149,42 @@ public class LogoutRequestSender {
             hostNameVerificationEnabled = false;
         }
 
+        int maxConnections = ConfigurationUtil.getIntProperty(
+                OIDCSessionConstants.OIDCLogoutRequestConstants.MAX_CONNECTIONS,
+                OIDCSessionConstants.OIDCLogoutRequestConstants.DEFAULT_MAX_CONNECTIONS, 1);
+        int maxConnectionsPerRoute = ConfigurationUtil.getIntProperty(
+                OIDCSessionConstants.OIDCLogoutRequestConstants.MAX_CONNECTIONS_PER_ROUTE,
+                OIDCSessionConstants.OIDCLogoutRequestConstants.DEFAULT_MAX_CONNECTIONS_PER_ROUTE, 1);
+        maxRetryCount = ConfigurationUtil.getIntProperty(
+                OIDCSessionConstants.OIDCLogoutRequestConstants.MAX_RETRY_COUNT,
+                OIDCSessionConstants.OIDCLogoutRequestConstants.DEFAULT_MAX_RETRY_COUNT, 0);
+        retryBackoff = ConfigurationUtil.getIntProperty(
+                OIDCSessionConstants.OIDCLogoutRequestConstants.RETRY_BACKOFF,
+                OIDCSessionConstants.OIDCLogoutRequestConstants.DEFAULT_RETRY_BACKOFF, 0);
+        deliveryDeadline = ConfigurationUtil.getIntProperty(
+                OIDCSessionConstants.OIDCLogoutRequestConstants.DELIVERY_DEADLINE,
+                OIDCSessionConstants.OIDCLogoutRequestConstants.DEFAULT_DELIVERY_DEADLINE, 1);
+
+        metrics = new BackChannelLogoutMetrics(ConfigurationUtil.getIntProperty(
+                OIDCSessionConstants.OIDCLogoutRequestConstants.MAX_TRACKED_ENDPOINTS,
+                OIDCSessionConstants.OIDCLogoutRequestConstants.DEFAULT_MAX_TRACKED_ENDPOINTS, 1));
+
+        httpClient = createHttpClient(maxConnections, maxConnectionsPerRoute, keepAliveTimeLong);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BackChannelLogoutRetry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
         if (LOG.isDebugEnabled()) {
             LOG.debug("LogoutRequestSender thread pool initialized with pool size: " + poolSizeInt +
                     ", work queue size: " + workQueueSizeInt + ", keep alive time: " + keepAliveTimeLong +
                     ". Request parameters: httpConnectTimeout: " + httpConnectTimeout +
                     ", httpSocketTimeout: " + httpSocketTimeout +
-                    ", hostNameVerificationEnabled: " + hostNameVerificationEnabled);
+                    ", hostNameVerificationEnabled: " + hostNameVerificationEnabled +
+                    ". Connection pool: maxConnections: " + maxConnections + ", maxConnectionsPerRoute: " +
+                    maxConnectionsPerRoute + ". Delivery: maxRetryCount: " + maxRetryCount + ", retryBackoff: " +
+                    retryBackoff + ", deliveryDeadline: " + deliveryDeadline);
         }
     }
 
@@ -154,6 +206,16 @@ public class LogoutRequestSender {
         return instance;
     }
 
+    /**
+     * Get the delivery counters of the back-channel logout requests sent by this sender.
+     *
+     * @return Back-channel logout metrics.
+     */
+    public BackChannelLogoutMetrics getMetrics() {
+
+        return metrics;
+    }
+
     /**
      * Sends logout requests to all service providers.
      *
@@ -198,12 +260,14 @@ public class LogoutRequestSender {
 
         Map<String, String> logoutTokenList = getLogoutTokenList(opbsCookieId, tenantDomain);
         if (MapUtils.isNotEmpty(logoutTokenList)) {
+            // All the requests of the logout, including their retries, share the same delivery deadline.
+            long deadline = System.currentTimeMillis() + deliveryDeadline;
             // For each logoutReq, create a new task and submit it to the thread pool.
             for (Map.Entry<String, String> logoutTokenMap : logoutTokenList.entrySet()) {
                 String logoutToken = logoutTokenMap.getKey();
                 String bcLogoutUrl = logoutTokenMap.getValue();
                 LOG.debug("A LogoutReqSenderTask will be assigned to the thread pool.");
-                threadPool.submit(new LogoutReqSenderTask(logoutToken, bcLogoutUrl));
+                threadPool.submit(new LogoutReqSenderTask(logoutToken, bcLogoutUrl, deadline));
             }
         }
     }
@@ -231,68 +295,143 @@ public class LogoutRequestSender {
         return logoutTokenList;
     }
 
+    private CloseableHttpClient createHttpClient(int maxConnections, int maxConnectionsPerRoute,
+                                                 long connectionIdleTime) {
+
+        SSLConnectionSocketFactory sslSocketFactory;
+        if (hostNameVerificationEnabled) {
+            sslSocketFactory = SSLConnectionSocketFactory.getSocketFactory();
+        } else {
+            sslSocketFactory = new SSLConnectionSocketFactory(SSLContexts.createDefault(),
+                    SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER);
+        }
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslSocketFactory)
+                .build();
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(connectionIdleTime, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static boolean isRetryableStatus(int statusCode) {
+
+        return statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR || statusCode == HTTP_TOO_MANY_REQUESTS ||
+                statusCode == HttpStatus.SC_REQUEST_TIMEOUT;
+    }
+
     /**
      * This class is used to model a single logout request that is being sent to a session participant.
      * It will send the logout req. to the session participant in its 'run' method when this job is
-     * submitted to the thread pool.
+     * submitted to the thread pool. A delivery that fails with a transient error is submitted again after a
+     * backoff, as long as the retry can start before the delivery deadline of the logout.
      */
     private class LogoutReqSenderTask implements Runnable {
 
         private String logoutToken;
         private String backChannelLogouturl;
+        private final long deadline;
+        private int attempt;
 
-        public LogoutReqSenderTask(String logoutToken, String backChannelLogouturl) {
+        public LogoutReqSenderTask(String logoutToken, String backChannelLogouturl, long deadline) {
 
             this.logoutToken = logoutToken;
             this.backChannelLogouturl = backChannelLogouturl;
+            this.deadline = deadline;
         }
 
         @Override
         public void run() {
 
             if (LOG.isDebugEnabled()) {
-                LOG.debug("Starting backchannel logout request to: " + backChannelLogouturl);
+                LOG.debug("Starting backchannel logout request to: " + backChannelLogouturl + ". Attempt: " +
+                        (attempt + 1));
+            }
+
+            long startTime = System.currentTimeMillis();
+            long remainingTime = deadline - startTime;
+            if (remainingTime <= 0) {
+                LOG.error("Delivery deadline exceeded before sending logout request to: " + backChannelLogouturl);
+                metrics.recordFailure(backChannelLogouturl, 0);
+                return;
             }
 
             List<NameValuePair> logoutReqParams = new ArrayList<NameValuePair>();
-            CloseableHttpClient httpClient = null;
+            logoutReqParams.add(new BasicNameValuePair(LOGOUT_TOKEN, logoutToken));
+            HttpPost httpPost = new HttpPost(backChannelLogouturl);
             try {
-                if (!hostNameVerificationEnabled) {
-                    httpClient = HttpClients.custom()
-                            .setHostnameVerifier(SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER)
-                            .build();
-                } else {
-                    httpClient = HttpClients.createDefault();
-                }
-                logoutReqParams.add(new BasicNameValuePair(LOGOUT_TOKEN, logoutToken));
-
-                HttpPost httpPost = new HttpPost(backChannelLogouturl);
-                try {
-                    httpPost.setEntity(new UrlEncodedFormEntity(logoutReqParams));
-                } catch (UnsupportedEncodingException e) {
-                    LOG.error("Error while encoding logout request parameters.", e);
-                }
-                RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(httpConnectTimeout)
-                        .setSocketTimeout(httpSocketTimeout).build();
-                httpPost.setConfig(requestConfig);
-
-                HttpResponse response = httpClient.execute(httpPost);
+                httpPost.setEntity(new UrlEncodedFormEntity(logoutReqParams));
+            } catch (UnsupportedEncodingException e) {
+                LOG.error("Error while encoding logout request parameters.", e);
+            }
+            // A request never outlives the delivery deadline, neither while waiting for a pooled connection nor
+            // while waiting for the response.
+            int timeout = (int) Math.min(remainingTime, Integer.MAX_VALUE);
+            RequestConfig requestConfig = RequestConfig.custom()
+                    .setConnectionRequestTimeout(timeout)
+                    .setConnectTimeout(Math.min(httpConnectTimeout > 0 ? httpConnectTimeout : timeout, timeout))
+                    .setSocketTimeout(Math.min(httpSocketTimeout > 0 ? httpSocketTimeout : timeout, timeout))
+                    .build();
+            httpPost.setConfig(requestConfig);
+
+            boolean retryable;
+            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
+                // Consume the response so that the connection is released back to the pool.
+                EntityUtils.consumeQuietly(response.getEntity());
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Backchannel logout response: " + response.getStatusLine());
                 }
+                int statusCode = response.getStatusLine().getStatusCode();
+                if (statusCode >= HttpStatus.SC_OK && statusCode < HttpStatus.SC_MULTIPLE_CHOICES) {
+                    metrics.recordSuccess(backChannelLogouturl, System.currentTimeMillis() - startTime);
+                    return;
+                }
+                retryable = isRetryableStatus(statusCode);
+                LOG.warn("Backchannel logout request to: " + backChannelLogouturl + " failed with status: " +
+                        statusCode);
             } catch (SocketTimeoutException e) {
-                LOG.error("Timeout occurred while sending logout requests to: " + backChannelLogouturl);
+                LOG.warn("Timeout occurred while sending logout requests to: " + backChannelLogouturl);
+                retryable = true;
             } catch (IOException e) {
-                LOG.error("Error sending logout requests to: " + backChannelLogouturl, e);
-            } finally {
-                if (httpClient != null) {
-                    try {
-                        httpClient.close();
-                    } catch (IOException e) {
-                        LOG.error("Error closing http client.", e);
-                    }
+                LOG.warn("Error sending logout requests to: " + backChannelLogouturl, e);
+                retryable = true;
+            }
+            retryOrFail(retryable, System.currentTimeMillis() - startTime);
+        }
+
+        private void retryOrFail(boolean retryable, long latency) {
+
+            long backoff = retryBackoff << Math.min(attempt, MAX_BACKOFF_EXPONENT);
+            if (retryable && attempt < maxRetryCount && System.currentTimeMillis() + backoff < deadline) {
+                attempt++;
+                metrics.recordRetry(backChannelLogouturl, latency);
+                try {
+                    retryScheduler.schedule(this::resubmit, backoff, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    LOG.error("Error while scheduling the retry of the logout request to: " +
+                            backChannelLogouturl, e);
                 }
             }
+            metrics.recordFailure(backChannelLogouturl, latency);
+            LOG.error("Failed to deliver the logout request to: " + backChannelLogouturl + " after " +
+                    (attempt + 1) + " attempt(s).");
+        }
+
+        private void resubmit() {
+
+            try {
+                threadPool.execute(this);
+            } catch (RejectedExecutionException e) {
+                metrics.recordFailure(backChannelLogouturl, 0);
+                LOG.error("Error while retrying the logout request to: " + backChannelLogouturl, e);
+            }
         }
     }
 }
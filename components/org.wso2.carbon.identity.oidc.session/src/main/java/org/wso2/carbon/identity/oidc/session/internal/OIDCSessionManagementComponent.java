@@ -35,6 +35,7 @@ import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinder;
 import org.wso2.carbon.identity.oidc.session.OIDCInboundSessionContextMgtListener;
 import org.wso2.carbon.identity.oidc.session.OIDCSessionConstants;
 import org.wso2.carbon.identity.oidc.session.backchannellogout.ClaimProviderImpl;
+import org.wso2.carbon.identity.oidc.session.backchannellogout.LogoutRequestSender;
 import org.wso2.carbon.identity.oidc.session.handler.OIDCLogoutEventHandler;
 import org.wso2.carbon.identity.oidc.session.handler.OIDCLogoutHandler;
 import org.wso2.carbon.identity.oidc.session.servlet.OIDCLogoutServlet;
@@ -110,10 +111,12 @@ public class OIDCSessionManagementComponent {
 
         context.getBundleContext().registerService(SessionContextMgtListener.class.getName(),
                 new OIDCInboundSessionContextMgtListener(), null);
+        LogoutRequestSender.getInstance().getMetrics().registerMBean();
     }
 
     protected void deactivate(ComponentContext context) {
 
+        LogoutRequestSender.getInstance().getMetrics().unregisterMBean();
         if (log.isDebugEnabled()) {
             log.info("OIDC Session Management bundle is deactivated");
         }
@@ -45,6 +45,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mockConstruction;
@@ -64,6 +65,7 @@ public class LogoutRequestSenderTest {
     private HttpServer mockServer;
     private static final int MOCK_SERVER_PORT = 8081;
     private static final List<String> mockServerTokenList = new ArrayList<>();
+    private static final AtomicInteger flakyEndpointCallCount = new AtomicInteger();
 
     @BeforeClass
     public void setUp() throws IOException {
@@ -86,6 +88,14 @@ public class LogoutRequestSenderTest {
         mockServer = HttpServer.create(new InetSocketAddress(MOCK_SERVER_PORT), 0);
         mockServer.createContext("/logout1", new MockHandler(200, "Success"));
         mockServer.createContext("/logout2", new MockHandler(200, "Success"));
+        // Fails with a transient error on the first call and succeeds afterwards.
+        mockServer.createContext("/flaky", exchange -> {
+            if (flakyEndpointCallCount.incrementAndGet() == 1) {
+                new MockHandler(503, "Unavailable").handle(exchange);
+            } else {
+                new MockHandler(200, "Success").handle(exchange);
+            }
+        });
         // Use the default executor.
         mockServer.setExecutor(null);
         mockServer.start();
@@ -201,4 +211,46 @@ public class LogoutRequestSenderTest {
             Assert.assertTrue(mockServerTokenList.contains("logoutToken2"));
         }
     }
+
+    @Test
+    public void testSendLogoutRequestsRetriesTransientFailures() throws Exception {
+
+        flakyEndpointCallCount.set(0);
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class)) {
+            identityUtil.when(() -> IdentityUtil.getProperty(
+                    OIDCSessionConstants.OIDCLogoutRequestConstants.RETRY_BACKOFF)).thenReturn("100");
+            logoutRequestSender = LogoutRequestSender.getInstance();
+        }
+        String flakyUrl = "http://localhost:" + MOCK_SERVER_PORT + "/flaky";
+
+        try (MockedConstruction<DefaultLogoutTokenBuilder> tokenBuilderMockCons = mockConstruction(
+                DefaultLogoutTokenBuilder.class, (mock, context) -> {
+                    Map<String, String> logoutTokenList = new HashMap<>();
+                    logoutTokenList.put("logoutToken3", flakyUrl);
+                    when(mock.buildLogoutToken(any(), any())).thenReturn(logoutTokenList);
+            });
+        ) {
+            logoutRequestSender.sendLogoutRequests("testCookie", "testTenant");
+
+            // The retry is scheduled after the backoff, so wait for the delivery instead of the thread pool.
+            BackChannelLogoutMetrics.EndpointMetrics endpointMetrics = null;
+            long waitUntil = System.currentTimeMillis() + 10000;
+            while (System.currentTimeMillis() < waitUntil) {
+                endpointMetrics = logoutRequestSender.getMetrics().getEndpointMetrics()
+                        .get("localhost:" + MOCK_SERVER_PORT);
+                if (endpointMetrics != null && endpointMetrics.getSuccessCount() > 0) {
+                    break;
+                }
+                Thread.sleep(50);
+            }
+
+            Assert.assertNotNull(endpointMetrics);
+            Assert.assertEquals(endpointMetrics.getSuccessCount(), 1);
+            Assert.assertEquals(endpointMetrics.getRetryCount(), 1);
+            Assert.assertEquals(endpointMetrics.getFailureCount(), 0);
+            Assert.assertEquals(flakyEndpointCallCount.get(), 2);
+            Assert.assertEquals(mockServerTokenList.size(), 2);
+            Assert.assertTrue(mockServerTokenList.contains("logoutToken3"));
+        }
+    }
 }